@@ -0,0 +1,109 @@
+package bankingmanagementsystem.bench;
+
+import bankingmanagementsystem.Account;
+import bankingmanagementsystem.Money;
+import bankingmanagementsystem.exceptions.InsufficientFundsException;
+import bankingmanagementsystem.exceptions.InvalidAmountException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Deposit and withdraw on {@link Account}, uncontended and with every thread on one account.
+ *
+ * The depositWithdraw benchmarks put back what they take out, so the shared balance must
+ * end where it started; a lost update fails the run. Pass -t to change the thread count.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountBenchmark {
+    // Large enough that the mixed group's withdrawers never run the account dry.
+    private static final long START_BALANCE = Long.MAX_VALUE / 4;
+    private static final long AMOUNT = Money.ofRupees(10);
+
+    @State(Scope.Benchmark)
+    public static class SharedAccount {
+        Account account;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            account = new Account("0000000000", "Personal", 0, START_BALANCE);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class OwnAccount {
+        Account account;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            account = new Account("0000000001", "Personal", 0, START_BALANCE);
+        }
+    }
+
+    /** Balance check for the benchmarks that deposit and withdraw the same amount. */
+    @State(Scope.Benchmark)
+    public static class ConservedAccount extends SharedAccount {
+        @TearDown(Level.Trial)
+        public void check() {
+            if (account.getBalance() != START_BALANCE) {
+                throw new IllegalStateException("Lost update: expected " + Money.format(START_BALANCE) + " but was " + Money.format(account.getBalance()));
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long depositWithdrawUncontended(OwnAccount state) throws InvalidAmountException, InsufficientFundsException {
+        state.account.deposit(AMOUNT);
+        state.account.withdraw(AMOUNT);
+        return state.account.getBalance();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long depositWithdrawContended(ConservedAccount state) throws InvalidAmountException, InsufficientFundsException {
+        state.account.deposit(AMOUNT);
+        state.account.withdraw(AMOUNT);
+        return state.account.getBalance();
+    }
+
+    // Depositors, withdrawers and balance readers on one account at the same time.
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public void deposit(SharedAccount state) throws InvalidAmountException {
+        state.account.deposit(AMOUNT);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public void withdraw(SharedAccount state) throws InvalidAmountException, InsufficientFundsException {
+        state.account.withdraw(AMOUNT);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public long balance(SharedAccount state) {
+        return state.account.getBalance();
+    }
+}
@@ -0,0 +1,89 @@
+package bankingmanagementsystem.bench;
+
+import bankingmanagementsystem.Account;
+import bankingmanagementsystem.IAccount;
+import bankingmanagementsystem.Money;
+import bankingmanagementsystem.exceptions.InsufficientFundsException;
+import bankingmanagementsystem.exceptions.InvalidAmountException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Hammers a single account from 1 to 64 threads and compares the lock-free
+ * {@link Account} with the old {@link SynchronizedAccount}.
+ *
+ * Every thread runs deposit / withdraw / getBalance in a loop, so the final balance
+ * must equal the starting balance; the run fails loudly if it does not.
+ *
+ * Usage: AccountContentionBenchmark [secondsPerRun]
+ */
+public class AccountContentionBenchmark {
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+    private static final long START_BALANCE = Money.ofRupees(1_000_000);
+    private static final long AMOUNT = Money.ofRupees(10);
+
+    public static void main(String[] args) throws Exception {
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 1.0;
+        long durationNanos = (long) (seconds * 1_000_000_000L);
+
+        // Warm both implementations up before measuring.
+        run(() -> new Account("0000000000", "Personal", 0, START_BALANCE), 4, durationNanos / 2);
+        run(() -> new SynchronizedAccount(0, START_BALANCE), 4, durationNanos / 2);
+
+        System.out.printf("%-8s %18s %18s %8s%n", "threads", "lock-free ops/s", "synchronized ops/s", "speedup");
+        for (int threads : THREAD_COUNTS) {
+            double lockFree = run(() -> new Account("0000000000", "Personal", 0, START_BALANCE), threads, durationNanos);
+            double sync = run(() -> new SynchronizedAccount(0, START_BALANCE), threads, durationNanos);
+            System.out.printf("%-8d %18.0f %18.0f %7.2fx%n", threads, lockFree, sync, lockFree / sync);
+        }
+    }
+
+    /** Returns operations per second across all threads. */
+    private static double run(Supplier<IAccount> factory, int threads, long durationNanos) throws InterruptedException {
+        IAccount account = factory.get();
+        LongAdder operations = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    long deadline = System.nanoTime() + durationNanos;
+                    long ops = 0;
+                    long sink = 0;
+                    while (System.nanoTime() < deadline) {
+                        for (int k = 0; k < 256; k++) {
+                            account.deposit(AMOUNT);
+                            account.withdraw(AMOUNT);
+                            sink += account.getBalance();
+                        }
+                        ops += 256 * 3;
+                    }
+                    operations.add(ops + (sink == Long.MIN_VALUE ? 1 : 0));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (InvalidAmountException | InsufficientFundsException e) {
+                    throw new IllegalStateException(e);
+                }
+            }, "bench-" + i);
+            workers.add(worker);
+            worker.start();
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - began;
+
+        if (account.getBalance() != START_BALANCE) {
+            throw new IllegalStateException("Lost update: expected " + Money.format(START_BALANCE) + " but was " + Money.format(account.getBalance()));
+        }
+        return operations.sum() * 1_000_000_000.0 / elapsed;
+    }
+}
@@ -0,0 +1,63 @@
+package bankingmanagementsystem.bench;
+
+import bankingmanagementsystem.Customer;
+import bankingmanagementsystem.CustomerRegistry;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Account lookup in {@link CustomerRegistry}, for account numbers that exist and for ones
+ * that do not (a mistyped number at login or as a transfer target).
+ *
+ * Account numbers are formatted outside the timed region by picking from a prepared table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class LookupBenchmark {
+    private static final int PROBES = 1 << 16;
+
+    @Param({"1000", "100000", "1000000"})
+    public int customers;
+
+    private CustomerRegistry registry;
+    private String[] existing;
+    private String[] missing;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        registry = new CustomerRegistry(SyntheticCustomers.generate(customers, 0, 42));
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        existing = new String[PROBES];
+        missing = new String[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            existing[i] = SyntheticCustomers.accountNumber(random.nextInt(customers));
+            missing[i] = SyntheticCustomers.accountNumber(customers + random.nextInt(customers));
+        }
+    }
+
+    @Benchmark
+    public Customer findExisting() {
+        return registry.findOrNull(existing[ThreadLocalRandom.current().nextInt(PROBES)]);
+    }
+
+    @Benchmark
+    public Customer findMissing() {
+        return registry.findOrNull(missing[ThreadLocalRandom.current().nextInt(PROBES)]);
+    }
+}
@@ -0,0 +1,84 @@
+package bankingmanagementsystem.bench;
+
+import bankingmanagementsystem.Customer;
+import bankingmanagementsystem.DataManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link DataManager#saveCustomers} and {@link DataManager#loadCustomers} on synthetic banks,
+ * each customer with ten history entries.
+ *
+ * Files go to a fresh temporary directory through -Dbank.dataDir, never the working directory.
+ * Persistence settings such as -Dbank.persistence=sharded can be passed with -jvmArgsAppend.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class PersistenceBenchmark {
+    private static final int HISTORY_LENGTH = 10;
+
+    @Param({"1000", "100000", "1000000"})
+    public int customers;
+
+    private Path dataDir;
+    private List<Customer> bank;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // DataManager reads bank.dataDir once, when the class loads; each trial runs in its own fork.
+        dataDir = Files.createTempDirectory("bank-bench-");
+        System.setProperty("bank.dataDir", dataDir.toString());
+        bank = SyntheticCustomers.generate(customers, HISTORY_LENGTH, 42);
+        DataManager.saveCustomers(bank);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dataDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public void saveCustomers() {
+        DataManager.saveCustomers(bank);
+    }
+
+    @Benchmark
+    public List<Customer> loadCustomers() {
+        List<Customer> loaded = DataManager.loadCustomers();
+        if (loaded.size() != customers) {
+            throw new IllegalStateException("Loaded " + loaded.size() + " customers, expected " + customers);
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,92 @@
+package bankingmanagementsystem.bench;
+
+import bankingmanagementsystem.Customer;
+import bankingmanagementsystem.Money;
+import bankingmanagementsystem.TransferService;
+import bankingmanagementsystem.exceptions.InsufficientFundsException;
+import bankingmanagementsystem.exceptions.InvalidAmountException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link TransferService#transfer} between random pairs drawn from a pool of accounts.
+ *
+ * A pool of 16 makes most transfers fight over the same lock stripes; 4096 spreads them
+ * out. Money in the pool is checked after the run. Pass -t to change the thread count.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class RandomTransferBenchmark {
+    @Param({"16", "4096"})
+    public int accounts;
+
+    private List<Customer> customers;
+    private long startTotal;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        customers = SyntheticCustomers.generate(accounts, 0, 42);
+        startTotal = total();
+    }
+
+    // Histories grow by two entries per transfer; clear them so the heap measures transfers, not GC.
+    @Setup(Level.Iteration)
+    public void clearHistories() {
+        for (Customer customer : customers) {
+            synchronized (customer) {
+                customer.getTransactionHistory().clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void checkConserved() {
+        long total = total();
+        if (total != startTotal) {
+            throw new IllegalStateException("Money not conserved: expected " + Money.format(startTotal) + " but was " + Money.format(total));
+        }
+    }
+
+    private long total() {
+        long total = 0;
+        for (Customer customer : customers) {
+            total += customer.getAccount().getBalance();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public boolean transfer() throws InvalidAmountException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(accounts);
+        int to = random.nextInt(accounts - 1);
+        if (to >= from) to++;
+        try {
+            TransferService.transfer(customers.get(from), customers.get(to), 1 + random.nextInt(10_000));
+            return true;
+        } catch (InsufficientFundsException e) {
+            // Expected once an account runs dry.
+            return false;
+        }
+    }
+}
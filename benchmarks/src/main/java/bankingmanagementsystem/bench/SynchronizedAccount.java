@@ -0,0 +1,43 @@
+package bankingmanagementsystem.bench;
+
+import bankingmanagementsystem.IAccount;
+import bankingmanagementsystem.exceptions.InsufficientFundsException;
+import bankingmanagementsystem.exceptions.InvalidAmountException;
+
+/**
+ * The monitor-based Account implementation that preceded the lock-free one,
+ * kept here only as a baseline for contention benchmarks.
+ */
+public class SynchronizedAccount implements IAccount {
+    private final long minBalance;
+    private long balance;
+
+    public SynchronizedAccount(long minBalance, long balance) {
+        this.minBalance = minBalance;
+        this.balance = balance;
+    }
+
+    @Override
+    public synchronized void deposit(long amount) throws InvalidAmountException {
+        if (amount <= 0) {
+            throw new InvalidAmountException("Deposit amount must be positive.");
+        }
+        balance += amount;
+    }
+
+    @Override
+    public synchronized void withdraw(long amount) throws InvalidAmountException, InsufficientFundsException {
+        if (amount <= 0) {
+            throw new InvalidAmountException("Withdrawal amount must be positive.");
+        }
+        if ((balance - amount) < minBalance) {
+            throw new InsufficientFundsException("Insufficient balance.");
+        }
+        balance -= amount;
+    }
+
+    @Override
+    public synchronized long getBalance() {
+        return balance;
+    }
+}
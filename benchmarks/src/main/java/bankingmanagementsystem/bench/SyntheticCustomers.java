@@ -0,0 +1,49 @@
+package bankingmanagementsystem.bench;
+
+import bankingmanagementsystem.Account;
+import bankingmanagementsystem.Customer;
+import bankingmanagementsystem.Money;
+import bankingmanagementsystem.Transaction;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic customers for benchmarks. Account numbers are the index as ten digits,
+ * so a benchmark can pick a random existing (or missing) account without keeping a list.
+ */
+final class SyntheticCustomers {
+    private static final String[] ACCOUNT_TYPES = {"Personal", "Business", "Student"};
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private SyntheticCustomers() {
+    }
+
+    static String accountNumber(int index) {
+        return String.format("%010d", index);
+    }
+
+    /** Creates {@code count} customers, each with {@code historyLength} transactions. */
+    static List<Customer> generate(int count, int historyLength, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Customer> customers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long balance = Money.ofRupees(1_000 + random.nextInt(1_000_000));
+            Account account = new Account(accountNumber(i), ACCOUNT_TYPES[i % ACCOUNT_TYPES.length], 0, balance);
+            List<Transaction> history = new ArrayList<>(historyLength);
+            for (int t = 0; t < historyLength; t++) {
+                long amount = Money.ofRupees(1 + random.nextInt(50_000));
+                LocalDateTime at = EPOCH.plusMinutes(random.nextInt(525_600));
+                history.add(t % 2 == 0
+                        ? new Transaction("Deposit", amount, "Cash deposit", at)
+                        : new Transaction("Withdrawal", amount, "ATM withdrawal", at));
+            }
+            customers.add(new Customer("Customer " + i, LocalDate.of(1960 + random.nextInt(45), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                    "Street " + random.nextInt(10_000), Money.ofRupees(random.nextInt(200_000)), "pw" + i, null, null,
+                    account, new ArrayList<>(), new ArrayList<>(), history));
+        }
+        return customers;
+    }
+}
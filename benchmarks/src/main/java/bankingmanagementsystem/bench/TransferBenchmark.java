@@ -0,0 +1,103 @@
+package bankingmanagementsystem.bench;
+
+import bankingmanagementsystem.Account;
+import bankingmanagementsystem.Customer;
+import bankingmanagementsystem.Money;
+import bankingmanagementsystem.TransferService;
+import bankingmanagementsystem.exceptions.InsufficientFundsException;
+import bankingmanagementsystem.exceptions.InvalidAmountException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Random transfers between a pool of accounts from 1 to 64 threads.
+ *
+ * A small pool forces opposite-direction transfers on the same pair, which is
+ * where lock ordering matters; the run would hang if it could deadlock.
+ * Total money in the pool is checked after every run.
+ *
+ * Usage: TransferBenchmark [secondsPerRun] [accounts]
+ */
+public class TransferBenchmark {
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+    private static final long START_BALANCE = Money.ofRupees(1_000_000);
+
+    public static void main(String[] args) throws Exception {
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 1.0;
+        int accounts = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        long durationNanos = (long) (seconds * 1_000_000_000L);
+
+        System.out.printf("%-8s %18s%n", "threads", "transfers/s");
+        for (int threads : THREAD_COUNTS) {
+            System.out.printf("%-8d %18.0f%n", threads, run(accounts, threads, durationNanos));
+        }
+    }
+
+    private static double run(int accountCount, int threads, long durationNanos) throws InterruptedException {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < accountCount; i++) {
+            Account account = new Account(String.format("%010d", i), "Personal", 0, START_BALANCE);
+            customers.add(new Customer("Bench " + i, LocalDate.of(1990, 1, 1), "-", 0, "x", null, null,
+                    account, new ArrayList<>(), new ArrayList<>(), new ArrayList<>()));
+        }
+
+        LongAdder transfers = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                    long deadline = System.nanoTime() + durationNanos;
+                    long done = 0;
+                    while (System.nanoTime() < deadline) {
+                        int from = random.nextInt(accountCount);
+                        int to = random.nextInt(accountCount - 1);
+                        if (to >= from) to++;
+                        try {
+                            TransferService.transfer(customers.get(from), customers.get(to), 1 + random.nextInt(10_000));
+                            done++;
+                        } catch (InsufficientFundsException e) {
+                            // Expected once an account runs dry.
+                        }
+                        if ((done & 1023) == 0) {
+                            // Histories would otherwise grow without bound over a long run.
+                            Customer customer = customers.get(from);
+                            synchronized (customer) {
+                                customer.getTransactionHistory().clear();
+                            }
+                        }
+                    }
+                    transfers.add(done);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (InvalidAmountException e) {
+                    throw new IllegalStateException(e);
+                }
+            }, "bench-" + i);
+            workers.add(worker);
+            worker.start();
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - began;
+
+        long total = 0;
+        for (Customer customer : customers) {
+            total += customer.getAccount().getBalance();
+        }
+        if (total != START_BALANCE * accountCount) {
+            throw new IllegalStateException("Money not conserved: expected " + Money.format(START_BALANCE * accountCount) + " but was " + Money.format(total));
+        }
+        return transfers.sum() * 1_000_000_000.0 / elapsed;
+    }
+}
@@ -2,44 +2,89 @@ package bankingmanagementsystem;
 
 import bankingmanagementsystem.exceptions.InsufficientFundsException;
 import bankingmanagementsystem.exceptions.InvalidAmountException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Lock-free account. The balance lives in an {@link AtomicLong}: deposits are a single
+ * atomic add and withdrawals a compare-and-set loop that enforces the minimum balance,
+ * so readers always see a fully applied value and writers never block on a monitor.
+ */
 public class Account implements IAccount, Serializable {
     private static final long serialVersionUID = 1L;
     private String accountId;
-    private double balance;
+    private AtomicLong balance;
     private String accountType;  // <-- Missing getter caused error
-    private double minBalance;
+    private long minBalance;
+    // Set while the account belongs to a registry; see BankAggregates.
+    transient volatile BankAggregates aggregates;
 
-    public Account(String accountId, String accountType, double minBalance) {
+    public Account(String accountId, String accountType, long minBalance) {
         this.accountId = accountId;
         this.accountType = accountType;
         this.minBalance = minBalance;
-        this.balance = 0.0;
+        this.balance = new AtomicLong();
+    }
+
+    // Restores an account from persisted state.
+    public Account(String accountId, String accountType, long minBalance, long balance) {
+        this.accountId = accountId;
+        this.accountType = accountType;
+        this.minBalance = minBalance;
+        this.balance = new AtomicLong(balance);
     }
 
     @Override
-    public synchronized void deposit(double amount) throws InvalidAmountException {
+    public void deposit(long amount) throws InvalidAmountException {
         if (amount <= 0) {
             throw new InvalidAmountException("Deposit amount must be positive.");
         }
-        balance += amount;
+        balance.addAndGet(amount);
+        report(amount);
     }
 
     @Override
-    public synchronized void withdraw(double amount) throws InvalidAmountException, InsufficientFundsException {
+    public void withdraw(long amount) throws InvalidAmountException, InsufficientFundsException {
         if (amount <= 0) {
             throw new InvalidAmountException("Withdrawal amount must be positive.");
         }
-        if ((balance - amount) < minBalance) {
-            throw new InsufficientFundsException("Insufficient balance. Minimum balance of " + minBalance + " must be maintained.");
+        while (true) {
+            long current = balance.get();
+            long next = current - amount;
+            if (next < minBalance) {
+                throw new InsufficientFundsException("Insufficient balance. Minimum balance of " + Money.format(minBalance) + " must be maintained.");
+            }
+            if (balance.compareAndSet(current, next)) {
+                report(-amount);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Applies a balance change recorded in the journal without re-checking business rules.
+     * The journal records what already happened, and with the ledger engine's partitions
+     * two entries for the same account may be written in a different order than they ran.
+     */
+    public void replay(long delta) {
+        balance.addAndGet(delta);
+        report(delta);
+    }
+
+    private void report(long delta) {
+        BankAggregates totals = aggregates;
+        if (totals != null) {
+            totals.balanceChanged(accountType, delta);
         }
-        balance -= amount;
     }
 
     @Override
-    public double getBalance() {
-        return balance;
+    public long getBalance() {
+        return balance.get();
     }
 
     public String getAccountId() {
@@ -51,19 +96,41 @@ public class Account implements IAccount, Serializable {
         return accountType;
     }
 
-    public double getMinBalance() {
+    public long getMinBalance() {
         return minBalance;
     }
 
     @Override
     public String toString() {
-        return String.format(
-                "Account Details:\n" +
-                "  Account Number: %s\n" +
-                "  Account Type: %s\n" +
-                "  Balance: %.2f\n" +
-                "  Minimum Balance Required: %.2f",
-                accountId, accountType, balance, minBalance
-        );
+        return "Account Details:\n" +
+                "  Account Number: " + accountId + "\n" +
+                "  Account Type: " + accountType + "\n" +
+                "  Balance: " + Money.format(getBalance()) + "\n" +
+                "  Minimum Balance Required: " + Money.format(minBalance);
+    }
+
+    // --- Java serialization keeps the old rupee-double layout so legacy customers.dat files still load ---
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("accountId", String.class),
+            new ObjectStreamField("balance", double.class),
+            new ObjectStreamField("accountType", String.class),
+            new ObjectStreamField("minBalance", double.class)
+    };
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("accountId", accountId);
+        fields.put("balance", Money.toRupees(getBalance()));
+        fields.put("accountType", accountType);
+        fields.put("minBalance", Money.toRupees(minBalance));
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        accountId = (String) fields.get("accountId", null);
+        balance = new AtomicLong(Money.fromRupees(fields.get("balance", 0.0)));
+        accountType = (String) fields.get("accountType", null);
+        minBalance = Money.fromRupees(fields.get("minBalance", 0.0));
     }
 }
@@ -0,0 +1,243 @@
+package bankingmanagementsystem;
+
+import bankingmanagementsystem.exceptions.InsufficientFundsException;
+import bankingmanagementsystem.exceptions.InvalidAmountException;
+import bankingmanagementsystem.persistence.JournalEntry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Closes a batch of accounts for both the CLI and the admin dashboard.
+ *
+ * Accounts are resolved through the registry index and removed in one pass, then settled in
+ * parallel on the common ForkJoin pool: the caution deposit is refunded and the closure
+ * charges deducted, each recorded as a Transaction. The settlements and closures of the whole
+ * batch go to disk in a single commit.
+ */
+public final class AccountClosureEngine {
+    public static final long BANK_CHARGES = Money.ofRupees(140);
+    public static final long GOVERNMENT_TAX = Money.ofRupees(30);
+    private static final int PROGRESS_EVERY = 1024;
+
+    private AccountClosureEngine() {
+    }
+
+    /** Receives the number of settled accounts; may be called from several threads. */
+    public interface Progress {
+        void update(int settled, int total);
+    }
+
+    /** Account numbers resolved against the registry, before anything is changed. */
+    public static final class Batch {
+        private final List<Customer> customers;
+        private final List<String> notFound;
+
+        private Batch(List<Customer> customers, List<String> notFound) {
+            this.customers = customers;
+            this.notFound = notFound;
+        }
+
+        public List<Customer> getCustomers() { return customers; }
+        public List<String> getNotFound() { return notFound; }
+        public boolean isEmpty() { return customers.isEmpty(); }
+        public int size() { return customers.size(); }
+
+        /** Names for a confirmation prompt, cut off after {@code limit}. */
+        public String describe(int limit) {
+            String names = customers.stream().limit(limit).map(Customer::getName).collect(Collectors.joining(", "));
+            return customers.size() > limit ? names + " and " + (customers.size() - limit) + " more" : names;
+        }
+    }
+
+    /** How one account was settled. */
+    public static final class Result {
+        private final String accountId;
+        private final String name;
+        private final long refunded;
+        private final long charged;
+        private final long closingBalance;
+        private final String note;
+        private final List<Transaction> settlement;
+
+        private Result(String accountId, String name, long refunded, long charged, long closingBalance,
+                       String note, List<Transaction> settlement) {
+            this.accountId = accountId;
+            this.name = name;
+            this.refunded = refunded;
+            this.charged = charged;
+            this.closingBalance = closingBalance;
+            this.note = note;
+            this.settlement = settlement;
+        }
+
+        public String getAccountId() { return accountId; }
+        public String getName() { return name; }
+        public long getRefunded() { return refunded; }
+        public long getCharged() { return charged; }
+        public long getClosingBalance() { return closingBalance; }
+        /** Why part of the settlement did not happen, or null. */
+        public String getNote() { return note; }
+        public List<Transaction> getSettlement() { return settlement; }
+
+        @Override
+        public String toString() {
+            return accountId + " (" + name + "): refunded " + Money.format(refunded) + ", charged " + Money.format(charged)
+                    + ", closing balance " + Money.format(closingBalance) + (note == null ? "" : " - " + note);
+        }
+    }
+
+    public static final class Report {
+        private final List<Result> results;
+        private final List<String> notFound;
+        private final List<String> alreadyClosed;
+        private final CompletableFuture<Void> saved;
+        private final long elapsedMillis;
+
+        private Report(List<Result> results, List<String> notFound, List<String> alreadyClosed,
+                       CompletableFuture<Void> saved, long elapsedMillis) {
+            this.results = results;
+            this.notFound = notFound;
+            this.alreadyClosed = alreadyClosed;
+            this.saved = saved;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public List<Result> getResults() { return results; }
+        public List<String> getNotFound() { return notFound; }
+        /** Accounts that were resolved but closed by someone else before this batch removed them. */
+        public List<String> getAlreadyClosed() { return alreadyClosed; }
+        /** Completes when the batch is on disk; see {@link DataManager#commit}. */
+        public CompletableFuture<Void> getSaved() { return saved; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public long getTotalRefunded() { return results.stream().mapToLong(Result::getRefunded).sum(); }
+        public long getTotalCharged() { return results.stream().mapToLong(Result::getCharged).sum(); }
+        public long getTotalClosingBalance() { return results.stream().mapToLong(Result::getClosingBalance).sum(); }
+
+        public String summary() {
+            return "Closed " + results.size() + " accounts in " + elapsedMillis + " ms. Refunded " + Money.format(getTotalRefunded())
+                    + ", charges collected " + Money.format(getTotalCharged())
+                    + ", closing balances " + Money.format(getTotalClosingBalance()) + ".";
+        }
+    }
+
+    /** Looks each account number up in the registry index; duplicates and blanks are dropped. */
+    public static Batch resolve(CustomerRegistry registry, Collection<String> accountNumbers) {
+        Set<String> unique = new LinkedHashSet<>();
+        for (String accountNumber : accountNumbers) {
+            String trimmed = accountNumber.trim();
+            if (!trimmed.isEmpty()) {
+                unique.add(trimmed);
+            }
+        }
+        List<Customer> customers = new ArrayList<>(unique.size());
+        List<String> notFound = new ArrayList<>();
+        for (String accountNumber : unique) {
+            Customer customer = registry.findOrNull(accountNumber);
+            if (customer == null) {
+                notFound.add(accountNumber);
+            } else {
+                customers.add(customer);
+            }
+        }
+        return new Batch(Collections.unmodifiableList(customers), Collections.unmodifiableList(notFound));
+    }
+
+    public static Report close(CustomerRegistry registry, Batch batch, Progress progress) {
+        long start = System.nanoTime();
+
+        List<JournalEntry> entries = new ArrayList<>();
+        List<Result> results;
+        List<String> alreadyClosed = new ArrayList<>();
+        DataManager.beginChange();
+        try {
+            results = removeAndSettle(registry, batch, progress, alreadyClosed);
+            for (Result result : results) {
+                if (result.getRefunded() > 0) {
+                    entries.add(JournalEntry.deposit(result.getAccountId(), result.getRefunded()));
+                }
+                if (result.getCharged() > 0) {
+                    entries.add(JournalEntry.withdrawal(result.getAccountId(), result.getCharged()));
+                }
+                entries.add(JournalEntry.close(result.getAccountId()));
+            }
+        } finally {
+            DataManager.endChange(entries);
+        }
+        CompletableFuture<Void> saved = entries.isEmpty()
+                ? CompletableFuture.completedFuture(null)
+                : DataManager.commit(registry.customers(), entries);
+
+        return new Report(Collections.unmodifiableList(results), batch.getNotFound(),
+                Collections.unmodifiableList(alreadyClosed), saved, (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    private static List<Result> removeAndSettle(CustomerRegistry registry, Batch batch, Progress progress, List<String> alreadyClosed) {
+        // Remove first, so nothing new can find these accounts while they are being settled.
+        Set<Customer> removed = registry.removeEach(batch.getCustomers());
+        List<Customer> closing = new ArrayList<>(removed.size());
+        for (Customer customer : batch.getCustomers()) {
+            if (removed.contains(customer)) {
+                closing.add(customer);
+            } else {
+                alreadyClosed.add(customer.getAccount().getAccountId());
+            }
+        }
+
+        int total = closing.size();
+        AtomicInteger settled = new AtomicInteger();
+        return closing.parallelStream()
+                .map(customer -> {
+                    Result result = settle(customer);
+                    int done = settled.incrementAndGet();
+                    if (progress != null && (done % PROGRESS_EVERY == 0 || done == total)) {
+                        progress.update(done, total);
+                    }
+                    return result;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static Result settle(Customer customer) {
+        Account account = customer.getAccount();
+        List<Transaction> settlement = new ArrayList<>(2);
+        String note = null;
+
+        long refund = account.getMinBalance();
+        long refunded = 0;
+        if (refund > 0) {
+            try {
+                account.deposit(refund);
+                refunded = refund;
+                settlement.add(new Transaction("Caution Refund", refund, "Caution deposit refunded on closure"));
+            } catch (InvalidAmountException e) {
+                note = "Refund failed: " + e.getMessage();
+            }
+        }
+
+        long charges = BANK_CHARGES + GOVERNMENT_TAX;
+        long charged = 0;
+        try {
+            account.withdraw(charges);
+            charged = charges;
+            settlement.add(new Transaction("Closure Charges", charges,
+                    "Bank charges " + Money.format(BANK_CHARGES) + " + tax " + Money.format(GOVERNMENT_TAX)));
+        } catch (InsufficientFundsException e) {
+            note = (note == null ? "" : note + "; ") + "Charges waived: insufficient funds";
+        } catch (InvalidAmountException e) {
+            note = (note == null ? "" : note + "; ") + "Charges failed: " + e.getMessage();
+        }
+
+        for (Transaction tx : settlement) {
+            customer.addTransaction(tx);
+        }
+        return new Result(account.getAccountId(), customer.getName(), refunded, charged, account.getBalance(),
+                note, Collections.unmodifiableList(settlement));
+    }
+}
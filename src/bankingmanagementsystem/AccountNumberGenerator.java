@@ -1,24 +1,56 @@
 package bankingmanagementsystem;
 
-import java.util.HashSet;
-import java.util.Random;
-import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Issues random, unique 10-digit account numbers.
+ *
+ * Issued numbers live in a primitive {@link AccountNumberSet}, so generation is
+ * thread-safe without a global lock and costs a few bytes per number rather than a
+ * String and a hash-set entry each.
+ *
+ * Synthetic banks number their accounts themselves, as a function of the seed (see
+ * {@link DatasetGenerator#accountNumber}); loading one marks those numbers used here.
+ */
 public class AccountNumberGenerator {
-    private static final Set<String> usedAccountNumbers = new HashSet<>();
-    private static final Random random = new Random();
+    private static final long FIRST = 1_000_000_000L;
+    private static final long RANGE = 9_000_000_000L;
+    private static final AccountNumberSet usedAccountNumbers = new AccountNumberSet();
+
     public static String generateUniqueAccountNumber() {
-        String accountNumber;
-        do {
-            long number = 1000000000L + (long)(random.nextDouble() * 9000000000L);
-            accountNumber = String.valueOf(number);
-        } while (usedAccountNumbers.contains(accountNumber));
+        return String.valueOf(nextNumber());
+    }
+
+    /** Records a number that is already in use, e.g. one loaded from disk. */
+    public static void markUsed(String accountNumber) {
+        long number = parse(accountNumber);
+        if (number >= 0) {
+            usedAccountNumbers.add(number);
+        }
+    }
 
-        usedAccountNumbers.add(accountNumber);
-        return accountNumber;
+    private static long nextNumber() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long number;
+        do {
+            number = FIRST + random.nextLong(RANGE);
+        } while (!usedAccountNumbers.add(number));
+        return number;
     }
-    public static void loadUsedAccountNumbers(Set<String> numbers) {
-        if (numbers != null) {
-            usedAccountNumbers.addAll(numbers);
+
+    // Returns -1 for anything that is not a number this generator could have issued.
+    private static long parse(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() != 10) {
+            return -1;
+        }
+        long number = 0;
+        for (int i = 0; i < accountNumber.length(); i++) {
+            char c = accountNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
         }
+        return number >= FIRST ? number : -1;
     }
 }
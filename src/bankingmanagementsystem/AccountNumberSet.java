@@ -0,0 +1,128 @@
+package bankingmanagementsystem;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Insert-only set of non-negative numbers below 10^11, stored as primitive ints.
+ *
+ * Values are split into 256 shards by their low 8 bits; each shard is an open-addressing
+ * table of the remaining bits (plus one, so 0 can mean empty). Adds are a CAS on one slot.
+ * A shard that gets too full is frozen and copied into a table twice the size; an add that
+ * raced with the copy simply repeats on the new table. At most about 11 bytes are used per
+ * member (4-byte slots, 35-70% full).
+ */
+final class AccountNumberSet {
+    private static final int SHARD_BITS = 8;
+    private static final int SHARDS = 1 << SHARD_BITS;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final double MAX_LOAD = 0.7;
+
+    private static final class Table {
+        final AtomicIntegerArray slots;
+        final int mask;
+        final int resizeAt;
+        final AtomicInteger size = new AtomicInteger();
+        volatile boolean frozen;
+
+        Table(int capacity) {
+            this.slots = new AtomicIntegerArray(capacity);
+            this.mask = capacity - 1;
+            this.resizeAt = (int) (capacity * MAX_LOAD);
+        }
+    }
+
+    private static final class Shard {
+        volatile Table table = new Table(INITIAL_CAPACITY);
+    }
+
+    private final Shard[] shards = new Shard[SHARDS];
+
+    AccountNumberSet() {
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new Shard();
+        }
+    }
+
+    /** Returns true if {@code value} was not in the set and has now been added. */
+    boolean add(long value) {
+        Shard shard = shards[(int) value & (SHARDS - 1)];
+        int key = key(value);
+        while (true) {
+            Table table = shard.table;
+            if (table.frozen) {
+                awaitReplacement(shard, table);
+                continue;
+            }
+            int result = insert(table, key);
+            if (table.frozen) {
+                // A copy started meanwhile and may have missed this key, so settle it on the new
+                // table. If it shows up there as present we cannot tell whose it is; reporting
+                // "taken" at worst leaves one number unused.
+                continue;
+            }
+            if (result == INSERTED && table.size.incrementAndGet() >= table.resizeAt) {
+                grow(shard, table);
+            }
+            return result == INSERTED;
+        }
+    }
+
+    boolean contains(long value) {
+        Table table = shards[(int) value & (SHARDS - 1)].table;
+        int key = key(value);
+        for (int i = mix(key) & table.mask; ; i = (i + 1) & table.mask) {
+            int slot = table.slots.get(i);
+            if (slot == key) return true;
+            if (slot == 0) return false;
+        }
+    }
+
+    private static final int INSERTED = 1;
+    private static final int PRESENT = 0;
+
+    private static int insert(Table table, int key) {
+        for (int i = mix(key) & table.mask; ; i = (i + 1) & table.mask) {
+            int slot = table.slots.get(i);
+            if (slot == key) return PRESENT;
+            if (slot == 0) {
+                if (table.slots.compareAndSet(i, 0, key)) return INSERTED;
+                if (table.slots.get(i) == key) return PRESENT;
+            }
+        }
+    }
+
+    private static void grow(Shard shard, Table old) {
+        synchronized (shard) {
+            if (shard.table != old) {
+                return;
+            }
+            old.frozen = true;
+            Table bigger = new Table((old.mask + 1) * 2);
+            int copied = 0;
+            for (int i = 0; i <= old.mask; i++) {
+                int key = old.slots.get(i);
+                if (key != 0 && insert(bigger, key) == INSERTED) {
+                    copied++;
+                }
+            }
+            bigger.size.set(copied);
+            shard.table = bigger;
+        }
+    }
+
+    private static void awaitReplacement(Shard shard, Table frozen) {
+        while (shard.table == frozen) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static int key(long value) {
+        return (int) (value >>> SHARD_BITS) + 1;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -63,10 +63,10 @@ public class Admin implements Serializable {
             return;
         }
         for (Customer customer : customers) {
-            System.out.printf("Name: %-20s | Account Number: %s | Balance: %.2f\n",
+            System.out.printf("Name: %-20s | Account Number: %s | Balance: %s\n",
                     customer.getName(),
                     customer.getAccount().getAccountId(),
-                    customer.getAccount().getBalance());
+                    Money.format(customer.getAccount().getBalance()));
         }
     }
 }
@@ -0,0 +1,201 @@
+package bankingmanagementsystem;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bank-wide totals for the admin summary: customers, deposits by account type, the outstanding
+ * loan book by loan type and what is owed on fixed deposits.
+ *
+ * The totals are adjusted on every mutation instead of being recomputed from the customer list,
+ * so reading a {@link Summary} costs the same however large the bank is. Each total is a
+ * {@link LongAdder}; deposits and withdrawals on different threads add into separate cells and
+ * do not contend on one counter.
+ *
+ * A {@link CustomerRegistry} owns one instance. It counts every customer once when it is built,
+ * attaches customers as they register and detaches them as they are removed; while attached,
+ * the customer's account, loans and investments report their changes here. Money that moves on
+ * an account at the moment it is removed may be missed by the removal.
+ */
+public class BankAggregates {
+    private final LongAdder customers = new LongAdder();
+    private final Map<String, Total> deposits = new ConcurrentHashMap<>();
+    private final Map<String, Total> loans = new ConcurrentHashMap<>();
+    private final Total fixedDepositPrincipal = new Total();
+    private final Total fixedDepositLiability = new Total();
+
+    // Running amount and item count for one line of the summary.
+    private static final class Total {
+        final LongAdder amount = new LongAdder();
+        final LongAdder count = new LongAdder();
+
+        void add(long delta, int items) {
+            amount.add(delta);
+            if (items != 0) {
+                count.add(items);
+            }
+        }
+
+        Line read() {
+            return new Line(count.sum(), amount.sum());
+        }
+    }
+
+    /** Starts counting the customer; false if it was already counted here. */
+    boolean attach(Customer customer) {
+        synchronized (customer) {
+            Account account = customer.getAccount();
+            if (account.aggregates == this) {
+                return false;
+            }
+            account.aggregates = this;
+            customers.increment();
+            total(deposits, account.getAccountType()).add(account.getBalance(), 1);
+            customer.forEachHolding(this::loanAdded, this::investmentAdded);
+            return true;
+        }
+    }
+
+    void detach(Customer customer) {
+        synchronized (customer) {
+            Account account = customer.getAccount();
+            if (account.aggregates != this) {
+                return;
+            }
+            account.aggregates = null;
+            customers.decrement();
+            total(deposits, account.getAccountType()).add(-account.getBalance(), -1);
+            customer.forEachHolding(
+                    loan -> total(loans, loan.getLoanType()).add(-loan.getAmountDue(), loan.getAmountDue() > 0 ? -1 : 0),
+                    this::investmentMatured);
+        }
+    }
+
+    void balanceChanged(String accountType, long delta) {
+        total(deposits, accountType).add(delta, 0);
+    }
+
+    void loanAdded(Loan loan) {
+        total(loans, loan.getLoanType()).add(loan.getAmountDue(), loan.getAmountDue() > 0 ? 1 : 0);
+    }
+
+    void loanRepaid(Loan loan, long previousDue) {
+        boolean closed = previousDue > 0 && loan.getAmountDue() == 0;
+        total(loans, loan.getLoanType()).add(loan.getAmountDue() - previousDue, closed ? -1 : 0);
+    }
+
+    void investmentAdded(Investment investment) {
+        fixedDepositPrincipal.add(investment.getAmountInvested(), 1);
+        fixedDepositLiability.add(investment.getMaturityValue(), 1);
+    }
+
+    void investmentMatured(Investment investment) {
+        fixedDepositPrincipal.add(-investment.getAmountInvested(), -1);
+        fixedDepositLiability.add(-investment.getMaturityValue(), -1);
+    }
+
+    private static Total total(Map<String, Total> totals, String type) {
+        String key = type == null ? "Unknown" : type;
+        Total total = totals.get(key);
+        return total != null ? total : totals.computeIfAbsent(key, k -> new Total());
+    }
+
+    /** Reads every total; the cost depends on the number of account and loan types only. */
+    public Summary summary() {
+        return new Summary(customers.sum(), read(deposits), read(loans),
+                fixedDepositPrincipal.read(), fixedDepositLiability.read());
+    }
+
+    private static Map<String, Line> read(Map<String, Total> totals) {
+        Map<String, Line> lines = new TreeMap<>();
+        totals.forEach((type, total) -> lines.put(type, total.read()));
+        return Collections.unmodifiableMap(lines);
+    }
+
+    /** An item count and an amount in paise. */
+    public static final class Line {
+        private final long count;
+        private final long amount;
+
+        Line(long count, long amount) {
+            this.count = count;
+            this.amount = amount;
+        }
+
+        public long getCount() { return count; }
+        public long getAmount() { return amount; }
+    }
+
+    /**
+     * One reading of the totals. Each adder is summed on its own, so a transfer that is in
+     * flight while the summary is read may show on one side before the other.
+     */
+    public static final class Summary {
+        private final long customerCount;
+        private final Map<String, Line> depositsByAccountType;
+        private final Map<String, Line> loansByLoanType;
+        private final Line fixedDepositPrincipal;
+        private final Line fixedDepositLiability;
+
+        Summary(long customerCount, Map<String, Line> depositsByAccountType, Map<String, Line> loansByLoanType,
+                Line fixedDepositPrincipal, Line fixedDepositLiability) {
+            this.customerCount = customerCount;
+            this.depositsByAccountType = depositsByAccountType;
+            this.loansByLoanType = loansByLoanType;
+            this.fixedDepositPrincipal = fixedDepositPrincipal;
+            this.fixedDepositLiability = fixedDepositLiability;
+        }
+
+        public long getCustomerCount() { return customerCount; }
+        /** Account balances by account type; the count is the number of accounts. */
+        public Map<String, Line> getDepositsByAccountType() { return depositsByAccountType; }
+        /** Amount still due by loan type; the count is the number of loans not yet paid off. */
+        public Map<String, Line> getLoansByLoanType() { return loansByLoanType; }
+        /** Amount invested in fixed deposits that have not matured. */
+        public Line getFixedDepositPrincipal() { return fixedDepositPrincipal; }
+        /** What those fixed deposits will pay out at maturity. */
+        public Line getFixedDepositLiability() { return fixedDepositLiability; }
+
+        public long getTotalDeposits() {
+            return sum(depositsByAccountType);
+        }
+
+        public long getTotalLoansOutstanding() {
+            return sum(loansByLoanType);
+        }
+
+        private static long sum(Map<String, Line> lines) {
+            long sum = 0;
+            for (Line line : lines.values()) {
+                sum += line.getAmount();
+            }
+            return sum;
+        }
+
+        public void print() {
+            System.out.println("\n--- Bank Summary ---");
+            System.out.println("Customers: " + customerCount);
+            System.out.println("Deposits by account type:");
+            for (Map.Entry<String, Line> entry : depositsByAccountType.entrySet()) {
+                System.out.printf("  %-20s %8d accounts  %s\n", entry.getKey(), entry.getValue().getCount(),
+                        Money.format(entry.getValue().getAmount()));
+            }
+            System.out.println("  Total deposits: " + Money.format(getTotalDeposits()));
+            System.out.println("Outstanding loans by loan type:");
+            if (loansByLoanType.isEmpty()) {
+                System.out.println("  No loans.");
+            }
+            for (Map.Entry<String, Line> entry : loansByLoanType.entrySet()) {
+                System.out.printf("  %-20s %8d loans     %s\n", entry.getKey(), entry.getValue().getCount(),
+                        Money.format(entry.getValue().getAmount()));
+            }
+            System.out.println("  Total outstanding: " + Money.format(getTotalLoansOutstanding()));
+            System.out.println("Fixed deposits: " + fixedDepositPrincipal.getCount()
+                    + " | Principal: " + Money.format(fixedDepositPrincipal.getAmount())
+                    + " | Payable at maturity: " + Money.format(fixedDepositLiability.getAmount()));
+        }
+    }
+}
@@ -0,0 +1,624 @@
+package bankingmanagementsystem;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hand-written, versioned binary format for customer data.
+ *
+ * A snapshot is MAGIC, format version, snapshot LSN, customer count and then each
+ * customer in turn. Integers and paise amounts are LEB128 varints (zig-zag for
+ * signed values), dates are epoch days and transaction timestamps are epoch
+ * millis delta-encoded against the previous entry. Low-cardinality strings such as transaction types,
+ * descriptions and account/loan types go through a per-stream string table, so
+ * each distinct value is written once and referenced by index afterwards.
+ *
+ * In a snapshot a customer's loans, investments and history form a length-prefixed
+ * detail block with its own string table. A lazy read keeps that block as bytes and
+ * the customer decodes it on first use; a save copies an undecoded block back unchanged.
+ */
+public class BankCodec {
+    public static final int MAGIC = 0x424E4B53; // "BNKS"
+    // Amounts as zig-zag varint paise, per-customer detail framed in snapshots.
+    public static final int VERSION = 3;
+    private static final int MAX_SYMBOLS = 1 << 16;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Counts and lengths come from the data, so allocations sized by them are capped here and grow
+    // as elements are actually read: corrupt input then ends in an IOException, not an OutOfMemoryError.
+    private static final int MAX_PRESIZE = 1 << 16;
+
+    public static class Snapshot {
+        private final List<Customer> customers;
+        private final long lsn;
+
+        public Snapshot(List<Customer> customers, long lsn) {
+            this.customers = customers;
+            this.lsn = lsn;
+        }
+
+        public List<Customer> getCustomers() { return customers; }
+        public long getLsn() { return lsn; }
+    }
+
+    public static void writeSnapshot(OutputStream out, List<Customer> customers, long lsn) throws IOException {
+        // One copy, so the count in the header matches the customers written even if the list changes.
+        Customer[] all = customers.toArray(new Customer[0]);
+        Encoder encoder = beginSnapshot(out, lsn, all.length);
+        for (Customer customer : all) {
+            encoder.writeCustomer(customer);
+        }
+        encoder.flush();
+    }
+
+    /**
+     * Writes a snapshot header for {@code count} customers and returns the encoder for them.
+     * The caller writes exactly that many with {@link Encoder#writeCustomer} and then flushes,
+     * so a snapshot can be streamed out without holding every customer at once.
+     */
+    public static Encoder beginSnapshot(OutputStream out, long lsn, int count) throws IOException {
+        Encoder encoder = new Encoder(out);
+        encoder.framedDetail = true;
+        encoder.writeInt(MAGIC);
+        encoder.writeVarLong(VERSION);
+        encoder.writeVarLong(lsn);
+        encoder.writeVarLong(count);
+        return encoder;
+    }
+
+    /**
+     * Reads a snapshot written by {@link #writeSnapshot}. The caller is expected to have
+     * checked {@link #hasMagic} first; legacy serialized files take a different path.
+     */
+    public static Snapshot readSnapshot(InputStream in) throws IOException {
+        return readSnapshot(in, false);
+    }
+
+    /**
+     * With {@code lazy} set, customers come back with their detail block still encoded.
+     * Otherwise the blocks are decoded in parallel before returning.
+     */
+    public static Snapshot readSnapshot(InputStream in, boolean lazy) throws IOException {
+        Decoder decoder = new Decoder(in);
+        if (decoder.readInt() != MAGIC) {
+            throw new IOException("Not a binary customer snapshot.");
+        }
+        int version = (int) decoder.readVarLong();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot format version " + version);
+        }
+        decoder.framedDetail = true;
+        long lsn = decoder.readVarLong();
+        int count = decoder.readCount();
+        List<Customer> customers = new ArrayList<>(Math.min(count, MAX_PRESIZE));
+        for (int i = 0; i < count; i++) {
+            customers.add(decoder.readCustomer());
+        }
+        if (!lazy) {
+            customers.parallelStream().forEach(Customer::hydrate);
+        }
+        return new Snapshot(customers, lsn);
+    }
+
+    public static boolean hasMagic(byte[] header) {
+        return header.length >= 4
+                && ((header[0] & 0xFF) << 24 | (header[1] & 0xFF) << 16 | (header[2] & 0xFF) << 8 | (header[3] & 0xFF)) == MAGIC;
+    }
+
+    // --- Single-object helpers, used for journal payloads ---
+    public static byte[] encodeCustomer(Customer customer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try {
+            Encoder encoder = new Encoder(bytes);
+            encoder.writeCustomer(customer);
+            encoder.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static Customer decodeCustomer(byte[] bytes) throws IOException {
+        return new Decoder(new ByteArrayInputStream(bytes)).readCustomer();
+    }
+
+    static void decodeDetail(byte[] bytes, List<Loan> loans, List<Investment> investments, List<Transaction> history) throws IOException {
+        new Decoder(bytes).readDetail(loans, investments, history);
+    }
+
+    // Loans and investments lead the detail, so they can be read without decoding the history.
+    static void decodeHoldings(byte[] bytes, List<Loan> loans, List<Investment> investments) throws IOException {
+        new Decoder(bytes).readHoldings(loans, investments);
+    }
+
+    public static byte[] encodeLoan(Loan loan) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try {
+            Encoder encoder = new Encoder(bytes);
+            encoder.writeLoan(loan);
+            encoder.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static Loan decodeLoan(byte[] bytes) throws IOException {
+        return new Decoder(new ByteArrayInputStream(bytes)).readLoan();
+    }
+
+    public static byte[] encodeInvestment(Investment investment) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try {
+            Encoder encoder = new Encoder(bytes);
+            encoder.writeInvestment(investment);
+            encoder.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static Investment decodeInvestment(byte[] bytes) throws IOException {
+        return new Decoder(new ByteArrayInputStream(bytes)).readInvestment();
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long toEpochMilli(LocalDateTime timestamp) {
+        return timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime fromEpochMilli(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000), Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    public static final class Encoder {
+        private final OutputStream out;
+        private final byte[] buffer;
+        private int position;
+        private final Map<String, Integer> symbols = new HashMap<>();
+        private boolean framedDetail;
+        private ByteArrayOutputStream detailBytes;
+        private Encoder detailEncoder;
+
+        public Encoder(OutputStream out) {
+            this(out, BUFFER_SIZE);
+        }
+
+        private Encoder(OutputStream out, int bufferSize) {
+            this.out = out;
+            this.buffer = new byte[bufferSize];
+        }
+
+        public void writeCustomer(Customer customer) throws IOException {
+            writeString(customer.getName());
+            writeDate(customer.getDob());
+            writeString(customer.getAddress());
+            writeAmount(customer.getSalary());
+            writeString(customer.getPassword());
+            writeSymbol(customer.getSecurityQuestion());
+            writeString(customer.getSecurityAnswer());
+            // Customer mutators are synchronized, so this sees each customer's lists in one piece.
+            synchronized (customer) {
+                writeAccount(customer.getAccount());
+                if (!framedDetail) {
+                    writeDetail(customer);
+                    return;
+                }
+                byte[] stored = customer.getStoredDetail();
+                if (stored == null) {
+                    if (detailEncoder == null) {
+                        detailBytes = new ByteArrayOutputStream(1024);
+                        detailEncoder = new Encoder(detailBytes, 4096);
+                    }
+                    detailBytes.reset();
+                    detailEncoder.symbols.clear();
+                    detailEncoder.writeDetail(customer);
+                    detailEncoder.flush();
+                    stored = detailBytes.toByteArray();
+                }
+                writeVarLong(stored.length);
+                writeBytes(stored);
+            }
+        }
+
+        private void writeDetail(Customer customer) throws IOException {
+            List<Loan> loans = customer.getLoans();
+            writeVarLong(loans == null ? 0 : loans.size());
+            if (loans != null) {
+                for (Loan loan : loans) writeLoan(loan);
+            }
+            List<Investment> investments = customer.getInvestments();
+            writeVarLong(investments == null ? 0 : investments.size());
+            if (investments != null) {
+                for (Investment investment : investments) writeInvestment(investment);
+            }
+            List<Transaction> history = customer.getTransactionHistory();
+            writeVarLong(history == null ? 0 : history.size());
+            if (history instanceof TransactionHistory) {
+                // Read the columns directly so saving does not materialize every Transaction.
+                TransactionHistory columns = (TransactionHistory) history;
+                long previous = 0;
+                for (int i = 0; i < columns.size(); i++) {
+                    previous = writeTransaction(columns.getType(i), columns.getAmount(i),
+                            columns.getDescription(i), columns.getTimestampMillis(i), previous);
+                }
+            } else if (history != null) {
+                long previous = 0;
+                for (Transaction tx : history) {
+                    previous = writeTransaction(tx, previous);
+                }
+            }
+        }
+
+        public void writeAccount(Account account) throws IOException {
+            writeString(account.getAccountId());
+            writeSymbol(account.getAccountType());
+            writeAmount(account.getMinBalance());
+            writeAmount(account.getBalance());
+        }
+
+        public void writeLoan(Loan loan) throws IOException {
+            writeString(loan.getLoanId());
+            writeSymbol(loan.getLoanType());
+            writeAmount(loan.getPrincipalAmount());
+            writeAmount(loan.getTotalRepayableAmount());
+            writeAmount(loan.getAmountDue());
+            writeDouble(loan.getInterestRate());
+            writeDate(loan.getStartDate());
+            writeDate(loan.getEndDate());
+        }
+
+        public void writeInvestment(Investment investment) throws IOException {
+            writeString(investment.getInvestmentId());
+            writeSymbol(investment.getInvestmentType());
+            writeSymbol(investment.getDescription());
+            writeAmount(investment.getAmountInvested());
+            writeDate(investment.getStartDate());
+            writeDate(investment.getEndDate());
+            writeDouble(investment.getInterestRate());
+            writeAmount(investment.getMaturityValue());
+        }
+
+        /** Writes one history entry and returns its timestamp as the base for the next delta. */
+        public long writeTransaction(Transaction tx, long previousMillis) throws IOException {
+            return writeTransaction(tx.getType(), tx.getAmount(), tx.getDescription(),
+                    tx.getTimestamp() == null ? Long.MIN_VALUE : toEpochMilli(tx.getTimestamp()), previousMillis);
+        }
+
+        /** Column form of {@link #writeTransaction(Transaction, long)}; {@code Long.MIN_VALUE} means no timestamp. */
+        public long writeTransaction(String type, long amount, String description, long millis, long previousMillis) throws IOException {
+            writeSymbol(type);
+            writeAmount(amount);
+            writeSymbol(description);
+            if (millis == Long.MIN_VALUE) {
+                writeVarLong(0);
+                return previousMillis;
+            }
+            writeVarLong((zigZag(millis - previousMillis) << 1) | 1);
+            return millis;
+        }
+
+        public void writeInt(int value) throws IOException {
+            ensure(4);
+            buffer[position++] = (byte) (value >>> 24);
+            buffer[position++] = (byte) (value >>> 16);
+            buffer[position++] = (byte) (value >>> 8);
+            buffer[position++] = (byte) value;
+        }
+
+        public void writeVarLong(long value) throws IOException {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        public void writeAmount(long paise) throws IOException {
+            writeVarLong(zigZag(paise));
+        }
+
+        public void writeDouble(double value) throws IOException {
+            long bits = Double.doubleToRawLongBits(value);
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (bits >>> shift);
+            }
+        }
+
+        public void writeDate(LocalDate date) throws IOException {
+            writeVarLong(date == null ? 0 : zigZag(date.toEpochDay()) + 1);
+        }
+
+        /** Length-prefixed UTF-8; a length of 0 encodes null. */
+        public void writeString(String value) throws IOException {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            writeBytes(bytes);
+        }
+
+        /** 0 = null, 1 = literal follows (and joins the table), n >= 2 = table entry n - 2. */
+        public void writeSymbol(String value) throws IOException {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            Integer index = symbols.get(value);
+            if (index != null) {
+                writeVarLong(index + 2L);
+                return;
+            }
+            writeVarLong(1);
+            writeString(value);
+            if (symbols.size() < MAX_SYMBOLS) {
+                symbols.put(value, symbols.size());
+            }
+        }
+
+        public void flush() throws IOException {
+            out.write(buffer, 0, position);
+            position = 0;
+            out.flush();
+        }
+
+        private void writeBytes(byte[] bytes) throws IOException {
+            if (bytes.length > buffer.length - position) {
+                out.write(buffer, 0, position);
+                position = 0;
+                if (bytes.length > buffer.length) {
+                    out.write(bytes);
+                    return;
+                }
+            }
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.length - position < bytes) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+        }
+    }
+
+    public static final class Decoder {
+        private final InputStream in;
+        private final byte[] buffer;
+        private int position;
+        private int limit;
+        private final List<String> symbols = new ArrayList<>();
+        private boolean framedDetail;
+
+        public Decoder(InputStream in) {
+            this.in = in;
+            this.buffer = new byte[BUFFER_SIZE];
+        }
+
+        /** Decodes straight out of {@code bytes} without copying them. */
+        public Decoder(byte[] bytes) {
+            this.in = InputStream.nullInputStream();
+            this.buffer = bytes;
+            this.limit = bytes.length;
+        }
+
+        public Customer readCustomer() throws IOException {
+            String name = readString();
+            LocalDate dob = readDate();
+            String address = readString();
+            long salary = readAmount();
+            String password = readString();
+            String securityQuestion = readSymbol();
+            String securityAnswer = readString();
+            Account account = readAccount();
+
+            if (framedDetail) {
+                byte[] detail = readBytes(readCount());
+                return new Customer(name, dob, address, salary, password, securityQuestion, securityAnswer, account, detail);
+            }
+            List<Loan> loans = new ArrayList<>();
+            List<Investment> investments = new ArrayList<>();
+            List<Transaction> history = new TransactionHistory();
+            readDetail(loans, investments, history);
+            return new Customer(name, dob, address, salary, password, securityQuestion, securityAnswer,
+                    account, loans, investments, history);
+        }
+
+        void readHoldings(List<Loan> loans, List<Investment> investments) throws IOException {
+            int loanCount = readCount();
+            for (int i = 0; i < loanCount; i++) loans.add(readLoan());
+
+            int investmentCount = readCount();
+            for (int i = 0; i < investmentCount; i++) investments.add(readInvestment());
+        }
+
+        void readDetail(List<Loan> loans, List<Investment> investments, List<Transaction> history) throws IOException {
+            readHoldings(loans, investments);
+
+            int txCount = readCount();
+            TransactionHistory columns = history instanceof TransactionHistory ? (TransactionHistory) history : null;
+            long previous = 0;
+            for (int i = 0; i < txCount; i++) {
+                String type = readSymbol();
+                long amount = readAmount();
+                String description = readSymbol();
+                long stamp = readVarLong();
+                long millis = Long.MIN_VALUE;
+                if ((stamp & 1) != 0) {
+                    previous += unZigZag(stamp >>> 1);
+                    millis = previous;
+                }
+                if (columns != null) {
+                    columns.append(type, amount, description, millis);
+                } else {
+                    history.add(new Transaction(type, amount, description,
+                            millis == Long.MIN_VALUE ? null : fromEpochMilli(millis)));
+                }
+            }
+        }
+
+        public Account readAccount() throws IOException {
+            String accountId = readString();
+            String accountType = readSymbol();
+            long minBalance = readAmount();
+            long balance = readAmount();
+            return new Account(accountId, accountType, minBalance, balance);
+        }
+
+        public Loan readLoan() throws IOException {
+            String loanId = readString();
+            String loanType = readSymbol();
+            long principal = readAmount();
+            long totalRepayable = readAmount();
+            long amountDue = readAmount();
+            double interestRate = readDouble();
+            LocalDate startDate = readDate();
+            LocalDate endDate = readDate();
+            return new Loan(loanId, loanType, principal, totalRepayable, amountDue, interestRate, startDate, endDate);
+        }
+
+        public Investment readInvestment() throws IOException {
+            String investmentId = readString();
+            String investmentType = readSymbol();
+            String description = readSymbol();
+            long amountInvested = readAmount();
+            LocalDate startDate = readDate();
+            LocalDate endDate = readDate();
+            double interestRate = readDouble();
+            long maturityValue = readAmount();
+            return new Investment(investmentId, investmentType, description, amountInvested, startDate, endDate, interestRate, maturityValue);
+        }
+
+        public int readInt() throws IOException {
+            return (readByte() & 0xFF) << 24 | (readByte() & 0xFF) << 16 | (readByte() & 0xFF) << 8 | (readByte() & 0xFF);
+        }
+
+        public long readVarLong() throws IOException {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IOException("Malformed varint.");
+        }
+
+        public long readAmount() throws IOException {
+            return unZigZag(readVarLong());
+        }
+
+        public double readDouble() throws IOException {
+            long bits = 0;
+            for (int i = 0; i < 8; i++) {
+                bits = (bits << 8) | (readByte() & 0xFF);
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        public LocalDate readDate() throws IOException {
+            long encoded = readVarLong();
+            return encoded == 0 ? null : LocalDate.ofEpochDay(unZigZag(encoded - 1));
+        }
+
+        public String readString() throws IOException {
+            long encoded = readVarLong();
+            if (encoded == 0) {
+                return null;
+            }
+            int length = checkedCount(encoded - 1);
+            if (length <= limit - position) {
+                String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+                position += length;
+                return value;
+            }
+            return new String(readBytes(length), StandardCharsets.UTF_8);
+        }
+
+        private byte[] readBytes(int length) throws IOException {
+            byte[] bytes = new byte[Math.min(length, MAX_PRESIZE)];
+            int copied = 0;
+            while (copied < length) {
+                if (position == limit) fill();
+                if (copied == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, (int) Math.min(length, 2L * bytes.length));
+                }
+                int chunk = Math.min(bytes.length - copied, limit - position);
+                System.arraycopy(buffer, position, bytes, copied, chunk);
+                position += chunk;
+                copied += chunk;
+            }
+            return bytes;
+        }
+
+        public String readSymbol() throws IOException {
+            long encoded = readVarLong();
+            if (encoded == 0) {
+                return null;
+            }
+            if (encoded == 1) {
+                String value = readString();
+                if (symbols.size() < MAX_SYMBOLS) {
+                    symbols.add(value);
+                }
+                return value;
+            }
+            long index = encoded - 2;
+            if (index < 0 || index >= symbols.size()) {
+                throw new IOException("Unknown string table entry " + index);
+            }
+            return symbols.get((int) index);
+        }
+
+        private int readCount() throws IOException {
+            return checkedCount(readVarLong());
+        }
+
+        private static int checkedCount(long count) throws IOException {
+            if (count < 0 || count > Integer.MAX_VALUE) {
+                throw new IOException("Corrupt element count " + count);
+            }
+            return (int) count;
+        }
+
+        private byte readByte() throws IOException {
+            if (position == limit) fill();
+            return buffer[position++];
+        }
+
+        private void fill() throws IOException {
+            int read = in.read(buffer, 0, buffer.length);
+            if (read <= 0) {
+                throw new EOFException("Unexpected end of customer data.");
+            }
+            position = 0;
+            limit = read;
+        }
+    }
+}
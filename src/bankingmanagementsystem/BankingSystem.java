@@ -1,24 +1,35 @@
 package bankingmanagementsystem;
 
-import bankingmanagementsystem.exceptions.AccountNotFoundException;
+import bankingmanagementsystem.ledger.LedgerEngine;
+import bankingmanagementsystem.metrics.Metrics;
+import bankingmanagementsystem.service.BankService;
+import bankingmanagementsystem.service.Result;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class BankingSystem {
-    private static List<Customer> customers;
+    private static CustomerRegistry registry;
     private static Admin admin;
     private static Map<Integer, Message> supportMessages;
     private static AtomicInteger messageIdCounter;
+    private static BankService service;
 
     public static void main(String[] args) {
-        customers = DataManager.loadCustomers();
+        Metrics.startReporterIfConfigured();
+        registry = new CustomerRegistry(DataManager.loadCustomers());
+        LedgerEngine.startIfEnabled(registry);
+        MaturityScheduler.startIfEnabled(registry);
         admin = DataManager.loadAdmin();
         supportMessages = DataManager.loadSupportMessages();
         int maxId = supportMessages.keySet().stream().max(Integer::compare).orElse(0);
         messageIdCounter = new AtomicInteger(maxId);
-        admin.setCustomers(customers);
+        admin.setCustomers(registry.customers());
+        service = new BankService(registry, supportMessages, messageIdCounter);
+
+        StartupMetrics.loginScreenReady();
+        System.out.println(StartupMetrics.summary());
 
         Scanner sc = new Scanner(System.in);
         boolean running = true;
@@ -44,7 +55,7 @@ public class BankingSystem {
                     customerLogin(sc);
                     break;
                 case "3":
-                    ActionHandler.registerNewCustomer(sc, customers);
+                    ActionHandler.registerNewCustomer(sc, service);
                     break;
                 case "4":
                     running = false;
@@ -58,7 +69,15 @@ public class BankingSystem {
     }
 
     public static List<Customer> getCustomers() {
-        return customers;
+        return registry.customers();
+    }
+
+    public static CustomerRegistry getRegistry() {
+        return registry;
+    }
+
+    public static BankService getService() {
+        return service;
     }
 
     private static void adminLogin(Scanner sc) {
@@ -66,37 +85,30 @@ public class BankingSystem {
         String adminId = sc.nextLine();
         System.out.print("Enter Admin Password: ");
         String password = sc.nextLine();
+        long submitted = System.nanoTime();
         if (admin.getAdminId().equals(adminId) && admin.checkPassword(password)) {
             System.out.println("\nAdmin login successful. Welcome, " + admin.getName() + "!");
-            MenuManager.adminMenu(sc, admin, customers, supportMessages);
+            StartupMetrics.loginCompleted(submitted);
+            MenuManager.adminMenu(sc, admin, service);
         } else {
             System.out.println("Invalid Admin ID or Password.");
         }
     }
 
     private static void customerLogin(Scanner sc) {
-        try {
-            System.out.print("Enter your Bank Account Number: ");
-            String accountNumber = sc.nextLine();
-            System.out.print("Enter your Password: ");
-            String password = sc.nextLine();
-            Customer customer = findCustomerByAccountNumber(accountNumber);
-            if (customer.checkPassword(password)) {
-                System.out.println("\nLogin successful. Welcome, " + customer.getName() + "!");
-                MenuManager.customerMenu(customer, sc, customers, supportMessages, messageIdCounter);
-            } else {
-                System.out.println("Invalid Account Number or Password.");
-            }
-        } catch (AccountNotFoundException e) {
-            System.out.println(e.getMessage());
+        System.out.print("Enter your Bank Account Number: ");
+        String accountNumber = sc.nextLine();
+        System.out.print("Enter your Password: ");
+        String password = sc.nextLine();
+        long submitted = System.nanoTime();
+        Result<Customer> login = service.authenticate(accountNumber, password);
+        if (login.isOk()) {
+            Customer customer = login.getValue();
+            System.out.println("\nLogin successful. Welcome, " + customer.getName() + "!");
+            StartupMetrics.loginCompleted(submitted);
+            MenuManager.customerMenu(customer, sc, service);
+        } else {
+            System.out.println(login.getMessage());
         }
     }
-
-    private static Customer findCustomerByAccountNumber(String accountNumber) throws AccountNotFoundException {
-        return customers.stream()
-                .filter(c -> c.getAccount().getAccountId().equals(accountNumber))
-                .findFirst()
-                .orElseThrow(() -> new AccountNotFoundException("No customer found with account number: " + accountNumber));
-    }
 }
-
@@ -3,10 +3,15 @@ package bankingmanagementsystem;
 import bankingmanagementsystem.exceptions.InsufficientFundsException;
 import bankingmanagementsystem.exceptions.InvalidAmountException;
 import bankingmanagementsystem.exceptions.LoanNotFoundException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class Customer implements Serializable {
@@ -14,7 +19,7 @@ public class Customer implements Serializable {
     private String name;
     private LocalDate dob;  // <-- Missing getter caused error
     private String address;
-    private double salary;
+    private long salary;
     private String password;
     private String securityQuestion;
     private String securityAnswer;
@@ -22,8 +27,12 @@ public class Customer implements Serializable {
     private List<Loan> loans;
     private List<Investment> investments;
     private List<Transaction> transactionHistory;
+    // Encoded loans, investments and history not yet decoded; null once hydrated.
+    private volatile byte[] storedDetail;
+    // Sort key in the owning CustomerRegistry's list, so it can find the customer's position.
+    transient long registryOrder;
 
-    public Customer(String name, LocalDate dob, String address, double salary, String accountType, double minBalance, String password) {
+    public Customer(String name, LocalDate dob, String address, long salary, String accountType, long minBalance, String password) {
         this.name = name;
         this.dob = dob;
         this.address = address;
@@ -39,16 +48,40 @@ public class Customer implements Serializable {
         }
         this.loans = new ArrayList<>();
         this.investments = new ArrayList<>();
-        this.transactionHistory = new ArrayList<>();
+        this.transactionHistory = new TransactionHistory();
+    }
+
+    // Restores a customer from persisted state without issuing a new account number.
+    public Customer(String name, LocalDate dob, String address, long salary, String password,
+                    String securityQuestion, String securityAnswer, Account account,
+                    List<Loan> loans, List<Investment> investments, List<Transaction> transactionHistory) {
+        this.name = name;
+        this.dob = dob;
+        this.address = address;
+        this.salary = salary;
+        this.password = password;
+        this.securityQuestion = securityQuestion;
+        this.securityAnswer = securityAnswer;
+        this.account = account;
+        this.loans = loans;
+        this.investments = investments;
+        this.transactionHistory = transactionHistory == null ? null : TransactionHistory.of(transactionHistory);
+    }
+
+    // Restores a customer whose loans, investments and history stay encoded until first use.
+    Customer(String name, LocalDate dob, String address, long salary, String password,
+             String securityQuestion, String securityAnswer, Account account, byte[] storedDetail) {
+        this(name, dob, address, salary, password, securityQuestion, securityAnswer, account, null, null, null);
+        this.storedDetail = storedDetail;
     }
 
     // --- Existing getters ---
     public String getName() { return name; }
     public Account getAccount() { return account; }
-    public double getSalary() { return salary; }
-    public List<Loan> getLoans() { return loans; }
-    public List<Investment> getInvestments() { return investments; }
-    public List<Transaction> getTransactionHistory() { return transactionHistory; }
+    public long getSalary() { return salary; }
+    public List<Loan> getLoans() { hydrate(); return loans; }
+    public List<Investment> getInvestments() { hydrate(); return investments; }
+    public List<Transaction> getTransactionHistory() { hydrate(); return transactionHistory; }
     public String getAddress() { return address; }
 
     // --- NEW Getter to fix AdminDashboard error ---
@@ -72,6 +105,11 @@ public class Customer implements Serializable {
         this.securityAnswer = securityAnswer;
     }
 
+    // Only the persistence codec needs the stored password.
+    String getPassword() {
+        return password;
+    }
+
     public void setPassword(String password) {
         this.password = password;
     }
@@ -80,96 +118,228 @@ public class Customer implements Serializable {
         return this.password.equals(inputPassword);
     }
 
-    public void addTransaction(Transaction transaction) {
-        this.transactionHistory.add(transaction);
+    public boolean isHydrated() {
+        return storedDetail == null;
+    }
+
+    /** Decodes the stored loans, investments and history if that has not happened yet. */
+    void hydrate() {
+        if (storedDetail != null) {
+            hydrateLocked();
+        }
+    }
+
+    private synchronized void hydrateLocked() {
+        byte[] detail = storedDetail;
+        if (detail == null) {
+            return;
+        }
+        loans = new ArrayList<>();
+        investments = new ArrayList<>();
+        transactionHistory = new TransactionHistory();
+        try {
+            BankCodec.decodeDetail(detail, loans, investments, transactionHistory);
+        } catch (IOException e) {
+            throw new IllegalStateException("Stored history for account " + account.getAccountId() + " is corrupt.", e);
+        }
+        storedDetail = null;
+    }
+
+    // The persistence codec copies still-encoded detail straight through instead of decoding it.
+    byte[] getStoredDetail() {
+        return storedDetail;
+    }
+
+    /**
+     * Hands each loan and investment to the given actions. Still-encoded detail is decoded only
+     * as far as the investments, and the customer stays unhydrated.
+     */
+    synchronized void forEachHolding(Consumer<Loan> loanAction, Consumer<Investment> investmentAction) {
+        byte[] detail = storedDetail;
+        if (detail == null) {
+            loans.forEach(loanAction);
+            investments.forEach(investmentAction);
+            return;
+        }
+        List<Loan> storedLoans = new ArrayList<>();
+        List<Investment> storedInvestments = new ArrayList<>();
+        try {
+            BankCodec.decodeHoldings(detail, storedLoans, storedInvestments);
+        } catch (IOException e) {
+            throw new IllegalStateException("Stored history for account " + account.getAccountId() + " is corrupt.", e);
+        }
+        storedLoans.forEach(loanAction);
+        storedInvestments.forEach(investmentAction);
+    }
+
+    public synchronized void addTransaction(Transaction transaction) {
+        getTransactionHistory().add(transaction);
+    }
+
+    /** Reads one page of history, newest first; see {@link TransactionHistory#page}. */
+    public synchronized HistoryPage getHistoryPage(long cursor, int pageSize, LocalDate from, LocalDate to) {
+        return TransactionHistory.of(getTransactionHistory()).page(cursor, pageSize, from, to);
     }
 
+    // Prints only the newest page; ActionHandler.browseTransactionHistory walks the rest.
     public void printTransactionHistory() {
         System.out.println("\n--- Transaction History for " + name + " ---");
-        if (transactionHistory.isEmpty()) {
+        printHistoryPage(getHistoryPage(HistoryPage.FIRST, HistoryPage.DEFAULT_SIZE, null, null));
+    }
+
+    public static void printHistoryPage(HistoryPage page) {
+        if (page.isEmpty()) {
             System.out.println("No transactions found.");
-        } else {
-            transactionHistory.forEach(System.out::println);
+            return;
+        }
+        StringBuilder sb = new StringBuilder(page.getTransactions().size() * 96);
+        for (Transaction tx : page.getTransactions()) {
+            sb.append(tx).append(System.lineSeparator());
         }
+        System.out.print(sb);
+        System.out.println("(" + page.describe() + ")");
     }
 
-    public void applyLoan(Loan loan) throws InvalidAmountException {
-        loans.add(loan);
+    public synchronized void applyLoan(Loan loan) throws InvalidAmountException {
+        getLoans().add(loan);
         account.deposit(loan.getPrincipalAmount());
         addTransaction(new Transaction("Loan Disbursal", loan.getPrincipalAmount(), "Loan Disbursed: " + loan.getLoanType()));
+        BankAggregates totals = account.aggregates;
+        if (totals != null) {
+            totals.loanAdded(loan);
+        }
     }
 
-    public void repayLoan(String loanId, double amount) throws InsufficientFundsException, InvalidAmountException, LoanNotFoundException {
-        Loan loanToRepay = loans.stream()
+    public synchronized void repayLoan(String loanId, long amount) throws InsufficientFundsException, InvalidAmountException, LoanNotFoundException {
+        Loan loanToRepay = getLoans().stream()
                 .filter(l -> l.getLoanId().equals(loanId))
                 .findFirst()
                 .orElseThrow(() -> new LoanNotFoundException("Loan ID not found: " + loanId));
 
         account.withdraw(amount);
+        long previousDue = loanToRepay.getAmountDue();
         loanToRepay.makePayment(amount);
         addTransaction(new Transaction("Loan Repayment", amount, "Paid installment for loan " + loanId));
+        BankAggregates totals = account.aggregates;
+        if (totals != null) {
+            totals.loanRepaid(loanToRepay, previousDue);
+        }
     }
 
-    public void addInvestment(Investment investment) throws InsufficientFundsException, InvalidAmountException {
+    public synchronized void addInvestment(Investment investment) throws InsufficientFundsException, InvalidAmountException {
         account.withdraw(investment.getAmountInvested());
-        investments.add(investment);
+        getInvestments().add(investment);
         addTransaction(new Transaction("New Investment", investment.getAmountInvested(), "FD Created: " + investment.getInvestmentId()));
+        BankAggregates totals = account.aggregates;
+        if (totals != null) {
+            totals.investmentAdded(investment);
+        }
     }
 
-    public void matureInvestments() {
-        List<Investment> matured = investments.stream()
-                .filter(inv -> !inv.getEndDate().isAfter(LocalDate.now()))
+    /**
+     * Credits every investment whose end date is on or before {@code asOf}, records the
+     * transactions and drops the investments. Returns the matured investments; persisting them
+     * is up to the caller.
+     */
+    public synchronized List<Investment> matureInvestments(LocalDate asOf) {
+        List<Investment> matured = getInvestments().stream()
+                .filter(inv -> !inv.getEndDate().isAfter(asOf))
                 .collect(Collectors.toList());
 
-        if (matured.isEmpty()) {
-            System.out.println("\nYou have no investments that are due for maturity.");
-            return;
-        }
-
+        List<Investment> credited = new ArrayList<>(matured.size());
         for (Investment inv : matured) {
-            double maturityAmount = inv.getMaturityValue();
+            long maturityAmount = inv.getMaturityValue();
             try {
                 account.deposit(maturityAmount);
                 addTransaction(new Transaction("Investment Matured", maturityAmount, "Maturity of " + inv.getInvestmentId()));
-                System.out.println("Investment " + inv.getInvestmentId() + " has matured. Amount " + String.format("%.2f", maturityAmount) + " has been credited.");
+                credited.add(inv);
             } catch (InvalidAmountException e) {
-                System.out.println("Error processing maturity for " + inv.getInvestmentId() + ": " + e.getMessage());
+                System.err.println("Error processing maturity for " + inv.getInvestmentId() + ": " + e.getMessage());
             }
         }
-
-        investments.removeAll(matured);
-        DataManager.saveCustomers(BankingSystem.getCustomers());
-        System.out.println("New account balance: " + String.format("%.2f", account.getBalance()));
+        getInvestments().removeAll(credited);
+        BankAggregates totals = account.aggregates;
+        if (totals != null) {
+            credited.forEach(totals::investmentMatured);
+        }
+        return credited;
     }
 
     public void viewLoans() {
         System.out.println("\n--- Loans for " + name + " ---");
-        if (loans.isEmpty()) {
+        if (getLoans().isEmpty()) {
             System.out.println("No active loans.");
         } else {
-            loans.forEach(System.out::println);
+            getLoans().forEach(System.out::println);
         }
     }
 
     public void viewInvestments() {
         System.out.println("\n--- Investments for " + name + " ---");
-        if (investments.isEmpty()) {
+        if (getInvestments().isEmpty()) {
             System.out.println("No investments found.");
         } else {
-            investments.forEach(System.out::println);
+            getInvestments().forEach(System.out::println);
         }
     }
 
     @Override
     public String toString() {
-        return String.format(
-                "Customer Details:\n" +
-                "  Name: %s\n" +
-                "  Date of Birth: %s\n" +
-                "  Address: %s\n" +
-                "  Salary: %.2f\n" +
-                "  %s",
-                name, dob.toString(), address, salary, account.toString()
-        );
+        return "Customer Details:\n" +
+                "  Name: " + name + "\n" +
+                "  Date of Birth: " + dob + "\n" +
+                "  Address: " + address + "\n" +
+                "  Salary: " + Money.format(salary) + "\n" +
+                "  " + account;
+    }
+
+    // --- Java serialization keeps the old rupee-double layout so legacy customers.dat files still load ---
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("name", String.class),
+            new ObjectStreamField("dob", LocalDate.class),
+            new ObjectStreamField("address", String.class),
+            new ObjectStreamField("salary", double.class),
+            new ObjectStreamField("password", String.class),
+            new ObjectStreamField("securityQuestion", String.class),
+            new ObjectStreamField("securityAnswer", String.class),
+            new ObjectStreamField("account", Account.class),
+            new ObjectStreamField("loans", List.class),
+            new ObjectStreamField("investments", List.class),
+            new ObjectStreamField("transactionHistory", List.class)
+    };
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("name", name);
+        fields.put("dob", dob);
+        fields.put("address", address);
+        fields.put("salary", Money.toRupees(salary));
+        fields.put("password", password);
+        fields.put("securityQuestion", securityQuestion);
+        fields.put("securityAnswer", securityAnswer);
+        fields.put("account", account);
+        fields.put("loans", getLoans());
+        fields.put("investments", getInvestments());
+        // The stream format predates the columnar store, so history is written as a plain list.
+        List<Transaction> history = getTransactionHistory();
+        fields.put("transactionHistory", history == null ? null : new ArrayList<>(history));
+        out.writeFields();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        name = (String) fields.get("name", null);
+        dob = (LocalDate) fields.get("dob", null);
+        address = (String) fields.get("address", null);
+        salary = Money.fromRupees(fields.get("salary", 0.0));
+        password = (String) fields.get("password", null);
+        securityQuestion = (String) fields.get("securityQuestion", null);
+        securityAnswer = (String) fields.get("securityAnswer", null);
+        account = (Account) fields.get("account", null);
+        loans = (List<Loan>) fields.get("loans", null);
+        investments = (List<Investment>) fields.get("investments", null);
+        List<Transaction> history = (List<Transaction>) fields.get("transactionHistory", null);
+        transactionHistory = history == null ? null : TransactionHistory.of(history);
     }
 }
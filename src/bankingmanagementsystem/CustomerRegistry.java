@@ -0,0 +1,236 @@
+package bankingmanagementsystem;
+
+import bankingmanagementsystem.exceptions.AccountNotFoundException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The single owner of the bank's customer list.
+ *
+ * Lookups by account number go through a concurrent hash index and never scan the
+ * list; registration and deletion update the list and the index together.
+ * The ordered list is kept for display and for snapshots. It is a plain list guarded by the
+ * registry lock, so registering appends in place; {@link #customers()} iterates over a copy taken
+ * under that lock, which lets a background snapshot run while customers register or close.
+ * Each customer carries an increasing registration number and the list stays sorted by it, so
+ * a removal finds its position by binary search.
+ * Listeners hear about each insertion and removal by list position, so views can
+ * follow the list without copying it.
+ * Bank-wide totals for the admin summary are kept in {@link #aggregates()}, which counts
+ * exactly the registered customers.
+ */
+public class CustomerRegistry {
+    private final ArrayList<Customer> customers;
+    private final List<Customer> view = new View();
+    private long nextOrder;
+    private final ConcurrentHashMap<String, Customer> byAccountNumber;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final BankAggregates aggregates = new BankAggregates();
+
+    /** Called on the mutating thread while the registry lock is held, after the list has changed. */
+    public interface Listener {
+        void customersInserted(int firstIndex, int lastIndex);
+
+        /** {@code indices} are ascending positions the removed customers held before removal. */
+        void customersRemoved(int[] indices);
+    }
+
+    public CustomerRegistry(List<Customer> customers) {
+        this.customers = new ArrayList<>(customers);
+        this.byAccountNumber = new ConcurrentHashMap<>(Math.max(16, customers.size() * 2));
+        for (Customer customer : customers) {
+            customer.registryOrder = nextOrder++;
+            byAccountNumber.put(customer.getAccount().getAccountId(), customer);
+            aggregates.attach(customer);
+        }
+    }
+
+    public Customer find(String accountNumber) throws AccountNotFoundException {
+        Customer customer = findOrNull(accountNumber);
+        if (customer == null) {
+            throw new AccountNotFoundException("No customer found with account number: " + accountNumber);
+        }
+        return customer;
+    }
+
+    public Customer findOrNull(String accountNumber) {
+        return accountNumber == null ? null : byAccountNumber.get(accountNumber);
+    }
+
+    public boolean contains(String accountNumber) {
+        return findOrNull(accountNumber) != null;
+    }
+
+    public synchronized void register(Customer customer) {
+        String accountNumber = customer.getAccount().getAccountId();
+        // Attached before it can be found, so no deposit reaches it uncounted.
+        boolean attached = aggregates.attach(customer);
+        if (byAccountNumber.putIfAbsent(accountNumber, customer) != null) {
+            if (attached) {
+                aggregates.detach(customer);
+            }
+            throw new IllegalStateException("Account number already registered: " + accountNumber);
+        }
+        customer.registryOrder = nextOrder++;
+        customers.add(customer);
+        int index = customers.size() - 1;
+        for (Listener listener : listeners) {
+            listener.customersInserted(index, index);
+        }
+    }
+
+    public synchronized boolean remove(Customer customer) {
+        if (!byAccountNumber.remove(customer.getAccount().getAccountId(), customer)) {
+            return false;
+        }
+        aggregates.detach(customer);
+        int index = indexOf(customer);
+        customers.remove(index);
+        for (Listener listener : listeners) {
+            listener.customersRemoved(new int[]{index});
+        }
+        return true;
+    }
+
+    /**
+     * Removes every given customer in one pass over the list, rather than one scan per customer.
+     */
+    public int removeAll(Collection<Customer> toRemove) {
+        return removeEach(toRemove).size();
+    }
+
+    /** Like {@link #removeAll}, returning exactly the customers this call removed. */
+    public synchronized Set<Customer> removeEach(Collection<Customer> toRemove) {
+        Set<Customer> removed = new HashSet<>();
+        for (Customer customer : toRemove) {
+            if (byAccountNumber.remove(customer.getAccount().getAccountId(), customer)) {
+                removed.add(customer);
+                aggregates.detach(customer);
+            }
+        }
+        if (!removed.isEmpty()) {
+            int[] indices = new int[removed.size()];
+            int count = 0;
+            for (int i = 0; i < customers.size() && count < indices.length; i++) {
+                if (removed.contains(customers.get(i))) {
+                    indices[count++] = i;
+                }
+            }
+            customers.removeIf(removed::contains);
+            for (Listener listener : listeners) {
+                listener.customersRemoved(indices);
+            }
+        }
+        return removed;
+    }
+
+    private int indexOf(Customer customer) {
+        long order = customer.registryOrder;
+        int low = 0;
+        int high = customers.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midOrder = customers.get(mid).registryOrder;
+            if (midOrder < order) {
+                low = mid + 1;
+            } else if (midOrder > order) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        throw new IllegalStateException("Customer is indexed but not listed: " + customer.getAccount().getAccountId());
+    }
+
+    /**
+     * Read-only view in registration order. {@code get} and {@code size} read the live list;
+     * iterating, streaming and {@code toArray} work on a copy taken in one step, so they see a
+     * consistent list even while customers register or close.
+     */
+    public List<Customer> customers() {
+        return view;
+    }
+
+    /** A copy of the list in registration order. */
+    public synchronized List<Customer> snapshot() {
+        return Collections.unmodifiableList(Arrays.asList(customers.toArray(new Customer[0])));
+    }
+
+    public BankAggregates aggregates() {
+        return aggregates;
+    }
+
+    /**
+     * Registers a listener and returns the list as it stands at that moment; the listener
+     * hears about every change after it.
+     */
+    public synchronized List<Customer> addListener(Listener listener) {
+        listeners.add(listener);
+        return snapshot();
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public int size() {
+        return byAccountNumber.size();
+    }
+
+    private final class View extends AbstractList<Customer> implements RandomAccess {
+        @Override
+        public Customer get(int index) {
+            synchronized (CustomerRegistry.this) {
+                return customers.get(index);
+            }
+        }
+
+        @Override
+        public int size() {
+            synchronized (CustomerRegistry.this) {
+                return customers.size();
+            }
+        }
+
+        @Override
+        public Object[] toArray() {
+            synchronized (CustomerRegistry.this) {
+                return customers.toArray();
+            }
+        }
+
+        @Override
+        public <T> T[] toArray(T[] a) {
+            synchronized (CustomerRegistry.this) {
+                return customers.toArray(a);
+            }
+        }
+
+        @Override
+        public Iterator<Customer> iterator() {
+            return snapshot().iterator();
+        }
+
+        @Override
+        public ListIterator<Customer> listIterator(int index) {
+            return snapshot().listIterator(index);
+        }
+
+        @Override
+        public Spliterator<Customer> spliterator() {
+            return snapshot().spliterator();
+        }
+    }
+}
@@ -1,54 +1,512 @@
 package bankingmanagementsystem;
 
+import bankingmanagementsystem.metrics.Counter;
+import bankingmanagementsystem.metrics.LatencyHistogram;
+import bankingmanagementsystem.metrics.Metrics;
+import bankingmanagementsystem.persistence.CommitQueue;
+import bankingmanagementsystem.persistence.Durability;
+import bankingmanagementsystem.persistence.Journal;
+import bankingmanagementsystem.persistence.JournalEntry;
+import bankingmanagementsystem.persistence.ShardedStore;
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class DataManager {
-    private static final String CUSTOMERS_FILE = "customers.dat";
-    private static final String ADMIN_FILE = "admin.dat";
-    private static final String MESSAGES_FILE = "support_messages.dat";
+    // -Dbank.dataDir puts every data file under that directory instead of the working directory.
+    private static final String DATA_DIR = System.getProperty("bank.dataDir");
+    private static final String CUSTOMERS_FILE = dataFile("customers.dat");
+    private static final String ADMIN_FILE = dataFile("admin.dat");
+    private static final String MESSAGES_FILE = dataFile("support_messages.dat");
+    private static final Object MESSAGES_LOCK = new Object();
+    private static final String JOURNAL_DIR = dataFile("journal");
+    private static final String SHARD_DIR = dataFile("customers");
+
+    // -Dbank.persistence=journal appends each mutation instead of rewriting customers.dat;
+    // -Dbank.persistence=sharded keeps customers in bank.shards files and rewrites only touched ones.
+    private static final String PERSISTENCE = System.getProperty("bank.persistence", "snapshot");
+    private static final boolean JOURNAL_MODE = "journal".equalsIgnoreCase(PERSISTENCE);
+    private static final boolean SHARDED_MODE = "sharded".equalsIgnoreCase(PERSISTENCE);
+    private static final int SHARDS = Integer.getInteger("bank.shards", 64);
+    // -Dbank.startup=lazy loads only the account core; loans, investments and history decode on first use.
+    private static final boolean LAZY_STARTUP = "lazy".equalsIgnoreCase(System.getProperty("bank.startup", "eager"));
+    private static final int COMPACT_EVERY = Integer.getInteger("bank.journal.compactEvery", 10_000);
+    private static final boolean JOURNAL_FSYNC = Boolean.getBoolean("bank.journal.fsync");
+
+    // -Dbank.durability=group|async moves writes onto a background group-commit queue.
+    private static final Durability DURABILITY = Durability.fromProperty(System.getProperty("bank.durability"));
+    private static final int GROUP_MILLIS = Integer.getInteger("bank.durability.groupMillis", 10);
+    private static final int GROUP_OPS = Integer.getInteger("bank.durability.groupOps", 1_000);
+
+    // persistence.flush times the writes themselves; commit also includes waiting on the queue.
+    private static final LatencyHistogram SAVE_CUSTOMERS = Metrics.histogram("persistence.saveCustomers");
+    private static final LatencyHistogram SAVE_CUSTOMER = Metrics.histogram("persistence.saveCustomer");
+    private static final LatencyHistogram COMMIT = Metrics.histogram("persistence.commit");
+    private static final LatencyHistogram FLUSH = Metrics.histogram("persistence.flush");
+    private static final LatencyHistogram LOAD_CUSTOMERS = Metrics.histogram("persistence.loadCustomers");
+    private static final LatencyHistogram SAVE_ADMIN = Metrics.histogram("persistence.saveAdmin");
+    private static final LatencyHistogram LOAD_ADMIN = Metrics.histogram("persistence.loadAdmin");
+    private static final LatencyHistogram SAVE_MESSAGES = Metrics.histogram("persistence.saveSupportMessages");
+    private static final LatencyHistogram LOAD_MESSAGES = Metrics.histogram("persistence.loadSupportMessages");
+    private static final LatencyHistogram FSYNC = Metrics.histogram("persistence.fsync");
+    private static final Counter BYTES_WRITTEN = Metrics.counter("persistence.bytesWritten");
+
+    // In journal mode a change holds the read side from touching customers until its entries are
+    // numbered; a snapshot holds the write side, so what it writes matches the LSN it is stamped with.
+    private static final ReentrantReadWriteLock CHANGES = new ReentrantReadWriteLock();
+
+    private static Journal journal;
+    private static CommitQueue commitQueue;
+    private static ShardedStore shardedStore;
+
+    /**
+     * Writes a full snapshot of all customers. In journal mode this is also the
+     * compaction step: once the snapshot is in place the covered segments are dropped.
+     * With a commit queue the snapshot is queued behind pending commits and awaited.
+     */
     public static void saveCustomers(List<Customer> customers) {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(CUSTOMERS_FILE))) {
-            oos.writeObject(customers);
+        long start = System.nanoTime();
+        try {
+            if (DURABILITY != Durability.SYNC) {
+                awaitQuietly(queue().submit(customers, Collections.emptyList(), true));
+                return;
+            }
+            writeSnapshot(customers, JOURNAL_FSYNC);
         } catch (IOException e) {
             System.err.println("Error saving customer data: " + e.getMessage());
+        } finally {
+            SAVE_CUSTOMERS.recordSince(start);
         }
     }
 
-    @SuppressWarnings("unchecked")
-    public static List<Customer> loadCustomers() {
-        File file = new File(CUSTOMERS_FILE);
-        if (file.exists()) {
-            try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-                List<Customer> customers = (List<Customer>) ois.readObject();
+    /**
+     * Saves a change to one customer that has no journal entry of its own, such as a password
+     * reset. In sharded mode only that customer's shard is rewritten; otherwise this is a full save.
+     */
+    public static void saveCustomer(List<Customer> customers, Customer changed) {
+        if (!SHARDED_MODE) {
+            saveCustomers(customers);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            shardedStore().write(Collections.emptyList(), Collections.singletonList(changed), DURABILITY == Durability.GROUP || JOURNAL_FSYNC);
+        } catch (IOException e) {
+            System.err.println("Error saving customer data: " + e.getMessage());
+        } finally {
+            SAVE_CUSTOMER.recordSince(start);
+        }
+    }
 
-                Set<String> usedAccountNumbers = customers.stream()
-                        .map(c -> c.getAccount().getAccountId())
-                        .collect(Collectors.toSet());
-                AccountNumberGenerator.loadUsedAccountNumbers(usedAccountNumbers);
+    /**
+     * Starts a change to the in-memory customers that will be recorded by journal entries.
+     * Every call must be paired with {@link #endChange}, in a finally block, before the
+     * entries are passed to {@link #commit}.
+     */
+    public static void beginChange() {
+        if (JOURNAL_MODE) {
+            CHANGES.readLock().lock();
+        }
+    }
+
+    /**
+     * Numbers an entry at once, inside a change, for a change that makes something new visible
+     * to others: a registration is numbered before the customer can be found, so their first
+     * deposit never replays ahead of it.
+     */
+    public static void sequence(JournalEntry entry) {
+        if (JOURNAL_MODE) {
+            journal().sequence(entry);
+        }
+    }
+
+    /**
+     * Numbers the entries that record the change begun by {@link #beginChange} and ends it.
+     * Null entries, from a change that failed part-way, are skipped.
+     */
+    public static void endChange(JournalEntry... entries) {
+        endChange(Arrays.asList(entries));
+    }
+
+    public static void endChange(List<JournalEntry> entries) {
+        if (!JOURNAL_MODE) {
+            return;
+        }
+        try {
+            Journal j = journal();
+            for (JournalEntry entry : entries) {
+                if (entry != null) {
+                    j.sequence(entry);
+                }
+            }
+        } finally {
+            CHANGES.readLock().unlock();
+        }
+    }
 
+    /**
+     * Persists the given mutations. In snapshot mode (the default) this rewrites the whole
+     * file as before; in journal mode it appends the entries and compacts every
+     * {@code bank.journal.compactEvery} records.
+     *
+     * Returns once the change is as durable as {@code bank.durability} promises; the returned
+     * future completes when it is on disk, or exceptionally if saving failed.
+     */
+    public static CompletableFuture<Void> commit(List<Customer> customers, JournalEntry... entries) {
+        return commit(customers, Arrays.asList(entries));
+    }
+
+    public static CompletableFuture<Void> commit(List<Customer> customers, List<JournalEntry> entries) {
+        long start = System.nanoTime();
+        CompletableFuture<Void> done = commitAsync(customers, entries);
+        if (DURABILITY != Durability.ASYNC) {
+            awaitQuietly(done);
+        }
+        COMMIT.recordSince(start);
+        return done;
+    }
+
+    /** Like {@link #commit} but never waits, whatever the durability mode. */
+    public static CompletableFuture<Void> commitAsync(List<Customer> customers, List<JournalEntry> entries) {
+        if (DURABILITY != Durability.SYNC) {
+            return queue().submit(customers, entries, false);
+        }
+        try {
+            flush(customers, entries, false, JOURNAL_FSYNC);
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException e) {
+            System.err.println("Error saving customer data: " + e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public static Durability getDurability() {
+        return DURABILITY;
+    }
+
+    /** Writes out anything still queued. Called on shutdown; a no-op in sync mode. */
+    public static void flushPending() {
+        CommitQueue q;
+        synchronized (DataManager.class) {
+            q = commitQueue;
+            commitQueue = null;
+        }
+        if (q != null) {
+            q.close();
+        }
+    }
+
+    private static void flush(List<Customer> customers, List<JournalEntry> entries, boolean snapshot, boolean fsync) throws IOException {
+        long start = System.nanoTime();
+        try {
+            writeBatch(customers, entries, snapshot, fsync);
+        } finally {
+            FLUSH.recordSince(start);
+        }
+    }
+
+    private static void writeBatch(List<Customer> customers, List<JournalEntry> entries, boolean snapshot, boolean fsync) throws IOException {
+        if (SHARDED_MODE) {
+            if (snapshot) {
+                shardedStore().writeAll(customers, fsync);
+            } else {
+                shardedStore().write(entries, Collections.emptyList(), fsync);
+            }
+            return;
+        }
+        if (!JOURNAL_MODE) {
+            writeSnapshot(customers, fsync);
+            return;
+        }
+        Journal j = journal();
+        synchronized (j) {
+            try {
+                for (JournalEntry entry : entries) {
+                    j.append(entry);
+                }
+                if (fsync) {
+                    j.sync();
+                }
+            } catch (IOException e) {
+                System.err.println("Error appending to journal: " + e.getMessage() + ". Writing a full snapshot instead.");
+                writeSnapshot(customers, fsync);
+                return;
+            }
+            if (snapshot || j.getEntriesSinceSnapshot() >= COMPACT_EVERY) {
+                writeSnapshot(customers, fsync);
+            }
+        }
+    }
+
+    private static void writeSnapshot(List<Customer> customers, boolean fsync) throws IOException {
+        if (SHARDED_MODE) {
+            shardedStore().writeAll(customers, fsync);
+            return;
+        }
+        if (CHANGES.getReadHoldCount() > 0) {
+            throw new IllegalStateException("A snapshot cannot be written from inside a change; call endChange first.");
+        }
+        Journal j = journal();
+        synchronized (j) {
+            Path target = Paths.get(CUSTOMERS_FILE);
+            Path temp = Paths.get(CUSTOMERS_FILE + ".tmp");
+            // Changes wait while the snapshot is encoded; none is half-applied or unnumbered.
+            CHANGES.writeLock().lock();
+            long lsn;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                lsn = j.getLastLsn();
+                BankCodec.writeSnapshot(Channels.newOutputStream(channel), customers, lsn);
+                BYTES_WRITTEN.add(channel.position());
+                if (fsync) {
+                    long syncStart = System.nanoTime();
+                    channel.force(true);
+                    FSYNC.recordSince(syncStart);
+                }
+            } finally {
+                CHANGES.writeLock().unlock();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            j.truncate(lsn);
+        }
+    }
+
+    private static synchronized CommitQueue queue() {
+        if (commitQueue == null) {
+            boolean fsync = DURABILITY == Durability.GROUP;
+            commitQueue = CommitQueue.start((customers, entries, snapshot) -> flush(customers, entries, snapshot, fsync), GROUP_MILLIS, GROUP_OPS);
+            Runtime.getRuntime().addShutdownHook(new Thread(DataManager::flushPending, "commit-queue-shutdown"));
+        }
+        return commitQueue;
+    }
+
+    private static void awaitQuietly(CompletableFuture<Void> done) {
+        try {
+            done.join();
+        } catch (CompletionException e) {
+            // Already reported by whoever failed the write; the future carries the cause.
+        }
+    }
+
+    public static List<Customer> loadCustomers() {
+        long start = System.nanoTime();
+        try {
+            return readCustomers();
+        } finally {
+            LOAD_CUSTOMERS.recordSince(start);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Customer> readCustomers() {
+        if (SHARDED_MODE && ShardedStore.exists(Paths.get(SHARD_DIR))) {
+            try {
+                List<Customer> customers = shardedStore().loadAll();
+                loadUsedAccountNumbers(customers);
+                finishLoading(customers);
                 return customers;
+            } catch (IOException e) {
+                System.err.println("Error loading customer data: " + e.getMessage());
+                return new ArrayList<>();
+            }
+        }
+
+        List<Customer> customers = new ArrayList<>();
+        long snapshotLsn = 0;
+        boolean legacyFormat = false;
+        File file = new File(CUSTOMERS_FILE);
+        if (file.exists()) {
+            try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(file))) {
+                byte[] header = new byte[4];
+                in.mark(header.length);
+                int read = in.readNBytes(header, 0, header.length);
+                in.reset();
+                if (read == header.length && BankCodec.hasMagic(header)) {
+                    BankCodec.Snapshot snapshot = BankCodec.readSnapshot(in, LAZY_STARTUP);
+                    customers = snapshot.getCustomers();
+                    snapshotLsn = snapshot.getLsn();
+                } else {
+                    // Pre-codec file written with Java serialization; migrated below.
+                    legacyFormat = true;
+                    ObjectInputStream ois = new ObjectInputStream(in);
+                    customers = (List<Customer>) ois.readObject();
+                    try {
+                        snapshotLsn = ois.readLong();
+                    } catch (EOFException e) {
+                        // Snapshot written before journaling existed.
+                    }
+                }
             } catch (IOException | ClassNotFoundException e) {
                 System.err.println("Error loading customer data: " + e.getMessage());
             }
         }
-        return new ArrayList<>();
+
+        int replayed = replayJournal(customers, snapshotLsn);
+
+        loadUsedAccountNumbers(customers);
+
+        if (SHARDED_MODE) {
+            if (!customers.isEmpty() || file.exists()) {
+                splitIntoShards(customers);
+            }
+        } else if (legacyFormat) {
+            migrateLegacySnapshot(customers);
+        } else if (replayed > 0 && !JOURNAL_MODE) {
+            // Outside journal mode nothing else will fold leftover segments into the snapshot.
+            saveCustomers(customers);
+        }
+        finishLoading(customers);
+        return customers;
+    }
+
+    private static void finishLoading(List<Customer> customers) {
+        StartupMetrics.customersLoaded(customers.size(), LAZY_STARTUP);
+        if (LAZY_STARTUP) {
+            hydrateInBackground(customers);
+        }
+    }
+
+    /**
+     * Decodes the remaining customers' detail at low priority, so that by the time most
+     * customers log in their history is already there. Customers touched first decode on demand.
+     */
+    private static void hydrateInBackground(List<Customer> customers) {
+        List<Customer> pending = new ArrayList<>(customers);
+        Thread hydrator = new Thread(() -> {
+            for (Customer customer : pending) {
+                customer.hydrate();
+            }
+            StartupMetrics.historyHydrated();
+        }, "history-hydrator");
+        hydrator.setDaemon(true);
+        hydrator.setPriority(Thread.MIN_PRIORITY);
+        hydrator.start();
+    }
+
+    private static void loadUsedAccountNumbers(List<Customer> customers) {
+        for (Customer customer : customers) {
+            AccountNumberGenerator.markUsed(customer.getAccount().getAccountId());
+        }
+    }
+
+    /**
+     * First start in sharded mode: writes the shards and keeps the old single file as
+     * customers.dat.unsharded. Journal segments are folded in and dropped.
+     */
+    private static void splitIntoShards(List<Customer> customers) {
+        try {
+            shardedStore().writeAll(customers, true);
+            journal().truncate(journal().getLastLsn());
+            Path single = Paths.get(CUSTOMERS_FILE);
+            if (Files.exists(single)) {
+                Files.move(single, Paths.get(CUSTOMERS_FILE + ".unsharded"), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.err.println("Error splitting customer data into shards: " + e.getMessage());
+            return;
+        }
+        System.out.println("Stored " + customers.size() + " customers in " + SHARDS + " shards.");
+    }
+
+    /**
+     * Keeps the serialized file as customers.dat.legacy and rewrites customers.dat in the binary format.
+     */
+    private static void migrateLegacySnapshot(List<Customer> customers) {
+        try {
+            Files.copy(Paths.get(CUSTOMERS_FILE), Paths.get(CUSTOMERS_FILE + ".legacy"), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.err.println("Error backing up legacy customer data: " + e.getMessage());
+            return;
+        }
+        saveCustomers(customers);
+        System.out.println("Migrated " + customers.size() + " customers to the binary snapshot format.");
+    }
+
+    private static int replayJournal(List<Customer> customers, long snapshotLsn) {
+        journal = new Journal(Paths.get(JOURNAL_DIR), snapshotLsn);
+        List<JournalEntry> entries;
+        try {
+            entries = journal.readAfter(snapshotLsn);
+        } catch (IOException e) {
+            System.err.println("Error reading journal: " + e.getMessage());
+            return 0;
+        }
+        Map<String, Customer> byAccount = new HashMap<>();
+        for (Customer c : customers) {
+            byAccount.put(c.getAccount().getAccountId(), c);
+        }
+        Set<Customer> closed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (JournalEntry entry : entries) {
+            try {
+                entry.applyTo(customers, byAccount, closed);
+            } catch (Exception e) {
+                System.err.println("Error replaying journal entry " + entry.getLsn() + ": " + e.getMessage());
+            }
+        }
+        if (!closed.isEmpty()) {
+            customers.removeIf(closed::contains);
+        }
+        return entries.size();
+    }
+
+    private static synchronized ShardedStore shardedStore() {
+        if (shardedStore == null) {
+            shardedStore = new ShardedStore(Paths.get(SHARD_DIR), SHARDS, LAZY_STARTUP);
+        }
+        return shardedStore;
+    }
+
+    private static synchronized Journal journal() {
+        if (journal == null) {
+            journal = new Journal(Paths.get(JOURNAL_DIR), 0);
+        }
+        return journal;
+    }
+
+    private static String dataFile(String name) {
+        return DATA_DIR == null ? name : Paths.get(DATA_DIR, name).toString();
     }
 
     public static void saveAdmin(Admin admin) {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(ADMIN_FILE))) {
+        long start = System.nanoTime();
+        try (FileOutputStream file = new FileOutputStream(ADMIN_FILE);
+             ObjectOutputStream oos = new ObjectOutputStream(file)) {
             oos.writeObject(admin);
+            oos.flush();
+            BYTES_WRITTEN.add(file.getChannel().position());
         } catch (IOException e) {
             System.err.println("Error saving admin data: " + e.getMessage());
+        } finally {
+            SAVE_ADMIN.recordSince(start);
         }
     }
 
     public static Admin loadAdmin() {
+        long start = System.nanoTime();
+        try {
+            return readAdmin();
+        } finally {
+            LOAD_ADMIN.recordSince(start);
+        }
+    }
+
+    private static Admin readAdmin() {
         File file = new File(ADMIN_FILE);
         if (file.exists()) {
             try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
@@ -65,19 +523,37 @@ public class DataManager {
 
  
     public static void saveSupportMessages(Map<Integer, Message> messages) {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(MESSAGES_FILE))) {
-            oos.writeObject(messages);
-        } catch (IOException e) {
-            System.err.println("Error saving support messages: " + e.getMessage());
+        // The GUI saves from background workers that may overlap.
+        long start = System.nanoTime();
+        synchronized (MESSAGES_LOCK) {
+            try (FileOutputStream file = new FileOutputStream(MESSAGES_FILE);
+                 ObjectOutputStream oos = new ObjectOutputStream(file)) {
+                oos.writeObject(messages);
+                oos.flush();
+                BYTES_WRITTEN.add(file.getChannel().position());
+            } catch (IOException e) {
+                System.err.println("Error saving support messages: " + e.getMessage());
+            }
         }
+        SAVE_MESSAGES.recordSince(start);
     }
 
-    @SuppressWarnings("unchecked")
     public static Map<Integer, Message> loadSupportMessages() {
+        long start = System.nanoTime();
+        try {
+            return readSupportMessages();
+        } finally {
+            LOAD_MESSAGES.recordSince(start);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Integer, Message> readSupportMessages() {
         File file = new File(MESSAGES_FILE);
         if (file.exists()) {
             try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-                return (Map<Integer, Message>) ois.readObject();
+                // Older files hold a HashMap; a concurrent map can be saved while the UI adds messages.
+                return new ConcurrentHashMap<>((Map<Integer, Message>) ois.readObject());
             } catch (IOException | ClassNotFoundException e) {
                 System.err.println("Error loading support messages: " + e.getMessage());
             }
@@ -0,0 +1,327 @@
+package bankingmanagementsystem;
+
+import bankingmanagementsystem.service.BankService;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded generator of synthetic banks for scale tests and profiling.
+ *
+ * Customer i is a pure function of the seed and i, so a seed always produces the same bank and
+ * a load generator can work out any customer's account number and password without reading the
+ * file. Customers are generated and encoded one at a time straight into the snapshot format
+ * DataManager loads, so heap use stays flat whether the bank has a thousand customers or ten million.
+ *
+ * Distributions, loosely those of a retail bank:
+ * - salary: log-normal, median 35,000 a month (90,000 for Business accounts); 1 in 12 has none
+ * - account type: 85% Personal, 15% Business; minimum balance 0 / 5,000 / 10,000 at 60/25/15%
+ * - loans: none for 70%, one for 22%, two for 8%; under-30s mostly take Student loans
+ * - fixed deposits: none for 60%, otherwise 1 to 4, some already past maturity
+ * - history: log-normal length, median 24 entries, capped by -Dbank.generator.maxHistory (500)
+ *
+ * Descriptions come from a fixed vocabulary and transfers go to a pool of at most 1024
+ * customers, so every history shares the same few thousand description strings.
+ *
+ * Usage: DatasetGenerator count [seed] [output]    (output defaults to customers.dat)
+ */
+public class DatasetGenerator {
+    private static final int MAX_HISTORY = Integer.getInteger("bank.generator.maxHistory", 500);
+    private static final int MAX_CUSTOMERS = 1_000_000_000;
+    private static final int PAYEES = 1024;
+    private static final int PROGRESS_EVERY = 1_000_000;
+
+    private static final long FIRST_ACCOUNT = 1_000_000_000L;
+    private static final long ACCOUNT_RANGE = 9_000_000_000L;
+    // ACCOUNT_RANGE is 2^9 * 3^2 * 5^9; a stride divisible by none of 2, 3 and 5 is coprime
+    // with it, so index -> account number is a bijection. (index * stride stays below 2^63.)
+    private static final long ACCOUNT_STRIDE = 6_364_136_221L;
+
+    private static final String[] FIRST_NAMES = {
+        "Aarav", "Aditi", "Akash", "Ananya", "Arjun", "Bhavna", "Chetan", "Deepa", "Divya", "Farhan",
+        "Gaurav", "Geeta", "Harish", "Isha", "Jaya", "Karan", "Kavya", "Lakshmi", "Manish", "Meera",
+        "Nikhil", "Neha", "Omkar", "Pooja", "Pranav", "Priya", "Rahul", "Riya", "Sanjay", "Sneha",
+        "Suresh", "Tanvi", "Uday", "Varun", "Vidya", "Yash", "Zara", "Rohan", "Shreya", "Vikram"
+    };
+    private static final String[] LAST_NAMES = {
+        "Sharma", "Verma", "Iyer", "Nair", "Reddy", "Patel", "Shah", "Mehta", "Gupta", "Singh",
+        "Kumar", "Das", "Bose", "Chatterjee", "Menon", "Pillai", "Rao", "Joshi", "Kulkarni", "Desai",
+        "Khan", "Ali", "Fernandes", "D'Souza", "Kapoor", "Malhotra", "Agarwal", "Banerjee", "Mishra", "Yadav"
+    };
+    private static final String[] STREETS = {
+        "MG Road", "Station Road", "Park Street", "Church Street", "Gandhi Nagar", "Nehru Place",
+        "Lake View", "Hill Road", "Market Lane", "Temple Street", "Ring Road", "Civil Lines"
+    };
+    private static final String[] CITIES = {
+        "Mumbai", "Delhi", "Bengaluru", "Chennai", "Kolkata", "Hyderabad", "Pune", "Ahmedabad",
+        "Jaipur", "Lucknow", "Kochi", "Indore", "Bhopal", "Nagpur", "Chandigarh", "Guwahati"
+    };
+    private static final String[] ANSWERS = {
+        "Rani", "Tommy", "Mumbai", "Sholay", "Godaan", "Ravi", "Lata", "Bruno", "Pune", "Lagaan"
+    };
+    private static final String[] DEPOSIT_DESCRIPTIONS = {
+        "Self-deposit into account", "Salary credit", "Cheque deposit", "Interest credit", "Refund"
+    };
+    private static final String[] WITHDRAWAL_DESCRIPTIONS = {
+        "Self-withdrawal from account", "ATM withdrawal", "Card payment", "Utility bill payment", "Insurance premium"
+    };
+
+    private final long seed;
+    private final int count;
+    private final String[] transferredTo;
+    private final String[] receivedFrom;
+    private final LocalDate today;
+    private final long historyStartMillis;
+    private final long historyEndMillis;
+
+    /** A generator for a bank of {@code count} customers, all dated relative to today. */
+    public DatasetGenerator(long seed, int count) {
+        this(seed, count, LocalDate.now());
+    }
+
+    public DatasetGenerator(long seed, int count, LocalDate today) {
+        if (count < 0 || count > MAX_CUSTOMERS) {
+            throw new IllegalArgumentException("Customer count must be between 0 and " + MAX_CUSTOMERS + ".");
+        }
+        this.seed = seed;
+        this.count = count;
+        this.today = today;
+        this.historyEndMillis = today.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+        this.historyStartMillis = today.minusYears(2).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+
+        int payees = Math.min(count, PAYEES);
+        transferredTo = new String[payees];
+        receivedFrom = new String[payees];
+        for (int i = 0; i < payees; i++) {
+            String party = name(i) + " (Acc: " + accountNumber(seed, i) + ")";
+            transferredTo[i] = "Transferred to " + party;
+            receivedFrom[i] = "Received from " + party;
+        }
+    }
+
+    /** Totals over everything written, e.g. for a money-conservation check after a load test. */
+    public static final class Summary {
+        private int customers;
+        private long loans;
+        private long investments;
+        private long transactions;
+        private long totalBalance;
+
+        public int getCustomers() { return customers; }
+        public long getLoans() { return loans; }
+        public long getInvestments() { return investments; }
+        public long getTransactions() { return transactions; }
+        public long getTotalBalance() { return totalBalance; }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: DatasetGenerator count [seed] [output]");
+            System.exit(1);
+        }
+        int count = Integer.parseInt(args[0]);
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+        Path output = Paths.get(args.length > 2 ? args[2] : "customers.dat");
+
+        if (Files.exists(output)) {
+            System.err.println(output + " already exists; move it away first.");
+            System.exit(1);
+        }
+        Path journal = output.toAbsolutePath().resolveSibling("journal");
+        if (Files.isDirectory(journal)) {
+            System.err.println("Warning: " + journal + " exists and would be replayed over the new data; remove it before starting the bank.");
+        }
+
+        DatasetGenerator generator = new DatasetGenerator(seed, count);
+        long start = System.nanoTime();
+        Path temp = Paths.get(output + ".tmp");
+        Summary summary;
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            summary = generator.write(out);
+        }
+        Files.move(temp, output, StandardCopyOption.ATOMIC_MOVE);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("Wrote " + summary.getCustomers() + " customers to " + output + " (" + Files.size(output) / (1024 * 1024)
+                + " MB) in " + millis + " ms with seed " + seed + ".");
+        System.out.println("Loans: " + summary.getLoans() + ", fixed deposits: " + summary.getInvestments()
+                + ", history entries: " + summary.getTransactions() + ", total balance: " + Money.format(summary.getTotalBalance()));
+        System.out.println("Customer i has account number DatasetGenerator.accountNumber(seed, i) and password \"pass-<i>\".");
+    }
+
+    /** Streams every customer into {@code out} as a snapshot. The stream is flushed, not closed. */
+    public Summary write(OutputStream out) throws IOException {
+        Summary summary = new Summary();
+        BankCodec.Encoder encoder = BankCodec.beginSnapshot(out, 0, count);
+        for (int i = 0; i < count; i++) {
+            Customer customer = customer(i);
+            encoder.writeCustomer(customer);
+            summary.customers++;
+            summary.loans += customer.getLoans().size();
+            summary.investments += customer.getInvestments().size();
+            summary.transactions += customer.getTransactionHistory().size();
+            summary.totalBalance += customer.getAccount().getBalance();
+            if ((i + 1) % PROGRESS_EVERY == 0) {
+                System.out.println("Generated " + (i + 1) + " of " + count + " customers...");
+            }
+        }
+        encoder.flush();
+        return summary;
+    }
+
+    public static String accountNumber(long seed, int index) {
+        long offset = Math.floorMod(mix(seed, 0, 0), ACCOUNT_RANGE);
+        return Long.toString(FIRST_ACCOUNT + Math.floorMod(index * ACCOUNT_STRIDE + offset, ACCOUNT_RANGE));
+    }
+
+    public static String password(int index) {
+        return "pass-" + index;
+    }
+
+    public String accountNumber(int index) {
+        return accountNumber(seed, index);
+    }
+
+    /** Builds customer {@code index}; the same seed and index always give the same customer. */
+    public Customer customer(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Customer " + index + " of " + count);
+        }
+        SplittableRandom random = random(index, 1);
+        LocalDate dob = today.minusDays(random.nextInt(18 * 365, 75 * 365));
+        boolean youngAdult = dob.isAfter(today.minusYears(30));
+        boolean business = random.nextInt(100) < 15;
+
+        long salary = random.nextInt(12) == 0 ? 0
+                : rupees(random, clamp(logNormal(random, business ? 90_000 : 35_000, 0.7), 5_000, 5_000_000));
+        int minBalanceRoll = random.nextInt(100);
+        long minBalance = BankService.MIN_BALANCE_CHOICES.get(minBalanceRoll < 60 ? 0 : minBalanceRoll < 85 ? 1 : 2);
+        long balance = minBalance + rupees(random, clamp(logNormal(random, Math.max(salary / 100, 10_000) * 1.5, 1.1), 0, 50_000_000));
+
+        Account account = new Account(accountNumber(index), business ? "Business" : "Personal", minBalance, balance);
+        String address = random.nextInt(1, 500) + " " + pick(random, STREETS) + ", " + pick(random, CITIES);
+        String question = pick(random, PasswordResetManager.SECURITY_QUESTIONS);
+        String answer = pick(random, ANSWERS);
+
+        return new Customer(name(index), dob, address, salary, password(index), question, answer, account,
+                loans(random, index, salary, business, youngAdult), investments(random, index), history(random));
+    }
+
+    private List<Loan> loans(SplittableRandom random, int index, long salary, boolean business, boolean youngAdult) {
+        int roll = random.nextInt(100);
+        int n = roll < 70 ? 0 : roll < 92 ? 1 : 2;
+        List<Loan> loans = new ArrayList<>(n);
+        for (int k = 0; k < n; k++) {
+            String type;
+            double rate;
+            long principal;
+            int tenure;
+            if (salary == 0 || (youngAdult && random.nextBoolean())) {
+                type = "Student";
+                rate = 4.5;
+                principal = rupees(random, random.nextInt(50_000, 500_001));
+                tenure = random.nextInt(3, 8);
+            } else {
+                boolean businessLoan = business && random.nextInt(100) < 60;
+                type = businessLoan ? "Business" : "Personal";
+                rate = businessLoan ? 10.5 : 8.5;
+                // Approval requires less than 100 months of salary.
+                principal = Math.max(Money.ofRupees(10_000), salary * random.nextInt(5, 60));
+                tenure = random.nextInt(1, 11);
+            }
+            LocalDate start = today.minusDays(random.nextInt(tenure * 365));
+            LocalDate end = start.plusYears(tenure);
+            long total = Money.compound(principal, rate, tenure);
+            double remaining = (double) (end.toEpochDay() - today.toEpochDay()) / (end.toEpochDay() - start.toEpochDay());
+            long due = Math.round(total * remaining * random.nextDouble(0.9, 1.0));
+            String loanId = String.format("LN-%08X", index * 2L + k);
+            loans.add(new Loan(loanId, type, principal, total, Math.max(0, due), rate, start, end));
+        }
+        return loans;
+    }
+
+    private List<Investment> investments(SplittableRandom random, int index) {
+        int n = random.nextInt(100) < 60 ? 0 : random.nextInt(1, 5);
+        List<Investment> investments = new ArrayList<>(n);
+        for (int k = 0; k < n; k++) {
+            long amount = rupees(random, clamp(logNormal(random, 100_000, 0.9), 1_000, 10_000_000));
+            int tenure = random.nextInt(1, 6);
+            // Up to five years back, so some deposits are already due to mature.
+            LocalDate start = today.minusDays(random.nextInt(5 * 365 + 1));
+            double rate = BankService.FD_INTEREST_RATE;
+            investments.add(new Investment("INV" + (100_000_000L + index * 4L + k), "Fixed Deposit", "FD Investment",
+                    amount, start, start.plusYears(tenure), rate, Money.compound(amount, rate, tenure)));
+        }
+        return investments;
+    }
+
+    private List<Transaction> history(SplittableRandom random) {
+        int length = random.nextInt(20) == 0 ? 0 : (int) Math.min(MAX_HISTORY, Math.round(logNormal(random, 24, 1.0)));
+        List<Transaction> history = new ArrayList<>(length);
+        if (length == 0) {
+            return history;
+        }
+        // Spread entries over the last two years in time order.
+        long step = (historyEndMillis - historyStartMillis) / length;
+        long millis = historyStartMillis;
+        for (int i = 0; i < length; i++) {
+            millis += 1 + random.nextLong(step);
+            LocalDateTime at = LocalDateTime.ofEpochSecond(millis / 1000, 0, ZoneOffset.UTC);
+            long amount = rupees(random, clamp(logNormal(random, 2_000, 1.2), 10, 2_000_000));
+            int roll = random.nextInt(100);
+            if (roll < 30) {
+                history.add(new Transaction("Deposit", amount, pick(random, DEPOSIT_DESCRIPTIONS), at));
+            } else if (roll < 55) {
+                history.add(new Transaction("Withdrawal", amount, pick(random, WITHDRAWAL_DESCRIPTIONS), at));
+            } else if (roll < 80) {
+                history.add(new Transaction("Transfer", amount, pick(random, transferredTo), at));
+            } else {
+                history.add(new Transaction("Deposit", amount, pick(random, receivedFrom), at));
+            }
+        }
+        return history;
+    }
+
+    private String name(int index) {
+        SplittableRandom random = random(index, 2);
+        return pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES);
+    }
+
+    private SplittableRandom random(int index, int stream) {
+        return new SplittableRandom(mix(seed, index, stream));
+    }
+
+    // SplitMix64 finalizer over the seed, index and stream, so neighbouring indexes are unrelated.
+    private static long mix(long seed, long index, long stream) {
+        long z = seed + index * 0x9E3779B97F4A7C15L + stream * 0xD1B54A32D192ED03L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static double logNormal(SplittableRandom random, double median, double sigma) {
+        return median * Math.exp(sigma * random.nextGaussian());
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /** Whole rupees plus random paise. */
+    private static long rupees(SplittableRandom random, double rupees) {
+        return Money.ofRupees((long) rupees) + random.nextInt(100);
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
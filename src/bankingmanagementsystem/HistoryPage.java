@@ -0,0 +1,57 @@
+package bankingmanagementsystem;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a customer's transaction history, newest entry first.
+ *
+ * Pass {@link #FIRST} as the cursor for the newest page and {@link #getNextCursor()} to walk
+ * towards older entries. Cursors stay valid while new transactions are appended.
+ */
+public final class HistoryPage {
+    public static final long FIRST = -1;
+    public static final int DEFAULT_SIZE = 20;
+
+    private final List<Transaction> transactions;
+    private final long cursor;
+    private final long nextCursor;
+    private final int newerCount;
+    private final int matchingCount;
+    private final LocalDate from;
+    private final LocalDate to;
+
+    HistoryPage(List<Transaction> transactions, long cursor, long nextCursor, int newerCount, int matchingCount,
+                LocalDate from, LocalDate to) {
+        this.transactions = Collections.unmodifiableList(transactions);
+        this.cursor = cursor;
+        this.nextCursor = nextCursor;
+        this.newerCount = newerCount;
+        this.matchingCount = matchingCount;
+        this.from = from;
+        this.to = to;
+    }
+
+    public List<Transaction> getTransactions() { return transactions; }
+    /** The cursor this page was read from. */
+    public long getCursor() { return cursor; }
+    /** Cursor for the next older page, or {@link #FIRST} once the oldest matching entry has been returned. */
+    public long getNextCursor() { return nextCursor; }
+    public boolean hasMore() { return nextCursor != FIRST; }
+    public boolean isEmpty() { return transactions.isEmpty(); }
+    /** Position of this page's first entry among the matching entries, counting from 1. */
+    public int getFirstPosition() { return newerCount + 1; }
+    public int getLastPosition() { return newerCount + transactions.size(); }
+    /** Number of entries inside the date range, across all pages. */
+    public int getMatchingCount() { return matchingCount; }
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+
+    public String describe() {
+        if (transactions.isEmpty()) {
+            return "No transactions found.";
+        }
+        return "Showing " + getFirstPosition() + "-" + getLastPosition() + " of " + matchingCount + " transactions";
+    }
+}
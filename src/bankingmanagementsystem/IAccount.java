@@ -3,9 +3,12 @@ package bankingmanagementsystem;
 import bankingmanagementsystem.exceptions.InsufficientFundsException;
 import bankingmanagementsystem.exceptions.InvalidAmountException;
 
+/**
+ * All amounts are in paise; see {@link Money}.
+ */
 public interface IAccount {
-    void deposit(double amount) throws InvalidAmountException;
-    void withdraw(double amount) throws InsufficientFundsException, InvalidAmountException;
-    double getBalance();
+    void deposit(long amount) throws InvalidAmountException;
+    void withdraw(long amount) throws InsufficientFundsException, InvalidAmountException;
+    long getBalance();
 }
 
@@ -1,5 +1,9 @@
 package bankingmanagementsystem;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -10,13 +14,13 @@ public class Investment implements Serializable {
     private String investmentId;
     private String investmentType;
     private String description;
-    private double amountInvested;
+    private long amountInvested;
     private LocalDate startDate;
     private LocalDate endDate;
     private double interestRate;
-    private double maturityValue;
+    private long maturityValue;
 
-    public Investment(String investmentType, String description, double amountInvested, LocalDate startDate, int tenureInYears, double interestRate) {
+    public Investment(String investmentType, String description, long amountInvested, LocalDate startDate, int tenureInYears, double interestRate) {
         this.investmentId = "INV" + idCounter.incrementAndGet();
         this.investmentType = investmentType;
         this.description = description;
@@ -26,24 +30,78 @@ public class Investment implements Serializable {
         this.interestRate = interestRate;
 
         // --- Corrected: Compound Interest Calculation ---
-        double rate = this.interestRate / 100.0;
-        int n = 1; // Compounded annually
-        this.maturityValue = this.amountInvested * Math.pow(1 + (rate / n), n * tenureInYears);
+        // Compounded annually, rounded to the nearest paisa.
+        this.maturityValue = Money.compound(this.amountInvested, this.interestRate, tenureInYears);
+    }
+
+    // Restores an investment from persisted state.
+    public Investment(String investmentId, String investmentType, String description, long amountInvested,
+                      LocalDate startDate, LocalDate endDate, double interestRate, long maturityValue) {
+        this.investmentId = investmentId;
+        this.investmentType = investmentType;
+        this.description = description;
+        this.amountInvested = amountInvested;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.interestRate = interestRate;
+        this.maturityValue = maturityValue;
     }
 
     // --- Corrected: Added all necessary getter methods ---
     public String getInvestmentType() { return investmentType; }
-    public double getAmountInvested() { return amountInvested; }
-    public double getMaturityValue() { return maturityValue; }
+    public long getAmountInvested() { return amountInvested; }
+    public long getMaturityValue() { return maturityValue; }
     public String getInvestmentId() { return investmentId; }
     public LocalDate getEndDate() { return endDate; }
+    public String getDescription() { return description; }
+    public LocalDate getStartDate() { return startDate; }
+    public double getInterestRate() { return interestRate; }
 
     @Override
     public String toString() {
-        return String.format(
-                "  - Investment [ID: %s, Type: %s, Amount: %.2f, Rate: %.1f%%, Maturity Value: %.2f, End: %s]",
-                investmentId, investmentType, amountInvested, interestRate, maturityValue, endDate
-        );
+        return "  - Investment [ID: " + investmentId +
+                ", Type: " + investmentType +
+                ", Amount: " + Money.format(amountInvested) +
+                ", Rate: " + String.format("%.1f%%", interestRate) +
+                ", Maturity Value: " + Money.format(maturityValue) +
+                ", End: " + endDate + "]";
+    }
+
+    // --- Java serialization keeps the old rupee-double layout so legacy customers.dat files still load ---
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("investmentId", String.class),
+            new ObjectStreamField("investmentType", String.class),
+            new ObjectStreamField("description", String.class),
+            new ObjectStreamField("amountInvested", double.class),
+            new ObjectStreamField("startDate", LocalDate.class),
+            new ObjectStreamField("endDate", LocalDate.class),
+            new ObjectStreamField("interestRate", double.class),
+            new ObjectStreamField("maturityValue", double.class)
+    };
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("investmentId", investmentId);
+        fields.put("investmentType", investmentType);
+        fields.put("description", description);
+        fields.put("amountInvested", Money.toRupees(amountInvested));
+        fields.put("startDate", startDate);
+        fields.put("endDate", endDate);
+        fields.put("interestRate", interestRate);
+        fields.put("maturityValue", Money.toRupees(maturityValue));
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        investmentId = (String) fields.get("investmentId", null);
+        investmentType = (String) fields.get("investmentType", null);
+        description = (String) fields.get("description", null);
+        amountInvested = Money.fromRupees(fields.get("amountInvested", 0.0));
+        startDate = (LocalDate) fields.get("startDate", null);
+        endDate = (LocalDate) fields.get("endDate", null);
+        interestRate = fields.get("interestRate", 0.0);
+        maturityValue = Money.fromRupees(fields.get("maturityValue", 0.0));
     }
 }
 
@@ -0,0 +1,329 @@
+package bankingmanagementsystem;
+
+import bankingmanagementsystem.ledger.LedgerEngine;
+import bankingmanagementsystem.metrics.LatencyHistogram;
+import bankingmanagementsystem.metrics.Metrics;
+import bankingmanagementsystem.service.BankRequest;
+import bankingmanagementsystem.service.BankService;
+import bankingmanagementsystem.service.Result;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Closed-loop load test of the banking core: thousands of simulated customers, each on its own
+ * virtual thread, log in and work through the customer menu against an in-process BankService.
+ *
+ * Each session logs in as a random customer, runs bank.load.sessionLength menu operations in
+ * roughly the mix people use (see {@link Operation}) and then logs in as someone else. With a
+ * target rate each session paces itself and latency is measured from when the operation was due,
+ * not when it started, so a stalled bank shows up as latency rather than as a lower offered load.
+ *
+ * Every money movement that succeeds is tallied, and at the end the bank's total balance must
+ * equal the starting total plus deposits, loans and matured FDs, minus withdrawals, repayments
+ * and new FDs. Transfers must cancel out exactly. A mismatch fails the run.
+ *
+ * The run changes balances and saves them, so it refuses to start without -Dbank.dataDir;
+ * point it at a scratch copy or at a directory filled by {@link DatasetGenerator}.
+ *
+ * -Dbank.load.sessions        concurrent customer sessions (default 1000)
+ * -Dbank.load.rate            target operations per second over all sessions; 0 runs flat out (default)
+ * -Dbank.load.seconds         measured duration (default 60)
+ * -Dbank.load.warmupSeconds   unmeasured run-in before that (default 10)
+ * -Dbank.load.sessionLength   operations per login (default 20)
+ */
+public class LoadGenerator {
+    private static final int SESSIONS = Integer.getInteger("bank.load.sessions", 1000);
+    private static final int RATE = Integer.getInteger("bank.load.rate", 0);
+    private static final int SECONDS = Integer.getInteger("bank.load.seconds", 60);
+    private static final int WARMUP_SECONDS = Integer.getInteger("bank.load.warmupSeconds", 10);
+    private static final int SESSION_LENGTH = Integer.getInteger("bank.load.sessionLength", 20);
+
+    /** Customer menu options and how often a session picks each, in percent. */
+    enum Operation {
+        VIEW_ACCOUNT("viewAccount", 20),
+        DEPOSIT("deposit", 15),
+        WITHDRAW("withdraw", 15),
+        SEND_MONEY("sendMoney", 20),
+        HISTORY("history", 15),
+        APPLY_LOAN("applyForLoan", 2),
+        PAY_LOAN("payLoanInstallment", 4),
+        ADD_INVESTMENT("addInvestment", 3),
+        VIEW_INVESTMENTS("viewInvestments", 5),
+        CONTACT_SUPPORT("contactSupport", 1);
+
+        private static final Operation[] BY_PERCENT = new Operation[100];
+
+        static {
+            int next = 0;
+            for (Operation operation : values()) {
+                for (int i = 0; i < operation.weight; i++) {
+                    BY_PERCENT[next++] = operation;
+                }
+            }
+        }
+
+        private final String name;
+        private final int weight;
+        private final LatencyHistogram latency;
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        Operation(String name, int weight) {
+            this.name = name;
+            this.weight = weight;
+            this.latency = Metrics.histogram("load." + name);
+        }
+
+        static Operation pick(ThreadLocalRandom random) {
+            return BY_PERCENT[random.nextInt(100)];
+        }
+    }
+
+    private final BankService service;
+    private final Customer[] customers;
+    private final LongAdder logins = new LongAdder();
+    private final LatencyHistogram loginLatency = Metrics.histogram("load.login");
+
+    // Money that entered or left the bank through successful operations, in paise.
+    private final LongAdder deposited = new LongAdder();
+    private final LongAdder withdrawn = new LongAdder();
+    private final LongAdder disbursed = new LongAdder();
+    private final LongAdder repaid = new LongAdder();
+    private final LongAdder invested = new LongAdder();
+    private final LongAdder matured = new LongAdder();
+
+    private volatile boolean measuring;
+    private volatile boolean stopping;
+
+    LoadGenerator(BankService service) {
+        this.service = service;
+        this.customers = service.getRegistry().customers().toArray(new Customer[0]);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (System.getProperty("bank.dataDir") == null) {
+            System.err.println("The load test changes balances and saves them; set -Dbank.dataDir to a scratch copy of the data.");
+            System.exit(1);
+        }
+        Metrics.startReporterIfConfigured();
+        CustomerRegistry registry = new CustomerRegistry(DataManager.loadCustomers());
+        if (registry.size() < 2) {
+            System.err.println("Need at least two customers; generate some with DatasetGenerator.");
+            System.exit(1);
+        }
+        LedgerEngine.startIfEnabled(registry);
+        Map<Integer, Message> supportMessages = DataManager.loadSupportMessages();
+        int maxId = supportMessages.keySet().stream().max(Integer::compare).orElse(0);
+        BankService service = new BankService(registry, supportMessages, new AtomicInteger(maxId));
+
+        boolean conserved = new LoadGenerator(service).run();
+        System.exit(conserved ? 0 : 1);
+    }
+
+    /** Runs the warm-up and measured phases and prints the report; returns whether money was conserved. */
+    boolean run() throws InterruptedException {
+        long startTotal = totalBalance();
+        System.out.println("Load test: " + customers.length + " customers, " + SESSIONS + " sessions, "
+                + (RATE > 0 ? "target " + RATE + " ops/s" : "unthrottled") + ", " + WARMUP_SECONDS + "s warm-up + " + SECONDS + "s measured.");
+
+        ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor();
+        // Each session runs one operation every SESSIONS / RATE seconds.
+        long intervalNanos = RATE > 0 ? TimeUnit.SECONDS.toNanos(SESSIONS) / RATE : 0;
+        for (int i = 0; i < SESSIONS; i++) {
+            sessions.execute(() -> runSession(intervalNanos));
+        }
+
+        TimeUnit.SECONDS.sleep(WARMUP_SECONDS);
+        long measuredFrom = System.nanoTime();
+        measuring = true;
+        TimeUnit.SECONDS.sleep(SECONDS);
+        measuring = false;
+        long measuredNanos = System.nanoTime() - measuredFrom;
+        stopping = true;
+        sessions.shutdown();
+        if (!sessions.awaitTermination(1, TimeUnit.MINUTES)) {
+            System.err.println("Some sessions did not finish within a minute of the end of the run.");
+        }
+
+        report(measuredNanos);
+        return checkConservation(startTotal);
+    }
+
+    private void runSession(long intervalNanos) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // Random phase, so paced sessions do not all fire at the same instant.
+        long due = System.nanoTime() + (intervalNanos > 0 ? random.nextLong(intervalNanos) : 0);
+        while (!stopping) {
+            Customer customer = customers[random.nextInt(customers.length)];
+            String accountId = customer.getAccount().getAccountId();
+            due = pace(due, intervalNanos);
+            Result<Customer> login = service.authenticate(accountId, customer.getPassword());
+            record(loginLatency, due);
+            if (!login.isOk()) {
+                continue;
+            }
+            logins.increment();
+            for (int i = 0; i < SESSION_LENGTH && !stopping; i++) {
+                Operation operation = Operation.pick(random);
+                due = pace(due, intervalNanos);
+                Result<?> result = perform(operation, customer, random);
+                record(operation.latency, due);
+                if (measuring && result != null && !result.isOk()) {
+                    if (result.getStatus() == Result.Status.FAILED) {
+                        operation.failed.increment();
+                    } else {
+                        operation.rejected.increment();
+                    }
+                }
+            }
+        }
+    }
+
+    /** Parks until the next operation is due and returns its due time; unthrottled, returns now. */
+    private long pace(long previousDue, long intervalNanos) {
+        if (intervalNanos == 0) {
+            return System.nanoTime();
+        }
+        long due = previousDue + intervalNanos;
+        long wait = due - System.nanoTime();
+        if (wait > 0) {
+            LockSupport.parkNanos(wait);
+        }
+        return due;
+    }
+
+    private void record(LatencyHistogram histogram, long dueNanos) {
+        if (measuring) {
+            histogram.recordSince(dueNanos);
+        }
+    }
+
+    /** Runs one menu operation the way ActionHandler would; returns null for purely local reads. */
+    private Result<?> perform(Operation operation, Customer customer, ThreadLocalRandom random) {
+        String accountId = customer.getAccount().getAccountId();
+        switch (operation) {
+            case VIEW_ACCOUNT:
+                return service.find(accountId);
+            case DEPOSIT: {
+                long amount = Money.ofRupees(random.nextInt(100, 20_001));
+                Result<Long> result = service.deposit(new BankRequest.Deposit(accountId, amount));
+                if (result.isOk()) deposited.add(amount);
+                return result;
+            }
+            case WITHDRAW: {
+                long amount = Money.ofRupees(random.nextInt(100, 20_001));
+                Result<Long> result = service.withdraw(new BankRequest.Withdraw(accountId, amount));
+                if (result.isOk()) withdrawn.add(amount);
+                return result;
+            }
+            case SEND_MONEY: {
+                // Any customer but the sender: draw from all but the last slot and let the last stand in for the sender.
+                Customer recipient = customers[random.nextInt(customers.length - 1)];
+                if (recipient == customer) {
+                    recipient = customers[customers.length - 1];
+                }
+                long amount = Money.ofRupees(random.nextInt(10, 10_001));
+                return service.transfer(new BankRequest.Transfer(accountId, recipient.getAccount().getAccountId(), amount));
+            }
+            case HISTORY:
+                customer.getHistoryPage(0, 10, null, null);
+                return null;
+            case APPLY_LOAN: {
+                String type = random.nextInt(4) == 0 ? "Student" : "Personal";
+                long amount = Money.ofRupees(random.nextInt(10_000, 200_001));
+                Result<Loan> result = service.applyForLoan(new BankRequest.ApplyLoan(accountId, type, amount, random.nextInt(1, 6)));
+                if (result.isOk()) disbursed.add(amount);
+                return result;
+            }
+            case PAY_LOAN: {
+                Loan loan = activeLoan(customer);
+                if (loan == null) {
+                    return null;  // "You have no active loans."
+                }
+                long amount = Money.ofRupees(random.nextInt(1_000, 20_001));
+                Result<BankService.Repayment> result = service.repayLoan(new BankRequest.RepayLoan(accountId, loan.getLoanId(), amount));
+                if (result.isOk()) repaid.add(result.getValue().getAmountPaid());
+                return result;
+            }
+            case ADD_INVESTMENT: {
+                long amount = Money.ofRupees(random.nextInt(1_000, 50_001));
+                Result<Investment> result = service.createFixedDeposit(new BankRequest.CreateDeposit(accountId, amount, random.nextInt(1, 6)));
+                if (result.isOk()) invested.add(amount);
+                return result;
+            }
+            case VIEW_INVESTMENTS: {
+                Result<List<Investment>> result = service.matureFixedDeposits(new BankRequest.MatureDeposits(accountId, null));
+                if (result.isOk()) {
+                    for (Investment investment : result.getValue()) {
+                        matured.add(investment.getMaturityValue());
+                    }
+                }
+                return result;
+            }
+            default:
+                return service.sendSupportMessage(new BankRequest.SendMessage(accountId, "Load test enquiry " + random.nextInt(1_000_000)));
+        }
+    }
+
+    private static Loan activeLoan(Customer customer) {
+        synchronized (customer) {
+            for (Loan loan : customer.getLoans()) {
+                if (loan.getAmountDue() > 0) {
+                    return loan;
+                }
+            }
+        }
+        return null;
+    }
+
+    private long totalBalance() {
+        long total = 0;
+        for (Customer customer : customers) {
+            total += customer.getAccount().getBalance();
+        }
+        return total;
+    }
+
+    private void report(long measuredNanos) {
+        double seconds = measuredNanos / 1_000_000_000.0;
+        long total = 0;
+        System.out.println();
+        System.out.println(String.format(Locale.ROOT, "%-20s %10s %10s %9s %9s %9s %9s %9s %9s %7s",
+                "operation", "count", "ops/s", "mean ms", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "rejected", "failed"));
+        total += reportLine("login", loginLatency.snapshot(), seconds, 0, 0);
+        for (Operation operation : Operation.values()) {
+            total += reportLine(operation.name, operation.latency.snapshot(), seconds, operation.rejected.sum(), operation.failed.sum());
+        }
+        System.out.println(String.format(Locale.ROOT, "Total %d operations in %.1fs: %.0f ops/s%s, %d logins.",
+                total, seconds, total / seconds, RATE > 0 ? " (target " + RATE + ")" : "", logins.sum()));
+    }
+
+    private static long reportLine(String name, LatencyHistogram.Snapshot s, double seconds, long rejected, long failed) {
+        System.out.println(String.format(Locale.ROOT, "%-20s %10d %10.0f %9s %9s %9s %9s %9s %9d %7d",
+                name, s.getCount(), s.getCount() / seconds, Metrics.millis(s.getMeanNanos()), Metrics.millis(s.percentileNanos(0.5)),
+                Metrics.millis(s.percentileNanos(0.99)), Metrics.millis(s.percentileNanos(0.999)), Metrics.millis(s.getMaxNanos()),
+                rejected, failed));
+        return s.getCount();
+    }
+
+    private boolean checkConservation(long startTotal) {
+        long expected = startTotal + deposited.sum() - withdrawn.sum() + disbursed.sum() - repaid.sum()
+                - invested.sum() + matured.sum();
+        long actual = totalBalance();
+        if (actual == expected) {
+            System.out.println("Money conserved: total balance " + Money.format(actual) + " matches every recorded movement.");
+            return true;
+        }
+        System.err.println("MONEY NOT CONSERVED: expected " + Money.format(expected) + " but the bank holds " + Money.format(actual)
+                + " (difference " + Money.format(actual - expected) + ").");
+        return false;
+    }
+}
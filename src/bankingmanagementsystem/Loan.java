@@ -1,5 +1,9 @@
 package bankingmanagementsystem;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.UUID;
@@ -8,14 +12,14 @@ public class Loan implements Serializable {
     private static final long serialVersionUID = 1L;
     private String loanId;
     private String loanType;
-    private double principalAmount;
-    private double totalRepayableAmount;
-    private double amountDue;
+    private long principalAmount;
+    private long totalRepayableAmount;
+    private long amountDue;
     private double interestRate;
     private LocalDate startDate;
     private LocalDate endDate;
 
-    public Loan(String loanType, double principalAmount, double interestRate, LocalDate startDate, int tenureInYears) {
+    public Loan(String loanType, long principalAmount, double interestRate, LocalDate startDate, int tenureInYears) {
         this.loanId = "LN-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
         this.loanType = loanType;
         this.principalAmount = principalAmount;
@@ -24,20 +28,35 @@ public class Loan implements Serializable {
         this.endDate = startDate.plusYears(tenureInYears);
 
         // --- Corrected: Compound Interest Calculation ---
-        double rate = this.interestRate / 100.0;
-        int n = 1; // Compounded annually
-        this.totalRepayableAmount = this.principalAmount * Math.pow(1 + (rate / n), n * tenureInYears);
+        // Compounded annually, rounded to the nearest paisa.
+        this.totalRepayableAmount = Money.compound(this.principalAmount, this.interestRate, tenureInYears);
         this.amountDue = this.totalRepayableAmount;
     }
 
+    // Restores a loan from persisted state.
+    public Loan(String loanId, String loanType, long principalAmount, long totalRepayableAmount, long amountDue,
+                double interestRate, LocalDate startDate, LocalDate endDate) {
+        this.loanId = loanId;
+        this.loanType = loanType;
+        this.principalAmount = principalAmount;
+        this.totalRepayableAmount = totalRepayableAmount;
+        this.amountDue = amountDue;
+        this.interestRate = interestRate;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
     // --- Corrected: Added all necessary getter methods ---
     public String getLoanId() { return loanId; }
     public String getLoanType() { return loanType; }
-    public double getPrincipalAmount() { return principalAmount; }
-    public double getTotalRepayableAmount() { return totalRepayableAmount; }
-    public double getAmountDue() { return amountDue; }
+    public long getPrincipalAmount() { return principalAmount; }
+    public long getTotalRepayableAmount() { return totalRepayableAmount; }
+    public long getAmountDue() { return amountDue; }
+    public double getInterestRate() { return interestRate; }
+    public LocalDate getStartDate() { return startDate; }
+    public LocalDate getEndDate() { return endDate; }
 
-    public void makePayment(double amount) {
+    public void makePayment(long amount) {
         if (amount > 0) {
             this.amountDue -= amount;
             if (this.amountDue < 0) {
@@ -48,10 +67,49 @@ public class Loan implements Serializable {
 
     @Override
     public String toString() {
-        return String.format(
-                "  - Loan ID: %s | Type: %s | Principal: %.2f | Total Repayable: %.2f | Amount Due: %.2f | End Date: %s",
-                loanId, loanType, principalAmount, totalRepayableAmount, amountDue, endDate
-        );
+        return "  - Loan ID: " + loanId +
+                " | Type: " + loanType +
+                " | Principal: " + Money.format(principalAmount) +
+                " | Total Repayable: " + Money.format(totalRepayableAmount) +
+                " | Amount Due: " + Money.format(amountDue) +
+                " | End Date: " + endDate;
+    }
+
+    // --- Java serialization keeps the old rupee-double layout so legacy customers.dat files still load ---
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("loanId", String.class),
+            new ObjectStreamField("loanType", String.class),
+            new ObjectStreamField("principalAmount", double.class),
+            new ObjectStreamField("totalRepayableAmount", double.class),
+            new ObjectStreamField("amountDue", double.class),
+            new ObjectStreamField("interestRate", double.class),
+            new ObjectStreamField("startDate", LocalDate.class),
+            new ObjectStreamField("endDate", LocalDate.class)
+    };
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("loanId", loanId);
+        fields.put("loanType", loanType);
+        fields.put("principalAmount", Money.toRupees(principalAmount));
+        fields.put("totalRepayableAmount", Money.toRupees(totalRepayableAmount));
+        fields.put("amountDue", Money.toRupees(amountDue));
+        fields.put("interestRate", interestRate);
+        fields.put("startDate", startDate);
+        fields.put("endDate", endDate);
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        loanId = (String) fields.get("loanId", null);
+        loanType = (String) fields.get("loanType", null);
+        principalAmount = Money.fromRupees(fields.get("principalAmount", 0.0));
+        totalRepayableAmount = Money.fromRupees(fields.get("totalRepayableAmount", 0.0));
+        amountDue = Money.fromRupees(fields.get("amountDue", 0.0));
+        interestRate = fields.get("interestRate", 0.0);
+        startDate = (LocalDate) fields.get("startDate", null);
+        endDate = (LocalDate) fields.get("endDate", null);
     }
 }
 
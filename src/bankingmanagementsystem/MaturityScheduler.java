@@ -0,0 +1,165 @@
+package bankingmanagementsystem;
+
+import bankingmanagementsystem.metrics.Counter;
+import bankingmanagementsystem.metrics.LatencyHistogram;
+import bankingmanagementsystem.metrics.Metrics;
+import bankingmanagementsystem.persistence.JournalEntry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pays out fixed deposits bank-wide on the day they mature, whether or not their owners log in
+ * (disable with {@code -Dbank.maturity.scheduler=false}).
+ *
+ * Every outstanding deposit sits in a priority queue ordered by its end date. A run polls only
+ * the deposits that are due, credits them through {@link Customer#matureInvestments} and
+ * persists the whole run with one {@link DataManager#commit}, so its cost follows the number of
+ * deposits maturing that day rather than the size of the bank. The shared scheduler runs once at
+ * start-up, to catch up on deposits that came due while the bank was down, and then just after
+ * each local midnight.
+ *
+ * Entries are not removed when a deposit is paid out some other way (the owner viewing their
+ * investments) or its account is closed; they are skipped when they come due.
+ */
+public final class MaturityScheduler {
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("bank.maturity.scheduler", "true"));
+    private static final LatencyHistogram RUN = Metrics.histogram("maturity.run");
+    private static final Counter MATURED = Metrics.counter("maturity.matured");
+
+    private static volatile MaturityScheduler instance;
+
+    private final CustomerRegistry registry;
+    private final PriorityQueue<Due> queue = new PriorityQueue<>();
+    private ScheduledExecutorService timer;
+
+    // One deposit's end date and owner; the owner's own list says which deposits are due.
+    private static final class Due implements Comparable<Due> {
+        final long epochDay;
+        final Customer customer;
+
+        Due(LocalDate endDate, Customer customer) {
+            this.epochDay = endDate.toEpochDay();
+            this.customer = customer;
+        }
+
+        @Override
+        public int compareTo(Due other) {
+            return Long.compare(epochDay, other.epochDay);
+        }
+    }
+
+    /** Indexes every deposit the registered customers hold, without decoding their history. */
+    public MaturityScheduler(CustomerRegistry registry) {
+        this.registry = registry;
+        for (Customer customer : registry.customers()) {
+            customer.forEachHolding(loan -> { }, investment -> queue.add(new Due(investment.getEndDate(), customer)));
+        }
+    }
+
+    /** Starts the shared scheduler unless {@code bank.maturity.scheduler=false}; otherwise does nothing. */
+    public static synchronized void startIfEnabled(CustomerRegistry registry) {
+        if (ENABLED && instance == null) {
+            MaturityScheduler scheduler = new MaturityScheduler(registry);
+            scheduler.start();
+            instance = scheduler;
+            System.out.println("Maturity scheduler started with " + scheduler.pending() + " fixed deposit(s) outstanding.");
+        }
+    }
+
+    /** Adds a newly created deposit to the shared scheduler, if one is running. */
+    public static void track(Customer customer, Investment investment) {
+        MaturityScheduler scheduler = instance;
+        if (scheduler != null) {
+            scheduler.schedule(customer, investment);
+        }
+    }
+
+    public synchronized void schedule(Customer customer, Investment investment) {
+        queue.add(new Due(investment.getEndDate(), customer));
+    }
+
+    public synchronized int pending() {
+        return queue.size();
+    }
+
+    private synchronized List<Customer> takeDue(LocalDate asOf) {
+        long day = asOf.toEpochDay();
+        Set<Customer> owners = new LinkedHashSet<>();
+        while (!queue.isEmpty() && queue.peek().epochDay <= day) {
+            owners.add(queue.poll().customer);
+        }
+        return new ArrayList<>(owners);
+    }
+
+    /**
+     * Credits every deposit that has reached its end date by {@code asOf} and persists the run.
+     * Returns the number of deposits paid out.
+     */
+    public int runDue(LocalDate asOf) {
+        long start = System.nanoTime();
+        List<JournalEntry> entries = new ArrayList<>();
+        long credited = 0;
+        int owners = 0;
+        DataManager.beginChange();
+        try {
+            for (Customer customer : takeDue(asOf)) {
+                String accountId = customer.getAccount().getAccountId();
+                if (registry.findOrNull(accountId) != customer) {
+                    continue;
+                }
+                List<Investment> matured = customer.matureInvestments(asOf);
+                for (Investment investment : matured) {
+                    entries.add(JournalEntry.investmentMatured(accountId, investment.getInvestmentId(), investment.getMaturityValue()));
+                    credited += investment.getMaturityValue();
+                }
+                if (!matured.isEmpty()) {
+                    owners++;
+                }
+            }
+        } finally {
+            DataManager.endChange(entries);
+        }
+        if (!entries.isEmpty()) {
+            CompletableFuture<Void> saved = DataManager.commit(registry.customers(), entries);
+            saved.join();
+            MATURED.add(entries.size());
+            System.out.println("Matured " + entries.size() + " fixed deposit(s) for " + owners + " customer(s), "
+                    + Money.format(credited) + " credited in " + (System.nanoTime() - start) / 1_000_000L + " ms.");
+        }
+        RUN.recordSince(start);
+        return entries.size();
+    }
+
+    private synchronized void start() {
+        timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "fd-maturity");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.execute(this::runAndReschedule);
+    }
+
+    private void runAndReschedule() {
+        try {
+            runDue(LocalDate.now());
+        } catch (RuntimeException e) {
+            System.err.println("Fixed deposit maturity run failed: " + e.getMessage());
+        }
+        // Recomputed after every run, so clock changes never shift the schedule for long.
+        LocalDateTime now = LocalDateTime.now();
+        long delay = Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay()).toMillis();
+        synchronized (this) {
+            timer.schedule(this::runAndReschedule, Math.max(delay, 0) + 1_000, TimeUnit.MILLISECONDS);
+        }
+    }
+}
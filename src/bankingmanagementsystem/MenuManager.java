@@ -1,13 +1,12 @@
 package bankingmanagementsystem;
 
-import java.util.List;
-import java.util.Map;
+import bankingmanagementsystem.service.BankService;
 import java.util.Scanner;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public class MenuManager {
 
-    public static void adminMenu(Scanner sc, Admin admin, List<Customer> customers, Map<Integer, Message> supportMessages) {
+    public static void adminMenu(Scanner sc, Admin admin, BankService service) {
+        CustomerRegistry registry = service.getRegistry();
         boolean loggedIn = true;
         while (loggedIn) {
             System.out.println("\n--- Admin Menu ---");
@@ -16,7 +15,8 @@ public class MenuManager {
             System.out.println("3. View and Respond to Support Messages");
             System.out.println("4. Delete Customer Account (Single)");
             System.out.println("5. Batch Account Deletion (Multi-threaded)");
-            System.out.println("6. Logout");
+            System.out.println("6. View Bank Summary");
+            System.out.println("7. Logout");
             System.out.print("Enter your choice: ");
             String choice = sc.nextLine();
             switch (choice) {
@@ -24,18 +24,21 @@ public class MenuManager {
                     admin.printAllCustomers();
                     break;
                 case "2":
-                    ActionHandler.viewCustomerDetails(sc, customers);
+                    ActionHandler.viewCustomerDetails(sc, registry);
                     break;
                 case "3":
-                    ActionHandler.manageSupportMessages(sc, supportMessages);
+                    ActionHandler.manageSupportMessages(sc, service);
                     break;
                 case "4":
-                    ActionHandler.deleteCustomerAccount(sc, customers);
+                    ActionHandler.deleteCustomerAccount(sc, registry);
                     break;
                 case "5":
-                    ActionHandler.batchDeleteAccounts(sc, customers);
+                    ActionHandler.batchDeleteAccounts(sc, registry);
                     break;
                 case "6":
+                    registry.aggregates().summary().print();
+                    break;
+                case "7":
                     loggedIn = false;
                     System.out.println("Admin logged out.");
                     break;
@@ -45,7 +48,7 @@ public class MenuManager {
         }
     }
 
-    public static void customerMenu(Customer customer, Scanner sc, List<Customer> customers, Map<Integer, Message> supportMessages, AtomicInteger messageIdCounter) {
+    public static void customerMenu(Customer customer, Scanner sc, BankService service) {
         boolean loggedIn = true;
         while (loggedIn) {
             System.out.println("\n--- Customer Menu: " + customer.getName() + " ---");
@@ -67,32 +70,32 @@ public class MenuManager {
                     System.out.println(customer);
                     break;
                 case "2":
-                    ActionHandler.depositMoney(customer, sc, customers);
+                    ActionHandler.depositMoney(customer, sc, service);
                     break;
                 case "3":
-                    ActionHandler.withdrawMoney(customer, sc, customers);
+                    ActionHandler.withdrawMoney(customer, sc, service);
                     break;
                 case "4":
-                    ActionHandler.sendMoney(customer, sc, customers);
+                    ActionHandler.sendMoney(customer, sc, service);
                     break;
                 case "5":
-                    customer.printTransactionHistory();
+                    ActionHandler.browseTransactionHistory(customer, sc);
                     break;
                 case "6":
-                    ActionHandler.applyForLoan(customer, sc, customers);
+                    ActionHandler.applyForLoan(customer, sc, service);
                     break;
                 case "7":
-                    ActionHandler.payLoanInstallment(customer, sc, customers);
+                    ActionHandler.payLoanInstallment(customer, sc, service);
                     break;
                 case "8":
-                    ActionHandler.addInvestment(customer, sc, customers);
+                    ActionHandler.addInvestment(customer, sc, service);
                     break;
                 case "9":
-                    // UPDATED: Now calls viewInvestments() to show all active investments
-                    customer.viewInvestments(); 
+                    // Credits any matured FDs first, then shows the active ones
+                    ActionHandler.viewInvestments(customer, service);
                     break;
                 case "10":
-                    ActionHandler.contactSupport(customer, sc, supportMessages, messageIdCounter);
+                    ActionHandler.contactSupport(customer, sc, service);
                     break;
                 case "11":
                     loggedIn = false;
@@ -0,0 +1,113 @@
+package bankingmanagementsystem;
+
+/**
+ * Fixed-point money helpers. Amounts everywhere in the bank are plain {@code long}
+ * values in paise (1/100 rupee), so arithmetic is exact and allocation-free.
+ * This class is the one place that parses and formats them.
+ */
+public final class Money {
+    public static final long PAISE_PER_RUPEE = 100;
+
+    private Money() {
+    }
+
+    public static long ofRupees(long rupees) {
+        return Math.multiplyExact(rupees, PAISE_PER_RUPEE);
+    }
+
+    /** Rounds a rupee amount computed in floating point (e.g. interest) to the nearest paisa. */
+    public static long fromRupees(double rupees) {
+        return Math.round(rupees * PAISE_PER_RUPEE);
+    }
+
+    public static double toRupees(long paise) {
+        return paise / (double) PAISE_PER_RUPEE;
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /** Value of {@code principal} compounded annually at {@code ratePercent} for {@code years}. */
+    public static long compound(long principal, double ratePercent, int years) {
+        return fromRupees(toRupees(principal) * Math.pow(1 + ratePercent / 100.0, years));
+    }
+
+    /**
+     * Parses user input such as "250", "250.5" or "1200.75" into paise.
+     * At most two decimal places are accepted.
+     */
+    public static long parse(String text) throws NumberFormatException {
+        if (text == null) {
+            throw new NumberFormatException("Amount is missing.");
+        }
+        try {
+            return parseExact(text);
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount is too large: " + text);
+        }
+    }
+
+    private static long parseExact(String text) {
+        String s = text.trim();
+        int length = s.length();
+        int i = 0;
+        boolean negative = false;
+        if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            negative = s.charAt(i) == '-';
+            i++;
+        }
+
+        long rupees = 0;
+        int integerDigits = 0;
+        while (i < length && Character.isDigit(s.charAt(i))) {
+            rupees = Math.addExact(Math.multiplyExact(rupees, 10), s.charAt(i) - '0');
+            i++;
+            integerDigits++;
+        }
+
+        long fraction = 0;
+        int fractionDigits = 0;
+        if (i < length && s.charAt(i) == '.') {
+            i++;
+            while (i < length && Character.isDigit(s.charAt(i))) {
+                if (++fractionDigits > 2) {
+                    throw new NumberFormatException("Amounts can have at most two decimal places: " + text);
+                }
+                fraction = fraction * 10 + (s.charAt(i) - '0');
+                i++;
+            }
+        }
+        if (i != length || integerDigits + fractionDigits == 0) {
+            throw new NumberFormatException("Not a valid amount: " + text);
+        }
+        if (fractionDigits == 1) {
+            fraction *= 10;
+        }
+
+        long paise = Math.addExact(ofRupees(rupees), fraction);
+        return negative ? -paise : paise;
+    }
+
+    /** Formats paise as rupees with exactly two decimals, e.g. 123456 -> "1234.56". */
+    public static String format(long paise) {
+        return appendTo(new StringBuilder(24), paise).toString();
+    }
+
+    public static StringBuilder appendTo(StringBuilder sb, long paise) {
+        if (paise < 0) {
+            sb.append('-');
+        }
+        long abs = Math.abs(paise);
+        long fraction = abs % PAISE_PER_RUPEE;
+        sb.append(abs / PAISE_PER_RUPEE).append('.');
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction);
+    }
+}
@@ -0,0 +1,80 @@
+package bankingmanagementsystem;
+
+import bankingmanagementsystem.metrics.LatencyHistogram;
+import bankingmanagementsystem.metrics.Metrics;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup milestones of the current run, measured from JVM start: when customer data became
+ * usable, when the login screen became interactive and when lazily loaded history finished
+ * decoding. Each is recorded once into a startup.* histogram, so it shows up in the metrics
+ * report; {@link #summary()} is the one line the entry points print.
+ *
+ * How long the user takes to type their credentials is deliberately not counted. Logins are
+ * measured separately, from submit to the dashboard being ready, in login.toDashboard.
+ */
+public final class StartupMetrics {
+    private static final long JVM_START = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private static final LatencyHistogram CUSTOMERS_LOADED = Metrics.histogram("startup.customersLoaded");
+    private static final LatencyHistogram LOGIN_SCREEN_READY = Metrics.histogram("startup.loginScreenReady");
+    private static final LatencyHistogram HISTORY_HYDRATED = Metrics.histogram("startup.historyHydrated");
+    private static final LatencyHistogram LOGIN = Metrics.histogram("login.toDashboard");
+
+    private static volatile long customersLoadedMillis = -1;
+    private static volatile long loginScreenReadyMillis = -1;
+    private static volatile long historyHydratedMillis = -1;
+    private static volatile int customerCount;
+    private static volatile boolean lazy;
+
+    private StartupMetrics() {
+    }
+
+    static void customersLoaded(int count, boolean lazyStartup) {
+        customerCount = count;
+        lazy = lazyStartup;
+        customersLoadedMillis = record(CUSTOMERS_LOADED);
+    }
+
+    static void historyHydrated() {
+        historyHydratedMillis = record(HISTORY_HYDRATED);
+    }
+
+    /** Call when the login screen first accepts input; only the first call counts. */
+    public static synchronized void loginScreenReady() {
+        if (loginScreenReadyMillis < 0) {
+            loginScreenReadyMillis = record(LOGIN_SCREEN_READY);
+        }
+    }
+
+    /**
+     * Call once a login has succeeded and the user's view is ready, with the System.nanoTime()
+     * taken when the credentials were submitted.
+     */
+    public static void loginCompleted(long submittedNanos) {
+        LOGIN.recordSince(submittedNanos);
+    }
+
+    public static long getCustomersLoadedMillis() { return customersLoadedMillis; }
+    public static long getLoginScreenReadyMillis() { return loginScreenReadyMillis; }
+    public static long getHistoryHydratedMillis() { return historyHydratedMillis; }
+
+    /** One line describing the milestones reached so far. */
+    public static String summary() {
+        StringBuilder sb = new StringBuilder("Startup: ").append(customerCount).append(" customers usable after ")
+                .append(customersLoadedMillis).append(" ms");
+        if (lazy) {
+            sb.append(" (history loads on demand)");
+        }
+        if (loginScreenReadyMillis >= 0) {
+            sb.append(", login screen ready after ").append(loginScreenReadyMillis).append(" ms");
+        }
+        return sb.append('.').toString();
+    }
+
+    private static long record(LatencyHistogram milestone) {
+        long millis = System.currentTimeMillis() - JVM_START;
+        milestone.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        return millis;
+    }
+}
@@ -0,0 +1,60 @@
+package bankingmanagementsystem;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide, append-only mapping between strings and small integer codes.
+ * Code 0 always stands for null. Lookups by code are a plain array read.
+ */
+final class StringDictionary {
+    private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+    private final int maxCodes;
+    private volatile String[] values = new String[16];
+    private int size = 1; // guarded by this; slot 0 is null
+
+    StringDictionary(int maxCodes) {
+        this.maxCodes = maxCodes;
+    }
+
+    int code(String value) {
+        int code = tryCode(value);
+        if (code < 0) {
+            throw new IllegalStateException("More than " + (maxCodes - 1) + " distinct values for a dictionary-encoded column.");
+        }
+        return code;
+    }
+
+    /** Like {@link #code}, but returns -1 instead of failing when a new value no longer fits. */
+    int tryCode(String value) {
+        if (value == null) {
+            return 0;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        synchronized (this) {
+            code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            if (size == maxCodes) {
+                return -1;
+            }
+            String[] table = values;
+            if (size == table.length) {
+                table = Arrays.copyOf(table, table.length * 2);
+            }
+            table[size] = value;
+            // The volatile write publishes the new slot before the code can be seen anywhere.
+            values = table;
+            codes.put(value, size);
+            return size++;
+        }
+    }
+
+    String value(int code) {
+        return values[code];
+    }
+}
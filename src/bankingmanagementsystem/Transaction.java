@@ -1,33 +1,77 @@
 package bankingmanagementsystem;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 public class Transaction implements Serializable {
     private static final long serialVersionUID = 1L;
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
     private String type;
-    private double amount;
+    private long amount;
     private String description;
     private LocalDateTime timestamp;
 
-    public Transaction(String type, double amount, String description) {
+    public Transaction(String type, long amount, String description) {
         this.type = type;
         this.amount = amount;
         this.description = description;
         this.timestamp = LocalDateTime.now();
     }
 
+    public Transaction(String type, long amount, String description, LocalDateTime timestamp) {
+        this.type = type;
+        this.amount = amount;
+        this.description = description;
+        this.timestamp = timestamp;
+    }
+
+    public String getType() { return type; }
+    public long getAmount() { return amount; }
+    public String getDescription() { return description; }
+    public LocalDateTime getTimestamp() { return timestamp; }
+
     @Override
     public String toString() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-        String formattedDate = (timestamp != null) ? timestamp.format(formatter) : "----------";
-        return String.format(
-                "[%s] %-18s | Amount: %10.2f | Description: %s",
-                formattedDate,
-                type,
-                amount,
-                description
-        );
+        // Same layout as "[%s] %-18s | Amount: %10.2f | Description: %s", without a Formatter per line.
+        StringBuilder sb = new StringBuilder(96);
+        sb.append('[').append(timestamp != null ? FORMATTER.format(timestamp) : "----------").append("] ");
+        sb.append(type);
+        for (int i = type == null ? 4 : type.length(); i < 18; i++) sb.append(' ');
+        sb.append(" | Amount: ");
+        String formattedAmount = Money.format(amount);
+        for (int i = formattedAmount.length(); i < 10; i++) sb.append(' ');
+        sb.append(formattedAmount);
+        sb.append(" | Description: ").append(description);
+        return sb.toString();
+    }
+
+    // --- Java serialization keeps the old rupee-double layout so legacy customers.dat files still load ---
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("type", String.class),
+            new ObjectStreamField("amount", double.class),
+            new ObjectStreamField("description", String.class),
+            new ObjectStreamField("timestamp", LocalDateTime.class)
+    };
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("type", type);
+        fields.put("amount", Money.toRupees(amount));
+        fields.put("description", description);
+        fields.put("timestamp", timestamp);
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        type = (String) fields.get("type", null);
+        amount = Money.fromRupees(fields.get("amount", 0.0));
+        description = (String) fields.get("description", null);
+        timestamp = (LocalDateTime) fields.get("timestamp", null);
     }
 }
@@ -0,0 +1,271 @@
+package bankingmanagementsystem;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A customer's transaction history stored column by column.
+ *
+ * Timestamps (epoch millis of the local date-time) and amounts are primitive long arrays,
+ * the type is a one-byte code into a dictionary shared by every account and the description
+ * an int code. A history entry costs about 21 bytes instead of a Transaction with its own
+ * strings and LocalDateTime; {@link Transaction} objects are only created when an element is
+ * read through the List interface.
+ *
+ * Only the fixed vocabulary ("Self-deposit into account", "Loan Disbursed: Personal") goes into
+ * the shared description dictionary, which never forgets a value. Descriptions that name an
+ * account, loan or deposit are kept in the history's own table, so they are dropped with it.
+ *
+ * Like the ArrayList it replaces, this is not thread-safe on its own; Customer serializes writers.
+ */
+public class TransactionHistory extends AbstractList<Transaction> implements RandomAccess {
+    private static final StringDictionary TYPES = new StringDictionary(256);
+    private static final StringDictionary DESCRIPTIONS = new StringDictionary(4096);
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final String[] NO_STRINGS = new String[0];
+
+    private long[] timestamps;
+    private long[] amounts;
+    private byte[] types;
+    // >= 0: a code into DESCRIPTIONS; < 0: -(i + 1) for ownDescriptions[i].
+    private int[] descriptions;
+    private String[] ownDescriptions = NO_STRINGS;
+    private int ownDescriptionCount;
+    private int size;
+    // Whether timestamps are non-decreasing in append order, which page() relies on to binary search.
+    private boolean ordered = true;
+
+    public TransactionHistory() {
+        this(4);
+    }
+
+    public TransactionHistory(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        timestamps = new long[capacity];
+        amounts = new long[capacity];
+        types = new byte[capacity];
+        descriptions = new int[capacity];
+    }
+
+    /** Returns {@code history} itself if it is already columnar, otherwise a columnar copy. */
+    public static TransactionHistory of(Collection<Transaction> history) {
+        if (history instanceof TransactionHistory) {
+            return (TransactionHistory) history;
+        }
+        TransactionHistory columns = new TransactionHistory(history == null ? 4 : history.size());
+        if (history != null) {
+            columns.addAll(history);
+        }
+        return columns;
+    }
+
+    @Override
+    public boolean add(Transaction tx) {
+        LocalDateTime timestamp = tx.getTimestamp();
+        append(tx.getType(), tx.getAmount(), tx.getDescription(),
+                timestamp == null ? NO_TIMESTAMP : timestamp.toInstant(ZoneOffset.UTC).toEpochMilli());
+        return true;
+    }
+
+    /** Appends an entry without creating a Transaction; {@code Long.MIN_VALUE} means no timestamp. */
+    public void append(String type, long amount, String description, long epochMillis) {
+        if (size == amounts.length) {
+            int capacity = size + (size >> 1) + 1;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            types = Arrays.copyOf(types, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+        if (size > 0 && epochMillis < timestamps[size - 1]) {
+            ordered = false;
+        }
+        timestamps[size] = epochMillis;
+        amounts[size] = amount;
+        types[size] = (byte) TYPES.code(type);
+        descriptions[size] = descriptionCode(description);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Transaction get(int index) {
+        checkIndex(index);
+        long millis = timestamps[index];
+        LocalDateTime timestamp = millis == NO_TIMESTAMP ? null
+                : LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000), Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+        return new Transaction(getType(index), amounts[index], getDescription(index), timestamp);
+    }
+
+    // --- Column access without materializing a Transaction ---
+    public String getType(int index) {
+        checkIndex(index);
+        return TYPES.value(types[index] & 0xFF);
+    }
+
+    public long getAmount(int index) {
+        checkIndex(index);
+        return amounts[index];
+    }
+
+    public String getDescription(int index) {
+        checkIndex(index);
+        int code = descriptions[index];
+        return code >= 0 ? DESCRIPTIONS.value(code) : ownDescriptions[-code - 1];
+    }
+
+    private int descriptionCode(String description) {
+        if (isVocabulary(description)) {
+            int code = DESCRIPTIONS.tryCode(description);
+            if (code >= 0) {
+                return code;
+            }
+        }
+        // Repeats of the previous own description (e.g. several transfers to one payee) share its slot.
+        if (ownDescriptionCount > 0 && ownDescriptions[ownDescriptionCount - 1].equals(description)) {
+            return -ownDescriptionCount;
+        }
+        if (ownDescriptionCount == ownDescriptions.length) {
+            ownDescriptions = Arrays.copyOf(ownDescriptions, ownDescriptionCount + (ownDescriptionCount >> 1) + 2);
+        }
+        ownDescriptions[ownDescriptionCount++] = description;
+        return -ownDescriptionCount;
+    }
+
+    // Descriptions carry digits only where they name an account, loan or deposit. Anything else
+    // that slips through is bounded by the dictionary's capacity, after which it is stored per history.
+    private static boolean isVocabulary(String description) {
+        if (description == null) {
+            return true;
+        }
+        for (int i = 0; i < description.length(); i++) {
+            if (Character.isDigit(description.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Epoch millis of the entry's local date-time, or {@code Long.MIN_VALUE} if it has none. */
+    public long getTimestampMillis(int index) {
+        checkIndex(index);
+        return timestamps[index];
+    }
+
+    /**
+     * Returns up to {@code pageSize} entries older than {@code cursor}, newest first, limited to
+     * {@code from}..{@code to} inclusive (either may be null). While timestamps have only ever been
+     * appended in order, the range is located by binary search on the timestamp column and a page
+     * costs O(log n + pageSize). Once an entry has been appended with an earlier timestamp than
+     * the one before it (the clock was set back, or history was restored out of order), pages
+     * are found by a scan instead.
+     */
+    public HistoryPage page(long cursor, int pageSize, LocalDate from, LocalDate to) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive.");
+        }
+        if (!ordered) {
+            return scanPage(cursor, pageSize, from, to);
+        }
+        int low = from == null ? 0 : firstAtOrAfter(epochMillis(from));
+        int high = to == null ? size : firstAtOrAfter(epochMillis(to.plusDays(1)));
+        high = Math.max(low, high);
+        int end = cursor == HistoryPage.FIRST ? high : (int) Math.max(low, Math.min(cursor, high));
+        int start = Math.max(low, end - pageSize);
+
+        List<Transaction> entries = new ArrayList<>(end - start);
+        for (int i = end - 1; i >= start; i--) {
+            entries.add(get(i));
+        }
+        long nextCursor = start > low ? start : HistoryPage.FIRST;
+        return new HistoryPage(entries, cursor, nextCursor, high - end, high - low, from, to);
+    }
+
+    // The same page as page() without assuming any order: one pass over the timestamp column.
+    private HistoryPage scanPage(long cursor, int pageSize, LocalDate from, LocalDate to) {
+        long fromMillis = from == null ? Long.MIN_VALUE : epochMillis(from);
+        long toMillis = to == null ? Long.MAX_VALUE : epochMillis(to.plusDays(1));
+        int end = cursor == HistoryPage.FIRST ? size : (int) Math.max(0, Math.min(cursor, size));
+
+        int matching = 0;
+        int newer = 0;
+        for (int i = 0; i < size; i++) {
+            if (timestamps[i] >= fromMillis && timestamps[i] < toMillis) {
+                matching++;
+                if (i >= end) {
+                    newer++;
+                }
+            }
+        }
+        List<Transaction> entries = new ArrayList<>(Math.min(pageSize, matching - newer));
+        long nextCursor = HistoryPage.FIRST;
+        for (int i = end - 1; i >= 0; i--) {
+            if (timestamps[i] < fromMillis || timestamps[i] >= toMillis) {
+                continue;
+            }
+            if (entries.size() == pageSize) {
+                nextCursor = i + 1;
+                break;
+            }
+            entries.add(get(i));
+        }
+        return new HistoryPage(entries, cursor, nextCursor, newer, matching, from, to);
+    }
+
+    // Index of the first entry stamped at or after millis. Entries without a timestamp sort first.
+    private int firstAtOrAfter(long millis) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (timestamps[mid] < millis) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static long epochMillis(LocalDate date) {
+        return date.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        ordered = true;
+        Arrays.fill(ownDescriptions, 0, ownDescriptionCount, null);
+        ownDescriptionCount = 0;
+        modCount++;
+    }
+
+    public void trimToSize() {
+        if (size < amounts.length) {
+            timestamps = Arrays.copyOf(timestamps, size);
+            amounts = Arrays.copyOf(amounts, size);
+            types = Arrays.copyOf(types, size);
+            descriptions = Arrays.copyOf(descriptions, size);
+        }
+        if (ownDescriptionCount < ownDescriptions.length) {
+            ownDescriptions = Arrays.copyOf(ownDescriptions, ownDescriptionCount);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+    }
+}
@@ -2,24 +2,25 @@ package bankingmanagementsystem.bankgui;
 
 import bankingmanagementsystem.*;
 import bankingmanagementsystem.exceptions.AccountNotFoundException;
+import bankingmanagementsystem.persistence.JournalEntry;
+import bankingmanagementsystem.service.BankRequest;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
-public class AdminDashboard extends JPanel {
+@SuppressWarnings("serial")
+public final class AdminDashboard extends JPanel {
 
     private BankingSystemGUI mainApp;
     private JTable customersTable;
-    private DefaultTableModel customerModel;
+    private CustomerTableModel customerModel;
     private JTable messagesTable;
-    private DefaultTableModel messageModel;
+    private MessageTableModel messageModel;
 
     // --- New components for Specific Customer tab ---
     private JTextArea specificDetailArea;
@@ -48,13 +49,14 @@ public class AdminDashboard extends JPanel {
         tabbedPane.addTab("Manage Customers", createCustomerPanel());
         tabbedPane.addTab("Specific Customer", createSpecificCustomerPanel()); // <-- NEW TAB
         tabbedPane.addTab("Support Messages", createSupportPanel());
+        tabbedPane.addTab("Bank Summary", createSummaryPanel());
+        tabbedPane.addTab("Metrics", createMetricsPanel());
         // -------------------------------------------
 
         add(tabbedPane, BorderLayout.CENTER);
     }
 
     public void refreshData() {
-        refreshCustomerTable();
         refreshSupportTable();
         // Clear specific customer search on refresh
         if (specificDetailArea != null) {
@@ -68,12 +70,8 @@ public class AdminDashboard extends JPanel {
     private JPanel createCustomerPanel() {
         JPanel panel = new JPanel(new BorderLayout(10, 10));
 
-        // --- UPDATED: Simplified columns ---
-        String[] customerColumns = {"Account Number", "Name"};
-        // -----------------------------------
-        customerModel = new DefaultTableModel(customerColumns, 0) {
-            public boolean isCellEditable(int row, int column) { return false; }
-        };
+        // Registrations and deletions arrive as row events, applied on the EDT in registry order.
+        customerModel = new CustomerTableModel(mainApp.getRegistry());
         customersTable = new JTable(customerModel);
         customersTable.setRowSorter(new TableRowSorter<>(customerModel));
         panel.add(new JScrollPane(customersTable), BorderLayout.CENTER);
@@ -125,7 +123,7 @@ public class AdminDashboard extends JPanel {
         }
 
         try {
-            Customer customer = findCustomerByAccountNumber(accNum);
+            Customer customer = mainApp.getRegistry().find(accNum);
             
             // Build the details string as requested
             StringBuilder sb = new StringBuilder();
@@ -134,10 +132,10 @@ public class AdminDashboard extends JPanel {
             // Assuming Customer has getDob() and Account has getMinBalance() based on RegistrationPanel
             sb.append("Date of Birth: ").append(customer.getDob()).append("\n"); 
             sb.append("Address: ").append(customer.getAddress()).append("\n");
-            sb.append("Salary: ").append(String.format("%.2f", customer.getSalary())).append("\n");
+            sb.append("Salary: ").append(Money.format(customer.getSalary())).append("\n");
             sb.append("Account Type: ").append(customer.getAccount().getAccountType()).append("\n");
-            sb.append("Min Balance: ").append(String.format("%.2f", customer.getAccount().getMinBalance())).append("\n"); 
-            sb.append("Current Balance: ").append(String.format("%.2f", customer.getAccount().getBalance())).append("\n\n");
+            sb.append("Min Balance: ").append(Money.format(customer.getAccount().getMinBalance())).append("\n"); 
+            sb.append("Current Balance: ").append(Money.format(customer.getAccount().getBalance())).append("\n\n");
 
                         // Show security question and answer for admin review
                         sb.append("Security Question: ")
@@ -154,7 +152,7 @@ public class AdminDashboard extends JPanel {
             } else {
                 for (Investment inv : customer.getInvestments()) {
                     // Based on CustomerDashboard fields
-                    sb.append("  - ").append(inv.getInvestmentType()).append(" - ₹").append(String.format("%.2f", inv.getAmountInvested())).append("\n");
+                    sb.append("  - ").append(inv.getInvestmentType()).append(" - ₹").append(Money.format(inv.getAmountInvested())).append("\n");
                 }
             }
             sb.append("\n");
@@ -166,7 +164,7 @@ public class AdminDashboard extends JPanel {
             } else {
                 for (Loan loan : customer.getLoans()) {
                     // Based on CustomerDashboard fields
-                     sb.append("  - ").append(loan.getLoanType()).append(" - Due: ₹").append(String.format("%.2f", loan.getAmountDue())).append("\n");
+                     sb.append("  - ").append(loan.getLoanType()).append(" - Due: ₹").append(Money.format(loan.getAmountDue())).append("\n");
                 }
             }
             sb.append("--------------------------------------------\n");
@@ -186,14 +184,16 @@ public class AdminDashboard extends JPanel {
     // -----------------------------------------------
 
     private void deleteSelectedCustomer() {
-        int selectedRow = customersTable.convertRowIndexToModel(customersTable.getSelectedRow());
-        if (selectedRow == -1) {
+        int viewRow = customersTable.getSelectedRow();
+        if (viewRow == -1) {
             JOptionPane.showMessageDialog(this, "Please select a customer from the table to delete.", "Warning", JOptionPane.WARNING_MESSAGE);
             return;
         }
+        Customer selected = customerModel.getCustomerAt(customersTable.convertRowIndexToModel(viewRow));
+        if (selected == null) return;
 
-        String accNum = (String) customerModel.getValueAt(selectedRow, 0);
-        String name = (String) customerModel.getValueAt(selectedRow, 1);
+        String accNum = selected.getAccount().getAccountId();
+        String name = selected.getName();
 
         int confirm = JOptionPane.showConfirmDialog(this,
                 "Are you sure you want to delete the account for " + name + " (Acc: " + accNum + ")?",
@@ -202,11 +202,24 @@ public class AdminDashboard extends JPanel {
 
         if (confirm == JOptionPane.YES_OPTION) {
             try {
-                Customer customer = findCustomerByAccountNumber(accNum);
-                mainApp.getCustomers().remove(customer);
-                DataManager.saveCustomers(mainApp.getCustomers());
-                JOptionPane.showMessageDialog(this, "Customer account " + accNum + " deleted.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                refreshCustomerTable();
+                Customer customer = mainApp.getRegistry().find(accNum);
+                // Removing on the EDT lets the table see the row delete event; only the write moves off it.
+                JournalEntry entry = JournalEntry.close(accNum);
+                boolean removed = false;
+                DataManager.beginChange();
+                try {
+                    removed = mainApp.getRegistry().remove(customer);
+                } finally {
+                    DataManager.endChange(removed ? entry : null);
+                }
+                if (!removed) {
+                    JOptionPane.showMessageDialog(this, "Customer account " + accNum + " was already deleted.", "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                BackgroundTasks.submit(customersTable, "Deleting account " + accNum + "...",
+                        () -> DataManager.commit(mainApp.getCustomers(), entry).join(),
+                        done -> JOptionPane.showMessageDialog(this, "Customer account " + accNum + " deleted.", "Success", JOptionPane.INFORMATION_MESSAGE),
+                        ex -> JOptionPane.showMessageDialog(this, "Deleting " + accNum + " failed: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
             } catch (AccountNotFoundException e) {
                 JOptionPane.showMessageDialog(this, e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
             }
@@ -223,52 +236,87 @@ public class AdminDashboard extends JPanel {
             return;
         }
 
-        String[] accountNumbersToDelete = input.split(",");
-        List<Customer> customers = mainApp.getCustomers();
-        List<Customer> customersToDelete = new java.util.ArrayList<>();
-        StringBuilder warnings = new StringBuilder();
-
-        for (String accNum : accountNumbersToDelete) {
-            try {
-                Customer customer = findCustomerByAccountNumber(accNum.trim());
-                customersToDelete.add(customer);
-            } catch (AccountNotFoundException e) {
-                warnings.append("Warning: Account ").append(accNum.trim()).append(" not found. Skipping.\n");
-            }
-        }
-
-        if (customersToDelete.isEmpty()) {
+        AccountClosureEngine.Batch batch = AccountClosureEngine.resolve(mainApp.getRegistry(), Arrays.asList(input.split(",")));
+        if (batch.isEmpty()) {
             JOptionPane.showMessageDialog(this, "No valid accounts found for deletion.", "Info", JOptionPane.INFORMATION_MESSAGE);
             return;
         }
-        
-        String names = customersToDelete.stream().map(Customer::getName).collect(Collectors.joining(", "));
+
         int confirm = JOptionPane.showConfirmDialog(this,
-                "The following " + customersToDelete.size() + " accounts will be deleted:\n" + names + "\n\nThis will run a multi-threaded deletion process. Continue?",
+                "The following " + batch.size() + " accounts will be deleted:\n" + batch.describe(20) + "\n\nThis will run a multi-threaded deletion process. Continue?",
                 "Confirm Batch Deletion",
                 JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            customers.removeAll(customersToDelete);
-            DataManager.saveCustomers(customers);
-            
-            if (warnings.length() > 0) {
-                JOptionPane.showMessageDialog(this, warnings.toString() + "\nBatch deletion complete.", "Batch Complete with Warnings", JOptionPane.WARNING_MESSAGE);
-            } else {
-                JOptionPane.showMessageDialog(this, "Batch deletion complete. All selected accounts removed.", "Success", JOptionPane.INFORMATION_MESSAGE);
-            }
-            refreshCustomerTable();
+            BackgroundTasks.submit(customersTable, "Closing " + batch.size() + " accounts",
+                    progress -> {
+                        AccountClosureEngine.Report report = AccountClosureEngine.close(mainApp.getRegistry(), batch, progress::update);
+                        report.getSaved().join();
+                        return report;
+                    },
+                    report -> {
+                        StringBuilder warnings = new StringBuilder();
+                        appendWarnings(warnings, report.getNotFound(), " not found. Skipping.");
+                        appendWarnings(warnings, report.getAlreadyClosed(), " was already closed. Skipping.");
+                        if (warnings.length() > 0) {
+                            JOptionPane.showMessageDialog(this, warnings.toString() + "\n" + report.summary(), "Batch Complete with Warnings", JOptionPane.WARNING_MESSAGE);
+                        } else {
+                            JOptionPane.showMessageDialog(this, "Batch deletion complete. All selected accounts removed.\n" + report.summary(), "Success", JOptionPane.INFORMATION_MESSAGE);
+                        }
+                    },
+                    ex -> JOptionPane.showMessageDialog(this, "Batch deletion failed: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
+        }
+    }
+
+    private static void appendWarnings(StringBuilder sb, List<String> accounts, String reason) {
+        int shown = Math.min(accounts.size(), 20);
+        for (int i = 0; i < shown; i++) {
+            sb.append("Warning: Account ").append(accounts.get(i)).append(reason).append("\n");
+        }
+        if (accounts.size() > shown) {
+            sb.append("... and ").append(accounts.size() - shown).append(" more.\n");
         }
     }
 
 
+    private JPanel createSummaryPanel() {
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+
+        BankSummaryTableModel summaryModel = new BankSummaryTableModel(mainApp.getRegistry().aggregates());
+        panel.add(new JScrollPane(new JTable(summaryModel)), BorderLayout.CENTER);
+
+        // Reading the totals does not depend on the number of customers, but skip it while hidden.
+        Timer timer = new Timer(1000, e -> {
+            if (panel.isShowing()) {
+                summaryModel.refresh();
+            }
+        });
+        timer.start();
+        return panel;
+    }
+
+    private JPanel createMetricsPanel() {
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+
+        MetricsTableModel metricsModel = new MetricsTableModel();
+        JTable metricsTable = new JTable(metricsModel);
+        metricsTable.setAutoCreateRowSorter(true);
+        panel.add(new JScrollPane(metricsTable), BorderLayout.CENTER);
+
+        // Snapshots are cheap, but skip them while the tab is not on screen.
+        Timer timer = new Timer(1000, e -> {
+            if (panel.isShowing()) {
+                metricsModel.refresh();
+            }
+        });
+        timer.start();
+        return panel;
+    }
+
     private JPanel createSupportPanel() {
         JPanel panel = new JPanel(new BorderLayout(10, 10));
 
-        String[] messageColumns = {"ID", "Date", "From", "Account", "Status", "Issue"};
-        messageModel = new DefaultTableModel(messageColumns, 0) {
-            public boolean isCellEditable(int row, int column) { return false; }
-        };
+        messageModel = new MessageTableModel(mainApp.getSupportMessages());
         messagesTable = new JTable(messageModel);
         messagesTable.setRowSorter(new TableRowSorter<>(messageModel));
         panel.add(new JScrollPane(messagesTable), BorderLayout.CENTER);
@@ -287,8 +335,7 @@ public class AdminDashboard extends JPanel {
                     if (viewRow == -1) return;
                     int modelRow = messagesTable.convertRowIndexToModel(viewRow);
                     
-                    int msgId = (Integer) messageModel.getValueAt(modelRow, 0);
-                    Message msg = mainApp.getSupportMessages().get(msgId);
+                    Message msg = messageModel.getMessageAt(modelRow);
                     if (msg != null) {
                         messageContentArea.setText(
                                 "Issue:\n" + msg.getContent() +
@@ -319,10 +366,10 @@ public class AdminDashboard extends JPanel {
         }
         
         int modelRow = messagesTable.convertRowIndexToModel(viewRow);
-        int msgId = (Integer) messageModel.getValueAt(modelRow, 0);
-        Message message = mainApp.getSupportMessages().get(msgId);
+        Message message = messageModel.getMessageAt(modelRow);
         
         if (message == null) return;
+        int msgId = message.getMessageId();
         
         if (message.isResolved()) {
             JOptionPane.showMessageDialog(this, "This message is already resolved.", "Info", JOptionPane.INFORMATION_MESSAGE);
@@ -335,47 +382,22 @@ public class AdminDashboard extends JPanel {
                 JOptionPane.PLAIN_MESSAGE);
 
         if (reply != null && !reply.trim().isEmpty()) {
-            message.setReply(reply);
-            message.setResolved(true);
-            DataManager.saveSupportMessages(mainApp.getSupportMessages());
-            JOptionPane.showMessageDialog(this, "Reply sent and message marked as resolved.", "Success", JOptionPane.INFORMATION_MESSAGE);
-            refreshSupportTable();
+            BankRequest.ReplyToMessage request = new BankRequest.ReplyToMessage(msgId, reply);
+            BackgroundTasks.request(messagesTable, "Saving reply...",
+                    () -> mainApp.getService().replyToMessage(request),
+                    replied -> {
+                        messageModel.messageUpdated(msgId);
+                        JOptionPane.showMessageDialog(this, "Reply sent and message marked as resolved.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    },
+                    failed -> JOptionPane.showMessageDialog(this, "Saving the reply failed: " + failed.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
         }
     }
 
 
-    private void refreshCustomerTable() {
-        customerModel.setRowCount(0);
-        List<Customer> customers = mainApp.getCustomers();
-        for (Customer c : customers) {
-            // --- UPDATED: Simplified row data ---
-            customerModel.addRow(new Object[]{
-                    c.getAccount().getAccountId(),
-                    c.getName()
-            });
-            // ------------------------------------
-        }
-    }
-
+    // The customer model follows the registry through row events and never needs a refresh. The
+    // message model does too, but a refresh catches what happened while the dashboard was not
+    // listening (e.g. messages sent from a customer session).
     private void refreshSupportTable() {
-        messageModel.setRowCount(0);
-        Map<Integer, Message> messages = mainApp.getSupportMessages();
-        for (Message m : messages.values()) {
-            messageModel.addRow(new Object[]{
-                    m.getMessageId(),
-                    m.getDateCreated().toLocalDate().toString(),
-                    m.getCustomerName(),
-                    m.getCustomerAccountNumber(),
-                    m.isResolved() ? "Resolved" : "Pending",
-                    m.getContent().substring(0, Math.min(m.getContent().length(), 50)) + "..."
-            });
-        }
-    }
-
-    private Customer findCustomerByAccountNumber(String accountNumber) throws AccountNotFoundException {
-        return mainApp.getCustomers().stream()
-                .filter(c -> c.getAccount().getAccountId().equals(accountNumber))
-                .findFirst()
-                .orElseThrow(() -> new AccountNotFoundException("No customer found with account number: " + accountNumber));
+        messageModel.refresh();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package bankingmanagementsystem.bankgui;
+
+import bankingmanagementsystem.service.Result;
+import javax.swing.*;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Runs slow GUI actions (ledger commands, persistence) on a SwingWorker thread.
+ *
+ * The triggering component is disabled and the status bar shows progress while the task runs;
+ * the result or failure is handed back to a callback on the EDT, where the UI is updated.
+ */
+final class BackgroundTasks {
+    private static StatusBar statusBar;
+
+    private BackgroundTasks() {
+    }
+
+    interface Task<T> {
+        T run(Progress progress) throws Exception;
+    }
+
+    interface SimpleTask<T> {
+        T run() throws Exception;
+    }
+
+    /** Reports determinate progress from the worker thread. */
+    interface Progress {
+        void update(int done, int total);
+    }
+
+    interface Callback<T> {
+        void accept(T value);
+    }
+
+    static void setStatusBar(StatusBar bar) {
+        statusBar = bar;
+    }
+
+    static <T> void submit(JComponent source, String description, SimpleTask<T> task,
+                           Callback<T> onSuccess, Callback<Exception> onFailure) {
+        submit(source, description, progress -> task.run(), onSuccess, onFailure);
+    }
+
+    /**
+     * Runs a {@link bankingmanagementsystem.service.BankService} call in the background. A failed
+     * result and an unexpected exception both arrive at {@code onFailure} as an error result.
+     */
+    static <T> void request(JComponent source, String description, SimpleTask<Result<T>> call,
+                            Callback<T> onSuccess, Callback<Result<T>> onFailure) {
+        submit(source, description, call,
+                result -> {
+                    if (result.isOk()) {
+                        onSuccess.accept(result.getValue());
+                    } else {
+                        onFailure.accept(result);
+                    }
+                },
+                ex -> onFailure.accept(Result.error(Result.Status.FAILED, ex.getMessage())));
+    }
+
+    static <T> void submit(JComponent source, String description, Task<T> task,
+                           Callback<T> onSuccess, Callback<Exception> onFailure) {
+        if (source != null) {
+            source.setEnabled(false);
+        }
+        if (statusBar != null) {
+            statusBar.taskStarted(description);
+        }
+        new SwingWorker<T, int[]>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                return task.run((done, total) -> publish(new int[]{done, total}));
+            }
+
+            @Override
+            protected void process(List<int[]> chunks) {
+                int[] latest = chunks.get(chunks.size() - 1);
+                if (statusBar != null) {
+                    statusBar.taskProgress(description, latest[0], latest[1]);
+                }
+            }
+
+            @Override
+            protected void done() {
+                if (source != null) {
+                    source.setEnabled(true);
+                }
+                if (statusBar != null) {
+                    statusBar.taskFinished();
+                }
+                T result;
+                try {
+                    result = get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof Exception) {
+                        onFailure.accept((Exception) cause);
+                        return;
+                    }
+                    throw new IllegalStateException(description + " failed.", cause);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    onFailure.accept(e);
+                    return;
+                }
+                onSuccess.accept(result);
+            }
+        }.execute();
+    }
+}
@@ -0,0 +1,73 @@
+package bankingmanagementsystem.bankgui;
+
+import bankingmanagementsystem.BankAggregates;
+import bankingmanagementsystem.Money;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The registry's {@link BankAggregates}, one row per total. Refreshing reads the running totals
+ * and never walks the customers, so it is cheap at any bank size.
+ */
+@SuppressWarnings("serial")
+class BankSummaryTableModel extends AbstractTableModel {
+    private static final String[] COLUMNS = {"Section", "Type", "Count", "Amount"};
+
+    private final BankAggregates aggregates;
+    private final List<Object[]> rows = new ArrayList<>();
+
+    BankSummaryTableModel(BankAggregates aggregates) {
+        this.aggregates = aggregates;
+        refresh();
+    }
+
+    void refresh() {
+        BankAggregates.Summary summary = aggregates.summary();
+        rows.clear();
+        rows.add(new Object[]{"Customers", "", summary.getCustomerCount(), ""});
+        addLines("Deposits", summary.getDepositsByAccountType());
+        rows.add(new Object[]{"Deposits", "Total", null, Money.format(summary.getTotalDeposits())});
+        addLines("Loans outstanding", summary.getLoansByLoanType());
+        rows.add(new Object[]{"Loans outstanding", "Total", null, Money.format(summary.getTotalLoansOutstanding())});
+        BankAggregates.Line principal = summary.getFixedDepositPrincipal();
+        rows.add(new Object[]{"Fixed deposits", "Principal", principal.getCount(), Money.format(principal.getAmount())});
+        BankAggregates.Line liability = summary.getFixedDepositLiability();
+        rows.add(new Object[]{"Fixed deposits", "Payable at maturity", liability.getCount(), Money.format(liability.getAmount())});
+        fireTableDataChanged();
+    }
+
+    private void addLines(String section, Map<String, BankAggregates.Line> lines) {
+        for (Map.Entry<String, BankAggregates.Line> entry : lines.entrySet()) {
+            rows.add(new Object[]{section, entry.getKey(), entry.getValue().getCount(),
+                    Money.format(entry.getValue().getAmount())});
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 2 ? Long.class : String.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return rows.get(row)[column];
+    }
+}
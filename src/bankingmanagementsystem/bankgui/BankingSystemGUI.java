@@ -2,17 +2,22 @@ package bankingmanagementsystem.bankgui;
 
 import bankingmanagementsystem.*;
 import bankingmanagementsystem.exceptions.AccountNotFoundException;
+import bankingmanagementsystem.ledger.LedgerEngine;
+import bankingmanagementsystem.metrics.Metrics;
+import bankingmanagementsystem.service.BankService;
+import bankingmanagementsystem.service.Result;
 import javax.swing.*;
 import java.awt.*;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
-public class BankingSystemGUI {
-    private static List<Customer> customers;
+public final class BankingSystemGUI {
+    private static CustomerRegistry registry;
     private static Admin admin;
     private static Map<Integer, Message> supportMessages;
     private static AtomicInteger messageIdCounter;
+    private static BankService service;
 
     private JFrame mainFrame;
     private JPanel mainPanel;
@@ -24,7 +29,7 @@ public class BankingSystemGUI {
     public static final String ADMIN_DASHBOARD = "AdminDashboard";
 
     public BankingSystemGUI() {
-        loadData();
+        EdtMonitor.install();
 
         mainFrame = new JFrame("Prime Bank");
         mainFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -46,21 +51,30 @@ public class BankingSystemGUI {
         mainPanel.add(customerDashboard, CUSTOMER_DASHBOARD);
         mainPanel.add(adminDashboard, ADMIN_DASHBOARD);
 
-        mainFrame.add(mainPanel);
+        StatusBar statusBar = new StatusBar();
+        BackgroundTasks.setStatusBar(statusBar);
+
+        mainFrame.add(mainPanel, BorderLayout.CENTER);
+        mainFrame.add(statusBar, BorderLayout.SOUTH);
         mainFrame.setVisible(true);
 
         showLoginPanel();
     }
 
-    private void loadData() {
-        customers = DataManager.loadCustomers();
+    // Runs on the main thread before the first frame, so loading never counts against the EDT.
+    private static void loadData() {
+        Metrics.startReporterIfConfigured();
+        registry = new CustomerRegistry(DataManager.loadCustomers());
+        LedgerEngine.startIfEnabled(registry);
+        MaturityScheduler.startIfEnabled(registry);
         admin = DataManager.loadAdmin();
         supportMessages = DataManager.loadSupportMessages();
 
         int maxId = supportMessages.keySet().stream().max(Integer::compare).orElse(0);
         messageIdCounter = new AtomicInteger(maxId);
 
-        admin.setCustomers(customers);
+        admin.setCustomers(registry.customers());
+        service = new BankService(registry, supportMessages, messageIdCounter);
     }
 
     public void showLoginPanel() {
@@ -102,27 +116,27 @@ public class BankingSystemGUI {
     }
 
     public Customer handleCustomerLogin(String accountNumber, String password) throws AccountNotFoundException {
-        Customer customer = findCustomerByAccountNumber(accountNumber);
-        if (customer.checkPassword(password)) {
-            return customer;
-        } else {
-            throw new AccountNotFoundException("Invalid Account Number or Password.");
+        Result<Customer> login = service.authenticate(accountNumber, password);
+        if (!login.isOk()) {
+            throw new AccountNotFoundException(login.getMessage());
         }
+        return login.getValue();
     }
 
     public boolean handleAdminLogin(String adminId, String password) {
         return admin.getAdminId().equals(adminId) && admin.checkPassword(password);
     }
 
-    private Customer findCustomerByAccountNumber(String accountNumber) throws AccountNotFoundException {
-        return customers.stream()
-                .filter(c -> c.getAccount().getAccountId().equals(accountNumber))
-                .findFirst()
-                .orElseThrow(() -> new AccountNotFoundException("No customer found with account number: " + accountNumber));
+    public List<Customer> getCustomers() {
+        return registry.customers();
     }
 
-    public List<Customer> getCustomers() {
-        return customers;
+    public CustomerRegistry getRegistry() {
+        return registry;
+    }
+
+    public BankService getService() {
+        return service;
     }
 
     public Admin getAdmin() {
@@ -144,6 +158,12 @@ public class BankingSystemGUI {
             e.printStackTrace();
         }
 
+        loadData();
         SwingUtilities.invokeLater(BankingSystemGUI::new);
+        // Queued behind the frame's construction, so it runs once the login screen is showing.
+        SwingUtilities.invokeLater(() -> {
+            StartupMetrics.loginScreenReady();
+            System.out.println(StartupMetrics.summary());
+        });
     }
 }
\ No newline at end of file
@@ -1,18 +1,20 @@
 package bankingmanagementsystem.bankgui;
 
 import bankingmanagementsystem.*;
-import bankingmanagementsystem.exceptions.AccountNotFoundException;
-import bankingmanagementsystem.exceptions.InsufficientFundsException;
-import bankingmanagementsystem.exceptions.InvalidAmountException;
-import bankingmanagementsystem.exceptions.LoanNotFoundException;
+import bankingmanagementsystem.service.BankRequest;
+import bankingmanagementsystem.service.Result;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 
-public class CustomerDashboard extends JPanel {
+@SuppressWarnings("serial")
+public final class CustomerDashboard extends JPanel {
 
     private BankingSystemGUI mainApp;
     private Customer currentCustomer;
@@ -21,6 +23,14 @@ public class CustomerDashboard extends JPanel {
     private JLabel balanceLabel;
     private JTextArea accountDetailsArea;
     private JTextArea transactionArea; 
+    private JLabel historyStatusLabel;
+    private JButton newerButton;
+    private JButton olderButton;
+    // History paging state: the page on screen, the cursors of the newer pages, and the date filter.
+    private HistoryPage historyPage;
+    private final Deque<Long> newerCursors = new ArrayDeque<>();
+    private LocalDate historyFrom;
+    private LocalDate historyTo;
     private JTable loansTable;
     private JTable investmentsTable;
 
@@ -64,18 +74,12 @@ public class CustomerDashboard extends JPanel {
         if (currentCustomer == null) return;
 
         welcomeLabel.setText("Welcome, " + currentCustomer.getName());
-        balanceLabel.setText(String.format("Current Balance: ₹%.2f", currentCustomer.getAccount().getBalance()));
+        balanceLabel.setText("Current Balance: ₹" + Money.format(currentCustomer.getAccount().getBalance()));
 
         accountDetailsArea.setText(currentCustomer.toString());
 
-        transactionArea.setText(""); 
-        if (currentCustomer.getTransactionHistory().isEmpty()) {
-            transactionArea.setText("No transactions found.");
-        } else {
-            for (Transaction tx : currentCustomer.getTransactionHistory()) {
-                transactionArea.append(tx.toString() + "\n");
-            }
-        }
+        newerCursors.clear();
+        showHistoryPage(HistoryPage.FIRST);
 
         DefaultTableModel loanModel = (DefaultTableModel) loansTable.getModel();
         loanModel.setRowCount(0); 
@@ -83,9 +87,9 @@ public class CustomerDashboard extends JPanel {
             loanModel.addRow(new Object[]{
                     loan.getLoanId(),
                     loan.getLoanType(),
-                    String.format("%.2f", loan.getPrincipalAmount()),
-                    String.format("%.2f", loan.getTotalRepayableAmount()),
-                    String.format("%.2f", loan.getAmountDue())
+                    Money.format(loan.getPrincipalAmount()),
+                    Money.format(loan.getTotalRepayableAmount()),
+                    Money.format(loan.getAmountDue())
             });
         }
 
@@ -95,8 +99,8 @@ public class CustomerDashboard extends JPanel {
             investmentModel.addRow(new Object[]{
                     inv.getInvestmentId(),
                     inv.getInvestmentType(),
-                    String.format("%.2f", inv.getAmountInvested()),
-                    String.format("%.2f", inv.getMaturityValue()),
+                    Money.format(inv.getAmountInvested()),
+                    Money.format(inv.getMaturityValue()),
                     inv.getEndDate().toString()
             });
         }
@@ -128,15 +132,91 @@ public class CustomerDashboard extends JPanel {
 
     private JPanel createTransactionHistoryPanel() {
         JPanel panel = new JPanel(new BorderLayout());
+
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JTextField fromField = new JTextField(10);
+        JTextField toField = new JTextField(10);
+        JButton applyButton = new JButton("Apply");
+        JButton clearButton = new JButton("Clear");
+        filterPanel.add(new JLabel("From (YYYY-MM-DD):"));
+        filterPanel.add(fromField);
+        filterPanel.add(new JLabel("To:"));
+        filterPanel.add(toField);
+        filterPanel.add(applyButton);
+        filterPanel.add(clearButton);
+        panel.add(filterPanel, BorderLayout.NORTH);
+
         transactionArea = new JTextArea(15, 40);
         transactionArea.setEditable(false);
         transactionArea.setFont(new Font("Monospaced", Font.PLAIN, 14));
         JScrollPane txScrollPane = new JScrollPane(transactionArea);
         txScrollPane.setBorder(BorderFactory.createTitledBorder("Transaction History"));
         panel.add(txScrollPane, BorderLayout.CENTER);
+
+        JPanel navPanel = new JPanel(new BorderLayout());
+        historyStatusLabel = new JLabel(" ");
+        newerButton = new JButton("< Newer");
+        olderButton = new JButton("Older >");
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttons.add(newerButton);
+        buttons.add(olderButton);
+        navPanel.add(historyStatusLabel, BorderLayout.WEST);
+        navPanel.add(buttons, BorderLayout.EAST);
+        panel.add(navPanel, BorderLayout.SOUTH);
+
+        olderButton.addActionListener(e -> {
+            if (historyPage != null && historyPage.hasMore()) {
+                newerCursors.push(historyPage.getCursor());
+                showHistoryPage(historyPage.getNextCursor());
+            }
+        });
+        newerButton.addActionListener(e -> {
+            if (!newerCursors.isEmpty()) {
+                showHistoryPage(newerCursors.pop());
+            }
+        });
+        applyButton.addActionListener(e -> {
+            try {
+                String fromText = fromField.getText().trim();
+                String toText = toField.getText().trim();
+                historyFrom = fromText.isEmpty() ? null : LocalDate.parse(fromText);
+                historyTo = toText.isEmpty() ? null : LocalDate.parse(toText);
+                newerCursors.clear();
+                showHistoryPage(HistoryPage.FIRST);
+            } catch (DateTimeParseException ex) {
+                JOptionPane.showMessageDialog(this, "Invalid date format. Please use YYYY-MM-DD.", "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+        clearButton.addActionListener(e -> {
+            fromField.setText("");
+            toField.setText("");
+            historyFrom = null;
+            historyTo = null;
+            newerCursors.clear();
+            showHistoryPage(HistoryPage.FIRST);
+        });
         return panel;
     }
 
+    // Renders a single page with one setText call, so the cost does not grow with the account's age.
+    private void showHistoryPage(long cursor) {
+        if (currentCustomer == null) return;
+        historyPage = currentCustomer.getHistoryPage(cursor, HistoryPage.DEFAULT_SIZE, historyFrom, historyTo);
+        if (historyPage.isEmpty()) {
+            transactionArea.setText("No transactions found.");
+        } else {
+            StringBuilder sb = new StringBuilder(historyPage.getTransactions().size() * 96);
+            for (Transaction tx : historyPage.getTransactions()) {
+                sb.append(tx).append('\n');
+            }
+            transactionArea.setText(sb.toString());
+            transactionArea.setCaretPosition(0);
+        }
+        historyStatusLabel.setText(historyPage.describe());
+        newerButton.setEnabled(!newerCursors.isEmpty());
+        olderButton.setEnabled(historyPage.hasMore());
+    }
+
     private JPanel createDepositPanel() {
         JPanel panel = new JPanel(new GridBagLayout());
         GridBagConstraints gbc = new GridBagConstraints();
@@ -152,24 +232,22 @@ public class CustomerDashboard extends JPanel {
         gbc.gridx = 0; gbc.gridy = 1; gbc.gridwidth = 2;
         JButton depositButton = new JButton("Deposit");
         depositButton.addActionListener(e -> {
+            long amount;
             try {
-                double amount = Double.parseDouble(amountField.getText());
-                if (amount <= 0) {
-                    JOptionPane.showMessageDialog(this, "Deposit amount must be positive.", "Error", JOptionPane.ERROR_MESSAGE);
-                    return;
-                }
-                currentCustomer.getAccount().deposit(amount);
-                currentCustomer.addTransaction(new Transaction("Deposit", amount, "Self-deposit into account"));
-                DataManager.saveCustomers(mainApp.getCustomers());
-
-                JOptionPane.showMessageDialog(this, "Successfully deposited ₹" + String.format("%.2f", amount), "Success", JOptionPane.INFORMATION_MESSAGE);
-                amountField.setText("");
-                refreshAllData(); 
+                amount = Money.parse(amountField.getText());
             } catch (NumberFormatException ex) {
-                JOptionPane.showMessageDialog(this, "Invalid amount. Please enter a valid number.", "Error", JOptionPane.ERROR_MESSAGE);
-            } catch (InvalidAmountException ex) {
-                JOptionPane.showMessageDialog(this, "Deposit failed: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                JOptionPane.showMessageDialog(this, ex.getMessage(), "Invalid Amount", JOptionPane.ERROR_MESSAGE);
+                return;
             }
+            BankRequest.Deposit request = new BankRequest.Deposit(currentCustomer.getAccount().getAccountId(), amount);
+            BackgroundTasks.request(depositButton, "Depositing...",
+                    () -> mainApp.getService().deposit(request),
+                    balance -> {
+                        JOptionPane.showMessageDialog(this, "Successfully deposited ₹" + Money.format(amount), "Success", JOptionPane.INFORMATION_MESSAGE);
+                        amountField.setText("");
+                        refreshAllData();
+                    },
+                    failed -> showFailure("Deposit failed", failed));
         });
         panel.add(depositButton, gbc);
 
@@ -191,24 +269,22 @@ public class CustomerDashboard extends JPanel {
         gbc.gridx = 0; gbc.gridy = 1; gbc.gridwidth = 2;
         JButton withdrawButton = new JButton("Withdraw");
         withdrawButton.addActionListener(e -> {
+            long amount;
             try {
-                double amount = Double.parseDouble(amountField.getText());
-                if (amount <= 0) {
-                    JOptionPane.showMessageDialog(this, "Withdrawal amount must be positive.", "Error", JOptionPane.ERROR_MESSAGE);
-                    return;
-                }
-                currentCustomer.getAccount().withdraw(amount);
-                currentCustomer.addTransaction(new Transaction("Withdrawal", amount, "Self-withdrawal from account"));
-                DataManager.saveCustomers(mainApp.getCustomers());
-
-                JOptionPane.showMessageDialog(this, "Successfully withdrew ₹" + String.format("%.2f", amount), "Success", JOptionPane.INFORMATION_MESSAGE);
-                amountField.setText("");
-                refreshAllData(); 
+                amount = Money.parse(amountField.getText());
             } catch (NumberFormatException ex) {
-                JOptionPane.showMessageDialog(this, "Invalid amount. Please enter a valid number.", "Error", JOptionPane.ERROR_MESSAGE);
-            } catch (InvalidAmountException | InsufficientFundsException ex) {
-                JOptionPane.showMessageDialog(this, "Withdrawal failed: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                JOptionPane.showMessageDialog(this, ex.getMessage(), "Invalid Amount", JOptionPane.ERROR_MESSAGE);
+                return;
             }
+            BankRequest.Withdraw request = new BankRequest.Withdraw(currentCustomer.getAccount().getAccountId(), amount);
+            BackgroundTasks.request(withdrawButton, "Withdrawing...",
+                    () -> mainApp.getService().withdraw(request),
+                    balance -> {
+                        JOptionPane.showMessageDialog(this, "Successfully withdrew ₹" + Money.format(amount), "Success", JOptionPane.INFORMATION_MESSAGE);
+                        amountField.setText("");
+                        refreshAllData();
+                    },
+                    failed -> showFailure("Withdrawal failed", failed));
         });
         panel.add(withdrawButton, gbc);
 
@@ -235,49 +311,27 @@ public class CustomerDashboard extends JPanel {
         gbc.gridx = 0; gbc.gridy = 2; gbc.gridwidth = 2;
         JButton transferButton = new JButton("Send Money");
         transferButton.addActionListener(e -> {
+            String recipientAccNumber = recipientField.getText();
+            long amount;
             try {
-                String recipientAccNumber = recipientField.getText();
-                double amount = Double.parseDouble(amountField.getText());
-
-                if (currentCustomer.getAccount().getAccountId().equals(recipientAccNumber)) {
-                    JOptionPane.showMessageDialog(this, "You cannot send money to yourself.", "Error", JOptionPane.ERROR_MESSAGE);
-                    return;
-                }
-                if (amount <= 0) {
-                    JOptionPane.showMessageDialog(this, "Transfer amount must be positive.", "Error", JOptionPane.ERROR_MESSAGE);
-                    return;
-                }
-
-                Customer recipient = mainApp.getCustomers().stream()
-                        .filter(c -> c.getAccount().getAccountId().equals(recipientAccNumber))
-                        .findFirst()
-                        .orElseThrow(() -> new AccountNotFoundException("No customer found with account number: " + recipientAccNumber));
-
-                currentCustomer.getAccount().withdraw(amount);
-                try {
-                    recipient.getAccount().deposit(amount);
-                } catch (InvalidAmountException depositException) {
-                    currentCustomer.getAccount().deposit(amount); // Refund
-                    throw new Exception("Transaction failed: Could not deposit to recipient. Your account has been refunded.");
-                }
-
-                String senderDesc = "Transferred to " + recipient.getName() + " (Acc: " + recipientAccNumber + ")";
-                currentCustomer.addTransaction(new Transaction("Transfer", amount, senderDesc));
-                String recipientDesc = "Received from " + currentCustomer.getName() + " (Acc: " + currentCustomer.getAccount().getAccountId() + ")";
-                recipient.addTransaction(new Transaction("Deposit", amount, recipientDesc));
-
-                DataManager.saveCustomers(mainApp.getCustomers());
-                
-                JOptionPane.showMessageDialog(this, "Successfully sent ₹" + String.format("%.2f", amount) + " to " + recipient.getName(), "Success", JOptionPane.INFORMATION_MESSAGE);
-                recipientField.setText("");
-                amountField.setText("");
-                refreshAllData();
-
+                amount = Money.parse(amountField.getText());
             } catch (NumberFormatException ex) {
-                JOptionPane.showMessageDialog(this, "Invalid amount entered.", "Error", JOptionPane.ERROR_MESSAGE);
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(this, "Transaction failed: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                JOptionPane.showMessageDialog(this, ex.getMessage(), "Invalid Amount", JOptionPane.ERROR_MESSAGE);
+                return;
             }
+
+            BankRequest.Transfer request = new BankRequest.Transfer(currentCustomer.getAccount().getAccountId(), recipientAccNumber, amount);
+            BackgroundTasks.request(transferButton, "Sending money...",
+                    () -> mainApp.getService().transfer(request),
+                    balance -> {
+                        Result<Customer> recipient = mainApp.getService().find(recipientAccNumber);
+                        String recipientName = recipient.isOk() ? recipient.getValue().getName() : recipientAccNumber;
+                        JOptionPane.showMessageDialog(this, "Successfully sent ₹" + Money.format(amount) + " to " + recipientName, "Success", JOptionPane.INFORMATION_MESSAGE);
+                        recipientField.setText("");
+                        amountField.setText("");
+                        refreshAllData();
+                    },
+                    failed -> showFailure("Transaction failed", failed));
         });
         panel.add(transferButton, gbc);
 
@@ -327,56 +381,32 @@ public class CustomerDashboard extends JPanel {
         applyButton.addActionListener(e -> {
             try {
                 String loanType = (String) loanTypeBox.getSelectedItem();
-                double amount = Double.parseDouble(loanAmountField.getText());
-                int tenure = Integer.parseInt(loanTenureField.getText());
-                
-                if (amount <= 0 || tenure <= 0) {
-                     JOptionPane.showMessageDialog(this, "Amount and tenure must be positive.", "Error", JOptionPane.ERROR_MESSAGE);
-                     return;
-                }
-
-                double interestRate;
-                boolean approved;
-                String rejectionReason = "Loan not approved.";
-                switch (loanType.toLowerCase()) {
-                    case "student":
-                        interestRate = 4.5;
-                        approved = amount <= 500000;
-                        if (!approved) rejectionReason = "Maximum Student Loan is 500,000.00.";
-                        break;
-                    case "business":
-                        interestRate = 10.5;
-                        approved = currentCustomer.getSalary() > 20000 && amount < (currentCustomer.getSalary() * 100);
-                        if (!approved) rejectionReason = "Loan not approved based on salary/amount.";
-                        break;
-                    default: 
-                        interestRate = 8.5;
-                        approved = currentCustomer.getSalary() > 20000 && amount < (currentCustomer.getSalary() * 100);
-                        if (!approved) rejectionReason = "Loan not approved based on salary/amount.";
-                        break;
-                }
-
-                if (approved) {
-                    Loan loan = new Loan(loanType, amount, interestRate, LocalDate.now(), tenure);
-                    currentCustomer.applyLoan(loan);
-                    DataManager.saveCustomers(mainApp.getCustomers());
-                    
-                    String message = "Loan approved for ₹" + String.format("%.2f", amount) + "!\n" +
-                                     "The amount has been credited to your account.\n" +
-                                     "Total repayable: ₹" + String.format("%.2f", loan.getTotalRepayableAmount());
-                    JOptionPane.showMessageDialog(this, message, "Success", JOptionPane.INFORMATION_MESSAGE);
-                    refreshAllData();
-                } else {
-                    JOptionPane.showMessageDialog(this, rejectionReason, "Loan Not Approved", JOptionPane.WARNING_MESSAGE);
-                }
+                long amount = Money.parse(loanAmountField.getText());
+                int tenure = parseYears(loanTenureField.getText());
                 
+                BankRequest.ApplyLoan request = new BankRequest.ApplyLoan(currentCustomer.getAccount().getAccountId(), loanType, amount, tenure);
+                BackgroundTasks.request(applyButton, "Disbursing loan...",
+                        () -> mainApp.getService().applyForLoan(request),
+                        loan -> {
+                            String message = "Loan approved for ₹" + Money.format(amount) + "!\n" +
+                                             "The amount has been credited to your account.\n" +
+                                             "Total repayable: ₹" + Money.format(loan.getTotalRepayableAmount());
+                            JOptionPane.showMessageDialog(this, message, "Success", JOptionPane.INFORMATION_MESSAGE);
+                            refreshAllData();
+                        },
+                        failed -> {
+                            if (failed.getStatus() == Result.Status.REJECTED) {
+                                JOptionPane.showMessageDialog(this, failed.getMessage(), "Loan Not Approved", JOptionPane.WARNING_MESSAGE);
+                            } else {
+                                showFailure("Loan application failed", failed);
+                            }
+                        });
+
                 loanAmountField.setText("");
                 loanTenureField.setText("");
 
             } catch (NumberFormatException ex) {
-                JOptionPane.showMessageDialog(this, "Invalid amount or tenure entered.", "Error", JOptionPane.ERROR_MESSAGE);
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(this, "Loan application failed: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                JOptionPane.showMessageDialog(this, ex.getMessage(), "Invalid Input", JOptionPane.ERROR_MESSAGE);
             }
         });
 
@@ -404,44 +434,28 @@ public class CustomerDashboard extends JPanel {
         payButton.addActionListener(e -> {
             try {
                 String loanId = loanIdField.getText();
-                double amountToPay = Double.parseDouble(payAmountField.getText());
-
-                Loan loanToPay = currentCustomer.getLoans().stream()
-                    .filter(loan -> loan.getLoanId().equals(loanId))
-                    .findFirst()
-                    .orElseThrow(() -> new LoanNotFoundException("No active loan found with ID: " + loanId));
-                
-                if (loanToPay.getAmountDue() <= 0) {
-                    JOptionPane.showMessageDialog(this, "This loan is already paid.", "Info", JOptionPane.INFORMATION_MESSAGE);
-                    return;
-                }
-                if (amountToPay > currentCustomer.getAccount().getBalance()) {
-                    throw new InsufficientFundsException("Insufficient balance for this payment.");
-                }
-
-                double amountDue = loanToPay.getAmountDue();
-                double actualPayment = Math.min(amountToPay, amountDue);
-
-                if (amountToPay > amountDue) {
-                    JOptionPane.showMessageDialog(this, "Payment is more than amount due. Capping at ₹" + String.format("%.2f", amountDue), "Info", JOptionPane.INFORMATION_MESSAGE);
-                }
-
-                currentCustomer.repayLoan(loanId, actualPayment);
-                DataManager.saveCustomers(mainApp.getCustomers());
-
-                String message = (loanToPay.getAmountDue() <= 0) ?
-                    "Congratulations! Loan " + loanId + " fully paid." :
-                    "Payment of ₹" + String.format("%.2f", actualPayment) + " successful.";
-                
-                JOptionPane.showMessageDialog(this, message, "Payment Successful", JOptionPane.INFORMATION_MESSAGE);
-                loanIdField.setText("");
-                payAmountField.setText("");
-                refreshAllData();
+                long amountToPay = Money.parse(payAmountField.getText());
+
+                BankRequest.RepayLoan request = new BankRequest.RepayLoan(currentCustomer.getAccount().getAccountId(), loanId, amountToPay);
+                BackgroundTasks.request(payButton, "Paying installment...",
+                        () -> mainApp.getService().repayLoan(request),
+                        repayment -> {
+                            if (repayment.isCapped()) {
+                                JOptionPane.showMessageDialog(this, "Payment is more than amount due. Capped at ₹" + Money.format(repayment.getAmountPaid()), "Info", JOptionPane.INFORMATION_MESSAGE);
+                            }
+                            String message = repayment.isFullyPaid() ?
+                                "Congratulations! Loan " + loanId + " fully paid." :
+                                "Payment of ₹" + Money.format(repayment.getAmountPaid()) + " successful.";
+
+                            JOptionPane.showMessageDialog(this, message, "Payment Successful", JOptionPane.INFORMATION_MESSAGE);
+                            loanIdField.setText("");
+                            payAmountField.setText("");
+                            refreshAllData();
+                        },
+                        failed -> showFailure("Payment failed", failed));
 
             } catch (NumberFormatException ex) {
-                JOptionPane.showMessageDialog(this, "Invalid amount entered.", "Error", JOptionPane.ERROR_MESSAGE);
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(this, "Payment failed: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                JOptionPane.showMessageDialog(this, ex.getMessage(), "Invalid Amount", JOptionPane.ERROR_MESSAGE);
             }
         });
         
@@ -478,32 +492,25 @@ public class CustomerDashboard extends JPanel {
 
         investButton.addActionListener(e -> {
             try {
-                double amount = Double.parseDouble(investAmountField.getText());
-                int tenure = Integer.parseInt(investTenureField.getText());
-
-                if (amount <= 0 || tenure <= 0) {
-                    JOptionPane.showMessageDialog(this, "Amount and tenure must be positive.", "Error", JOptionPane.ERROR_MESSAGE);
-                    return;
-                }
-                
-                double interestRate = 6.5; 
-                Investment investment = new Investment("Fixed Deposit", "FD Investment", amount, LocalDate.now(), tenure, interestRate);
-                
-                currentCustomer.addInvestment(investment);
-                DataManager.saveCustomers(mainApp.getCustomers());
-                
-                String message = "Investment of ₹" + String.format("%.2f", amount) + " in a " + tenure + "-year FD was successful.\n" +
-                                 "Maturity value: ₹" + String.format("%.2f", investment.getMaturityValue());
-                JOptionPane.showMessageDialog(this, message, "Success", JOptionPane.INFORMATION_MESSAGE);
-                
-                investAmountField.setText("");
-                investTenureField.setText("");
-                refreshAllData();
+                long amount = Money.parse(investAmountField.getText());
+                int tenure = parseYears(investTenureField.getText());
+
+                BankRequest.CreateDeposit request = new BankRequest.CreateDeposit(currentCustomer.getAccount().getAccountId(), amount, tenure);
+                BackgroundTasks.request(investButton, "Creating FD...",
+                        () -> mainApp.getService().createFixedDeposit(request),
+                        investment -> {
+                            String message = "Investment of ₹" + Money.format(amount) + " in a " + tenure + "-year FD was successful.\n" +
+                                             "Maturity value: ₹" + Money.format(investment.getMaturityValue());
+                            JOptionPane.showMessageDialog(this, message, "Success", JOptionPane.INFORMATION_MESSAGE);
+
+                            investAmountField.setText("");
+                            investTenureField.setText("");
+                            refreshAllData();
+                        },
+                        failed -> showFailure("Investment failed", failed));
 
             } catch (NumberFormatException ex) {
-                JOptionPane.showMessageDialog(this, "Invalid amount or tenure entered.", "Error", JOptionPane.ERROR_MESSAGE);
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(this, "Investment failed: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                JOptionPane.showMessageDialog(this, ex.getMessage(), "Invalid Input", JOptionPane.ERROR_MESSAGE);
             }
         });
 
@@ -526,21 +533,31 @@ public class CustomerDashboard extends JPanel {
         panel.add(submitButton, BorderLayout.SOUTH);
 
         submitButton.addActionListener(e -> {
-            String content = issueArea.getText();
-            if (content.isBlank()) {
-                JOptionPane.showMessageDialog(this, "Message cannot be empty.", "Error", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-            
-            int messageId = mainApp.getMessageIdCounter().incrementAndGet();
-            Message newMessage = new Message(messageId, currentCustomer.getAccount().getAccountId(), currentCustomer.getName(), content);
-            mainApp.getSupportMessages().put(messageId, newMessage);
-            DataManager.saveSupportMessages(mainApp.getSupportMessages());
-
-            JOptionPane.showMessageDialog(this, "Your message has been sent. Message ID: " + messageId, "Success", JOptionPane.INFORMATION_MESSAGE);
-            issueArea.setText("");
+            BankRequest.SendMessage request = new BankRequest.SendMessage(currentCustomer.getAccount().getAccountId(), issueArea.getText());
+            BackgroundTasks.request(submitButton, "Sending message...",
+                    () -> mainApp.getService().sendSupportMessage(request),
+                    message -> {
+                        JOptionPane.showMessageDialog(this, "Your message has been sent. Message ID: " + message.getMessageId(), "Success", JOptionPane.INFORMATION_MESSAGE);
+                        issueArea.setText("");
+                    },
+                    failed -> showFailure("Could not send message", failed));
         });
 
         return panel;
     }
+
+    // Validation messages are shown on their own; anything else is prefixed with what failed.
+    // Integer.parseInt's own message ("For input string: ...") means nothing to a customer.
+    private static int parseYears(String text) {
+        try {
+            return Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException("Tenure must be a whole number of years.");
+        }
+    }
+
+    private void showFailure(String prefix, Result<?> failed) {
+        String text = failed.getStatus() == Result.Status.INVALID ? failed.getMessage() : prefix + ": " + failed.getMessage();
+        JOptionPane.showMessageDialog(this, text, "Error", JOptionPane.ERROR_MESSAGE);
+    }
 }
\ No newline at end of file
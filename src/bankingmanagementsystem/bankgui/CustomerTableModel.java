@@ -0,0 +1,111 @@
+package bankingmanagementsystem.bankgui;
+
+import bankingmanagementsystem.Customer;
+import bankingmanagementsystem.CustomerRegistry;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Customer table that follows the registry through row insert/delete events instead of
+ * copying every customer into a DefaultTableModel.
+ *
+ * The rows are the model's own list of references, owned by the EDT. The registry calls the
+ * listener on whichever thread changed it, so each change is captured there (the inserted
+ * customers, or the removed positions) and queued; the EDT applies the queue in order and
+ * fires one event per contiguous run of rows.
+ */
+@SuppressWarnings("serial")
+class CustomerTableModel extends AbstractTableModel implements CustomerRegistry.Listener {
+    private static final String[] COLUMNS = {"Account Number", "Name"};
+
+    private final CustomerRegistry registry;
+    private final List<Customer> rows;
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+    CustomerTableModel(CustomerRegistry registry) {
+        this.registry = registry;
+        this.rows = new ArrayList<>(registry.addListener(this));
+    }
+
+    Customer getCustomerAt(int row) {
+        return row < rows.size() ? rows.get(row) : null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Customer customer = getCustomerAt(row);
+        if (customer == null) {
+            return null;
+        }
+        return column == 0 ? customer.getAccount().getAccountId() : customer.getName();
+    }
+
+    @Override
+    public void customersInserted(int firstIndex, int lastIndex) {
+        // The registry lock is held, so these are exactly the rows this event inserted.
+        List<Customer> live = registry.customers();
+        List<Customer> inserted = new ArrayList<>(lastIndex - firstIndex + 1);
+        for (int i = firstIndex; i <= lastIndex; i++) {
+            inserted.add(live.get(i));
+        }
+        post(() -> {
+            rows.addAll(firstIndex, inserted);
+            fireTableRowsInserted(firstIndex, lastIndex);
+        });
+    }
+
+    @Override
+    public void customersRemoved(int[] indices) {
+        post(() -> {
+            // Walk backwards so earlier positions are still valid, and fire one event per contiguous run.
+            int end = indices.length - 1;
+            while (end >= 0) {
+                int start = end;
+                while (start > 0 && indices[start - 1] == indices[start] - 1) {
+                    start--;
+                }
+                rows.subList(indices[start], indices[end] + 1).clear();
+                fireTableRowsDeleted(indices[start], indices[end]);
+                end = start - 1;
+            }
+        });
+    }
+
+    // Changes are queued in registry order; a change made on the EDT applies everything queued
+    // before it first, so the rows never see two changes out of order.
+    private void post(Runnable change) {
+        pending.add(change);
+        if (SwingUtilities.isEventDispatchThread()) {
+            applyPending();
+        } else {
+            SwingUtilities.invokeLater(this::applyPending);
+        }
+    }
+
+    private void applyPending() {
+        Runnable change;
+        while ((change = pending.poll()) != null) {
+            change.run();
+        }
+    }
+}
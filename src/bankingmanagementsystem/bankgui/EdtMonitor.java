@@ -0,0 +1,106 @@
+package bankingmanagementsystem.bankgui;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.util.Arrays;
+
+/**
+ * Measures how long the Event Dispatch Thread spends inside each event.
+ *
+ * Time spent in a nested event loop (a modal dialog waiting for the user) is not charged to the
+ * event that opened it, but events dispatched by that loop are timed on their own. An event
+ * that runs longer than {@code -Dbank.edt.slowMillis} (default 50) counts as blocking; the
+ * totals are printed when the application exits.
+ */
+public final class EdtMonitor {
+    private static final long SLOW_NANOS = Long.getLong("bank.edt.slowMillis", 50) * 1_000_000L;
+
+    // Written only on the EDT.
+    private static volatile long events;
+    private static volatile long slowEvents;
+    private static volatile long blockedNanos;
+    private static volatile long longestNanos;
+    private static boolean installed;
+
+    private EdtMonitor() {
+    }
+
+    /** Installs the timing queue once; call on the EDT before the first frame is shown. */
+    public static synchronized void install() {
+        if (installed) {
+            return;
+        }
+        installed = true;
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new TimedQueue());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.println(summary()), "edt-monitor"));
+    }
+
+    public static long getEvents() { return events; }
+    public static long getSlowEvents() { return slowEvents; }
+    public static long getBlockedMillis() { return blockedNanos / 1_000_000L; }
+    public static long getLongestMillis() { return longestNanos / 1_000_000L; }
+
+    public static String summary() {
+        return "EDT: " + events + " events, longest " + getLongestMillis() + " ms, "
+                + slowEvents + " over " + SLOW_NANOS / 1_000_000L + " ms blocking " + getBlockedMillis() + " ms in total.";
+    }
+
+    private static void record(long nanos) {
+        events++;
+        if (nanos > longestNanos) {
+            longestNanos = nanos;
+        }
+        if (nanos >= SLOW_NANOS) {
+            slowEvents++;
+            blockedNanos += nanos;
+        }
+    }
+
+    private static final class TimedQueue extends EventQueue {
+        // Per nesting level: time already charged and when the current stretch started.
+        private long[] charged = new long[8];
+        private long[] started = new long[8];
+        private int depth;
+
+        // A modal dialog's loop waits here; that idle time is not charged to the event that opened it.
+        @Override
+        public AWTEvent getNextEvent() throws InterruptedException {
+            if (depth > 0) {
+                charged[depth - 1] += System.nanoTime() - started[depth - 1];
+            }
+            try {
+                return super.getNextEvent();
+            } finally {
+                if (depth > 0) {
+                    started[depth - 1] = System.nanoTime();
+                }
+            }
+        }
+
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            long now = System.nanoTime();
+            if (depth > 0) {
+                charged[depth - 1] += now - started[depth - 1];
+            }
+            if (depth == charged.length) {
+                charged = Arrays.copyOf(charged, depth * 2);
+                started = Arrays.copyOf(started, depth * 2);
+            }
+            charged[depth] = 0;
+            started[depth] = now;
+            depth++;
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                depth--;
+                now = System.nanoTime();
+                record(charged[depth] + now - started[depth]);
+                if (depth > 0) {
+                    started[depth - 1] = now;
+                }
+            }
+        }
+    }
+}
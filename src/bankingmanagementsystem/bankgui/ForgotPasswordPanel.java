@@ -6,7 +6,8 @@ import bankingmanagementsystem.exceptions.AccountNotFoundException;
 import javax.swing.*;
 import java.awt.*;
 
-public class ForgotPasswordPanel extends JPanel {
+@SuppressWarnings("serial")
+public final class ForgotPasswordPanel extends JPanel {
 
     private BankingSystemGUI mainApp;
     private CardLayout innerCardLayout;
@@ -102,7 +103,7 @@ public class ForgotPasswordPanel extends JPanel {
             }
 
             try {
-                Customer customer = findCustomerByAccountNumber(accountNum);
+                Customer customer = mainApp.getRegistry().find(accountNum);
                 
                 if (customer.getSecurityQuestion() == null || customer.getSecurityAnswer() == null) {
                     JOptionPane.showMessageDialog(this, "Security question not set. Please contact admin.", "Error", JOptionPane.ERROR_MESSAGE);
@@ -122,10 +123,16 @@ public class ForgotPasswordPanel extends JPanel {
                 }
 
                 PasswordResetManager.resetCustomerPassword(customer, newPassword);
-                DataManager.saveCustomers(mainApp.getCustomers());
-
-                JOptionPane.showMessageDialog(this, "Password reset successful! Please log in with your new password.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                mainApp.showLoginPanel();
+                BackgroundTasks.submit(verifyButton, "Saving new password...",
+                        () -> {
+                            DataManager.saveCustomer(mainApp.getCustomers(), customer);
+                            return customer;
+                        },
+                        saved -> {
+                            JOptionPane.showMessageDialog(this, "Password reset successful! Please log in with your new password.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                            mainApp.showLoginPanel();
+                        },
+                        ex -> JOptionPane.showMessageDialog(this, "Saving the new password failed: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
 
             } catch (AccountNotFoundException ex) {
                 JOptionPane.showMessageDialog(this, ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
@@ -145,7 +152,7 @@ public class ForgotPasswordPanel extends JPanel {
             String accountNum = accountField.getText().trim();
             if (!accountNum.isEmpty()) {
                 try {
-                    Customer customer = findCustomerByAccountNumber(accountNum);
+                    Customer customer = mainApp.getRegistry().find(accountNum);
                     if (customer.getSecurityQuestion() != null) {
                         questionArea.setText(customer.getSecurityQuestion());
                     } else {
@@ -253,11 +260,4 @@ public class ForgotPasswordPanel extends JPanel {
 
         return panel;
     }
-
-    private Customer findCustomerByAccountNumber(String accountNumber) throws AccountNotFoundException {
-        return mainApp.getCustomers().stream()
-                .filter(c -> c.getAccount().getAccountId().equals(accountNumber))
-                .findFirst()
-                .orElseThrow(() -> new AccountNotFoundException("No customer found with account number: " + accountNumber));
-    }
 }
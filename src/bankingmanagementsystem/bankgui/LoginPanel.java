@@ -4,12 +4,14 @@ import bankingmanagementsystem.Customer;
 import bankingmanagementsystem.Admin;
 import bankingmanagementsystem.DataManager;
 import bankingmanagementsystem.PasswordResetManager;
+import bankingmanagementsystem.StartupMetrics;
 import bankingmanagementsystem.exceptions.AccountNotFoundException;
 
 import javax.swing.*;
 import java.awt.*;
 
-public class LoginPanel extends JPanel {
+@SuppressWarnings("serial")
+public final class LoginPanel extends JPanel {
 
     private BankingSystemGUI mainApp;
 
@@ -151,6 +153,7 @@ public class LoginPanel extends JPanel {
     }
 
     private void handleCustomerLogin() {
+        long submitted = System.nanoTime();
         String accountNumber = customerAccountField.getText();
         String password = new String(customerPasswordField.getPassword());
 
@@ -161,11 +164,12 @@ public class LoginPanel extends JPanel {
 
         try {
             Customer customer = mainApp.handleCustomerLogin(accountNumber, password);
-            JOptionPane.showMessageDialog(this, "Welcome, " + customer.getName() + "!", "Login Successful", JOptionPane.INFORMATION_MESSAGE);
             customerAccountField.setText("");
             customerPasswordField.setText("");
-            mainApp.showCustomerDashboard(customer); 
+            mainApp.showCustomerDashboard(customer);
+            StartupMetrics.loginCompleted(submitted);
             innerCardLayout.show(centerPanel, BUTTON_PANEL); 
+            JOptionPane.showMessageDialog(this, "Welcome, " + customer.getName() + "!", "Login Successful", JOptionPane.INFORMATION_MESSAGE);
         } catch (AccountNotFoundException e) {
             JOptionPane.showMessageDialog(this, e.getMessage(), "Login Failed", JOptionPane.ERROR_MESSAGE);
         }
@@ -210,7 +214,7 @@ public class LoginPanel extends JPanel {
         accField.addActionListener(e -> {
             String acc = accField.getText().trim();
             if (acc.isEmpty()) return;
-            Customer found = mainApp.getCustomers().stream().filter(c -> c.getAccount().getAccountId().equals(acc)).findFirst().orElse(null);
+            Customer found = mainApp.getRegistry().findOrNull(acc);
             if (found == null) {
                 questionBox.setEnabled(false);
                 JOptionPane.showMessageDialog(dialog, "Account not found.", "Error", JOptionPane.ERROR_MESSAGE);
@@ -231,7 +235,7 @@ public class LoginPanel extends JPanel {
                 JOptionPane.showMessageDialog(dialog, "Please enter account number.", "Error", JOptionPane.ERROR_MESSAGE);
                 return;
             }
-            Customer found = mainApp.getCustomers().stream().filter(c -> c.getAccount().getAccountId().equals(acc)).findFirst().orElse(null);
+            Customer found = mainApp.getRegistry().findOrNull(acc);
             if (found == null) {
                 JOptionPane.showMessageDialog(dialog, "Account not found.", "Error", JOptionPane.ERROR_MESSAGE);
                 return;
@@ -248,9 +252,7 @@ public class LoginPanel extends JPanel {
                 String np = new String(newPass.getPassword()).trim();
                 if (np.isEmpty()) { JOptionPane.showMessageDialog(dialog, "Please enter new password.", "Error", JOptionPane.ERROR_MESSAGE); return; }
                 PasswordResetManager.resetCustomerPassword(found, np);
-                DataManager.saveCustomers(mainApp.getCustomers());
-                JOptionPane.showMessageDialog(dialog, "Security question set and password reset successful.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                dialog.dispose();
+                saveCustomerInBackground(resetButton, dialog, found, "Security question set and password reset successful.");
                 return;
             }
 
@@ -262,9 +264,7 @@ public class LoginPanel extends JPanel {
             String np = new String(newPass.getPassword()).trim();
             if (np.isEmpty()) { JOptionPane.showMessageDialog(dialog, "Please enter new password.", "Error", JOptionPane.ERROR_MESSAGE); return; }
             PasswordResetManager.resetCustomerPassword(found, np);
-            DataManager.saveCustomers(mainApp.getCustomers());
-            JOptionPane.showMessageDialog(dialog, "Password reset successful.", "Success", JOptionPane.INFORMATION_MESSAGE);
-            dialog.dispose();
+            saveCustomerInBackground(resetButton, dialog, found, "Password reset successful.");
         });
 
         dialog.add(panel);
@@ -273,6 +273,19 @@ public class LoginPanel extends JPanel {
         dialog.setVisible(true);
     }
 
+    private void saveCustomerInBackground(JButton source, JDialog dialog, Customer customer, String successMessage) {
+        BackgroundTasks.submit(source, "Saving new password...",
+                () -> {
+                    DataManager.saveCustomer(mainApp.getCustomers(), customer);
+                    return customer;
+                },
+                saved -> {
+                    JOptionPane.showMessageDialog(dialog, successMessage, "Success", JOptionPane.INFORMATION_MESSAGE);
+                    dialog.dispose();
+                },
+                ex -> JOptionPane.showMessageDialog(dialog, "Saving the new password failed: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
+    }
+
     private void showAdminForgotDialog() {
         JDialog dialog = new JDialog(SwingUtilities.getWindowAncestor(this), "Admin Password Reset", Dialog.ModalityType.APPLICATION_MODAL);
         JPanel panel = new JPanel(new GridBagLayout());
@@ -361,6 +374,7 @@ public class LoginPanel extends JPanel {
     }
 
     private void handleAdminLogin() {
+        long submitted = System.nanoTime();
         String adminId = adminIdField.getText();
         String password = new String(adminPasswordField.getPassword());
 
@@ -370,11 +384,12 @@ public class LoginPanel extends JPanel {
         }
 
         if (mainApp.handleAdminLogin(adminId, password)) {
-            JOptionPane.showMessageDialog(this, "Welcome, " + mainApp.getAdmin().getName() + "!", "Login Successful", JOptionPane.INFORMATION_MESSAGE);
             adminIdField.setText("");
             adminPasswordField.setText("");
             mainApp.showAdminDashboard();
+            StartupMetrics.loginCompleted(submitted);
             innerCardLayout.show(centerPanel, BUTTON_PANEL); 
+            JOptionPane.showMessageDialog(this, "Welcome, " + mainApp.getAdmin().getName() + "!", "Login Successful", JOptionPane.INFORMATION_MESSAGE);
         } else {
             JOptionPane.showMessageDialog(this, "Invalid Admin ID or Password.", "Login Failed", JOptionPane.ERROR_MESSAGE);
         }
@@ -0,0 +1,99 @@
+package bankingmanagementsystem.bankgui;
+
+import bankingmanagementsystem.Message;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Support message table backed by the live message map. The model keeps only the message ids
+ * in row order and reads every cell from the Message itself, so a reply shows up as a
+ * single row update and new messages as appended rows.
+ */
+@SuppressWarnings("serial")
+class MessageTableModel extends AbstractTableModel {
+    private static final String[] COLUMNS = {"ID", "Date", "From", "Account", "Status", "Issue"};
+
+    private final Map<Integer, Message> messages;
+    private final List<Integer> ids = new ArrayList<>();
+    private int lastId = Integer.MIN_VALUE;
+
+    MessageTableModel(Map<Integer, Message> messages) {
+        this.messages = messages;
+        refresh();
+    }
+
+    /** Appends rows for messages created since the last refresh. Ids only ever grow. */
+    void refresh() {
+        if (messages.size() < ids.size()) {
+            // Something was deleted behind our back; start over.
+            ids.clear();
+            lastId = Integer.MIN_VALUE;
+            fireTableDataChanged();
+        }
+        List<Integer> added = new ArrayList<>();
+        for (Integer id : messages.keySet()) {
+            if (id > lastId) {
+                added.add(id);
+            }
+        }
+        if (added.isEmpty()) {
+            return;
+        }
+        Collections.sort(added);
+        int first = ids.size();
+        ids.addAll(added);
+        lastId = added.get(added.size() - 1);
+        fireTableRowsInserted(first, ids.size() - 1);
+    }
+
+    Message getMessageAt(int row) {
+        return messages.get(ids.get(row));
+    }
+
+    void messageUpdated(int messageId) {
+        int row = Collections.binarySearch(ids, messageId);
+        if (row >= 0) {
+            fireTableRowsUpdated(row, row);
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return ids.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 0 ? Integer.class : String.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Message m = getMessageAt(row);
+        if (m == null) {
+            return null;
+        }
+        switch (column) {
+            case 0: return m.getMessageId();
+            case 1: return m.getDateCreated().toLocalDate().toString();
+            case 2: return m.getCustomerName();
+            case 3: return m.getCustomerAccountNumber();
+            case 4: return m.isResolved() ? "Resolved" : "Pending";
+            default: return m.getContent().substring(0, Math.min(m.getContent().length(), 50)) + "...";
+        }
+    }
+}
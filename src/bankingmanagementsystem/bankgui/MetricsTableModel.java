@@ -0,0 +1,85 @@
+package bankingmanagementsystem.bankgui;
+
+import bankingmanagementsystem.metrics.Counter;
+import bankingmanagementsystem.metrics.LatencyHistogram;
+import bankingmanagementsystem.metrics.Metrics;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Latency histograms and counters from {@link Metrics}, one row each. The model holds snapshots
+ * taken at the last refresh, so painting never touches the live instruments.
+ */
+@SuppressWarnings("serial")
+class MetricsTableModel extends AbstractTableModel {
+    private static final String[] COLUMNS = {"Metric", "Count", "Mean ms", "p50 ms", "p99 ms", "p99.9 ms", "Max ms"};
+
+    private final List<String> names = new ArrayList<>();
+    private final List<LatencyHistogram.Snapshot> snapshots = new ArrayList<>();
+    private final List<Long> counts = new ArrayList<>();
+
+    MetricsTableModel() {
+        refresh();
+    }
+
+    void refresh() {
+        names.clear();
+        snapshots.clear();
+        counts.clear();
+        for (LatencyHistogram histogram : Metrics.histograms()) {
+            LatencyHistogram.Snapshot s = histogram.snapshot();
+            names.add(histogram.getName());
+            snapshots.add(s);
+            counts.add(s.getCount());
+        }
+        for (Counter counter : Metrics.counters()) {
+            names.add(counter.getName());
+            snapshots.add(null);
+            counts.add(counter.sum());
+        }
+        fireTableDataChanged();
+    }
+
+    @Override
+    public int getRowCount() {
+        return names.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 1 ? Long.class : String.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        if (column == 0) {
+            return names.get(row);
+        }
+        if (column == 1) {
+            return counts.get(row);
+        }
+        LatencyHistogram.Snapshot s = snapshots.get(row);
+        if (s == null || s.getCount() == 0) {
+            return "";
+        }
+        switch (column) {
+            case 2: return Metrics.millis(s.getMeanNanos());
+            case 3: return Metrics.millis(s.percentileNanos(0.5));
+            case 4: return Metrics.millis(s.percentileNanos(0.99));
+            case 5: return Metrics.millis(s.percentileNanos(0.999));
+            default: return Metrics.millis(s.getMaxNanos());
+        }
+    }
+}
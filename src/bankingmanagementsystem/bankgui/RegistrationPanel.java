@@ -1,15 +1,17 @@
 package bankingmanagementsystem.bankgui;
 
-import bankingmanagementsystem.Customer;
-import bankingmanagementsystem.DataManager;
+import bankingmanagementsystem.Money;
 import bankingmanagementsystem.PasswordResetManager;
+import bankingmanagementsystem.service.BankRequest;
+import bankingmanagementsystem.service.Result;
 
 import javax.swing.*;
 import java.awt.*;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 
-public class RegistrationPanel extends JPanel {
+@SuppressWarnings("serial")
+public final class RegistrationPanel extends JPanel {
 
     private BankingSystemGUI mainApp;
 
@@ -18,7 +20,7 @@ public class RegistrationPanel extends JPanel {
     private JTextField addressField;
     private JTextField salaryField;
     private JComboBox<String> accountTypeBox;
-    private JComboBox<Double> minBalanceBox;
+    private JComboBox<String> minBalanceBox;
     private JPasswordField passwordField;
     private JComboBox<String> securityQuestionBox;
     private JTextField securityAnswerField;
@@ -43,7 +45,7 @@ public class RegistrationPanel extends JPanel {
         addressField = new JTextField(20);
         salaryField = new JTextField(20);
         accountTypeBox = new JComboBox<>(new String[]{"Personal", "Business"});
-        minBalanceBox = new JComboBox<>(new Double[]{0.0, 5000.0, 10000.0});
+        minBalanceBox = new JComboBox<>(new String[]{"0.00", "5000.00", "10000.00"});
         passwordField = new JPasswordField(20);
         securityQuestionBox = new JComboBox<>(PasswordResetManager.SECURITY_QUESTIONS);
         securityAnswerField = new JTextField(20);
@@ -101,41 +103,30 @@ public class RegistrationPanel extends JPanel {
 
     private void handleRegistration() {
         try {
-            String name = nameField.getText();
-            if (name.trim().isEmpty()) throw new Exception("Name cannot be blank.");
-
             LocalDate dob = LocalDate.parse(dobField.getText());
-            if (dob.isAfter(LocalDate.now())) throw new Exception("Date of Birth cannot be in the future.");
-
-            String address = addressField.getText();
-            if (address.trim().isEmpty()) throw new Exception("Address cannot be blank.");
-
-            double salary = Double.parseDouble(salaryField.getText());
-            if (salary < 0) throw new Exception("Salary cannot be negative.");
-
-            String accountType = (String) accountTypeBox.getSelectedItem();
-            double minBalance = (Double) minBalanceBox.getSelectedItem();
-            
-            String password = new String(passwordField.getPassword());
-            if (password.trim().isEmpty()) throw new Exception("Password cannot be blank.");
+            long salary = Money.parse(salaryField.getText());
+            long minBalance = Money.parse((String) minBalanceBox.getSelectedItem());
 
             String securityQuestion = (String) securityQuestionBox.getSelectedItem();
             String securityAnswer = securityAnswerField.getText().trim();
             if (securityAnswer.isEmpty()) throw new Exception("Security answer cannot be blank.");
 
-            Customer newCustomer = new Customer(name, dob, address, salary, accountType, minBalance, password);
-            newCustomer.setSecurityQuestion(securityQuestion);
-            newCustomer.setSecurityAnswer(securityAnswer);
-            mainApp.getCustomers().add(newCustomer);
-            DataManager.saveCustomers(mainApp.getCustomers());
-
-            String successMessage = "Registration successful!\n" +
-                                    "Your new Bank Account Number is: " + newCustomer.getAccount().getAccountId() + "\n" +
-                                    "Please use this to log in.";
-            JOptionPane.showMessageDialog(this, successMessage, "Registration Successful", JOptionPane.INFORMATION_MESSAGE);
-
-            clearFields();
-            mainApp.showLoginPanel();
+            BankRequest.Register request = new BankRequest.Register(nameField.getText(), dob, addressField.getText(), salary,
+                    (String) accountTypeBox.getSelectedItem(), minBalance, new String(passwordField.getPassword()),
+                    securityQuestion, securityAnswer);
+            BackgroundTasks.request(this, "Registering...",
+                    () -> mainApp.getService().register(request),
+                    newCustomer -> {
+                        String successMessage = "Registration successful!\n" +
+                                                "Your new Bank Account Number is: " + newCustomer.getAccount().getAccountId() + "\n" +
+                                                "Please use this to log in.";
+                        JOptionPane.showMessageDialog(this, successMessage, "Registration Successful", JOptionPane.INFORMATION_MESSAGE);
+
+                        clearFields();
+                        mainApp.showLoginPanel();
+                    },
+                    failed -> JOptionPane.showMessageDialog(this, failed.getStatus() == Result.Status.INVALID ? failed.getMessage()
+                            : "Registration failed: " + failed.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
 
         } catch (DateTimeParseException e) {
             JOptionPane.showMessageDialog(this, "Invalid date format! Please use YYYY-MM-DD.", "Error", JOptionPane.ERROR_MESSAGE);
@@ -0,0 +1,45 @@
+package bankingmanagementsystem.bankgui;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Strip along the bottom of the main window showing background work in progress,
+ * and the EDT figures from {@link EdtMonitor} while idle.
+ */
+@SuppressWarnings("serial")
+class StatusBar extends JPanel {
+    private final JLabel label = new JLabel("Ready");
+    private final JProgressBar progressBar = new JProgressBar(0, 100);
+    private int running;
+
+    StatusBar() {
+        super(new BorderLayout(10, 0));
+        setBorder(BorderFactory.createEmptyBorder(2, 8, 2, 8));
+        progressBar.setVisible(false);
+        progressBar.setPreferredSize(new Dimension(160, progressBar.getPreferredSize().height));
+        add(label, BorderLayout.CENTER);
+        add(progressBar, BorderLayout.EAST);
+    }
+
+    void taskStarted(String description) {
+        running++;
+        label.setText(description);
+        progressBar.setIndeterminate(true);
+        progressBar.setVisible(true);
+    }
+
+    void taskProgress(String description, int done, int total) {
+        label.setText(description + " (" + done + "/" + total + ")");
+        progressBar.setIndeterminate(false);
+        progressBar.setValue(total == 0 ? 100 : (int) (done * 100L / total));
+    }
+
+    void taskFinished() {
+        running--;
+        if (running == 0) {
+            progressBar.setVisible(false);
+            label.setText("Ready. " + EdtMonitor.summary());
+        }
+    }
+}
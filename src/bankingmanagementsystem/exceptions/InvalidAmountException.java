@@ -1,6 +1,8 @@
 package bankingmanagementsystem.exceptions;
 
 public class InvalidAmountException extends Exception {
+    private static final long serialVersionUID = 1L;
+
     public InvalidAmountException(String message) {
         super(message);
     }
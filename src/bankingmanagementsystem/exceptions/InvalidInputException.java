@@ -1,5 +1,7 @@
 package bankingmanagementsystem.exceptions;
 public class InvalidInputException extends Exception {
+    private static final long serialVersionUID = 1L;
+
     public InvalidInputException(String message) {
         super(message);
     }
@@ -1,6 +1,8 @@
 package bankingmanagementsystem.exceptions;
 
 public class LoanNotFoundException extends Exception {
+    private static final long serialVersionUID = 1L;
+
     public LoanNotFoundException(String message) {
         super(message);
     }
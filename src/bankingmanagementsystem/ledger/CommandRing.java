@@ -0,0 +1,82 @@
+package bankingmanagementsystem.ledger;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded multi-producer, single-consumer ring buffer.
+ *
+ * Every slot carries a sequence number: a producer may fill slot {@code i} when its
+ * sequence equals the claimed position, and the consumer may take it once the
+ * sequence is one past that. Producers contend on a single CAS; the consumer never
+ * does. When the ring is full, producers back off instead of growing it.
+ */
+final class CommandRing<T> {
+    private static final int SPINS_BEFORE_PARK = 100;
+
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head; // consumer thread only
+
+    CommandRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two: " + capacity);
+        }
+        this.slots = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /** Adds an item, waiting for space if the ring is full. */
+    void put(T item) {
+        int spins = 0;
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = item;
+                    sequences.set(index, position + 1);
+                    return;
+                }
+            } else if (sequence < position) {
+                // Full: the consumer has not freed this slot yet.
+                if (++spins < SPINS_BEFORE_PARK) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(10_000);
+                }
+            }
+        }
+    }
+
+    /** Moves up to {@code max} items into {@code out}, in the order they were published. */
+    @SuppressWarnings("unchecked")
+    int drainTo(List<T> out, int max) {
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            out.add((T) slots[index]);
+            slots[index] = null;
+            sequences.set(index, head + slots.length);
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+
+    boolean isEmpty() {
+        return sequences.get((int) head & mask) != head + 1;
+    }
+}
@@ -0,0 +1,108 @@
+package bankingmanagementsystem.ledger;
+
+import bankingmanagementsystem.Customer;
+import bankingmanagementsystem.Investment;
+import bankingmanagementsystem.Loan;
+import bankingmanagementsystem.Transaction;
+import bankingmanagementsystem.TransferService;
+import bankingmanagementsystem.exceptions.InsufficientFundsException;
+import bankingmanagementsystem.exceptions.InvalidAmountException;
+import bankingmanagementsystem.persistence.JournalEntry;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One balance-changing request for the ledger. The future completes with the
+ * account's balance after the command was applied and persisted, or exceptionally
+ * with the InvalidAmountException / InsufficientFundsException that rejected it.
+ */
+public final class LedgerCommand {
+
+    public enum Op {
+        DEPOSIT, WITHDRAWAL, TRANSFER, LOAN_DISBURSAL, INVESTMENT
+    }
+
+    private final Op op;
+    private final Customer customer;
+    private final Customer counterparty;
+    private final long amount;
+    private final Loan loan;
+    private final Investment investment;
+    private final CompletableFuture<Long> result = new CompletableFuture<>();
+    private long balanceAfter;
+
+    private LedgerCommand(Op op, Customer customer, Customer counterparty, long amount, Loan loan, Investment investment) {
+        this.op = op;
+        this.customer = customer;
+        this.counterparty = counterparty;
+        this.amount = amount;
+        this.loan = loan;
+        this.investment = investment;
+    }
+
+    public static LedgerCommand deposit(Customer customer, long amount) {
+        return new LedgerCommand(Op.DEPOSIT, customer, null, amount, null, null);
+    }
+
+    public static LedgerCommand withdrawal(Customer customer, long amount) {
+        return new LedgerCommand(Op.WITHDRAWAL, customer, null, amount, null, null);
+    }
+
+    public static LedgerCommand transfer(Customer from, Customer to, long amount) {
+        return new LedgerCommand(Op.TRANSFER, from, to, amount, null, null);
+    }
+
+    public static LedgerCommand loanDisbursal(Customer customer, Loan loan) {
+        return new LedgerCommand(Op.LOAN_DISBURSAL, customer, null, loan.getPrincipalAmount(), loan, null);
+    }
+
+    public static LedgerCommand investment(Customer customer, Investment investment) {
+        return new LedgerCommand(Op.INVESTMENT, customer, null, investment.getAmountInvested(), null, investment);
+    }
+
+    public Op getOp() { return op; }
+    public Customer getCustomer() { return customer; }
+    public long getAmount() { return amount; }
+    public CompletableFuture<Long> getResult() { return result; }
+
+    long balanceAfter() {
+        return balanceAfter;
+    }
+
+    String accountId() {
+        return customer.getAccount().getAccountId();
+    }
+
+    /**
+     * Applies the command to in-memory state and returns the journal entry that records it.
+     * Nothing is changed if an exception is thrown.
+     */
+    JournalEntry apply() throws InvalidAmountException, InsufficientFundsException {
+        JournalEntry entry = applyAndRecord();
+        balanceAfter = customer.getAccount().getBalance();
+        return entry;
+    }
+
+    private JournalEntry applyAndRecord() throws InvalidAmountException, InsufficientFundsException {
+        switch (op) {
+            case DEPOSIT:
+                customer.getAccount().deposit(amount);
+                customer.addTransaction(new Transaction("Deposit", amount, "Self-deposit into account"));
+                return JournalEntry.deposit(accountId(), amount);
+            case WITHDRAWAL:
+                customer.getAccount().withdraw(amount);
+                customer.addTransaction(new Transaction("Withdrawal", amount, "Self-withdrawal from account"));
+                return JournalEntry.withdrawal(accountId(), amount);
+            case TRANSFER:
+                TransferService.transfer(customer, counterparty, amount);
+                return JournalEntry.transfer(accountId(), counterparty.getAccount().getAccountId(), amount);
+            case LOAN_DISBURSAL:
+                customer.applyLoan(loan);
+                return JournalEntry.loanDisbursal(accountId(), loan);
+            case INVESTMENT:
+                customer.addInvestment(investment);
+                return JournalEntry.investment(accountId(), investment);
+            default:
+                throw new IllegalStateException("Unsupported ledger op " + op);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package bankingmanagementsystem.ledger;
+
+import bankingmanagementsystem.CustomerRegistry;
+import bankingmanagementsystem.DataManager;
+import bankingmanagementsystem.exceptions.InsufficientFundsException;
+import bankingmanagementsystem.exceptions.InvalidAmountException;
+import bankingmanagementsystem.persistence.Durability;
+import bankingmanagementsystem.persistence.JournalEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Optional single-writer mode for balance changes (enable with {@code -Dbank.ledger=engine}).
+ *
+ * Commands are routed by account number to one of a few partitions. Each partition
+ * has a bounded {@link CommandRing} and exactly one writer thread, so every mutation
+ * of an account runs on the same thread in arrival order. A writer drains a batch,
+ * applies it, hands the whole batch to {@link DataManager#commitAsync} and completes
+ * the callers' futures once that is durable, or exceptionally if it could not be saved.
+ *
+ * Transfers run on the sender's partition; when the recipient lives on another
+ * partition, {@link bankingmanagementsystem.TransferService}'s ordered locks keep the
+ * two legs atomic.
+ *
+ * Without the property, {@link #execute} applies commands inline on the caller's thread.
+ */
+public final class LedgerEngine {
+    private static final boolean ENABLED = "engine".equalsIgnoreCase(System.getProperty("bank.ledger", "inline"));
+    private static final int PARTITIONS = Integer.getInteger("bank.ledger.partitions", Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors() / 2)));
+    private static final int RING_CAPACITY = Integer.getInteger("bank.ledger.ringCapacity", 4096);
+    private static final int MAX_BATCH = 256;
+
+    private static volatile LedgerEngine instance;
+
+    private final CustomerRegistry registry;
+    private final Partition[] partitions;
+    // Submitters hold the read side while they check running and enqueue; close() flips running
+    // under the write side, so nothing can be enqueued after the writers have seen it cleared.
+    private final ReentrantReadWriteLock gate = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    public LedgerEngine(CustomerRegistry registry, int partitionCount, int ringCapacity) {
+        this.registry = registry;
+        this.partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition(i, ringCapacity);
+        }
+        for (Partition partition : partitions) {
+            partition.writer.start();
+        }
+    }
+
+    /** Starts the shared engine when {@code bank.ledger=engine} is set; otherwise does nothing. */
+    public static synchronized void startIfEnabled(CustomerRegistry registry) {
+        if (ENABLED && instance == null) {
+            instance = new LedgerEngine(registry, PARTITIONS, RING_CAPACITY);
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::close, "ledger-shutdown"));
+            System.out.println("Ledger engine started with " + PARTITIONS + " writer partition(s).");
+        }
+    }
+
+    /**
+     * Runs a command through the shared engine if one is running, or inline otherwise,
+     * and returns the account balance afterwards. Either way the change is persisted
+     * before this returns; if saving failed, the change stays applied and this throws a
+     * {@link CompletionException} carrying the persistence error.
+     */
+    public static long execute(CustomerRegistry registry, LedgerCommand command) throws InvalidAmountException, InsufficientFundsException {
+        LedgerEngine engine = instance;
+        if (engine == null) {
+            JournalEntry entry = null;
+            DataManager.beginChange();
+            try {
+                entry = command.apply();
+            } finally {
+                DataManager.endChange(entry);
+            }
+            CompletableFuture<Void> saved = DataManager.commit(registry.customers(), entry);
+            if (saved.isCompletedExceptionally()) {
+                saved.join();
+            }
+            return command.balanceAfter();
+        }
+        try {
+            return engine.submit(command).getResult().join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof InvalidAmountException) throw (InvalidAmountException) cause;
+            if (cause instanceof InsufficientFundsException) throw (InsufficientFundsException) cause;
+            throw e;
+        }
+    }
+
+    public LedgerCommand submit(LedgerCommand command) {
+        Partition partition = partitions[partitionOf(command.accountId())];
+        gate.readLock().lock();
+        try {
+            if (!running) {
+                command.getResult().completeExceptionally(new IllegalStateException("Ledger engine is shut down."));
+                return command;
+            }
+            partition.ring.put(command);
+        } finally {
+            gate.readLock().unlock();
+        }
+        if (partition.parked) {
+            LockSupport.unpark(partition.writer);
+        }
+        return command;
+    }
+
+    /** Stops accepting commands, lets the writers finish what is queued, and waits for them. */
+    public void close() {
+        gate.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            gate.writeLock().unlock();
+        }
+        for (Partition partition : partitions) {
+            LockSupport.unpark(partition.writer);
+        }
+        for (Partition partition : partitions) {
+            try {
+                partition.writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private int partitionOf(String accountId) {
+        int h = accountId.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), partitions.length);
+    }
+
+    private final class Partition implements Runnable {
+        private final CommandRing<LedgerCommand> ring;
+        private final Thread writer;
+        private volatile boolean parked;
+
+        Partition(int index, int ringCapacity) {
+            this.ring = new CommandRing<>(ringCapacity);
+            this.writer = new Thread(this, "ledger-writer-" + index);
+            this.writer.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            List<LedgerCommand> batch = new ArrayList<>(MAX_BATCH);
+            while (true) {
+                if (ring.drainTo(batch, MAX_BATCH) == 0) {
+                    if (!running) {
+                        return;
+                    }
+                    idle();
+                    continue;
+                }
+
+                List<LedgerCommand> applied = new ArrayList<>(batch.size());
+                List<JournalEntry> entries = new ArrayList<>(batch.size());
+                DataManager.beginChange();
+                try {
+                    for (LedgerCommand command : batch) {
+                        try {
+                            entries.add(command.apply());
+                            applied.add(command);
+                        } catch (InvalidAmountException | InsufficientFundsException | RuntimeException e) {
+                            command.getResult().completeExceptionally(e);
+                        }
+                    }
+                } finally {
+                    DataManager.endChange(entries);
+                }
+                if (!applied.isEmpty()) {
+                    acknowledge(applied, entries);
+                }
+                batch.clear();
+            }
+        }
+
+        /**
+         * Hands the batch to persistence without waiting for it, so the writer can apply the
+         * next batch while this one is flushed. Callers are acknowledged once it is durable
+         * (immediately in async mode). If the save fails the commands stay applied, but their
+         * futures complete exceptionally with the error so callers do not report success.
+         */
+        private void acknowledge(List<LedgerCommand> commands, List<JournalEntry> batchEntries) {
+            CompletableFuture<Void> saved;
+            try {
+                saved = DataManager.commitAsync(registry.customers(), batchEntries);
+            } catch (RuntimeException e) {
+                System.err.println("Error persisting ledger batch: " + e);
+                saved = CompletableFuture.failedFuture(e);
+            }
+            if (DataManager.getDurability() == Durability.ASYNC && !saved.isCompletedExceptionally()) {
+                saved = CompletableFuture.completedFuture(null);
+            }
+            saved.whenComplete((ignored, error) -> {
+                for (LedgerCommand command : commands) {
+                    if (error != null) {
+                        command.getResult().completeExceptionally(error);
+                    } else {
+                        command.getResult().complete(command.balanceAfter());
+                    }
+                }
+            });
+        }
+
+        private void idle() {
+            for (int i = 0; i < 100 && ring.isEmpty(); i++) {
+                Thread.onSpinWait();
+            }
+            parked = true;
+            // Re-check after publishing the flag so a put that missed it cannot be stranded.
+            if (ring.isEmpty() && running) {
+                LockSupport.parkNanos(1_000_000);
+            }
+            parked = false;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package bankingmanagementsystem.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** A monotonically increasing count. Updates are striped, so hot counters do not contend. */
+public final class Counter {
+    private final String name;
+    private final LongAdder adder = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    public void increment() {
+        adder.increment();
+    }
+
+    public void add(long amount) {
+        adder.add(amount);
+    }
+
+    public long sum() {
+        return adder.sum();
+    }
+
+    public String getName() {
+        return name;
+    }
+}
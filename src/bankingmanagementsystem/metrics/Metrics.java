@@ -0,0 +1,110 @@
+package bankingmanagementsystem.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process-wide registry of counters and latency histograms.
+ *
+ * Instruments are created once, usually into static final fields, and recording on them is
+ * lock free, so they stay on in production. Names are dotted: op.* for banking operations,
+ * persistence.* for DataManager and the stores beneath it.
+ *
+ * -Dbank.metrics.file=path appends a report to that file every
+ * -Dbank.metrics.intervalSeconds (default 60) and once more at shutdown.
+ */
+public final class Metrics {
+    private static final String FILE = System.getProperty("bank.metrics.file");
+    private static final int INTERVAL_SECONDS = Integer.getInteger("bank.metrics.intervalSeconds", 60);
+
+    private static final ConcurrentHashMap<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    private static ScheduledExecutorService reporter;
+
+    private Metrics() {
+    }
+
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, Counter::new);
+    }
+
+    public static LatencyHistogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    public static List<Counter> counters() {
+        List<Counter> list = new ArrayList<>(COUNTERS.values());
+        list.sort(Comparator.comparing(Counter::getName));
+        return list;
+    }
+
+    public static List<LatencyHistogram> histograms() {
+        List<LatencyHistogram> list = new ArrayList<>(HISTOGRAMS.values());
+        list.sort(Comparator.comparing(LatencyHistogram::getName));
+        return list;
+    }
+
+    /** Formats nanoseconds as milliseconds with three decimals, e.g. "1.250". */
+    public static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== Metrics at ").append(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)).append(" ===\n");
+        for (LatencyHistogram histogram : histograms()) {
+            LatencyHistogram.Snapshot s = histogram.snapshot();
+            if (s.getCount() == 0) {
+                continue;
+            }
+            sb.append(String.format(Locale.ROOT, "%-36s count=%d mean=%sms p50=%sms p99=%sms p99.9=%sms max=%sms%n",
+                    histogram.getName(), s.getCount(), millis(s.getMeanNanos()), millis(s.percentileNanos(0.5)),
+                    millis(s.percentileNanos(0.99)), millis(s.percentileNanos(0.999)), millis(s.getMaxNanos())));
+        }
+        for (Counter counter : counters()) {
+            sb.append(String.format(Locale.ROOT, "%-36s %d%n", counter.getName(), counter.sum()));
+        }
+        return sb.toString();
+    }
+
+    /** Starts the periodic file report when bank.metrics.file is set; safe to call more than once. */
+    public static synchronized void startReporterIfConfigured() {
+        if (FILE == null || reporter != null) {
+            return;
+        }
+        reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-reporter");
+            t.setDaemon(true);
+            return t;
+        });
+        int interval = Math.max(1, INTERVAL_SECONDS);
+        reporter.scheduleAtFixedRate(Metrics::appendReport, interval, interval, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(Metrics::appendReport, "metrics-shutdown"));
+        System.out.println("Writing metrics to " + FILE + " every " + interval + "s.");
+    }
+
+    private static void appendReport() {
+        try (Writer out = Files.newBufferedWriter(Paths.get(FILE), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            out.write(report());
+            out.write('\n');
+        } catch (IOException e) {
+            System.err.println("Error writing metrics: " + e.getMessage());
+        }
+    }
+}
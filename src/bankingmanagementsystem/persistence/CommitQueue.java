@@ -0,0 +1,140 @@
+package bankingmanagementsystem.persistence;
+
+import bankingmanagementsystem.Customer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit: pending commits are collected and handed to a {@link Flusher} in one
+ * call by a background thread, at most every {@code intervalMillis} or as soon as
+ * {@code maxOps} journal entries are waiting, whichever comes first.
+ *
+ * Every submitted commit gets a future that completes once the flush containing it
+ * is done, or completes exceptionally with the IOException that failed it.
+ */
+public class CommitQueue {
+
+    /** Writes one group. {@code customers} is the newest list submitted in the group. */
+    public interface Flusher {
+        void flush(List<Customer> customers, List<JournalEntry> entries, boolean snapshot) throws IOException;
+    }
+
+    private static final class Pending {
+        final List<Customer> customers;
+        final List<JournalEntry> entries;
+        final boolean snapshot;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Pending(List<Customer> customers, List<JournalEntry> entries, boolean snapshot) {
+            this.customers = customers;
+            this.entries = entries;
+            this.snapshot = snapshot;
+        }
+    }
+
+    private final Flusher flusher;
+    private final long intervalNanos;
+    private final int maxOps;
+    private final Thread thread;
+    private List<Pending> pending = new ArrayList<>();
+    private int pendingOps;
+    private long firstPendingAt;
+    private boolean running = true;
+
+    private CommitQueue(Flusher flusher, long intervalMillis, int maxOps) {
+        this.flusher = flusher;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.maxOps = maxOps;
+        this.thread = new Thread(this::run, "commit-queue");
+        this.thread.setDaemon(true);
+    }
+
+    /** Creates a queue and starts its flush thread. */
+    public static CommitQueue start(Flusher flusher, long intervalMillis, int maxOps) {
+        CommitQueue queue = new CommitQueue(flusher, intervalMillis, maxOps);
+        queue.thread.start();
+        return queue;
+    }
+
+    /**
+     * Queues entries for the next flush. When {@code snapshot} is set the group also writes
+     * a full snapshot after its entries, which keeps snapshots ordered behind queued entries.
+     */
+    public synchronized CompletableFuture<Void> submit(List<Customer> customers, List<JournalEntry> entries, boolean snapshot) {
+        Pending p = new Pending(customers, entries, snapshot);
+        if (!running) {
+            p.done.completeExceptionally(new IOException("Commit queue is closed."));
+            return p.done;
+        }
+        if (pending.isEmpty()) {
+            firstPendingAt = System.nanoTime();
+        }
+        pending.add(p);
+        pendingOps += Math.max(1, entries.size());
+        notifyAll();
+        return p.done;
+    }
+
+    /** Flushes whatever is queued and waits for it. */
+    public void close() {
+        synchronized (this) {
+            running = false;
+            notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            List<Pending> batch;
+            synchronized (this) {
+                try {
+                    while (pending.isEmpty() && running) {
+                        wait();
+                    }
+                    while (running && pendingOps < maxOps && !pending.get(pending.size() - 1).snapshot) {
+                        long remaining = intervalNanos - (System.nanoTime() - firstPendingAt);
+                        if (remaining <= 0) break;
+                        TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                    }
+                } catch (InterruptedException e) {
+                    running = false;
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+                pendingOps = 0;
+            }
+            flush(batch);
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        List<JournalEntry> entries = new ArrayList<>();
+        boolean snapshot = false;
+        for (Pending p : batch) {
+            entries.addAll(p.entries);
+            snapshot |= p.snapshot;
+        }
+        try {
+            flusher.flush(batch.get(batch.size() - 1).customers, entries, snapshot);
+            for (Pending p : batch) {
+                p.done.complete(null);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error saving customer data: " + e.getMessage());
+            for (Pending p : batch) {
+                p.done.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package bankingmanagementsystem.persistence;
+
+/**
+ * How long {@code DataManager.commit} waits before a change counts as saved.
+ * Selected with {@code -Dbank.durability=sync|group|async}.
+ */
+public enum Durability {
+    /** Each commit is written on the caller's thread before it returns (the original behaviour). */
+    SYNC,
+    /** Commits are queued and flushed together, with an fsync, every N ms or N operations; callers wait for their group. */
+    GROUP,
+    /** Commits are queued and flushed like GROUP but without fsync, and callers do not wait. */
+    ASYNC;
+
+    public static Durability fromProperty(String value) {
+        if (value == null) {
+            return SYNC;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown bank.durability '" + value + "'; using sync.");
+            return SYNC;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package bankingmanagementsystem.persistence;
+
+import bankingmanagementsystem.metrics.Counter;
+import bankingmanagementsystem.metrics.LatencyHistogram;
+import bankingmanagementsystem.metrics.Metrics;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, segmented write-ahead log of customer mutations.
+ *
+ * Each record is framed as [length][crc32][body] so a torn write at the tail
+ * of a segment is detected and ignored on replay. Segments are named after the
+ * first LSN they contain and are dropped once a snapshot covers them.
+ *
+ * LSNs are handed out by {@link #sequence} when a change is made, which may be before the
+ * entry is appended; an entry whose LSN a snapshot already covers is not appended at all.
+ */
+public class Journal implements Closeable {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+    private static final LatencyHistogram FSYNC = Metrics.histogram("persistence.fsync");
+    private static final Counter BYTES_WRITTEN = Metrics.counter("persistence.bytesWritten");
+
+    private final Path directory;
+    private FileChannel segment;
+    // Highest LSN handed out; not guarded by this journal's monitor, see sequence().
+    private final AtomicLong lastLsn;
+    private long snapshotLsn;
+    private int entriesSinceSnapshot;
+
+    public Journal(Path directory, long snapshotLsn) {
+        this.directory = directory;
+        this.lastLsn = new AtomicLong(snapshotLsn);
+        this.snapshotLsn = snapshotLsn;
+    }
+
+    /**
+     * Reads every intact record with an LSN greater than {@code afterLsn}, in LSN order.
+     * Advances this journal's LSN counter past whatever was found on disk.
+     */
+    public synchronized List<JournalEntry> readAfter(long afterLsn) throws IOException {
+        List<JournalEntry> entries = new ArrayList<>();
+        for (Path file : listSegments()) {
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+                while (true) {
+                    JournalEntry entry = readRecord(in);
+                    if (entry == null) break;
+                    if (entry.getLsn() > afterLsn) {
+                        entries.add(entry);
+                    }
+                    lastLsn.accumulateAndGet(entry.getLsn(), Math::max);
+                }
+            }
+        }
+        // Entries are numbered when the change is made but may be appended in a different order.
+        entries.sort(Comparator.comparingLong(JournalEntry::getLsn));
+        entriesSinceSnapshot = entries.size();
+        return entries;
+    }
+
+    /**
+     * Gives the entry the next LSN unless it already has one. Callers number an entry while the
+     * change it records is still excluded from snapshots, so no snapshot holds the change
+     * without covering its LSN.
+     */
+    public void sequence(JournalEntry entry) {
+        if (entry.getLsn() == 0) {
+            entry.setLsn(lastLsn.incrementAndGet());
+        }
+    }
+
+    public synchronized long append(JournalEntry entry) throws IOException {
+        sequence(entry);
+        if (entry.getLsn() <= snapshotLsn) {
+            // Numbered before a snapshot that already contains its change.
+            return entry.getLsn();
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(body)) {
+            entry.writeTo(out);
+        }
+        byte[] bytes = body.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+
+        ByteBuffer record = ByteBuffer.allocate(8 + bytes.length);
+        record.putInt(bytes.length).putInt((int) crc.getValue()).put(bytes).flip();
+
+        FileChannel channel = currentSegment();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+        BYTES_WRITTEN.add(8 + bytes.length);
+        entriesSinceSnapshot++;
+        return entry.getLsn();
+    }
+
+    /** Forces everything appended so far to disk; used by group commit after a batch of appends. */
+    public synchronized void sync() throws IOException {
+        if (segment != null) {
+            long start = System.nanoTime();
+            segment.force(false);
+            FSYNC.recordSince(start);
+        }
+    }
+
+    /** The highest LSN handed out so far, appended or not. */
+    public long getLastLsn() {
+        return lastLsn.get();
+    }
+
+    public synchronized int getEntriesSinceSnapshot() {
+        return entriesSinceSnapshot;
+    }
+
+    /**
+     * Called after a snapshot containing everything up to {@code coveredLsn} has been durably
+     * written. Drops all existing segments; the next append starts a fresh one, and entries
+     * numbered up to {@code coveredLsn} are no longer appended.
+     */
+    public synchronized void truncate(long coveredLsn) throws IOException {
+        snapshotLsn = Math.max(snapshotLsn, coveredLsn);
+        close();
+        for (Path file : listSegments()) {
+            Files.deleteIfExists(file);
+        }
+        entriesSinceSnapshot = 0;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (segment != null) {
+            segment.close();
+            segment = null;
+        }
+    }
+
+    private FileChannel currentSegment() throws IOException {
+        if (segment == null) {
+            Files.createDirectories(directory);
+            Path file = directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, lastLsn.get() + 1, SEGMENT_SUFFIX));
+            // A leftover file with this name can only hold a torn record, so it is safe to overwrite.
+            segment = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+        return segment;
+    }
+
+    private List<Path> listSegments() throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        // Zero-padded start LSNs make lexical order the replay order.
+        files.sort(null);
+        return files;
+    }
+
+    private static JournalEntry readRecord(DataInputStream in) throws IOException {
+        try {
+            int length = in.readInt();
+            int expectedCrc = in.readInt();
+            if (length < 0 || length > MAX_RECORD_BYTES) return null;
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            if ((int) crc.getValue() != expectedCrc) {
+                System.err.println("Journal record failed checksum; ignoring the rest of the segment.");
+                return null;
+            }
+            return JournalEntry.readFrom(new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+}
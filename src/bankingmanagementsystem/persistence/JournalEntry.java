@@ -0,0 +1,229 @@
+package bankingmanagementsystem.persistence;
+
+import bankingmanagementsystem.BankCodec;
+import bankingmanagementsystem.Customer;
+import bankingmanagementsystem.Investment;
+import bankingmanagementsystem.Loan;
+import bankingmanagementsystem.Transaction;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A single mutation recorded in the write-ahead journal.
+ * Entries carry just enough to re-apply the operation on top of the last snapshot.
+ */
+public class JournalEntry {
+
+    public enum Op {
+        DEPOSIT, WITHDRAWAL, TRANSFER, LOAN_DISBURSAL, LOAN_REPAYMENT, INVESTMENT, INVESTMENT_MATURED, REGISTER, CLOSE
+    }
+
+    private long lsn;
+    private final Op op;
+    private final long timestamp;
+    private final String accountId;
+    private final long amount;
+    private final String counterparty;
+    private final String reference;
+    private final byte[] payload;
+    private Customer customer; // the live object for REGISTER entries created in this process
+
+    private JournalEntry(Op op, long timestamp, String accountId, long amount, String counterparty, String reference, byte[] payload) {
+        this.op = op;
+        this.timestamp = timestamp;
+        this.accountId = accountId;
+        this.amount = amount;
+        this.counterparty = counterparty;
+        this.reference = reference;
+        this.payload = payload;
+    }
+
+    private static JournalEntry of(Op op, String accountId, long amount, String counterparty, String reference, byte[] payload) {
+        return new JournalEntry(op, System.currentTimeMillis(), accountId, amount, counterparty, reference, payload);
+    }
+
+    // --- Factories, one per mutation the application performs ---
+    public static JournalEntry deposit(String accountId, long amount) {
+        return of(Op.DEPOSIT, accountId, amount, null, null, null);
+    }
+
+    public static JournalEntry withdrawal(String accountId, long amount) {
+        return of(Op.WITHDRAWAL, accountId, amount, null, null, null);
+    }
+
+    public static JournalEntry transfer(String fromAccountId, String toAccountId, long amount) {
+        return of(Op.TRANSFER, fromAccountId, amount, toAccountId, null, null);
+    }
+
+    public static JournalEntry loanDisbursal(String accountId, Loan loan) {
+        return of(Op.LOAN_DISBURSAL, accountId, loan.getPrincipalAmount(), null, loan.getLoanId(), BankCodec.encodeLoan(loan));
+    }
+
+    public static JournalEntry loanRepayment(String accountId, String loanId, long amount) {
+        return of(Op.LOAN_REPAYMENT, accountId, amount, null, loanId, null);
+    }
+
+    public static JournalEntry investment(String accountId, Investment investment) {
+        return of(Op.INVESTMENT, accountId, investment.getAmountInvested(), null, investment.getInvestmentId(), BankCodec.encodeInvestment(investment));
+    }
+
+    public static JournalEntry investmentMatured(String accountId, String investmentId, long amount) {
+        return of(Op.INVESTMENT_MATURED, accountId, amount, null, investmentId, null);
+    }
+
+    public static JournalEntry register(Customer customer) {
+        JournalEntry entry = of(Op.REGISTER, customer.getAccount().getAccountId(), 0, null, null, BankCodec.encodeCustomer(customer));
+        entry.customer = customer;
+        return entry;
+    }
+
+    public static JournalEntry close(String accountId) {
+        return of(Op.CLOSE, accountId, 0, null, null, null);
+    }
+
+    public long getLsn() { return lsn; }
+    public Op getOp() { return op; }
+    public long getTimestamp() { return timestamp; }
+    public String getAccountId() { return accountId; }
+    public long getAmount() { return amount; }
+    public String getCounterparty() { return counterparty; }
+    public String getReference() { return reference; }
+    public Customer getCustomer() { return customer; }
+
+    void setLsn(long lsn) {
+        this.lsn = lsn;
+    }
+
+    /**
+     * Re-applies this entry to the in-memory customer list, mirroring what the
+     * live code path did (balance change plus the Transaction record).
+     * A closed customer is only added to {@code closed}; the caller drops all of them from
+     * {@code customers} in one pass after the replay, since a batch closure journals many.
+     */
+    public void applyTo(List<Customer> customers, Map<String, Customer> byAccount, Set<Customer> closed) throws Exception {
+        LocalDateTime when = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+
+        if (op == Op.REGISTER) {
+            Customer customer = BankCodec.decodeCustomer(payload);
+            customers.add(customer);
+            byAccount.put(accountId, customer);
+            return;
+        }
+
+        Customer customer = byAccount.get(accountId);
+        if (customer == null) {
+            throw new IllegalStateException("Journal refers to unknown account " + accountId);
+        }
+
+        switch (op) {
+            case DEPOSIT:
+                customer.getAccount().replay(amount);
+                customer.addTransaction(new Transaction("Deposit", amount, "Self-deposit into account", when));
+                break;
+            case WITHDRAWAL:
+                customer.getAccount().replay(-amount);
+                customer.addTransaction(new Transaction("Withdrawal", amount, "Self-withdrawal from account", when));
+                break;
+            case TRANSFER: {
+                Customer recipient = byAccount.get(counterparty);
+                if (recipient == null) {
+                    throw new IllegalStateException("Journal refers to unknown account " + counterparty);
+                }
+                customer.getAccount().replay(-amount);
+                recipient.getAccount().replay(amount);
+                customer.addTransaction(new Transaction("Transfer", amount, "Transferred to " + recipient.getName() + " (Acc: " + counterparty + ")", when));
+                recipient.addTransaction(new Transaction("Deposit", amount, "Received from " + customer.getName() + " (Acc: " + accountId + ")", when));
+                break;
+            }
+            case LOAN_DISBURSAL: {
+                Loan loan = BankCodec.decodeLoan(payload);
+                customer.getLoans().add(loan);
+                customer.getAccount().replay(loan.getPrincipalAmount());
+                customer.addTransaction(new Transaction("Loan Disbursal", loan.getPrincipalAmount(), "Loan Disbursed: " + loan.getLoanType(), when));
+                break;
+            }
+            case LOAN_REPAYMENT: {
+                Loan loan = customer.getLoans().stream()
+                        .filter(l -> l.getLoanId().equals(reference))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalStateException("Journal refers to unknown loan " + reference));
+                customer.getAccount().replay(-amount);
+                loan.makePayment(amount);
+                customer.addTransaction(new Transaction("Loan Repayment", amount, "Paid installment for loan " + reference, when));
+                break;
+            }
+            case INVESTMENT: {
+                Investment investment = BankCodec.decodeInvestment(payload);
+                customer.getAccount().replay(-investment.getAmountInvested());
+                customer.getInvestments().add(investment);
+                customer.addTransaction(new Transaction("New Investment", investment.getAmountInvested(), "FD Created: " + investment.getInvestmentId(), when));
+                break;
+            }
+            case INVESTMENT_MATURED:
+                customer.getAccount().replay(amount);
+                customer.getInvestments().removeIf(inv -> inv.getInvestmentId().equals(reference));
+                customer.addTransaction(new Transaction("Investment Matured", amount, "Maturity of " + reference, when));
+                break;
+            case CLOSE:
+                closed.add(customer);
+                byAccount.remove(accountId);
+                break;
+            default:
+                throw new IllegalStateException("Unsupported journal op " + op);
+        }
+    }
+
+    // --- Wire format (the record body; framing and checksums live in Journal) ---
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeLong(lsn);
+        out.writeByte(op.ordinal());
+        out.writeLong(timestamp);
+        out.writeUTF(accountId);
+        out.writeLong(amount);
+        writeNullableUTF(out, counterparty);
+        writeNullableUTF(out, reference);
+        if (payload == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(payload.length);
+            out.write(payload);
+        }
+    }
+
+    static JournalEntry readFrom(DataInputStream in) throws IOException {
+        long lsn = in.readLong();
+        Op op = Op.values()[in.readByte()];
+        long timestamp = in.readLong();
+        String accountId = in.readUTF();
+        long amount = in.readLong();
+        String counterparty = readNullableUTF(in);
+        String reference = readNullableUTF(in);
+        int payloadLength = in.readInt();
+        byte[] payload = null;
+        if (payloadLength >= 0) {
+            payload = new byte[payloadLength];
+            in.readFully(payload);
+        }
+        JournalEntry entry = new JournalEntry(op, timestamp, accountId, amount, counterparty, reference, payload);
+        entry.lsn = lsn;
+        return entry;
+    }
+
+    private static void writeNullableUTF(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableUTF(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,334 @@
+package bankingmanagementsystem.persistence;
+
+import bankingmanagementsystem.BankCodec;
+import bankingmanagementsystem.Customer;
+import bankingmanagementsystem.metrics.Counter;
+import bankingmanagementsystem.metrics.LatencyHistogram;
+import bankingmanagementsystem.metrics.Metrics;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Customer storage split into a fixed number of shard files by account-number hash.
+ *
+ * Each shard is an ordinary binary snapshot of its customers. The store remembers which
+ * customers live in which shard, so persisting a change rewrites only the shards that
+ * the change touched, and loading decodes every shard in parallel. A touched shard is
+ * rewritten whole, so each save costs about bank size / shard count customers however
+ * small the change; journal mode is the cheaper choice when changes are small and frequent.
+ *
+ * A change that touches several shards, such as a transfer between them, is committed
+ * all-or-nothing. Every new shard is first written to a {@code .tmp} file; then an intent
+ * file naming those shards is written, the temporary files are moved over their shards and
+ * the intent is deleted. Loading finishes the moves of an intent it finds, and discards
+ * temporary files that no intent names, so after a crash either every shard of the change
+ * is updated or none is.
+ */
+public class ShardedStore {
+    private static final String SHARD_PREFIX = "shard-";
+    private static final String SHARD_SUFFIX = ".dat";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String INTENT_FILE = "commit.intent";
+    private static final LatencyHistogram FSYNC = Metrics.histogram("persistence.fsync");
+    private static final Counter BYTES_WRITTEN = Metrics.counter("persistence.bytesWritten");
+
+    private final Path directory;
+    private final int shardCount;
+    private final boolean lazy;
+    private final List<Map<String, Customer>> shards;
+    // Set while an intent is on disk; a save that failed part-way is recovered before the next.
+    private boolean intentPending;
+
+    /** With {@code lazy} set, loaded customers keep their loans, investments and history encoded until used. */
+    public ShardedStore(Path directory, int shardCount, boolean lazy) {
+        this.directory = directory;
+        this.shardCount = shardCount;
+        this.lazy = lazy;
+        this.shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new LinkedHashMap<>());
+        }
+    }
+
+    public static boolean exists(Path directory) {
+        return Files.isDirectory(directory)
+                && (!listShardFiles(directory).isEmpty() || Files.exists(directory.resolve(INTENT_FILE)));
+    }
+
+    /**
+     * Decodes all shard files in parallel. If they were written with a different shard
+     * count, everything is redistributed and rewritten under the current one.
+     */
+    public synchronized List<Customer> loadAll() throws IOException {
+        recover();
+        List<Path> files = listShardFiles(directory);
+        List<List<Customer>> loaded;
+        try {
+            loaded = files.parallelStream().map(this::readShard).toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        List<Customer> customers = new ArrayList<>();
+        for (List<Customer> shard : loaded) {
+            customers.addAll(shard);
+        }
+        boolean misplaced = files.size() != shardCount;
+        for (int i = 0; i < files.size() && !misplaced; i++) {
+            misplaced = !files.get(i).equals(shardFile(i));
+        }
+
+        if (misplaced) {
+            System.out.println("Redistributing " + customers.size() + " customers across " + shardCount + " shards.");
+            writeAll(customers, true);
+            for (Path file : files) {
+                if (!isCurrentShardFile(file)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } else {
+            assign(customers);
+        }
+        return customers;
+    }
+
+    /** Rewrites every shard from the given list. */
+    public synchronized void writeAll(List<Customer> customers, boolean fsync) throws IOException {
+        assign(customers);
+        BitSet all = new BitSet(shardCount);
+        all.set(0, shardCount);
+        writeShards(all, fsync);
+    }
+
+    /**
+     * Rewrites only the shards touched by these journal entries and explicitly changed customers.
+     */
+    public synchronized void write(List<JournalEntry> entries, Collection<Customer> changed, boolean fsync) throws IOException {
+        writeShards(markDirty(entries, changed), fsync);
+    }
+
+    /**
+     * The first half of {@link #write} for a change spanning several shards: writes the new
+     * shards and the intent but moves nothing. {@link #finish} completes it, as does the next
+     * {@link #loadAll} if the process stops in between.
+     */
+    synchronized BitSet stage(List<JournalEntry> entries, Collection<Customer> changed, boolean fsync) throws IOException {
+        BitSet dirty = markDirty(entries, changed);
+        if (intentPending) {
+            recover();
+        }
+        stageShards(dirty, fsync);
+        writeIntent(dirty, fsync);
+        return dirty;
+    }
+
+    synchronized void finish(BitSet dirty) throws IOException {
+        moveShards(dirty);
+        Files.delete(directory.resolve(INTENT_FILE));
+        intentPending = false;
+    }
+
+    private BitSet markDirty(List<JournalEntry> entries, Collection<Customer> changed) {
+        BitSet dirty = new BitSet(shardCount);
+        for (JournalEntry entry : entries) {
+            int shard = shardOf(entry.getAccountId());
+            dirty.set(shard);
+            switch (entry.getOp()) {
+                case REGISTER:
+                    Customer registered = entry.getCustomer();
+                    if (registered != null) {
+                        shards.get(shard).put(entry.getAccountId(), registered);
+                    }
+                    break;
+                case CLOSE:
+                    shards.get(shard).remove(entry.getAccountId());
+                    break;
+                default:
+                    if (entry.getCounterparty() != null) {
+                        dirty.set(shardOf(entry.getCounterparty()));
+                    }
+            }
+        }
+        for (Customer customer : changed) {
+            String accountId = customer.getAccount().getAccountId();
+            int shard = shardOf(accountId);
+            shards.get(shard).put(accountId, customer);
+            dirty.set(shard);
+        }
+        return dirty;
+    }
+
+    public int shardOf(String accountId) {
+        int h = accountId.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), shardCount);
+    }
+
+    private void assign(List<Customer> customers) {
+        for (Map<String, Customer> shard : shards) {
+            shard.clear();
+        }
+        for (Customer customer : customers) {
+            String accountId = customer.getAccount().getAccountId();
+            shards.get(shardOf(accountId)).put(accountId, customer);
+        }
+    }
+
+    private void writeShards(BitSet dirty, boolean fsync) throws IOException {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        if (intentPending) {
+            recover();
+        }
+        stageShards(dirty, fsync);
+        if (dirty.cardinality() > 1) {
+            writeIntent(dirty, fsync);
+            finish(dirty);
+        } else {
+            moveShards(dirty);
+        }
+    }
+
+    private void stageShards(BitSet dirty, boolean fsync) throws IOException {
+        Files.createDirectories(directory);
+        try {
+            // Shards are independent files, so a wide rewrite (first save, resharding) uses all cores.
+            IntStream stream = dirty.stream();
+            if (dirty.cardinality() > 1) {
+                stream = stream.parallel();
+            }
+            stream.forEach(i -> {
+                try {
+                    stageShard(i, fsync);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void stageShard(int index, boolean fsync) throws IOException {
+        Path temp = tempFile(shardFile(index));
+        List<Customer> customers = new ArrayList<>(shards.get(index).values());
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            BankCodec.writeSnapshot(Channels.newOutputStream(channel), customers, 0);
+            BYTES_WRITTEN.add(channel.position());
+            if (fsync) {
+                long start = System.nanoTime();
+                channel.force(true);
+                FSYNC.recordSince(start);
+            }
+        }
+    }
+
+    private void moveShards(BitSet dirty) throws IOException {
+        for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+            Path target = shardFile(i);
+            Files.move(tempFile(target), target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    // Lists the staged shards, one file name per line. Written to a temporary file and moved
+    // into place, so a half-written intent is never mistaken for a complete one.
+    private void writeIntent(BitSet dirty, boolean fsync) throws IOException {
+        Path intent = directory.resolve(INTENT_FILE);
+        Path temp = tempFile(intent);
+        StringBuilder names = new StringBuilder();
+        for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+            names.append(shardFile(i).getFileName()).append('\n');
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(StandardCharsets.UTF_8.encode(names.toString()));
+            if (fsync) {
+                channel.force(true);
+            }
+        }
+        Files.move(temp, intent, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        intentPending = true;
+    }
+
+    /**
+     * Completes a multi-shard commit that was interrupted after its intent was written, then
+     * drops temporary files left by one interrupted before that. Both steps are idempotent, so
+     * a crash during recovery is recovered the same way.
+     */
+    private void recover() throws IOException {
+        Path intent = directory.resolve(INTENT_FILE);
+        if (Files.exists(intent)) {
+            List<String> names = Files.readAllLines(intent, StandardCharsets.UTF_8);
+            for (String name : names) {
+                Path target = directory.resolve(name);
+                Path temp = tempFile(target);
+                if (Files.exists(temp)) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+            System.out.println("Completed an interrupted commit across " + names.size() + " shards.");
+            Files.delete(intent);
+        }
+        intentPending = false;
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + TEMP_SUFFIX)) {
+                for (Path file : stream) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private static Path tempFile(Path target) {
+        return target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+    }
+
+    private Path shardFile(int index) {
+        return directory.resolve(String.format("%s%05d%s", SHARD_PREFIX, index, SHARD_SUFFIX));
+    }
+
+    private boolean isCurrentShardFile(Path file) {
+        for (int i = 0; i < shardCount; i++) {
+            if (file.equals(shardFile(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Customer> readShard(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return BankCodec.readSnapshot(in, lazy).getCustomers();
+        } catch (IOException e) {
+            throw new UncheckedIOException(new IOException("Error reading " + file.getFileName() + ": " + e.getMessage(), e));
+        }
+    }
+
+    private static List<Path> listShardFiles(Path directory) {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SHARD_PREFIX + "*" + SHARD_SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        } catch (IOException e) {
+            return files;
+        }
+        files.sort(null);
+        return files;
+    }
+}
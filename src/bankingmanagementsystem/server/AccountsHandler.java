@@ -0,0 +1,242 @@
+package bankingmanagementsystem.server;
+
+import bankingmanagementsystem.Account;
+import bankingmanagementsystem.Customer;
+import bankingmanagementsystem.HistoryPage;
+import bankingmanagementsystem.Investment;
+import bankingmanagementsystem.Loan;
+import bankingmanagementsystem.Transaction;
+import bankingmanagementsystem.service.BankRequest;
+import bankingmanagementsystem.service.BankService;
+import bankingmanagementsystem.service.Result;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * /api/accounts
+ *
+ * <pre>
+ * POST /api/accounts                                    register a customer
+ * GET  /api/accounts/{id}                               account summary
+ * GET  /api/accounts/{id}/transactions?cursor&size&from&to
+ * POST /api/accounts/{id}/deposits                      {"amount"}
+ * POST /api/accounts/{id}/withdrawals                   {"amount"}
+ * GET  /api/accounts/{id}/loans
+ * POST /api/accounts/{id}/loans                         {"loanType", "amount", "tenureYears"}
+ * POST /api/accounts/{id}/loans/{loanId}/payments       {"amount"}
+ * GET  /api/accounts/{id}/investments
+ * POST /api/accounts/{id}/investments                   {"amount", "tenureYears"}
+ * POST /api/accounts/{id}/investments/maturities        {"asOf"} (optional, defaults to today)
+ * </pre>
+ */
+final class AccountsHandler extends JsonHandler {
+
+    AccountsHandler(BankService service, String token) {
+        super(service, token);
+    }
+
+    @Override
+    void serve(HttpExchange exchange, String method, String[] path) throws IOException {
+        if (path.length == 0) {
+            if (!method.equals("POST")) {
+                methodNotAllowed(exchange);
+                return;
+            }
+            register(exchange);
+            return;
+        }
+        String accountId = path[0];
+        String resource = path.length > 1 ? path[1] : "";
+        boolean get = method.equals("GET");
+        boolean post = method.equals("POST");
+
+        if (path.length == 1 && get) {
+            send(exchange, 200, service.find(accountId), AccountsHandler::writeAccount);
+        } else if (path.length == 2 && resource.equals("transactions") && get) {
+            history(exchange, accountId);
+        } else if (path.length == 2 && resource.equals("deposits") && post) {
+            long amount = body(exchange).amount("amount");
+            send(exchange, 200, service.deposit(new BankRequest.Deposit(accountId, amount)),
+                    (json, balance) -> writeBalance(json, accountId, balance));
+        } else if (path.length == 2 && resource.equals("withdrawals") && post) {
+            long amount = body(exchange).amount("amount");
+            send(exchange, 200, service.withdraw(new BankRequest.Withdraw(accountId, amount)),
+                    (json, balance) -> writeBalance(json, accountId, balance));
+        } else if (path.length == 2 && resource.equals("loans") && get) {
+            send(exchange, 200, loans(accountId), (json, loans) -> {
+                json.beginArray();
+                for (Loan loan : loans) {
+                    writeLoan(json, loan);
+                }
+                json.endArray();
+            });
+        } else if (path.length == 2 && resource.equals("loans") && post) {
+            JsonBody body = body(exchange);
+            BankRequest.ApplyLoan request = new BankRequest.ApplyLoan(accountId, body.requireText("loanType"),
+                    body.amount("amount"), body.integer("tenureYears"));
+            send(exchange, 201, service.applyForLoan(request), AccountsHandler::writeLoan);
+        } else if (path.length == 4 && resource.equals("loans") && path[3].equals("payments") && post) {
+            long amount = body(exchange).amount("amount");
+            send(exchange, 200, service.repayLoan(new BankRequest.RepayLoan(accountId, path[2], amount)),
+                    (json, repayment) -> {
+                        json.beginObject()
+                                .name("amountPaid").money(repayment.getAmountPaid())
+                                .name("capped").value(repayment.isCapped())
+                                .name("fullyPaid").value(repayment.isFullyPaid())
+                                .name("loan");
+                        writeLoan(json, repayment.getLoan());
+                        json.endObject();
+                    });
+        } else if (path.length == 2 && resource.equals("investments") && get) {
+            send(exchange, 200, investments(accountId), AccountsHandler::writeInvestments);
+        } else if (path.length == 2 && resource.equals("investments") && post) {
+            JsonBody body = body(exchange);
+            BankRequest.CreateDeposit request = new BankRequest.CreateDeposit(accountId, body.amount("amount"),
+                    body.integer("tenureYears"));
+            send(exchange, 201, service.createFixedDeposit(request), AccountsHandler::writeInvestment);
+        } else if (path.length == 3 && resource.equals("investments") && path[2].equals("maturities") && post) {
+            LocalDate asOf = body(exchange).date("asOf");
+            send(exchange, 200, service.matureFixedDeposits(new BankRequest.MatureDeposits(accountId, asOf)),
+                    AccountsHandler::writeInvestments);
+        } else if (get || post) {
+            notFound(exchange);
+        } else {
+            methodNotAllowed(exchange);
+        }
+    }
+
+    private void register(HttpExchange exchange) throws IOException {
+        JsonBody body = body(exchange);
+        BankRequest.Register request = new BankRequest.Register(
+                body.requireText("name"),
+                LocalDate.parse(body.requireText("dob")),
+                body.requireText("address"),
+                body.amount("salary"),
+                body.requireText("accountType"),
+                body.amount("minBalance"),
+                body.requireText("password"),
+                body.text("securityQuestion"),
+                body.text("securityAnswer"));
+        send(exchange, 201, service.register(request), AccountsHandler::writeAccount);
+    }
+
+    private void history(HttpExchange exchange, String accountId) throws IOException {
+        Result<Customer> found = service.find(accountId);
+        if (!found.isOk()) {
+            send(exchange, 200, found, AccountsHandler::writeAccount);
+            return;
+        }
+        String cursor = query(exchange, "cursor");
+        String size = query(exchange, "size");
+        String from = query(exchange, "from");
+        String to = query(exchange, "to");
+        int pageSize = size == null ? HistoryPage.DEFAULT_SIZE : Integer.parseInt(size);
+        if (pageSize < 1 || pageSize > 500) {
+            throw new IllegalArgumentException("size must be between 1 and 500.");
+        }
+        HistoryPage page = found.getValue().getHistoryPage(cursor == null ? HistoryPage.FIRST : Long.parseLong(cursor),
+                pageSize, from == null ? null : LocalDate.parse(from), to == null ? null : LocalDate.parse(to));
+
+        sendValue(exchange, 200, page, (json, p) -> {
+            json.beginObject()
+                    .name("accountId").value(accountId)
+                    .name("matching").value(p.getMatchingCount())
+                    .name("first").value(p.isEmpty() ? 0 : p.getFirstPosition())
+                    .name("last").value(p.isEmpty() ? 0 : p.getLastPosition())
+                    .name("nextCursor");
+            if (p.hasMore()) {
+                json.value(p.getNextCursor());
+            } else {
+                json.nullValue();
+            }
+            json.name("transactions").beginArray();
+            for (Transaction t : p.getTransactions()) {
+                json.beginObject()
+                        .name("type").value(t.getType())
+                        .name("amount").money(t.getAmount())
+                        .name("description").value(t.getDescription())
+                        .name("timestamp").value(t.getTimestamp())
+                        .endObject();
+            }
+            json.endArray().endObject();
+        });
+    }
+
+    // Copied under the customer's lock so a concurrent loan or FD cannot break the iteration.
+    private Result<List<Loan>> loans(String accountId) {
+        Result<Customer> found = service.find(accountId);
+        if (!found.isOk()) {
+            return Result.error(found.getStatus(), found.getMessage());
+        }
+        Customer customer = found.getValue();
+        synchronized (customer) {
+            return Result.ok(new ArrayList<>(customer.getLoans()));
+        }
+    }
+
+    private Result<List<Investment>> investments(String accountId) {
+        Result<Customer> found = service.find(accountId);
+        if (!found.isOk()) {
+            return Result.error(found.getStatus(), found.getMessage());
+        }
+        Customer customer = found.getValue();
+        synchronized (customer) {
+            return Result.ok(new ArrayList<>(customer.getInvestments()));
+        }
+    }
+
+    static void writeAccount(JsonWriter json, Customer customer) throws IOException {
+        Account account = customer.getAccount();
+        json.beginObject()
+                .name("accountId").value(account.getAccountId())
+                .name("name").value(customer.getName())
+                .name("accountType").value(account.getAccountType())
+                .name("balance").money(account.getBalance())
+                .name("minBalance").money(account.getMinBalance())
+                .name("salary").money(customer.getSalary())
+                .endObject();
+    }
+
+    static void writeBalance(JsonWriter json, String accountId, long balance) throws IOException {
+        json.beginObject()
+                .name("accountId").value(accountId)
+                .name("balance").money(balance)
+                .endObject();
+    }
+
+    static void writeLoan(JsonWriter json, Loan loan) throws IOException {
+        json.beginObject()
+                .name("loanId").value(loan.getLoanId())
+                .name("loanType").value(loan.getLoanType())
+                .name("principal").money(loan.getPrincipalAmount())
+                .name("totalRepayable").money(loan.getTotalRepayableAmount())
+                .name("amountDue").money(loan.getAmountDue())
+                .name("interestRate").value(loan.getInterestRate())
+                .name("startDate").value(loan.getStartDate())
+                .name("endDate").value(loan.getEndDate())
+                .endObject();
+    }
+
+    static void writeInvestment(JsonWriter json, Investment investment) throws IOException {
+        json.beginObject()
+                .name("investmentId").value(investment.getInvestmentId())
+                .name("type").value(investment.getInvestmentType())
+                .name("amount").money(investment.getAmountInvested())
+                .name("maturityValue").money(investment.getMaturityValue())
+                .name("interestRate").value(investment.getInterestRate())
+                .name("startDate").value(investment.getStartDate())
+                .name("endDate").value(investment.getEndDate())
+                .endObject();
+    }
+
+    static void writeInvestments(JsonWriter json, List<Investment> investments) throws IOException {
+        json.beginArray();
+        for (Investment investment : investments) {
+            writeInvestment(json, investment);
+        }
+        json.endArray();
+    }
+}
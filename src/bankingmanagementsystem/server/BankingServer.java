@@ -0,0 +1,100 @@
+package bankingmanagementsystem.server;
+
+import bankingmanagementsystem.CustomerRegistry;
+import bankingmanagementsystem.DataManager;
+import bankingmanagementsystem.MaturityScheduler;
+import bankingmanagementsystem.Message;
+import bankingmanagementsystem.StartupMetrics;
+import bankingmanagementsystem.ledger.LedgerEngine;
+import bankingmanagementsystem.metrics.Metrics;
+import bankingmanagementsystem.service.BankService;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server mode: the bank behind an HTTP/JSON API, next to the console (BankingSystem) and Swing
+ * (BankingSystemGUI) front ends.
+ *
+ * Each request runs on its own virtual thread, so a request parked on a group commit or the
+ * ledger engine costs a few hundred bytes of heap rather than a platform thread, and tens of
+ * thousands of connections can be in flight at once.
+ *
+ * Configuration:
+ * -Dbank.server.host     bind address (default 127.0.0.1)
+ * -Dbank.server.port     default 8080
+ * -Dbank.server.backlog  accept queue length (default 4096)
+ * -Dbank.server.token    required; every request needs "Authorization: Bearer &lt;token&gt;"
+ * -Dbank.binary.port     if set, also start the {@link BinaryServer} endpoint on this port
+ * -Dbank.binary.unauthenticated  must be true for the binary endpoint to start, since it has
+ *                        no authentication of its own; keep it on a trusted network
+ * -Dbank.binary.maxInFlight  unanswered requests allowed per binary connection (default 256)
+ */
+public class BankingServer {
+    private static final String HOST = System.getProperty("bank.server.host", "127.0.0.1");
+    private static final int PORT = Integer.getInteger("bank.server.port", 8080);
+    private static final int BACKLOG = Integer.getInteger("bank.server.backlog", 4096);
+    private static final String TOKEN = System.getProperty("bank.server.token");
+    private static final Integer BINARY_PORT = Integer.getInteger("bank.binary.port");
+    private static final boolean BINARY_UNAUTHENTICATED = Boolean.getBoolean("bank.binary.unauthenticated");
+    private static final int BINARY_MAX_IN_FLIGHT = Integer.getInteger("bank.binary.maxInFlight", 256);
+
+    public static void main(String[] args) throws IOException {
+        // Fail closed: an open API would let anyone move any customer's money.
+        if (TOKEN == null || TOKEN.isBlank()) {
+            System.err.println("Refusing to start: set -Dbank.server.token to the API token clients must send.");
+            System.exit(1);
+        }
+        if (BINARY_PORT != null && !BINARY_UNAUTHENTICATED) {
+            System.err.println("Refusing to start: the binary endpoint has no authentication. "
+                    + "Add -Dbank.binary.unauthenticated=true to run it on a trusted network, or drop -Dbank.binary.port.");
+            System.exit(1);
+        }
+        Metrics.startReporterIfConfigured();
+        CustomerRegistry registry = new CustomerRegistry(DataManager.loadCustomers());
+        LedgerEngine.startIfEnabled(registry);
+        MaturityScheduler.startIfEnabled(registry);
+        Map<Integer, Message> supportMessages = DataManager.loadSupportMessages();
+        int maxId = supportMessages.keySet().stream().max(Integer::compare).orElse(0);
+        BankService service = new BankService(registry, supportMessages, new AtomicInteger(maxId));
+
+        System.out.println(StartupMetrics.summary());
+        HttpServer server = start(service, new InetSocketAddress(HOST, PORT), BACKLOG, TOKEN);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(1), "http-shutdown"));
+        System.out.println("Prime Bank API listening on http://" + HOST + ":" + server.getAddress().getPort() + "/api");
+
+        if (BINARY_PORT != null) {
+            BinaryServer binary = BinaryServer.start(service, new InetSocketAddress(HOST, BINARY_PORT), BINARY_MAX_IN_FLIGHT);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    binary.close();
+                } catch (IOException ignored) {
+                    // shutting down anyway
+                }
+            }, "binary-shutdown"));
+            System.out.println("Binary endpoint listening on " + HOST + ":" + binary.getPort() + " (unauthenticated)");
+        }
+    }
+
+    /** Starts an API server over the given service; port 0 picks a free port. {@code token} is required. */
+    public static HttpServer start(BankService service, InetSocketAddress address, int backlog, String token) throws IOException {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("An API token is required.");
+        }
+        // Small JSON responses should not wait on Nagle's algorithm. Read once, when the server classes load.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        HttpServer server = HttpServer.create(address, backlog);
+        server.createContext("/api/accounts", new AccountsHandler(service, token));
+        server.createContext("/api/transfers", new TransfersHandler(service, token));
+        server.createContext("/api/support/messages", new SupportHandler(service, token));
+
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        return server;
+    }
+}
@@ -0,0 +1,112 @@
+package bankingmanagementsystem.server;
+
+import bankingmanagementsystem.service.Result;
+import java.nio.ByteBuffer;
+
+/**
+ * Wire format of the binary endpoint. All integers are big-endian.
+ *
+ * <pre>
+ * request:  int length | byte opcode | long requestId | fields...
+ *   DEPOSIT   account, long amount
+ *   WITHDRAW  account, long amount
+ *   TRANSFER  account from, account to, long amount
+ *   BALANCE   account
+ *   account = byte n | n ASCII bytes (1..32); amounts are in paise
+ *
+ * response: int length | byte status | long requestId | long balance | short n | n ASCII bytes of message
+ * </pre>
+ *
+ * The length prefix counts the bytes after itself. Requests on one connection may be pipelined
+ * and run concurrently, so responses can come back in a different order; match them by requestId.
+ * The balance is the account's balance after the operation (the sender's for a transfer) and
+ * 0 on failure, when the message says why.
+ */
+public final class BinaryProtocol {
+    public static final byte DEPOSIT = 1;
+    public static final byte WITHDRAW = 2;
+    public static final byte TRANSFER = 3;
+    public static final byte BALANCE = 4;
+
+    public static final byte OK = 0;
+    public static final byte INVALID = 1;
+    public static final byte NOT_FOUND = 2;
+    public static final byte INSUFFICIENT_FUNDS = 3;
+    public static final byte REJECTED = 4;
+    public static final byte FAILED = 5;
+    /** Unknown opcode or fields that do not fit the frame; the connection stays usable. */
+    public static final byte BAD_FRAME = 6;
+
+    public static final int MAX_ACCOUNT_BYTES = 32;
+    public static final int MAX_REQUEST_BYTES = 1 + 8 + 2 * (1 + MAX_ACCOUNT_BYTES) + 8;
+    public static final int MAX_MESSAGE_BYTES = 200;
+    public static final int MAX_RESPONSE_BYTES = 4 + 1 + 8 + 8 + 2 + MAX_MESSAGE_BYTES;
+
+    private BinaryProtocol() {
+    }
+
+    static byte status(Result.Status status) {
+        switch (status) {
+            case OK: return OK;
+            case INVALID: return INVALID;
+            case NOT_FOUND: return NOT_FOUND;
+            case INSUFFICIENT_FUNDS: return INSUFFICIENT_FUNDS;
+            case REJECTED: return REJECTED;
+            default: return FAILED;
+        }
+    }
+
+    // --- request encoders, for clients ---
+
+    public static void putDeposit(ByteBuffer buffer, long requestId, String accountId, long amount) {
+        putAmountRequest(buffer, DEPOSIT, requestId, accountId, amount);
+    }
+
+    public static void putWithdraw(ByteBuffer buffer, long requestId, String accountId, long amount) {
+        putAmountRequest(buffer, WITHDRAW, requestId, accountId, amount);
+    }
+
+    public static void putTransfer(ByteBuffer buffer, long requestId, String fromAccountId, String toAccountId, long amount) {
+        int start = begin(buffer, TRANSFER, requestId);
+        putAccount(buffer, fromAccountId);
+        putAccount(buffer, toAccountId);
+        buffer.putLong(amount);
+        end(buffer, start);
+    }
+
+    public static void putBalance(ByteBuffer buffer, long requestId, String accountId) {
+        int start = begin(buffer, BALANCE, requestId);
+        putAccount(buffer, accountId);
+        end(buffer, start);
+    }
+
+    private static void putAmountRequest(ByteBuffer buffer, byte opcode, long requestId, String accountId, long amount) {
+        int start = begin(buffer, opcode, requestId);
+        putAccount(buffer, accountId);
+        buffer.putLong(amount);
+        end(buffer, start);
+    }
+
+    private static int begin(ByteBuffer buffer, byte opcode, long requestId) {
+        int start = buffer.position();
+        buffer.putInt(0);
+        buffer.put(opcode);
+        buffer.putLong(requestId);
+        return start;
+    }
+
+    private static void end(ByteBuffer buffer, int start) {
+        buffer.putInt(start, buffer.position() - start - 4);
+    }
+
+    private static void putAccount(ByteBuffer buffer, String accountId) {
+        int length = accountId.length();
+        if (length == 0 || length > MAX_ACCOUNT_BYTES) {
+            throw new IllegalArgumentException("Account numbers must be 1 to " + MAX_ACCOUNT_BYTES + " characters.");
+        }
+        buffer.put((byte) length);
+        for (int i = 0; i < length; i++) {
+            buffer.put((byte) accountId.charAt(i));
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package bankingmanagementsystem.server;
+
+import bankingmanagementsystem.Customer;
+import bankingmanagementsystem.service.BankRequest;
+import bankingmanagementsystem.service.BankService;
+import bankingmanagementsystem.service.Result;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TCP endpoint for the {@link BinaryProtocol}, for settlement clients that push high volumes of
+ * deposits, withdrawals and transfers.
+ *
+ * One selector thread owns all socket I/O. It decodes frames out of each connection's direct
+ * read buffer and hands every request to a virtual thread, because BankService calls block on
+ * the ledger engine and on group commit. Workers encode their response into the connection's
+ * direct write buffer and queue the connection for the selector to flush.
+ *
+ * A connection stops being read while it has maxInFlight unanswered requests or half a write
+ * buffer of unsent responses. This bounds the write buffer, and a slow reader only slows itself.
+ */
+public final class BinaryServer implements Closeable {
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    private static final int ACCOUNT_CACHE_SLOTS = 256;
+
+    private final BankService service;
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Queue<Connection> flushQueue = new ConcurrentLinkedQueue<>();
+    private final int maxInFlight;
+    private final int writeBufferBytes;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private static final class Connection {
+        final SocketChannel channel;
+        final SelectionKey key;
+        final ByteBuffer in = ByteBuffer.allocateDirect(READ_BUFFER_BYTES);
+        final ByteBuffer out;                        // guarded by this; workers append, the selector drains
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicBoolean queued = new AtomicBoolean();
+        // Selector thread only.
+        final byte[] accountBytes = new byte[BinaryProtocol.MAX_ACCOUNT_BYTES];
+        final String[] accountCache = new String[ACCOUNT_CACHE_SLOTS];
+        boolean readPaused;
+        volatile boolean closed;
+
+        Connection(SocketChannel channel, SelectionKey key, int writeBufferBytes) {
+            this.channel = channel;
+            this.key = key;
+            this.out = ByteBuffer.allocateDirect(writeBufferBytes);
+        }
+    }
+
+    private BinaryServer(BankService service, InetSocketAddress address, int maxInFlight) throws IOException {
+        this.service = service;
+        this.maxInFlight = maxInFlight;
+        this.writeBufferBytes = 2 * maxInFlight * BinaryProtocol.MAX_RESPONSE_BYTES;
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        server.bind(address, 1024);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        this.thread = new Thread(this::run, "binary-selector");
+    }
+
+    public static BinaryServer start(BankService service, InetSocketAddress address, int maxInFlight) throws IOException {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1.");
+        }
+        BinaryServer binaryServer = new BinaryServer(service, address, maxInFlight);
+        binaryServer.thread.start();
+        return binaryServer;
+    }
+
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) server.getLocalAddress()).getPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.shutdown();
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select();
+                Connection ready;
+                while ((ready = flushQueue.poll()) != null) {
+                    ready.queued.set(false);
+                    flush(ready);
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    if (key.isReadable()) {
+                        read(connection);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        flush(connection);
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (running) {
+                System.err.println("Binary endpoint stopped: " + e.getMessage());
+            }
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key);
+            }
+            closeQuietly(selector);
+            closeQuietly(server);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            key.attach(new Connection(channel, key, writeBufferBytes));
+        }
+    }
+
+    private void read(Connection connection) {
+        int n;
+        try {
+            n = connection.channel.read(connection.in);
+        } catch (IOException e) {
+            n = -1;
+        }
+        if (n < 0) {
+            close(connection);
+            return;
+        }
+        decodeFrames(connection);
+    }
+
+    // Decodes every complete frame in the read buffer, stopping early when the connection hits its limits.
+    private void decodeFrames(Connection connection) {
+        ByteBuffer in = connection.in;
+        in.flip();
+        try {
+            while (in.remaining() >= 4) {
+                if (mustPause(connection)) {
+                    pauseReading(connection);
+                    return;
+                }
+                int length = in.getInt(in.position());
+                if (length < 9 || length > BinaryProtocol.MAX_REQUEST_BYTES) {
+                    // Framing is lost; there is no way to find the next frame.
+                    close(connection);
+                    return;
+                }
+                if (in.remaining() < 4 + length) {
+                    break;
+                }
+                int end = in.position() + 4 + length;
+                in.position(in.position() + 4);
+                dispatch(connection, in, end);
+                in.position(end);
+            }
+        } finally {
+            in.compact();
+        }
+    }
+
+    private void dispatch(Connection connection, ByteBuffer in, int end) {
+        byte opcode = in.get();
+        long requestId = in.getLong();
+        String from = account(connection, in, end);
+        String to = opcode == BinaryProtocol.TRANSFER ? account(connection, in, end) : null;
+        boolean hasAmount = opcode != BinaryProtocol.BALANCE;
+        boolean valid = from != null && (opcode != BinaryProtocol.TRANSFER || to != null)
+                && in.position() + (hasAmount ? 8 : 0) == end
+                && opcode >= BinaryProtocol.DEPOSIT && opcode <= BinaryProtocol.BALANCE;
+        connection.inFlight.incrementAndGet();
+        if (!valid) {
+            respond(connection, BinaryProtocol.BAD_FRAME, requestId, 0, "Malformed request or unknown opcode " + opcode + ".");
+            return;
+        }
+        long amount = hasAmount ? in.getLong() : 0;
+        workers.execute(() -> execute(connection, opcode, requestId, from, to, amount));
+    }
+
+    private void execute(Connection connection, byte opcode, long requestId, String from, String to, long amount) {
+        Result<Long> result;
+        try {
+            switch (opcode) {
+                case BinaryProtocol.DEPOSIT:
+                    result = service.deposit(new BankRequest.Deposit(from, amount));
+                    break;
+                case BinaryProtocol.WITHDRAW:
+                    result = service.withdraw(new BankRequest.Withdraw(from, amount));
+                    break;
+                case BinaryProtocol.TRANSFER:
+                    result = service.transfer(new BankRequest.Transfer(from, to, amount));
+                    break;
+                default:
+                    Result<Customer> found = service.find(from);
+                    result = found.isOk()
+                            ? Result.ok(found.getValue().getAccount().getBalance())
+                            : Result.error(found.getStatus(), found.getMessage());
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Error handling binary request " + requestId + " (opcode " + opcode + "): " + e);
+            result = Result.error(Result.Status.FAILED, "Internal error.");
+        }
+        if (result.isOk()) {
+            respond(connection, BinaryProtocol.OK, requestId, result.getValue(), null);
+        } else {
+            respond(connection, BinaryProtocol.status(result.getStatus()), requestId, 0, result.getMessage());
+        }
+    }
+
+    // Called by workers, and by the selector for bad frames.
+    private void respond(Connection connection, byte status, long requestId, long balance, String message) {
+        if (connection.closed) {
+            connection.inFlight.decrementAndGet();
+            return;
+        }
+        int messageLength = message == null ? 0 : Math.min(message.length(), BinaryProtocol.MAX_MESSAGE_BYTES);
+        synchronized (connection) {
+            ByteBuffer out = connection.out;
+            out.putInt(1 + 8 + 8 + 2 + messageLength);
+            out.put(status);
+            out.putLong(requestId);
+            out.putLong(balance);
+            out.putShort((short) messageLength);
+            for (int i = 0; i < messageLength; i++) {
+                char c = message.charAt(i);
+                out.put(c < 0x80 ? (byte) c : (byte) '?');
+            }
+        }
+        connection.inFlight.decrementAndGet();
+        if (connection.queued.compareAndSet(false, true)) {
+            flushQueue.add(connection);
+            selector.wakeup();
+        }
+    }
+
+    private void flush(Connection connection) {
+        if (connection.closed) {
+            return;
+        }
+        boolean drained;
+        synchronized (connection) {
+            ByteBuffer out = connection.out;
+            out.flip();
+            try {
+                connection.channel.write(out);
+            } catch (IOException e) {
+                out.clear();
+                close(connection);
+                return;
+            }
+            drained = !out.hasRemaining();
+            out.compact();
+        }
+        SelectionKey key = connection.key;
+        int ops = key.interestOps();
+        key.interestOps(drained ? ops & ~SelectionKey.OP_WRITE : ops | SelectionKey.OP_WRITE);
+        if (connection.readPaused && !mustPause(connection)) {
+            connection.readPaused = false;
+            key.interestOps(key.interestOps() | SelectionKey.OP_READ);
+            decodeFrames(connection);  // frames may already be waiting in the read buffer
+        }
+    }
+
+    private boolean mustPause(Connection connection) {
+        if (connection.inFlight.get() >= maxInFlight) {
+            return true;
+        }
+        synchronized (connection) {
+            return connection.out.position() >= writeBufferBytes / 2;
+        }
+    }
+
+    private void pauseReading(Connection connection) {
+        connection.readPaused = true;
+        SelectionKey key = connection.key;
+        if (key.isValid()) {
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+        }
+    }
+
+    /**
+     * Reads a length-prefixed account number. Each connection keeps a small cache of the numbers
+     * it has seen, so clients that repeatedly settle against the same accounts decode them
+     * without creating a new String.
+     */
+    private static String account(Connection connection, ByteBuffer in, int end) {
+        if (in.position() >= end) {
+            return null;
+        }
+        int length = in.get() & 0xFF;
+        if (length == 0 || length > BinaryProtocol.MAX_ACCOUNT_BYTES || in.position() + length > end) {
+            return null;
+        }
+        byte[] bytes = connection.accountBytes;
+        in.get(bytes, 0, length);
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        int slot = (hash ^ (hash >>> 16)) & (ACCOUNT_CACHE_SLOTS - 1);
+        String cached = connection.accountCache[slot];
+        if (cached != null && matches(cached, bytes, length)) {
+            return cached;
+        }
+        String accountId = new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+        connection.accountCache[slot] = accountId;
+        return accountId;
+    }
+
+    private static boolean matches(String s, byte[] bytes, int length) {
+        if (s.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (s.charAt(i) != (bytes[i] & 0xFF)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void close(Connection connection) {
+        connection.closed = true;
+        closeQuietly(connection.key);
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        closeQuietly(key.channel());
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // already closing
+        }
+    }
+}
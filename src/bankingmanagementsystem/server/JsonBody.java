@@ -0,0 +1,175 @@
+package bankingmanagementsystem.server;
+
+import bankingmanagementsystem.Money;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A request body: one flat JSON object whose values are strings, numbers, booleans or null.
+ *
+ * Every request in the API is flat, so nested values are rejected rather than parsed. Numbers are
+ * kept as their source text and amounts go through Money.parse, never through a double.
+ * Malformed input raises IllegalArgumentException, which the handlers report as 400.
+ */
+final class JsonBody {
+    static final int MAX_BYTES = 64 * 1024;
+
+    private static final JsonBody EMPTY = new JsonBody(new HashMap<>());
+
+    private final Map<String, String> fields;
+
+    private JsonBody(Map<String, String> fields) {
+        this.fields = fields;
+    }
+
+    static JsonBody read(InputStream in) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        byte[] chunk = new byte[4096];
+        int n;
+        while ((n = in.read(chunk)) != -1) {
+            if (buffer.size() + n > MAX_BYTES) {
+                throw new IllegalArgumentException("Request body is larger than " + MAX_BYTES + " bytes.");
+            }
+            buffer.write(chunk, 0, n);
+        }
+        String text = buffer.toString(StandardCharsets.UTF_8);
+        return text.isBlank() ? EMPTY : new JsonBody(new Parser(text).parseObject());
+    }
+
+    /** Returns the field as text, or null when it is absent or JSON null. */
+    String text(String name) {
+        return fields.get(name);
+    }
+
+    String requireText(String name) {
+        String value = fields.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing field: " + name);
+        }
+        return value;
+    }
+
+    long amount(String name) {
+        return Money.parse(requireText(name));
+    }
+
+    int integer(String name) {
+        return Integer.parseInt(requireText(name));
+    }
+
+    LocalDate date(String name) {
+        String value = fields.get(name);
+        return value == null ? null : LocalDate.parse(value);
+    }
+
+    private static final class Parser {
+        private final String s;
+        private int pos;
+
+        Parser(String s) {
+            this.s = s;
+        }
+
+        Map<String, String> parseObject() {
+            Map<String, String> fields = new HashMap<>();
+            skipSpace();
+            expect('{');
+            skipSpace();
+            if (peek() == '}') {
+                pos++;
+            } else {
+                while (true) {
+                    skipSpace();
+                    String name = parseString();
+                    skipSpace();
+                    expect(':');
+                    skipSpace();
+                    fields.put(name, parseScalar());
+                    skipSpace();
+                    char c = next();
+                    if (c == '}') break;
+                    if (c != ',') throw error("Expected ',' or '}'");
+                }
+            }
+            skipSpace();
+            if (pos != s.length()) throw error("Unexpected trailing content");
+            return fields;
+        }
+
+        private String parseScalar() {
+            char c = peek();
+            if (c == '"') return parseString();
+            if (c == '{' || c == '[') throw error("Nested values are not supported");
+            int start = pos;
+            while (pos < s.length() && "-+.0123456789eEtrufalsn".indexOf(s.charAt(pos)) >= 0) {
+                pos++;
+            }
+            String token = s.substring(start, pos);
+            if (token.equals("null")) return null;
+            if (token.equals("true") || token.equals("false")) return token;
+            if (!token.isEmpty() && (token.charAt(0) == '-' || Character.isDigit(token.charAt(0)))) return token;
+            throw error("Unexpected value");
+        }
+
+        private String parseString() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') return sb.toString();
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char e = next();
+                switch (e) {
+                    case '"': case '\\': case '/': sb.append(e); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'u':
+                        if (pos + 4 > s.length()) throw error("Truncated escape");
+                        try {
+                            sb.append((char) Integer.parseInt(s.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException ex) {
+                            throw error("Bad unicode escape");
+                        }
+                        pos += 4;
+                        break;
+                    default:
+                        throw error("Bad escape");
+                }
+            }
+        }
+
+        private void skipSpace() {
+            while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) pos++;
+        }
+
+        private char peek() {
+            if (pos >= s.length()) throw error("Unexpected end of input");
+            return s.charAt(pos);
+        }
+
+        private char next() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        private void expect(char c) {
+            if (next() != c) throw error("Expected '" + c + "'");
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Malformed JSON at offset " + pos + ": " + message + ".");
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package bankingmanagementsystem.server;
+
+import bankingmanagementsystem.service.BankService;
+import bankingmanagementsystem.service.Result;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base for the API handlers: token check, path splitting, error mapping and JSON responses.
+ *
+ * Subclasses route on the method and the path segments below their context and report the
+ * outcome through {@link #send}, {@link #sendValue} or {@link #sendError}.
+ */
+abstract class JsonHandler implements HttpHandler {
+    protected final BankService service;
+    private final byte[] expectedAuthorization;
+
+    /** Writes the body of a successful response. */
+    interface Body<T> {
+        void write(JsonWriter json, T value) throws IOException;
+    }
+
+    JsonHandler(BankService service, String token) {
+        this.service = service;
+        this.expectedAuthorization = ("Bearer " + token).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public final void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!authorized(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                sendError(exchange, 401, "UNAUTHORIZED", "Missing or invalid API token.");
+                return;
+            }
+            serve(exchange, exchange.getRequestMethod(), segments(exchange));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Malformed JSON, a bad amount or date, a missing field; NumberFormatException lands here too.
+            if (exchange.getResponseCode() == -1) {
+                sendError(exchange, 400, "INVALID", e.getMessage());
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            System.err.println("Error handling " + exchange.getRequestMethod() + " " + exchange.getRequestURI() + ": " + e);
+            if (exchange.getResponseCode() == -1) {
+                sendError(exchange, 500, "FAILED", "Internal error.");
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // Compared in constant time, so response timing does not reveal how much of the token matched.
+    private boolean authorized(String authorization) {
+        return authorization != null
+                && MessageDigest.isEqual(expectedAuthorization, authorization.getBytes(StandardCharsets.UTF_8));
+    }
+
+    abstract void serve(HttpExchange exchange, String method, String[] path) throws IOException;
+
+    static JsonBody body(HttpExchange exchange) throws IOException {
+        return JsonBody.read(exchange.getRequestBody());
+    }
+
+    static <T> void send(HttpExchange exchange, int status, Result<T> result, Body<T> body) throws IOException {
+        if (!result.isOk()) {
+            sendError(exchange, statusCode(result.getStatus()), result.getStatus().name(), result.getMessage());
+            return;
+        }
+        sendValue(exchange, status, result.getValue(), body);
+    }
+
+    static <T> void sendValue(HttpExchange exchange, int status, T value, Body<T> body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, 0);  // chunked: the body is streamed, its length is not known up front
+        try (JsonWriter json = new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), 4096))) {
+            body.write(json, value);
+        }
+    }
+
+    static void sendError(HttpExchange exchange, int status, String code, String message) throws IOException {
+        sendValue(exchange, status, message, (json, text) -> json.beginObject()
+                .name("status").value(code)
+                .name("message").value(text)
+                .endObject());
+    }
+
+    static void notFound(HttpExchange exchange) throws IOException {
+        sendError(exchange, 404, "NOT_FOUND", "No such resource: " + exchange.getRequestURI().getPath());
+    }
+
+    static void methodNotAllowed(HttpExchange exchange) throws IOException {
+        sendError(exchange, 405, "INVALID", exchange.getRequestMethod() + " is not supported on " + exchange.getRequestURI().getPath());
+    }
+
+    static int statusCode(Result.Status status) {
+        switch (status) {
+            case OK: return 200;
+            case INVALID: return 400;
+            case NOT_FOUND: return 404;
+            case INSUFFICIENT_FUNDS: return 409;
+            case REJECTED: return 422;
+            default: return 500;
+        }
+    }
+
+    /** Returns the value of a query parameter, or null. Values are used as is, without URL decoding. */
+    static String query(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            if (key.equals(name)) {
+                return eq < 0 ? "" : pair.substring(eq + 1);
+            }
+        }
+        return null;
+    }
+
+    private static String[] segments(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        String rest = path.substring(Math.min(path.length(), exchange.getHttpContext().getPath().length()));
+        List<String> parts = new ArrayList<>();
+        for (String part : rest.split("/")) {
+            if (!part.isEmpty()) {
+                parts.add(part);
+            }
+        }
+        return parts.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,205 @@
+package bankingmanagementsystem.server;
+
+import bankingmanagementsystem.Money;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Streaming JSON writer: tokens go straight to the underlying Writer, so a response is never
+ * built up as a tree of maps and lists first.
+ *
+ * Only the comma state is tracked, one bit per nesting level, which keeps the writer allocation
+ * free once constructed.
+ */
+public final class JsonWriter implements Flushable, Closeable {
+    private static final int MAX_DEPTH = 63;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer out;
+    private final StringBuilder scratch = new StringBuilder(24);
+    private final char[] digits = new char[32];
+    private long hasMembers;  // bit n is set once the container at depth n has an element
+    private int depth;
+    private boolean afterName;
+
+    public JsonWriter(Writer out) {
+        this.out = out;
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        return open('{');
+    }
+
+    public JsonWriter endObject() throws IOException {
+        return close('}');
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        return open('[');
+    }
+
+    public JsonWriter endArray() throws IOException {
+        return close(']');
+    }
+
+    public JsonWriter name(String name) throws IOException {
+        if (depth == 0 || afterName) {
+            throw new IllegalStateException("A name is only valid directly inside an object.");
+        }
+        separator();
+        writeString(name);
+        out.write(':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        writeString(value);
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        beforeValue();
+        scratch.setLength(0);
+        writeScratch(scratch.append(value));
+        return this;
+    }
+
+    public JsonWriter value(int value) throws IOException {
+        return value((long) value);
+    }
+
+    public JsonWriter value(double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return nullValue();
+        }
+        beforeValue();
+        scratch.setLength(0);
+        writeScratch(scratch.append(value));
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        out.write(value ? "true" : "false");
+        return this;
+    }
+
+    public JsonWriter value(LocalDate value) throws IOException {
+        return value == null ? nullValue() : value(value.toString());
+    }
+
+    public JsonWriter value(LocalDateTime value) throws IOException {
+        return value == null ? nullValue() : value(value.toString());
+    }
+
+    /** Writes an amount in paise as a rupee number with two decimals, e.g. 1234.50. */
+    public JsonWriter money(long paise) throws IOException {
+        beforeValue();
+        scratch.setLength(0);
+        writeScratch(Money.appendTo(scratch, paise));
+        return this;
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        beforeValue();
+        out.write("null");
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private JsonWriter open(char bracket) throws IOException {
+        if (depth == MAX_DEPTH) {
+            throw new IllegalStateException("JSON nested deeper than " + MAX_DEPTH + " levels.");
+        }
+        beforeValue();
+        out.write(bracket);
+        depth++;
+        hasMembers &= ~(1L << depth);
+        return this;
+    }
+
+    private JsonWriter close(char bracket) throws IOException {
+        if (depth == 0 || afterName) {
+            throw new IllegalStateException("Unbalanced '" + bracket + "'.");
+        }
+        depth--;
+        out.write(bracket);
+        return this;
+    }
+
+    private void beforeValue() throws IOException {
+        if (afterName) {
+            afterName = false;
+        } else if (depth > 0) {
+            separator();
+        }
+    }
+
+    private void separator() throws IOException {
+        long bit = 1L << depth;
+        if ((hasMembers & bit) != 0) {
+            out.write(',');
+        } else {
+            hasMembers |= bit;
+        }
+    }
+
+    // Writer.append(CharSequence) would allocate a String per number.
+    private void writeScratch(StringBuilder sb) throws IOException {
+        int length = sb.length();
+        sb.getChars(0, length, digits, 0);
+        out.write(digits, 0, length);
+    }
+
+    // Copies runs of plain characters in one call and escapes only what JSON requires.
+    private void writeString(String s) throws IOException {
+        out.write('"');
+        int start = 0;
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029') {
+                continue;
+            }
+            if (i > start) {
+                out.write(s, start, i - start);
+            }
+            switch (c) {
+                case '"': out.write("\\\""); break;
+                case '\\': out.write("\\\\"); break;
+                case '\n': out.write("\\n"); break;
+                case '\r': out.write("\\r"); break;
+                case '\t': out.write("\\t"); break;
+                default:
+                    out.write("\\u");
+                    out.write(HEX[(c >> 12) & 0xF]);
+                    out.write(HEX[(c >> 8) & 0xF]);
+                    out.write(HEX[(c >> 4) & 0xF]);
+                    out.write(HEX[c & 0xF]);
+            }
+            start = i + 1;
+        }
+        if (start < length) {
+            out.write(s, start, length - start);
+        }
+        out.write('"');
+    }
+}
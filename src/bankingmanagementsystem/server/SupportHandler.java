@@ -0,0 +1,76 @@
+package bankingmanagementsystem.server;
+
+import bankingmanagementsystem.Message;
+import bankingmanagementsystem.service.BankRequest;
+import bankingmanagementsystem.service.BankService;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * /api/support/messages
+ *
+ * <pre>
+ * GET  /api/support/messages?accountId&unresolved=true
+ * POST /api/support/messages              {"accountId", "content"}
+ * POST /api/support/messages/{id}/reply   {"reply"}
+ * </pre>
+ */
+final class SupportHandler extends JsonHandler {
+
+    SupportHandler(BankService service, String token) {
+        super(service, token);
+    }
+
+    @Override
+    void serve(HttpExchange exchange, String method, String[] path) throws IOException {
+        if (path.length == 0 && method.equals("GET")) {
+            list(exchange);
+        } else if (path.length == 0 && method.equals("POST")) {
+            JsonBody body = body(exchange);
+            BankRequest.SendMessage request = new BankRequest.SendMessage(body.requireText("accountId"), body.text("content"));
+            send(exchange, 201, service.sendSupportMessage(request), SupportHandler::writeMessage);
+        } else if (path.length == 2 && path[1].equals("reply") && method.equals("POST")) {
+            int messageId = Integer.parseInt(path[0]);
+            BankRequest.ReplyToMessage request = new BankRequest.ReplyToMessage(messageId, body(exchange).text("reply"));
+            send(exchange, 200, service.replyToMessage(request), SupportHandler::writeMessage);
+        } else if (path.length == 0 || (path.length == 2 && path[1].equals("reply"))) {
+            methodNotAllowed(exchange);
+        } else {
+            notFound(exchange);
+        }
+    }
+
+    private void list(HttpExchange exchange) throws IOException {
+        String accountId = query(exchange, "accountId");
+        boolean unresolvedOnly = "true".equals(query(exchange, "unresolved"));
+        List<Message> matching = new ArrayList<>();
+        for (Message message : service.getSupportMessages().values()) {
+            if ((accountId == null || accountId.equals(message.getCustomerAccountNumber()))
+                    && (!unresolvedOnly || !message.isResolved())) {
+                matching.add(message);
+            }
+        }
+        matching.sort((a, b) -> Integer.compare(a.getMessageId(), b.getMessageId()));
+        sendValue(exchange, 200, matching, (json, messages) -> {
+            json.beginArray();
+            for (Message message : messages) {
+                writeMessage(json, message);
+            }
+            json.endArray();
+        });
+    }
+
+    static void writeMessage(JsonWriter json, Message message) throws IOException {
+        json.beginObject()
+                .name("messageId").value(message.getMessageId())
+                .name("accountId").value(message.getCustomerAccountNumber())
+                .name("customerName").value(message.getCustomerName())
+                .name("content").value(message.getContent())
+                .name("reply").value(message.getReply())
+                .name("resolved").value(message.isResolved())
+                .name("dateCreated").value(message.getDateCreated())
+                .endObject();
+    }
+}
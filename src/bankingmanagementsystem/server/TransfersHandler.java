@@ -0,0 +1,36 @@
+package bankingmanagementsystem.server;
+
+import bankingmanagementsystem.service.BankRequest;
+import bankingmanagementsystem.service.BankService;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+
+/**
+ * /api/transfers
+ *
+ * <pre>
+ * POST /api/transfers    {"fromAccountId", "toAccountId", "amount"}
+ * </pre>
+ */
+final class TransfersHandler extends JsonHandler {
+
+    TransfersHandler(BankService service, String token) {
+        super(service, token);
+    }
+
+    @Override
+    void serve(HttpExchange exchange, String method, String[] path) throws IOException {
+        if (path.length != 0) {
+            notFound(exchange);
+            return;
+        }
+        if (!method.equals("POST")) {
+            methodNotAllowed(exchange);
+            return;
+        }
+        JsonBody body = body(exchange);
+        String from = body.requireText("fromAccountId");
+        BankRequest.Transfer request = new BankRequest.Transfer(from, body.requireText("toAccountId"), body.amount("amount"));
+        send(exchange, 200, service.transfer(request), (json, balance) -> AccountsHandler.writeBalance(json, from, balance));
+    }
+}
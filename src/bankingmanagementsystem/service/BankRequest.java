@@ -0,0 +1,212 @@
+package bankingmanagementsystem.service;
+
+import java.time.LocalDate;
+
+/**
+ * Typed requests accepted by {@link BankService}. Accounts are named by account number and
+ * amounts are in paise, so a request can come from a prompt, a form or the network alike.
+ * {@link BankService#execute} dispatches any request to the matching method.
+ */
+public abstract class BankRequest {
+    private BankRequest() {
+    }
+
+    abstract Result<?> dispatch(BankService service);
+
+    public static final class Register extends BankRequest {
+        private final String name;
+        private final LocalDate dob;
+        private final String address;
+        private final long salary;
+        private final String accountType;
+        private final long minBalance;
+        private final String password;
+        private final String securityQuestion;
+        private final String securityAnswer;
+
+        public Register(String name, LocalDate dob, String address, long salary, String accountType,
+                        long minBalance, String password, String securityQuestion, String securityAnswer) {
+            this.name = name;
+            this.dob = dob;
+            this.address = address;
+            this.salary = salary;
+            this.accountType = accountType;
+            this.minBalance = minBalance;
+            this.password = password;
+            this.securityQuestion = securityQuestion;
+            this.securityAnswer = securityAnswer;
+        }
+
+        public String getName() { return name; }
+        public LocalDate getDob() { return dob; }
+        public String getAddress() { return address; }
+        public long getSalary() { return salary; }
+        public String getAccountType() { return accountType; }
+        public long getMinBalance() { return minBalance; }
+        public String getPassword() { return password; }
+        public String getSecurityQuestion() { return securityQuestion; }
+        public String getSecurityAnswer() { return securityAnswer; }
+
+        @Override
+        Result<?> dispatch(BankService service) { return service.register(this); }
+    }
+
+    public static final class Deposit extends BankRequest {
+        private final String accountId;
+        private final long amount;
+
+        public Deposit(String accountId, long amount) {
+            this.accountId = accountId;
+            this.amount = amount;
+        }
+
+        public String getAccountId() { return accountId; }
+        public long getAmount() { return amount; }
+
+        @Override
+        Result<?> dispatch(BankService service) { return service.deposit(this); }
+    }
+
+    public static final class Withdraw extends BankRequest {
+        private final String accountId;
+        private final long amount;
+
+        public Withdraw(String accountId, long amount) {
+            this.accountId = accountId;
+            this.amount = amount;
+        }
+
+        public String getAccountId() { return accountId; }
+        public long getAmount() { return amount; }
+
+        @Override
+        Result<?> dispatch(BankService service) { return service.withdraw(this); }
+    }
+
+    public static final class Transfer extends BankRequest {
+        private final String fromAccountId;
+        private final String toAccountId;
+        private final long amount;
+
+        public Transfer(String fromAccountId, String toAccountId, long amount) {
+            this.fromAccountId = fromAccountId;
+            this.toAccountId = toAccountId;
+            this.amount = amount;
+        }
+
+        public String getFromAccountId() { return fromAccountId; }
+        public String getToAccountId() { return toAccountId; }
+        public long getAmount() { return amount; }
+
+        @Override
+        Result<?> dispatch(BankService service) { return service.transfer(this); }
+    }
+
+    public static final class ApplyLoan extends BankRequest {
+        private final String accountId;
+        private final String loanType;
+        private final long amount;
+        private final int tenureYears;
+
+        public ApplyLoan(String accountId, String loanType, long amount, int tenureYears) {
+            this.accountId = accountId;
+            this.loanType = loanType;
+            this.amount = amount;
+            this.tenureYears = tenureYears;
+        }
+
+        public String getAccountId() { return accountId; }
+        public String getLoanType() { return loanType; }
+        public long getAmount() { return amount; }
+        public int getTenureYears() { return tenureYears; }
+
+        @Override
+        Result<?> dispatch(BankService service) { return service.applyForLoan(this); }
+    }
+
+    public static final class RepayLoan extends BankRequest {
+        private final String accountId;
+        private final String loanId;
+        private final long amount;
+
+        public RepayLoan(String accountId, String loanId, long amount) {
+            this.accountId = accountId;
+            this.loanId = loanId;
+            this.amount = amount;
+        }
+
+        public String getAccountId() { return accountId; }
+        public String getLoanId() { return loanId; }
+        public long getAmount() { return amount; }
+
+        @Override
+        Result<?> dispatch(BankService service) { return service.repayLoan(this); }
+    }
+
+    public static final class CreateDeposit extends BankRequest {
+        private final String accountId;
+        private final long amount;
+        private final int tenureYears;
+
+        public CreateDeposit(String accountId, long amount, int tenureYears) {
+            this.accountId = accountId;
+            this.amount = amount;
+            this.tenureYears = tenureYears;
+        }
+
+        public String getAccountId() { return accountId; }
+        public long getAmount() { return amount; }
+        public int getTenureYears() { return tenureYears; }
+
+        @Override
+        Result<?> dispatch(BankService service) { return service.createFixedDeposit(this); }
+    }
+
+    public static final class MatureDeposits extends BankRequest {
+        private final String accountId;
+        private final LocalDate asOf;
+
+        public MatureDeposits(String accountId, LocalDate asOf) {
+            this.accountId = accountId;
+            this.asOf = asOf;
+        }
+
+        public String getAccountId() { return accountId; }
+        public LocalDate getAsOf() { return asOf; }
+
+        @Override
+        Result<?> dispatch(BankService service) { return service.matureFixedDeposits(this); }
+    }
+
+    public static final class SendMessage extends BankRequest {
+        private final String accountId;
+        private final String content;
+
+        public SendMessage(String accountId, String content) {
+            this.accountId = accountId;
+            this.content = content;
+        }
+
+        public String getAccountId() { return accountId; }
+        public String getContent() { return content; }
+
+        @Override
+        Result<?> dispatch(BankService service) { return service.sendSupportMessage(this); }
+    }
+
+    public static final class ReplyToMessage extends BankRequest {
+        private final int messageId;
+        private final String reply;
+
+        public ReplyToMessage(int messageId, String reply) {
+            this.messageId = messageId;
+            this.reply = reply;
+        }
+
+        public int getMessageId() { return messageId; }
+        public String getReply() { return reply; }
+
+        @Override
+        Result<?> dispatch(BankService service) { return service.replyToMessage(this); }
+    }
+}
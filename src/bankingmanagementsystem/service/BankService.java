@@ -0,0 +1,442 @@
+package bankingmanagementsystem.service;
+
+import bankingmanagementsystem.Customer;
+import bankingmanagementsystem.CustomerRegistry;
+import bankingmanagementsystem.DataManager;
+import bankingmanagementsystem.Investment;
+import bankingmanagementsystem.Loan;
+import bankingmanagementsystem.MaturityScheduler;
+import bankingmanagementsystem.Message;
+import bankingmanagementsystem.Money;
+import bankingmanagementsystem.exceptions.AccountNotFoundException;
+import bankingmanagementsystem.exceptions.InsufficientFundsException;
+import bankingmanagementsystem.exceptions.InvalidAmountException;
+import bankingmanagementsystem.exceptions.LoanNotFoundException;
+import bankingmanagementsystem.ledger.LedgerCommand;
+import bankingmanagementsystem.ledger.LedgerEngine;
+import bankingmanagementsystem.metrics.Counter;
+import bankingmanagementsystem.metrics.LatencyHistogram;
+import bankingmanagementsystem.metrics.Metrics;
+import bankingmanagementsystem.persistence.JournalEntry;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The bank's operations without any user interface: every call takes a typed request and
+ * returns a {@link Result}, never prompts and never prints. The CLI menus and the Swing panels
+ * are clients of this class, and so is anything that drives the bank programmatically.
+ *
+ * Money movements go through {@link LedgerEngine}; everything else is applied here and saved
+ * with {@link DataManager#commit}. Methods are safe to call from many threads.
+ */
+public class BankService {
+    public static final List<Long> MIN_BALANCE_CHOICES = Arrays.asList(0L, Money.ofRupees(5000), Money.ofRupees(10000));
+    public static final double FD_INTEREST_RATE = 6.5;
+
+    // Latency of every call plus a count of the ones that did not succeed, as op.<name> and op.<name>.failed.
+    private static final Operation LOGIN = new Operation("login");
+    private static final Operation REGISTER = new Operation("register");
+    private static final Operation DEPOSIT = new Operation("deposit");
+    private static final Operation WITHDRAW = new Operation("withdraw");
+    private static final Operation SEND_MONEY = new Operation("sendMoney");
+    private static final Operation APPLY_LOAN = new Operation("applyForLoan");
+    private static final Operation PAY_LOAN = new Operation("payLoanInstallment");
+    private static final Operation ADD_INVESTMENT = new Operation("addInvestment");
+    private static final Operation MATURE_DEPOSITS = new Operation("matureDeposits");
+    private static final Operation CONTACT_SUPPORT = new Operation("contactSupport");
+    private static final Operation REPLY_SUPPORT = new Operation("replySupport");
+
+    private final CustomerRegistry registry;
+    private final Map<Integer, Message> supportMessages;
+    private final AtomicInteger messageIdCounter;
+
+    public BankService(CustomerRegistry registry, Map<Integer, Message> supportMessages, AtomicInteger messageIdCounter) {
+        this.registry = registry;
+        this.supportMessages = supportMessages;
+        this.messageIdCounter = messageIdCounter;
+    }
+
+    private static final class Operation {
+        private final LatencyHistogram latency;
+        private final Counter failed;
+
+        Operation(String name) {
+            this.latency = Metrics.histogram("op." + name);
+            this.failed = Metrics.counter("op." + name + ".failed");
+        }
+
+        <T> Result<T> record(long startNanos, Result<T> result) {
+            latency.recordSince(startNanos);
+            if (!result.isOk()) {
+                failed.increment();
+            }
+            return result;
+        }
+    }
+
+    /** What a loan repayment actually paid; the request is capped at the amount due. */
+    public static final class Repayment {
+        private final Loan loan;
+        private final long amountPaid;
+        private final boolean capped;
+        private final boolean fullyPaid;
+
+        Repayment(Loan loan, long amountPaid, boolean capped, boolean fullyPaid) {
+            this.loan = loan;
+            this.amountPaid = amountPaid;
+            this.capped = capped;
+            this.fullyPaid = fullyPaid;
+        }
+
+        public Loan getLoan() { return loan; }
+        public long getAmountPaid() { return amountPaid; }
+        public boolean isCapped() { return capped; }
+        /** Whether this payment cleared the loan. */
+        public boolean isFullyPaid() { return fullyPaid; }
+    }
+
+    public CustomerRegistry getRegistry() {
+        return registry;
+    }
+
+    public Map<Integer, Message> getSupportMessages() {
+        return supportMessages;
+    }
+
+    public Result<?> execute(BankRequest request) {
+        return request.dispatch(this);
+    }
+
+    public Result<Customer> find(String accountId) {
+        Customer customer = registry.findOrNull(accountId);
+        return customer == null
+                ? Result.error(Result.Status.NOT_FOUND, "No customer found with account number: " + accountId)
+                : Result.ok(customer);
+    }
+
+    public Result<Customer> authenticate(String accountId, String password) {
+        long start = System.nanoTime();
+        return LOGIN.record(start, doAuthenticate(accountId, password));
+    }
+
+    private Result<Customer> doAuthenticate(String accountId, String password) {
+        Customer customer = registry.findOrNull(accountId);
+        if (customer == null || password == null || !customer.checkPassword(password)) {
+            return Result.error(Result.Status.NOT_FOUND, "Invalid Account Number or Password.");
+        }
+        return Result.ok(customer);
+    }
+
+    public Result<Customer> register(BankRequest.Register request) {
+        long start = System.nanoTime();
+        return REGISTER.record(start, doRegister(request));
+    }
+
+    private Result<Customer> doRegister(BankRequest.Register request) {
+        if (isBlank(request.getName())) return invalid("Name cannot be blank.");
+        if (request.getDob() == null) return invalid("Date of Birth cannot be blank.");
+        if (request.getDob().isAfter(LocalDate.now())) return invalid("Date of Birth cannot be in the future.");
+        if (isBlank(request.getAddress())) return invalid("Address cannot be blank.");
+        if (request.getSalary() < 0) return invalid("Salary cannot be negative.");
+        String accountType = request.getAccountType();
+        if (!"Personal".equalsIgnoreCase(accountType) && !"Business".equalsIgnoreCase(accountType)) {
+            return invalid("Invalid Account Type. Please enter 'Personal' or 'Business'.");
+        }
+        if (!MIN_BALANCE_CHOICES.contains(request.getMinBalance())) {
+            return invalid("Invalid minimum balance. Please select from 0, 5000, or 10000.");
+        }
+        if (isBlank(request.getPassword())) return invalid("Password cannot be blank.");
+
+        Customer customer = new Customer(request.getName(), request.getDob(), request.getAddress(), request.getSalary(),
+                accountType, request.getMinBalance(), request.getPassword());
+        if (request.getSecurityQuestion() != null) {
+            customer.setSecurityQuestion(request.getSecurityQuestion());
+            customer.setSecurityAnswer(request.getSecurityAnswer());
+        }
+        JournalEntry entry = JournalEntry.register(customer);
+        DataManager.beginChange();
+        try {
+            DataManager.sequence(entry);
+            registry.register(customer);
+        } finally {
+            DataManager.endChange(entry);
+        }
+        return saved(DataManager.commit(registry.customers(), entry), customer);
+    }
+
+    /** Returns the balance after the deposit. */
+    public Result<Long> deposit(BankRequest.Deposit request) {
+        long start = System.nanoTime();
+        return DEPOSIT.record(start, doDeposit(request));
+    }
+
+    private Result<Long> doDeposit(BankRequest.Deposit request) {
+        if (request.getAmount() <= 0) return invalid("Deposit amount must be a positive number.");
+        Customer customer = registry.findOrNull(request.getAccountId());
+        if (customer == null) return notFound(request.getAccountId());
+        return ledger(LedgerCommand.deposit(customer, request.getAmount()));
+    }
+
+    /** Returns the balance after the withdrawal. */
+    public Result<Long> withdraw(BankRequest.Withdraw request) {
+        long start = System.nanoTime();
+        return WITHDRAW.record(start, doWithdraw(request));
+    }
+
+    private Result<Long> doWithdraw(BankRequest.Withdraw request) {
+        if (request.getAmount() <= 0) return invalid("Withdrawal amount must be a positive number.");
+        Customer customer = registry.findOrNull(request.getAccountId());
+        if (customer == null) return notFound(request.getAccountId());
+        return ledger(LedgerCommand.withdrawal(customer, request.getAmount()));
+    }
+
+    /** Returns the sender's balance after the transfer. */
+    public Result<Long> transfer(BankRequest.Transfer request) {
+        long start = System.nanoTime();
+        return SEND_MONEY.record(start, doTransfer(request));
+    }
+
+    private Result<Long> doTransfer(BankRequest.Transfer request) {
+        if (request.getFromAccountId() != null && request.getFromAccountId().equals(request.getToAccountId())) {
+            return invalid("You cannot send money to yourself.");
+        }
+        if (request.getAmount() <= 0) return invalid("Transfer amount must be a positive number.");
+        Customer from = registry.findOrNull(request.getFromAccountId());
+        if (from == null) return notFound(request.getFromAccountId());
+        Customer to = registry.findOrNull(request.getToAccountId());
+        if (to == null) return notFound(request.getToAccountId());
+        return ledger(LedgerCommand.transfer(from, to, request.getAmount()));
+    }
+
+    public Result<Loan> applyForLoan(BankRequest.ApplyLoan request) {
+        long start = System.nanoTime();
+        return APPLY_LOAN.record(start, doApplyForLoan(request));
+    }
+
+    private Result<Loan> doApplyForLoan(BankRequest.ApplyLoan request) {
+        String loanType = request.getLoanType() == null ? "" : request.getLoanType();
+        if (!loanType.equalsIgnoreCase("Personal") && !loanType.equalsIgnoreCase("Student") && !loanType.equalsIgnoreCase("Business")) {
+            return invalid("Invalid Loan Type. Please enter 'Personal', 'Student', or 'Business'.");
+        }
+        if (request.getAmount() <= 0) return invalid("Loan amount must be a positive number.");
+        if (request.getTenureYears() <= 0) return invalid("Loan tenure must be at least 1 year.");
+        Customer customer = registry.findOrNull(request.getAccountId());
+        if (customer == null) return notFound(request.getAccountId());
+
+        long amount = request.getAmount();
+        double interestRate;
+        boolean approved;
+        String rejectionReason = "Loan not approved.";
+        switch (loanType.toLowerCase()) {
+            case "student":
+                interestRate = 4.5;
+                approved = amount <= Money.ofRupees(500000);
+                if (!approved) rejectionReason = "Maximum Student Loan is 500,000.00.";
+                break;
+            case "business":
+                interestRate = 10.5;
+                approved = customer.getSalary() > Money.ofRupees(20000) && amount < (customer.getSalary() * 100);
+                if (!approved) rejectionReason = "Loan not approved based on salary/amount.";
+                break;
+            default: // Handles "personal"
+                interestRate = 8.5;
+                approved = customer.getSalary() > Money.ofRupees(20000) && amount < (customer.getSalary() * 100);
+                if (!approved) rejectionReason = "Loan not approved based on salary/amount.";
+                break;
+        }
+        if (!approved) {
+            return Result.error(Result.Status.REJECTED, rejectionReason);
+        }
+
+        Loan loan = new Loan(loanType, amount, interestRate, LocalDate.now(), request.getTenureYears());
+        Result<Long> disbursed = ledger(LedgerCommand.loanDisbursal(customer, loan));
+        return disbursed.isOk() ? Result.ok(loan) : Result.error(disbursed.getStatus(), disbursed.getMessage());
+    }
+
+    public Result<Repayment> repayLoan(BankRequest.RepayLoan request) {
+        long start = System.nanoTime();
+        return PAY_LOAN.record(start, doRepayLoan(request));
+    }
+
+    private Result<Repayment> doRepayLoan(BankRequest.RepayLoan request) {
+        Customer customer = registry.findOrNull(request.getAccountId());
+        if (customer == null) return notFound(request.getAccountId());
+        if (request.getAmount() <= 0) return invalid("Payment amount must be a positive number.");
+
+        JournalEntry entry = null;
+        Repayment repayment;
+        DataManager.beginChange();
+        try {
+            // The amount due is read, capped and paid under one lock so two payments cannot both
+            // be sized against the same balance; the entry records what was actually paid.
+            synchronized (customer) {
+                Loan loan = customer.getLoans().stream()
+                        .filter(l -> l.getLoanId().equals(request.getLoanId()))
+                        .findFirst()
+                        .orElse(null);
+                if (loan == null) {
+                    return Result.error(Result.Status.NOT_FOUND, "No active loan found with ID: " + request.getLoanId());
+                }
+                long amountDue = loan.getAmountDue();
+                if (amountDue <= 0) {
+                    return Result.error(Result.Status.REJECTED, "This loan has already been fully paid.");
+                }
+                long payment = Math.min(request.getAmount(), amountDue);
+                if (payment > customer.getAccount().getBalance()) {
+                    return Result.error(Result.Status.INSUFFICIENT_FUNDS, "Insufficient balance for this payment.");
+                }
+                customer.repayLoan(loan.getLoanId(), payment);
+                entry = JournalEntry.loanRepayment(customer.getAccount().getAccountId(), loan.getLoanId(), payment);
+                repayment = new Repayment(loan, payment, request.getAmount() > amountDue, loan.getAmountDue() <= 0);
+            }
+        } catch (LoanNotFoundException | InvalidAmountException | InsufficientFundsException e) {
+            return failure(e);
+        } finally {
+            DataManager.endChange(entry);
+        }
+        CompletableFuture<Void> saved = DataManager.commit(registry.customers(), entry);
+        return saved(saved, repayment);
+    }
+
+    public Result<Investment> createFixedDeposit(BankRequest.CreateDeposit request) {
+        long start = System.nanoTime();
+        return ADD_INVESTMENT.record(start, doCreateFixedDeposit(request));
+    }
+
+    private Result<Investment> doCreateFixedDeposit(BankRequest.CreateDeposit request) {
+        if (request.getAmount() <= 0) return invalid("Investment amount must be a positive number.");
+        if (request.getTenureYears() <= 0) return invalid("Investment tenure must be at least 1 year.");
+        Customer customer = registry.findOrNull(request.getAccountId());
+        if (customer == null) return notFound(request.getAccountId());
+
+        Investment investment = new Investment("Fixed Deposit", "FD Investment", request.getAmount(), LocalDate.now(),
+                request.getTenureYears(), FD_INTEREST_RATE);
+        Result<Long> invested = ledger(LedgerCommand.investment(customer, investment));
+        if (!invested.isOk()) {
+            return Result.error(invested.getStatus(), invested.getMessage());
+        }
+        MaturityScheduler.track(customer, investment);
+        return Result.ok(investment);
+    }
+
+    /** Pays out every deposit that has reached its end date; returns the ones that matured. */
+    public Result<List<Investment>> matureFixedDeposits(BankRequest.MatureDeposits request) {
+        long start = System.nanoTime();
+        return MATURE_DEPOSITS.record(start, doMatureFixedDeposits(request));
+    }
+
+    private Result<List<Investment>> doMatureFixedDeposits(BankRequest.MatureDeposits request) {
+        Customer customer = registry.findOrNull(request.getAccountId());
+        if (customer == null) return notFound(request.getAccountId());
+        LocalDate asOf = request.getAsOf() == null ? LocalDate.now() : request.getAsOf();
+
+        List<Investment> matured;
+        List<JournalEntry> entries = new ArrayList<>();
+        DataManager.beginChange();
+        try {
+            matured = customer.matureInvestments(asOf);
+            for (Investment investment : matured) {
+                entries.add(JournalEntry.investmentMatured(customer.getAccount().getAccountId(),
+                        investment.getInvestmentId(), investment.getMaturityValue()));
+            }
+        } finally {
+            DataManager.endChange(entries);
+        }
+        if (matured.isEmpty()) {
+            return Result.ok(matured);
+        }
+        return saved(DataManager.commit(registry.customers(), entries), matured);
+    }
+
+    public Result<Message> sendSupportMessage(BankRequest.SendMessage request) {
+        long start = System.nanoTime();
+        return CONTACT_SUPPORT.record(start, doSendSupportMessage(request));
+    }
+
+    private Result<Message> doSendSupportMessage(BankRequest.SendMessage request) {
+        if (isBlank(request.getContent())) return invalid("Message cannot be empty.");
+        Customer customer = registry.findOrNull(request.getAccountId());
+        if (customer == null) return notFound(request.getAccountId());
+
+        int messageId = messageIdCounter.incrementAndGet();
+        Message message = new Message(messageId, customer.getAccount().getAccountId(), customer.getName(), request.getContent());
+        supportMessages.put(messageId, message);
+        DataManager.saveSupportMessages(supportMessages);
+        return Result.ok(message);
+    }
+
+    public Result<Message> replyToMessage(BankRequest.ReplyToMessage request) {
+        long start = System.nanoTime();
+        return REPLY_SUPPORT.record(start, doReplyToMessage(request));
+    }
+
+    private Result<Message> doReplyToMessage(BankRequest.ReplyToMessage request) {
+        Message message = supportMessages.get(request.getMessageId());
+        if (message == null) {
+            return Result.error(Result.Status.NOT_FOUND, "Invalid Message ID: " + request.getMessageId());
+        }
+        if (isBlank(request.getReply())) return invalid("Reply cannot be empty.");
+        synchronized (message) {
+            if (message.isResolved()) {
+                return Result.error(Result.Status.REJECTED, "This message is already resolved.");
+            }
+            message.setReply(request.getReply());
+            message.setResolved(true);
+        }
+        DataManager.saveSupportMessages(supportMessages);
+        return Result.ok(message);
+    }
+
+    // --- helpers ---
+
+    private Result<Long> ledger(LedgerCommand command) {
+        try {
+            return Result.ok(LedgerEngine.execute(registry, command));
+        } catch (InvalidAmountException | InsufficientFundsException | CompletionException e) {
+            return failure(e);
+        }
+    }
+
+    private static <T> Result<T> saved(CompletableFuture<Void> saved, T value) {
+        if (saved.isCompletedExceptionally()) {
+            return Result.error(Result.Status.FAILED, "The change was applied but could not be saved.");
+        }
+        return Result.ok(value);
+    }
+
+    private static <T> Result<T> failure(Exception e) {
+        if (e instanceof InsufficientFundsException) {
+            return Result.error(Result.Status.INSUFFICIENT_FUNDS, e.getMessage());
+        }
+        if (e instanceof InvalidAmountException) {
+            return Result.error(Result.Status.INVALID, e.getMessage());
+        }
+        if (e instanceof AccountNotFoundException || e instanceof LoanNotFoundException) {
+            return Result.error(Result.Status.NOT_FOUND, e.getMessage());
+        }
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof IOException) {
+            return Result.error(Result.Status.FAILED, "The change was applied but could not be saved.");
+        }
+        return Result.error(Result.Status.FAILED, cause.getMessage());
+    }
+
+    private static <T> Result<T> invalid(String message) {
+        return Result.error(Result.Status.INVALID, message);
+    }
+
+    private static <T> Result<T> notFound(String accountId) {
+        return Result.error(Result.Status.NOT_FOUND, "No customer found with account number: " + accountId);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
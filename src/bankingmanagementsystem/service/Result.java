@@ -0,0 +1,50 @@
+package bankingmanagementsystem.service;
+
+/**
+ * Outcome of a {@link BankService} call: a value on success, otherwise a status and a message
+ * that can be shown to the user as is.
+ */
+public final class Result<T> {
+    public enum Status {
+        OK,
+        /** The request itself is malformed: a non-positive amount, a blank field. */
+        INVALID,
+        NOT_FOUND,
+        INSUFFICIENT_FUNDS,
+        /** Well-formed but refused by a business rule, e.g. loan eligibility. */
+        REJECTED,
+        /** The change could not be saved. */
+        FAILED
+    }
+
+    private final Status status;
+    private final T value;
+    private final String message;
+
+    private Result(Status status, T value, String message) {
+        this.status = status;
+        this.value = value;
+        this.message = message;
+    }
+
+    public static <T> Result<T> ok(T value) {
+        return new Result<>(Status.OK, value, null);
+    }
+
+    public static <T> Result<T> error(Status status, String message) {
+        if (status == Status.OK) {
+            throw new IllegalArgumentException("An error result needs an error status.");
+        }
+        return new Result<>(status, null, message);
+    }
+
+    public boolean isOk() { return status == Status.OK; }
+    public Status getStatus() { return status; }
+    public T getValue() { return value; }
+    public String getMessage() { return message; }
+
+    @Override
+    public String toString() {
+        return isOk() ? "OK: " + value : status + ": " + message;
+    }
+}
@@ -0,0 +1,50 @@
+package bankingmanagementsystem;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class AccountNumberGeneratorTest {
+
+    @Test
+    void concurrentGenerationNeverRepeatsANumber() throws Exception {
+        int threads = 16;
+        int perThread = 25_000;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<String> issued = new ArrayList<>();
+        try {
+            List<Future<String[]>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    String[] numbers = new String[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        numbers[i] = AccountNumberGenerator.generateUniqueAccountNumber();
+                    }
+                    return numbers;
+                }));
+            }
+            start.countDown();
+            for (Future<String[]> result : results) {
+                issued.addAll(List.of(result.get()));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        Set<String> distinct = new HashSet<>(issued);
+        assertEquals(threads * perThread, distinct.size());
+        for (String number : issued) {
+            assertTrue(number.matches("[1-9][0-9]{9}"), number);
+        }
+    }
+}
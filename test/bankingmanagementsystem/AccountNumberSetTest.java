@@ -0,0 +1,81 @@
+package bankingmanagementsystem;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.jupiter.api.Test;
+
+class AccountNumberSetTest {
+    private static final long FIRST = 1_000_000_000L;
+
+    @Test
+    void addsAndFindsNumbersAcrossResizes() {
+        AccountNumberSet set = new AccountNumberSet();
+        // Far more than the initial capacity of every shard, so each grows several times.
+        for (long i = 0; i < 200_000; i++) {
+            assertTrue(set.add(number(i)));
+        }
+        for (long i = 0; i < 200_000; i++) {
+            assertTrue(set.contains(number(i)));
+            assertFalse(set.add(number(i)));
+        }
+        assertFalse(set.contains(number(200_000)));
+        assertFalse(set.contains(FIRST + 1));
+        // Values that share a shard and differ only in the high bits.
+        assertTrue(set.add(99_999_999_744L));
+        assertFalse(set.contains(99_999_999_744L - 256));
+    }
+
+    @Test
+    void concurrentAddsClaimEachNumberAtMostOnce() throws Exception {
+        AccountNumberSet set = new AccountNumberSet();
+        int values = 400_000;
+        int threads = 8;
+        AtomicIntegerArray owners = new AtomicIntegerArray(values);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t * (values / threads);
+                results.add(pool.submit(() -> {
+                    start.await();
+                    // Every thread tries every value, each starting at a different point.
+                    for (int i = 0; i < values; i++) {
+                        int index = (i + offset) % values;
+                        if (set.add(number(index))) {
+                            owners.incrementAndGet(index);
+                        }
+                        if (!set.contains(number(index))) {
+                            throw new AssertionError("Lost " + number(index) + " just after adding it");
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        for (int i = 0; i < values; i++) {
+            // A number whose add raced with a resize may end up claimed by nobody, never by two.
+            assertTrue(owners.get(i) <= 1, "claimed " + owners.get(i) + " times: " + number(i));
+            assertTrue(set.contains(number(i)));
+        }
+    }
+
+    // Spread over all shards and over the high bits.
+    private static long number(long i) {
+        return FIRST + i * 22_501L;
+    }
+}
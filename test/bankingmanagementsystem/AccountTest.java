@@ -0,0 +1,72 @@
+package bankingmanagementsystem;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import bankingmanagementsystem.exceptions.InsufficientFundsException;
+import bankingmanagementsystem.exceptions.InvalidAmountException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class AccountTest {
+
+    @Test
+    void concurrentWithdrawalsNeverGoBelowTheMinimumBalance() throws Exception {
+        long minBalance = Money.ofRupees(1000);
+        long amount = Money.parse("7.50");
+        Account account = new Account("ACC-CAS", "Savings", minBalance, minBalance + 100 * amount + Money.parse("3.25"));
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    int succeeded = 0;
+                    for (int i = 0; i < 50; i++) {
+                        try {
+                            account.withdraw(amount);
+                            succeeded++;
+                        } catch (InsufficientFundsException e) {
+                            // Expected once the floor is reached.
+                        }
+                    }
+                    return succeeded;
+                }));
+            }
+            start.countDown();
+            int succeeded = 0;
+            for (Future<Integer> result : results) {
+                succeeded += result.get();
+            }
+            // 400 attempts race for exactly 100 withdrawals' worth of headroom.
+            assertEquals(100, succeeded);
+            assertEquals(minBalance + Money.parse("3.25"), account.getBalance());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void withdrawalThatWouldBreachTheFloorLeavesTheBalanceUnchanged() throws Exception {
+        Account account = new Account("ACC-FLOOR", "Savings", Money.ofRupees(500), Money.ofRupees(600));
+        assertThrows(InsufficientFundsException.class, () -> account.withdraw(Money.parse("100.01")));
+        assertEquals(Money.ofRupees(600), account.getBalance());
+        account.withdraw(Money.ofRupees(100));
+        assertEquals(Money.ofRupees(500), account.getBalance());
+    }
+
+    @Test
+    void rejectsNonPositiveAmounts() {
+        Account account = new Account("ACC-AMT", "Savings", 0, Money.ofRupees(10));
+        assertThrows(InvalidAmountException.class, () -> account.deposit(0));
+        assertThrows(InvalidAmountException.class, () -> account.withdraw(-1));
+        assertEquals(Money.ofRupees(10), account.getBalance());
+    }
+}
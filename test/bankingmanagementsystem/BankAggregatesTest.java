@@ -0,0 +1,198 @@
+package bankingmanagementsystem;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bankingmanagementsystem.exceptions.InsufficientFundsException;
+import bankingmanagementsystem.exceptions.InvalidAmountException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+class BankAggregatesTest {
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void registeredCustomersAreCountedAndEveryChangeIsFollowed() throws Exception {
+        CustomerRegistry registry = new CustomerRegistry(new ArrayList<>());
+        Customer asha = customer("Asha", "Savings");
+        Customer ravi = customer("Ravi", "Current");
+        registry.register(asha);
+        registry.register(ravi);
+        assertMatchesRecount(registry);
+
+        asha.getAccount().deposit(Money.ofRupees(150_000));
+        ravi.getAccount().deposit(Money.ofRupees(5_000));
+        ravi.getAccount().withdraw(Money.ofRupees(400));
+        assertMatchesRecount(registry);
+
+        Loan home = new Loan("Home", Money.ofRupees(200_000), 8.5, START, 2);
+        Loan car = new Loan("Car", Money.ofRupees(50_000), 9, START, 1);
+        asha.applyLoan(home);
+        ravi.applyLoan(car);
+        assertMatchesRecount(registry);
+
+        asha.repayLoan(home.getLoanId(), Money.ofRupees(10_000));
+        assertMatchesRecount(registry);
+        // Paying off the rest closes the loan: it leaves the count as well as the amount.
+        asha.repayLoan(home.getLoanId(), home.getAmountDue());
+        assertEquals(0, home.getAmountDue());
+        assertMatchesRecount(registry);
+        assertEquals(0, registry.aggregates().summary().getLoansByLoanType().get("Home").getCount());
+
+        Investment due = new Investment("FD", "One year", Money.ofRupees(30_000), START, 1, 7);
+        Investment later = new Investment("FD", "Five years", Money.ofRupees(20_000), START, 5, 7.5);
+        asha.addInvestment(due);
+        asha.addInvestment(later);
+        assertMatchesRecount(registry);
+
+        assertEquals(List.of(due), asha.matureInvestments(START.plusYears(1)));
+        assertMatchesRecount(registry);
+        assertEquals(1, registry.aggregates().summary().getFixedDepositPrincipal().getCount());
+
+        assertTrue(registry.remove(ravi));
+        assertMatchesRecount(registry);
+        assertFalse(registry.remove(ravi));
+        assertMatchesRecount(registry);
+
+        // A detached customer no longer reports.
+        ravi.getAccount().deposit(Money.ofRupees(10_000));
+        ravi.repayLoan(car.getLoanId(), car.getAmountDue());
+        assertMatchesRecount(registry);
+        assertEquals(1, registry.aggregates().summary().getCustomerCount());
+    }
+
+    @Test
+    void customersRestoredWithoutDecodingTheirDetailAreCounted() throws Exception {
+        List<Customer> saved = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Customer customer = customer("Customer " + i, i % 2 == 0 ? "Savings" : "Current");
+            customer.applyLoan(new Loan(i % 2 == 0 ? "Home" : "Education", Money.ofRupees(10_000 * (i + 1)), 8, START, 3));
+            customer.addInvestment(new Investment("FD", "FD " + i, Money.ofRupees(1_000 * (i + 1)), START, i + 1, 7));
+            saved.add(customer);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BankCodec.writeSnapshot(out, saved, 1);
+        List<Customer> restored = BankCodec.readSnapshot(new ByteArrayInputStream(out.toByteArray()), true).getCustomers();
+
+        CustomerRegistry registry = new CustomerRegistry(restored);
+        BankAggregates.Summary summary = registry.aggregates().summary();
+        // Counting read the holdings without hydrating anyone.
+        for (Customer customer : restored) {
+            assertFalse(customer.isHydrated());
+        }
+        assertSameSummary(recount(registry.customers()), summary);
+
+        assertTrue(registry.remove(restored.get(0)));
+        assertEquals(1, restored.get(1).matureInvestments(START.plusYears(2)).size());
+        assertMatchesRecount(registry);
+    }
+
+    @Test
+    void summaryFollowsConcurrentDepositsAndWithdrawals() throws Exception {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Customer customer = customer("Customer " + i, i % 3 == 0 ? "Current" : "Savings");
+            // Enough above the minimum that no withdrawal below can be refused.
+            customer.getAccount().deposit(Money.ofRupees(1_000));
+            customers.add(customer);
+        }
+        CustomerRegistry registry = new CustomerRegistry(customers);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int offset = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    Account account = customers.get((offset + i) % customers.size()).getAccount();
+                    try {
+                        if (i % 3 == 2) {
+                            account.withdraw(2);
+                        } else {
+                            account.deposit(3);
+                        }
+                    } catch (InvalidAmountException | InsufficientFundsException e) {
+                        throw new AssertionError(e);
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertMatchesRecount(registry);
+    }
+
+    private static Customer customer(String name, String accountType) {
+        return new Customer(name, LocalDate.of(1990, 1, 1), "Pune", Money.ofRupees(50_000), accountType,
+                Money.ofRupees(1_000), "secret");
+    }
+
+    private static void assertMatchesRecount(CustomerRegistry registry) {
+        assertSameSummary(recount(registry.customers()), registry.aggregates().summary());
+    }
+
+    // The totals computed the slow way, from every customer the registry holds.
+    private static BankAggregates.Summary recount(List<Customer> customers) {
+        Map<String, long[]> deposits = new TreeMap<>();
+        Map<String, long[]> loans = new TreeMap<>();
+        long[] principal = new long[2];
+        long[] liability = new long[2];
+        for (Customer customer : customers) {
+            Account account = customer.getAccount();
+            add(deposits.computeIfAbsent(account.getAccountType(), k -> new long[2]), account.getBalance(), 1);
+            for (Loan loan : customer.getLoans()) {
+                add(loans.computeIfAbsent(loan.getLoanType(), k -> new long[2]), loan.getAmountDue(),
+                        loan.getAmountDue() > 0 ? 1 : 0);
+            }
+            for (Investment investment : customer.getInvestments()) {
+                add(principal, investment.getAmountInvested(), 1);
+                add(liability, investment.getMaturityValue(), 1);
+            }
+        }
+        return new BankAggregates.Summary(customers.size(), lines(deposits), lines(loans),
+                new BankAggregates.Line(principal[1], principal[0]), new BankAggregates.Line(liability[1], liability[0]));
+    }
+
+    private static void add(long[] total, long amount, int items) {
+        total[0] += amount;
+        total[1] += items;
+    }
+
+    private static Map<String, BankAggregates.Line> lines(Map<String, long[]> totals) {
+        Map<String, BankAggregates.Line> lines = new TreeMap<>();
+        totals.forEach((type, total) -> lines.put(type, new BankAggregates.Line(total[1], total[0])));
+        return lines;
+    }
+
+    private static void assertSameSummary(BankAggregates.Summary expected, BankAggregates.Summary actual) {
+        assertEquals(expected.getCustomerCount(), actual.getCustomerCount(), "customers");
+        assertSameLines(expected.getDepositsByAccountType(), actual.getDepositsByAccountType(), "deposits");
+        assertSameLines(expected.getLoansByLoanType(), actual.getLoansByLoanType(), "loans");
+        assertSameLine(expected.getFixedDepositPrincipal(), actual.getFixedDepositPrincipal(), "FD principal");
+        assertSameLine(expected.getFixedDepositLiability(), actual.getFixedDepositLiability(), "FD liability");
+        assertEquals(expected.getTotalDeposits(), actual.getTotalDeposits());
+        assertEquals(expected.getTotalLoansOutstanding(), actual.getTotalLoansOutstanding());
+    }
+
+    // A type whose last item went away stays in the summary as an empty line.
+    private static void assertSameLines(Map<String, BankAggregates.Line> expected, Map<String, BankAggregates.Line> actual,
+            String what) {
+        BankAggregates.Line empty = new BankAggregates.Line(0, 0);
+        for (String type : actual.keySet()) {
+            assertSameLine(expected.getOrDefault(type, empty), actual.get(type), what + " " + type);
+        }
+        assertTrue(actual.keySet().containsAll(expected.keySet()), what + ": " + expected.keySet() + " vs " + actual.keySet());
+    }
+
+    private static void assertSameLine(BankAggregates.Line expected, BankAggregates.Line actual, String what) {
+        assertEquals(expected.getCount(), actual.getCount(), what + " count");
+        assertEquals(expected.getAmount(), actual.getAmount(), what + " amount");
+    }
+}
@@ -0,0 +1,198 @@
+package bankingmanagementsystem;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BankCodecTest {
+
+    @Test
+    void snapshotRoundTripKeepsEveryField() throws Exception {
+        List<Customer> customers = customers();
+        BankCodec.Snapshot snapshot = roundTrip(customers, 42, false);
+
+        assertEquals(42, snapshot.getLsn());
+        assertEquals(customers.size(), snapshot.getCustomers().size());
+        for (int i = 0; i < customers.size(); i++) {
+            assertSameCustomer(customers.get(i), snapshot.getCustomers().get(i));
+        }
+    }
+
+    @Test
+    void lazySnapshotDecodesDetailOnFirstUse() throws Exception {
+        List<Customer> customers = customers();
+        BankCodec.Snapshot snapshot = roundTrip(customers, 7, true);
+
+        Customer restored = snapshot.getCustomers().get(0);
+        assertFalse(restored.isHydrated());
+        assertEquals(customers.get(0).getAccount().getBalance(), restored.getAccount().getBalance());
+        assertSameCustomer(customers.get(0), restored);
+        assertTrue(restored.isHydrated());
+    }
+
+    @Test
+    void undecodedDetailIsCopiedUnchangedByTheNextSave() throws Exception {
+        List<Customer> customers = customers();
+        BankCodec.Snapshot lazy = roundTrip(customers, 1, true);
+        BankCodec.Snapshot again = roundTrip(lazy.getCustomers(), 2, false);
+        for (int i = 0; i < customers.size(); i++) {
+            assertSameCustomer(customers.get(i), again.getCustomers().get(i));
+        }
+    }
+
+    @Test
+    void loanAndInvestmentRecordsRoundTrip() throws Exception {
+        Loan loan = new Loan("Home", Money.parse("2500000.50"), 8.5, LocalDate.of(2023, 4, 1), 20);
+        Loan decodedLoan = BankCodec.decodeLoan(BankCodec.encodeLoan(loan));
+        assertEquals(loan.getLoanId(), decodedLoan.getLoanId());
+        assertEquals(loan.getPrincipalAmount(), decodedLoan.getPrincipalAmount());
+        assertEquals(loan.getAmountDue(), decodedLoan.getAmountDue());
+        assertEquals(loan.getEndDate(), decodedLoan.getEndDate());
+
+        Investment fd = new Investment("Fixed Deposit", "Tax saver", Money.ofRupees(150000), LocalDate.of(2024, 1, 15), 5, 7.1);
+        Investment decodedFd = BankCodec.decodeInvestment(BankCodec.encodeInvestment(fd));
+        assertEquals(fd.getInvestmentId(), decodedFd.getInvestmentId());
+        assertEquals(fd.getMaturityValue(), decodedFd.getMaturityValue());
+        assertEquals(fd.getDescription(), decodedFd.getDescription());
+        assertEquals(fd.getEndDate(), decodedFd.getEndDate());
+    }
+
+    @Test
+    void rejectsDataThatIsNotASnapshot() {
+        byte[] text = "name,balance\n".getBytes();
+        assertThrows(IOException.class, () -> BankCodec.readSnapshot(new ByteArrayInputStream(text)));
+    }
+
+    @Test
+    void truncatedSnapshotFailsWithIOException() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BankCodec.writeSnapshot(out, customers(), 3);
+        byte[] whole = out.toByteArray();
+        for (int length = 0; length < whole.length; length++) {
+            byte[] cut = Arrays.copyOf(whole, length);
+            assertThrows(IOException.class, () -> BankCodec.readSnapshot(new ByteArrayInputStream(cut)), "cut at " + length);
+        }
+    }
+
+    @Test
+    void corruptCountsFailWithIOExceptionInsteadOfExhaustingMemory() throws Exception {
+        // A snapshot header claiming two billion customers, followed by nothing.
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        BankCodec.Encoder encoder = new BankCodec.Encoder(header);
+        encoder.writeInt(BankCodec.MAGIC);
+        encoder.writeVarLong(BankCodec.VERSION);
+        encoder.writeVarLong(0);
+        encoder.writeVarLong(Integer.MAX_VALUE);
+        encoder.flush();
+        assertThrows(IOException.class, () -> BankCodec.readSnapshot(new ByteArrayInputStream(header.toByteArray())));
+
+        // A customer whose name claims to be nearly 2 GB long.
+        ByteArrayOutputStream name = new ByteArrayOutputStream();
+        encoder = new BankCodec.Encoder(name);
+        encoder.writeVarLong(Integer.MAX_VALUE);
+        encoder.writeString("short");
+        encoder.flush();
+        assertThrows(IOException.class, () -> BankCodec.decodeCustomer(name.toByteArray()));
+
+        // A count past the int range.
+        ByteArrayOutputStream huge = new ByteArrayOutputStream();
+        encoder = new BankCodec.Encoder(huge);
+        encoder.writeInt(BankCodec.MAGIC);
+        encoder.writeVarLong(BankCodec.VERSION);
+        encoder.writeVarLong(0);
+        encoder.writeVarLong(-1);
+        encoder.flush();
+        assertThrows(IOException.class, () -> BankCodec.readSnapshot(new ByteArrayInputStream(huge.toByteArray())));
+    }
+
+    private static BankCodec.Snapshot roundTrip(List<Customer> customers, long lsn, boolean lazy) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BankCodec.writeSnapshot(out, customers, lsn);
+        return BankCodec.readSnapshot(new ByteArrayInputStream(out.toByteArray()), lazy);
+    }
+
+    // One plain customer and one with a loan, a fixed deposit and non-ASCII text.
+    private static List<Customer> customers() throws Exception {
+        List<Customer> customers = new ArrayList<>();
+        customers.add(new Customer("Asha Rao", LocalDate.of(1991, 3, 9), "Pune", Money.ofRupees(60000), "Savings", 0, "pw1"));
+
+        Customer busy = new Customer("Ravi Kumar — रवि", LocalDate.of(1985, 12, 31), "Flat 4, \"Green\" Towers, Chennai",
+                Money.parse("85000.75"), "Current", Money.ofRupees(5000), "pw2");
+        busy.setSecurityQuestion("First school?");
+        busy.setSecurityAnswer("St. Mary's");
+        busy.getAccount().deposit(Money.parse("12345.67"));
+        busy.applyLoan(new Loan("Personal", Money.ofRupees(200000), 11.25, LocalDate.of(2024, 2, 1), 3));
+        busy.addInvestment(new Investment("Fixed Deposit", "Emergency fund", Money.ofRupees(50000), LocalDate.of(2024, 6, 1), 2, 6.75));
+        busy.getAccount().withdraw(Money.parse("0.01"));
+        busy.addTransaction(new Transaction("Withdrawal", Money.parse("0.01"), "ATM ₹ withdrawal"));
+        customers.add(busy);
+        return customers;
+    }
+
+    private static void assertSameCustomer(Customer expected, Customer actual) {
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getDob(), actual.getDob());
+        assertEquals(expected.getAddress(), actual.getAddress());
+        assertEquals(expected.getSalary(), actual.getSalary());
+        assertEquals(expected.getSecurityQuestion(), actual.getSecurityQuestion());
+        assertEquals(expected.getSecurityAnswer(), actual.getSecurityAnswer());
+        assertEquals(expected.getPassword(), actual.getPassword());
+
+        Account a = expected.getAccount();
+        Account b = actual.getAccount();
+        assertEquals(a.getAccountId(), b.getAccountId());
+        assertEquals(a.getAccountType(), b.getAccountType());
+        assertEquals(a.getMinBalance(), b.getMinBalance());
+        assertEquals(a.getBalance(), b.getBalance());
+
+        assertEquals(expected.getLoans().size(), actual.getLoans().size());
+        for (int i = 0; i < expected.getLoans().size(); i++) {
+            Loan x = expected.getLoans().get(i);
+            Loan y = actual.getLoans().get(i);
+            assertEquals(x.getLoanId(), y.getLoanId());
+            assertEquals(x.getLoanType(), y.getLoanType());
+            assertEquals(x.getPrincipalAmount(), y.getPrincipalAmount());
+            assertEquals(x.getTotalRepayableAmount(), y.getTotalRepayableAmount());
+            assertEquals(x.getAmountDue(), y.getAmountDue());
+            assertEquals(x.getInterestRate(), y.getInterestRate());
+            assertEquals(x.getStartDate(), y.getStartDate());
+            assertEquals(x.getEndDate(), y.getEndDate());
+        }
+
+        assertEquals(expected.getInvestments().size(), actual.getInvestments().size());
+        for (int i = 0; i < expected.getInvestments().size(); i++) {
+            Investment x = expected.getInvestments().get(i);
+            Investment y = actual.getInvestments().get(i);
+            assertEquals(x.getInvestmentId(), y.getInvestmentId());
+            assertEquals(x.getInvestmentType(), y.getInvestmentType());
+            assertEquals(x.getDescription(), y.getDescription());
+            assertEquals(x.getAmountInvested(), y.getAmountInvested());
+            assertEquals(x.getMaturityValue(), y.getMaturityValue());
+            assertEquals(x.getInterestRate(), y.getInterestRate());
+            assertEquals(x.getStartDate(), y.getStartDate());
+            assertEquals(x.getEndDate(), y.getEndDate());
+        }
+
+        List<Transaction> xs = expected.getTransactionHistory();
+        List<Transaction> ys = actual.getTransactionHistory();
+        assertEquals(xs.size(), ys.size());
+        for (int i = 0; i < xs.size(); i++) {
+            assertEquals(xs.get(i).getType(), ys.get(i).getType());
+            assertEquals(xs.get(i).getAmount(), ys.get(i).getAmount());
+            assertEquals(xs.get(i).getDescription(), ys.get(i).getDescription());
+            // Snapshots keep timestamps to the millisecond.
+            assertEquals(xs.get(i).getTimestamp().truncatedTo(ChronoUnit.MILLIS), ys.get(i).getTimestamp());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package bankingmanagementsystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a class in a fresh JVM on the classes of the application and the tests. DataManager and friends read their
+ * -Dbank.* settings once per process, so a test that needs another persistence mode runs its
+ * scenario this way.
+ */
+public final class ChildJvm {
+    private final int exitCode;
+    private final String output;
+
+    private ChildJvm(int exitCode, String output) {
+        this.exitCode = exitCode;
+        this.output = output;
+    }
+
+    public static ChildJvm run(Class<?> main, List<String> systemProperties, String... args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(classPath(main, DataManager.class));
+        command.addAll(systemProperties);
+        command.add(main.getName());
+        for (String arg : args) {
+            command.add(arg);
+        }
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output;
+        try (InputStream in = process.getInputStream()) {
+            output = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        if (!process.waitFor(5, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+            return new ChildJvm(-1, output + "\n(timed out)");
+        }
+        return new ChildJvm(process.exitValue(), output);
+    }
+
+    // Test runners load classes through their own loaders, so java.class.path may not list these.
+    private static String classPath(Class<?>... classes) {
+        Set<String> entries = new LinkedHashSet<>();
+        for (Class<?> type : classes) {
+            try {
+                entries.add(Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString());
+            } catch (URISyntaxException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    public int getExitCode() { return exitCode; }
+    public String getOutput() { return output; }
+}
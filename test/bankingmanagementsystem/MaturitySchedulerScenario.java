@@ -0,0 +1,125 @@
+package bankingmanagementsystem;
+
+import bankingmanagementsystem.metrics.Metrics;
+import bankingmanagementsystem.persistence.Journal;
+import bankingmanagementsystem.persistence.JournalEntry;
+import bankingmanagementsystem.service.BankRequest;
+import bankingmanagementsystem.service.BankService;
+import bankingmanagementsystem.service.Result;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Run by {@link MaturitySchedulerTest} in a child JVM in journal mode: fixed deposits of one,
+ * two, three and five years, then a run as of two years from now. Only the one- and two-year
+ * deposits may be paid, in one commit whose journal records are exactly their maturities, and
+ * a reload must give the same accounts. Exits 0 when every check holds.
+ */
+public class MaturitySchedulerScenario {
+    private static final int[] TENURES = {1, 3, 2, 5};
+    private static final int DUE_BY_YEARS = 2;
+
+    private static final List<String> failures = new ArrayList<>();
+
+    public static void main(String[] args) throws Exception {
+        CustomerRegistry registry = new CustomerRegistry(DataManager.loadCustomers());
+        BankService service = new BankService(registry, new HashMap<>(), new AtomicInteger());
+        List<Customer> owners = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Customer customer = check(service.register(new BankRequest.Register("Customer " + i, LocalDate.of(1990, 1, 1),
+                    "Street " + i, Money.ofRupees(50_000), "Personal", 0, "pass-" + i, null, null)));
+            check(service.deposit(new BankRequest.Deposit(customer.getAccount().getAccountId(), Money.ofRupees(100_000))));
+            owners.add(customer);
+        }
+        // The first customer holds two deposits, one due and one not.
+        Customer[] holders = {owners.get(0), owners.get(0), owners.get(1), owners.get(2)};
+        Set<String> dueIds = new HashSet<>();
+        Map<String, Long> expectedBalances = new HashMap<>();
+        for (Customer owner : owners) {
+            expectedBalances.put(owner.getAccount().getAccountId(), owner.getAccount().getBalance());
+        }
+        for (int i = 0; i < TENURES.length; i++) {
+            String accountId = holders[i].getAccount().getAccountId();
+            Investment investment = check(service.createFixedDeposit(
+                    new BankRequest.CreateDeposit(accountId, Money.ofRupees(10_000 * (i + 1)), TENURES[i])));
+            long credit = TENURES[i] <= DUE_BY_YEARS ? investment.getMaturityValue() : 0;
+            expectedBalances.merge(accountId, credit - investment.getAmountInvested(), Long::sum);
+            if (TENURES[i] <= DUE_BY_YEARS) {
+                dueIds.add(investment.getInvestmentId());
+            }
+        }
+
+        MaturityScheduler scheduler = new MaturityScheduler(registry);
+        expect(scheduler.pending() == TENURES.length, "pending before the run: " + scheduler.pending());
+        Journal reader = new Journal(Paths.get(System.getProperty("bank.dataDir"), "journal"), 0);
+        long lastLsn = lastLsn(reader.readAfter(0));
+        long commitsBefore = Metrics.histogram("persistence.commit").snapshot().getCount();
+
+        LocalDate asOf = LocalDate.now().plusYears(DUE_BY_YEARS);
+        int paid = scheduler.runDue(asOf);
+
+        expect(paid == dueIds.size(), "paid " + paid + ", expected " + dueIds.size());
+        long commits = Metrics.histogram("persistence.commit").snapshot().getCount() - commitsBefore;
+        expect(commits == 1, "the run made " + commits + " commit(s)");
+        List<JournalEntry> written = reader.readAfter(lastLsn);
+        Set<String> journaled = new HashSet<>();
+        for (JournalEntry entry : written) {
+            expect(entry.getOp() == JournalEntry.Op.INVESTMENT_MATURED, "unexpected " + entry.getOp() + " record");
+            journaled.add(entry.getReference());
+        }
+        expect(written.size() == dueIds.size() && journaled.equals(dueIds), "journaled " + journaled + ", expected " + dueIds);
+        expect(scheduler.pending() == TENURES.length - dueIds.size(), "pending after the run: " + scheduler.pending());
+        assertAccounts("after the run", registry.customers(), expectedBalances, dueIds);
+
+        // Nothing else is due on the same day.
+        expect(scheduler.runDue(asOf) == 0, "a second run paid again");
+        expect(Metrics.histogram("persistence.commit").snapshot().getCount() - commitsBefore == 1,
+                "a run with nothing due committed");
+
+        DataManager.flushPending();
+        assertAccounts("after reload", DataManager.loadCustomers(), expectedBalances, dueIds);
+
+        for (String failure : failures) {
+            System.out.println(failure);
+        }
+        System.out.println(failures.isEmpty() ? "Maturity run matched" : failures.size() + " check(s) failed");
+        System.exit(failures.isEmpty() ? 0 : 1);
+    }
+
+    private static void assertAccounts(String when, List<Customer> customers, Map<String, Long> expectedBalances, Set<String> dueIds) {
+        expect(customers.size() == expectedBalances.size(), when + ": " + customers.size() + " customers");
+        for (Customer customer : customers) {
+            String accountId = customer.getAccount().getAccountId();
+            Long expected = expectedBalances.get(accountId);
+            expect(expected != null && expected == customer.getAccount().getBalance(),
+                    when + ": account " + accountId + " has " + customer.getAccount().getBalance() + ", expected " + expected);
+            for (Investment investment : customer.getInvestments()) {
+                expect(!dueIds.contains(investment.getInvestmentId()), when + ": " + investment.getInvestmentId() + " was not paid");
+            }
+        }
+    }
+
+    private static long lastLsn(List<JournalEntry> entries) {
+        return entries.isEmpty() ? 0 : entries.get(entries.size() - 1).getLsn();
+    }
+
+    private static <T> T check(Result<T> result) {
+        if (!result.isOk()) {
+            throw new IllegalStateException("Setup failed: " + result.getMessage());
+        }
+        return result.getValue();
+    }
+
+    private static void expect(boolean condition, String failure) {
+        if (!condition) {
+            failures.add(failure);
+        }
+    }
+}
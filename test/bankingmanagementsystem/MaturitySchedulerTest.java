@@ -0,0 +1,22 @@
+package bankingmanagementsystem;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MaturitySchedulerTest {
+
+    // A run pays only the deposits that are due and journals them with a single commit.
+    @Test
+    void runCreditsOnlyDueDepositsInOneCommit(@TempDir Path dataDir) throws Exception {
+        ChildJvm child = ChildJvm.run(MaturitySchedulerScenario.class, Arrays.asList(
+                "-Dbank.dataDir=" + dataDir,
+                "-Dbank.persistence=journal",
+                "-Dbank.durability=sync",
+                "-Dbank.maturity.scheduler=false"));
+        assertEquals(0, child.getExitCode(), child.getOutput());
+    }
+}
@@ -0,0 +1,36 @@
+package bankingmanagementsystem;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class MoneyTest {
+
+    @Test
+    void parsesRupeesAndPaise() {
+        assertEquals(25_000, Money.parse("250"));
+        assertEquals(25_050, Money.parse("250.5"));
+        assertEquals(120_075, Money.parse(" 1200.75 "));
+        assertEquals(5, Money.parse(".05"));
+        assertEquals(-1_000, Money.parse("-10"));
+        assertEquals(Long.MAX_VALUE, Money.parse("92233720368547758.07"));
+    }
+
+    @Test
+    void rejectsAnythingElseWithNumberFormatException() {
+        String[] inputs = {null, "", " ", "-", ".", "1.005", "12a", "1,000", "1e3", "92233720368547758.08", "99999999999999999999"};
+        for (String input : inputs) {
+            assertThrows(NumberFormatException.class, () -> Money.parse(input), String.valueOf(input));
+        }
+    }
+
+    @Test
+    void formatsWithTwoDecimals() {
+        assertEquals("0.00", Money.format(0));
+        assertEquals("0.05", Money.format(5));
+        assertEquals("1234.50", Money.format(123_450));
+        assertEquals("-10.01", Money.format(-1_001));
+        assertEquals(987_654_321, Money.parse(Money.format(987_654_321)));
+    }
+}
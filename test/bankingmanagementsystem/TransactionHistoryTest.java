@@ -0,0 +1,149 @@
+package bankingmanagementsystem;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TransactionHistoryTest {
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void columnsGiveBackWhatWasAdded() {
+        List<Transaction> added = new ArrayList<>();
+        LocalDateTime at = LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_000_000);
+        for (int i = 0; i < 50; i++) {
+            String description = i % 3 == 0 ? "Self-deposit into account"
+                    : i % 3 == 1 ? "Transferred to Asha (Acc: 10000000" + i + ")" : null;
+            added.add(new Transaction(i % 2 == 0 ? "Deposit" : "Transfer", i * 101L, description, at.plusMinutes(i)));
+        }
+        added.add(new Transaction("Withdrawal", 5, "Transferred to Asha (Acc: 1000000049)", null));
+
+        TransactionHistory history = TransactionHistory.of(added);
+        history.trimToSize();
+        assertEquals(added.size(), history.size());
+        for (int i = 0; i < added.size(); i++) {
+            Transaction expected = added.get(i);
+            Transaction actual = history.get(i);
+            assertEquals(expected.getType(), actual.getType());
+            assertEquals(expected.getType(), history.getType(i));
+            assertEquals(expected.getAmount(), history.getAmount(i));
+            assertEquals(expected.getDescription(), history.getDescription(i));
+            assertEquals(expected.getTimestamp(), actual.getTimestamp());
+        }
+        assertEquals(Long.MIN_VALUE, history.getTimestampMillis(added.size() - 1));
+        assertSame(history, TransactionHistory.of(history));
+
+        history.append("Deposit", 1, "Refund", millis(START));
+        assertEquals(added.size() + 1, history.size());
+        history.clear();
+        assertTrue(history.isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> history.get(0));
+    }
+
+    @Test
+    void pagesWalkOrderedHistoryNewestFirst() {
+        TransactionHistory history = new TransactionHistory();
+        for (int i = 0; i < 7; i++) {
+            history.append("Deposit", i, "Self-deposit into account", millis(START.plusDays(i)));
+        }
+        List<Long> seen = new ArrayList<>();
+        List<Integer> firstPositions = new ArrayList<>();
+        long cursor = HistoryPage.FIRST;
+        do {
+            HistoryPage page = history.page(cursor, 3, null, null);
+            assertEquals(7, page.getMatchingCount());
+            firstPositions.add(page.getFirstPosition());
+            for (Transaction tx : page.getTransactions()) {
+                seen.add(tx.getAmount());
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != HistoryPage.FIRST);
+        assertEquals(List.of(6L, 5L, 4L, 3L, 2L, 1L, 0L), seen);
+        assertEquals(List.of(1, 4, 7), firstPositions);
+    }
+
+    @Test
+    void dateRangeIncludesBothEndDays() {
+        TransactionHistory history = new TransactionHistory();
+        for (int i = 0; i < 10; i++) {
+            // Two entries a day: just after midnight and just before the next.
+            LocalDate day = START.plusDays(i / 2);
+            long at = i % 2 == 0 ? millis(day) - 11 * 3_600_000L : millis(day) + 11 * 3_600_000L;
+            history.append("Deposit", i, null, at);
+        }
+        HistoryPage page = history.page(HistoryPage.FIRST, 10, START.plusDays(1), START.plusDays(3));
+        List<Long> amounts = new ArrayList<>();
+        for (Transaction tx : page.getTransactions()) {
+            amounts.add(tx.getAmount());
+        }
+        assertEquals(List.of(7L, 6L, 5L, 4L, 3L, 2L), amounts);
+        assertEquals(6, page.getMatchingCount());
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    void emptyRangeGivesAnEmptyLastPage() {
+        TransactionHistory history = new TransactionHistory();
+        history.append("Deposit", 1, null, millis(START));
+        HistoryPage page = history.page(HistoryPage.FIRST, 5, START.plusDays(1), START.plusDays(2));
+        assertTrue(page.isEmpty());
+        assertEquals(0, page.getMatchingCount());
+        assertFalse(page.hasMore());
+        assertThrows(IllegalArgumentException.class, () -> history.page(HistoryPage.FIRST, 0, null, null));
+    }
+
+    @Test
+    void pagesFollowTheDateRangeWhenTimestampsAreOutOfOrder() {
+        // Day offsets in append order; the clock went back twice.
+        int[] days = {0, 1, 2, 5, 6, 3, 7, 8, 4, 9};
+        TransactionHistory history = new TransactionHistory();
+        for (int i = 0; i < days.length; i++) {
+            history.append("Deposit", i, "Self-deposit into account", millis(START.plusDays(days[i])));
+        }
+        LocalDate from = START.plusDays(3);
+        LocalDate to = START.plusDays(6);
+
+        // Expected: every entry inside the range, newest appended first.
+        List<Long> expected = new ArrayList<>();
+        for (int i = days.length - 1; i >= 0; i--) {
+            if (days[i] >= 3 && days[i] <= 6) {
+                expected.add((long) i);
+            }
+        }
+        List<Long> seen = new ArrayList<>();
+        long cursor = HistoryPage.FIRST;
+        do {
+            HistoryPage page = history.page(cursor, 2, from, to);
+            assertEquals(expected.size(), page.getMatchingCount());
+            assertEquals(seen.size() + 1, page.getFirstPosition());
+            for (Transaction tx : page.getTransactions()) {
+                seen.add(tx.getAmount());
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != HistoryPage.FIRST);
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void lastPageOfAnUnorderedHistoryHasNoNextCursor() {
+        TransactionHistory history = new TransactionHistory();
+        history.append("Deposit", 0, null, millis(START.plusDays(2)));
+        history.append("Deposit", 1, null, millis(START));
+        HistoryPage page = history.page(HistoryPage.FIRST, 5, null, null);
+        assertEquals(2, page.getTransactions().size());
+        assertFalse(page.hasMore());
+    }
+
+    private static long millis(LocalDate date) {
+        return date.atTime(12, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,116 @@
+package bankingmanagementsystem;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bankingmanagementsystem.exceptions.InsufficientFundsException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class TransferServiceTest {
+    private static final long MIN_BALANCE = Money.ofRupees(100);
+
+    @Test
+    void concurrentTransfersConserveTheTotal() throws Exception {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            Customer customer = customer("Customer " + i);
+            customer.getAccount().deposit(Money.ofRupees(1000 + i));
+            customers.add(customer);
+        }
+        long total = total(customers);
+        int historyBefore = history(customers);
+
+        int threads = 8;
+        AtomicInteger completed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                SplittableRandom random = new SplittableRandom(t);
+                results.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 2000; i++) {
+                        Customer from = customers.get(random.nextInt(customers.size()));
+                        Customer to = customers.get(random.nextInt(customers.size()));
+                        if (from == to) {
+                            continue;
+                        }
+                        try {
+                            TransferService.transfer(from, to, random.nextLong(1, Money.ofRupees(300)));
+                            completed.incrementAndGet();
+                        } catch (InsufficientFundsException e) {
+                            // The payer hit its floor; nothing moved.
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertTrue(completed.get() > 0);
+        assertEquals(total, total(customers));
+        for (Customer customer : customers) {
+            assertTrue(customer.getAccount().getBalance() >= MIN_BALANCE);
+        }
+        // Every completed transfer recorded both legs.
+        assertEquals(historyBefore + 2 * completed.get(), history(customers));
+    }
+
+    @Test
+    void failedTransferMovesNothing() throws Exception {
+        Customer from = customer("Payer");
+        Customer to = customer("Payee");
+        from.getAccount().deposit(Money.ofRupees(50));
+        long fromBalance = from.getAccount().getBalance();
+        long toBalance = to.getAccount().getBalance();
+        int fromHistory = from.getTransactionHistory().size();
+
+        assertThrows(InsufficientFundsException.class, () -> TransferService.transfer(from, to, Money.parse("50.01")));
+        assertEquals(fromBalance, from.getAccount().getBalance());
+        assertEquals(toBalance, to.getAccount().getBalance());
+        assertEquals(fromHistory, from.getTransactionHistory().size());
+    }
+
+    @Test
+    void rejectsTransferToTheSameAccount() {
+        Customer customer = customer("Self");
+        assertThrows(IllegalArgumentException.class, () -> TransferService.transfer(customer, customer, 100));
+    }
+
+    private static Customer customer(String name) {
+        return new Customer(name, LocalDate.of(1990, 1, 1), "Pune", Money.ofRupees(50000), "Savings", MIN_BALANCE, "secret");
+    }
+
+    private static long total(List<Customer> customers) {
+        long sum = 0;
+        for (Customer customer : customers) {
+            sum += customer.getAccount().getBalance();
+        }
+        return sum;
+    }
+
+    private static int history(List<Customer> customers) {
+        int entries = 0;
+        for (Customer customer : customers) {
+            entries += customer.getTransactionHistory().size();
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,139 @@
+package bankingmanagementsystem.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+    private static final long LAST_EXACT = (1L << 41) - 1;
+
+    @Test
+    void smallValuesHaveABucketEach() {
+        for (int value = 0; value < 8; value++) {
+            assertEquals(value, LatencyHistogram.bucket(value));
+            assertEquals(value, LatencyHistogram.lowerBound(value));
+            assertEquals(value, LatencyHistogram.midpoint(value));
+        }
+        // 8..15 are still exact: the first log-linear range has width-1 sub-buckets.
+        for (int value = 8; value < 16; value++) {
+            assertEquals(value, LatencyHistogram.bucket(value));
+            assertEquals(value, LatencyHistogram.midpoint(LatencyHistogram.bucket(value)));
+        }
+    }
+
+    @Test
+    void powersOfTwoStartANewRange() {
+        for (int exponent = 3; exponent <= 40; exponent++) {
+            long power = 1L << exponent;
+            int bucket = LatencyHistogram.bucket(power);
+            assertEquals((exponent - 2) * 8, bucket, "2^" + exponent);
+            assertEquals(power, LatencyHistogram.lowerBound(bucket));
+            assertEquals(bucket - 1, LatencyHistogram.bucket(power - 1), "2^" + exponent + " - 1");
+        }
+    }
+
+    @Test
+    void valuesPastTheRangeShareTheLastBucket() {
+        int last = LatencyHistogram.BUCKETS - 1;
+        assertEquals(last, LatencyHistogram.bucket(LAST_EXACT));
+        assertEquals(last, LatencyHistogram.bucket(1L << 41));
+        assertEquals(last, LatencyHistogram.bucket(Long.MAX_VALUE));
+        assertEquals(15L << 37, LatencyHistogram.lowerBound(last));
+        // The last bucket spans [15 * 2^37, 2^41), so its midpoint is the middle of that.
+        assertEquals((15L << 37) + (1L << 36), LatencyHistogram.midpoint(last));
+    }
+
+    @Test
+    void everyValueInRangeIsWithinTheClaimedError() {
+        SplittableRandom random = new SplittableRandom(20);
+        for (int exponent = 3; exponent <= 40; exponent++) {
+            long low = 1L << exponent;
+            long[] values = {low, low + 1, 2 * low - 1, random.nextLong(low, 2 * low), random.nextLong(low, 2 * low)};
+            for (long value : values) {
+                assertWithinError(value);
+            }
+        }
+        assertWithinError(LAST_EXACT);
+    }
+
+    @Test
+    void bucketsAreContiguousAndOrdered() {
+        for (int bucket = 1; bucket < LatencyHistogram.BUCKETS; bucket++) {
+            long low = LatencyHistogram.lowerBound(bucket);
+            assertTrue(low > LatencyHistogram.lowerBound(bucket - 1));
+            assertEquals(bucket, LatencyHistogram.bucket(low));
+            assertEquals(bucket - 1, LatencyHistogram.bucket(low - 1));
+        }
+    }
+
+    @Test
+    void percentilesOfAUniformDistribution() {
+        LatencyHistogram histogram = new LatencyHistogram("test.uniform");
+        // 1 µs to 10 ms in 1 µs steps.
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros * 1000);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(10_000, snapshot.getCount());
+        assertEquals(5_000_500, snapshot.getMeanNanos());
+        assertEquals(10_000_000, snapshot.getMaxNanos());
+        assertClose(5_000_000, snapshot.percentileNanos(0.5));
+        assertClose(9_000_000, snapshot.percentileNanos(0.9));
+        assertClose(9_900_000, snapshot.percentileNanos(0.99));
+        assertClose(9_990_000, snapshot.percentileNanos(0.999));
+        assertClose(1_000, snapshot.percentileNanos(0));
+        assertClose(10_000_000, snapshot.percentileNanos(1.0));
+        assertTrue(snapshot.percentileNanos(1.0) <= snapshot.getMaxNanos());
+    }
+
+    @Test
+    void percentilesOfASkewedDistribution() {
+        LatencyHistogram histogram = new LatencyHistogram("test.skewed");
+        // 990 fast requests at 200 µs, 10 slow ones at 50 ms.
+        for (int i = 0; i < 990; i++) {
+            histogram.record(200_000);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(50_000_000);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertClose(200_000, snapshot.percentileNanos(0.5));
+        assertClose(200_000, snapshot.percentileNanos(0.99));
+        assertClose(50_000_000, snapshot.percentileNanos(0.995));
+    }
+
+    @Test
+    void percentileNeverExceedsTheLargestValueRecorded() {
+        LatencyHistogram histogram = new LatencyHistogram("test.max");
+        // 7_700 sits at the bottom of its bucket, so the bucket midpoint would be above it.
+        histogram.record(7_700);
+        assertEquals(7_700, histogram.snapshot().percentileNanos(0.99));
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(LatencyHistogram.midpoint(LatencyHistogram.BUCKETS - 1), histogram.snapshot().percentileNanos(1.0));
+    }
+
+    @Test
+    void emptyAndNegativeRecordings() {
+        LatencyHistogram histogram = new LatencyHistogram("test.empty");
+        assertEquals(0, histogram.snapshot().percentileNanos(0.99));
+        assertEquals(0, histogram.snapshot().getMeanNanos());
+        histogram.record(-5);
+        assertEquals(1, histogram.snapshot().getCount());
+        assertEquals(0, histogram.snapshot().getMaxNanos());
+    }
+
+    private static void assertWithinError(long value) {
+        int bucket = LatencyHistogram.bucket(value);
+        long low = LatencyHistogram.lowerBound(bucket);
+        long mid = LatencyHistogram.midpoint(bucket);
+        assertTrue(low <= value, value + " below its bucket");
+        assertTrue(value - low <= value / 8, value + ": lower bound " + low + " is more than 12.5% off");
+        assertTrue(Math.abs(value - mid) <= value / 16, value + ": midpoint " + mid + " is more than 6.25% off");
+    }
+
+    private static void assertClose(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 16, "expected about " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,100 @@
+package bankingmanagementsystem.persistence;
+
+import bankingmanagementsystem.Customer;
+import bankingmanagementsystem.CustomerRegistry;
+import bankingmanagementsystem.DataManager;
+import bankingmanagementsystem.Money;
+import bankingmanagementsystem.service.BankRequest;
+import bankingmanagementsystem.service.BankService;
+import bankingmanagementsystem.service.Result;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Run by {@link JournalReplayTest} in a child JVM in journal mode: deposits and transfers from
+ * several threads while another thread keeps writing snapshots, then a reload that must
+ * reproduce every balance and history exactly. Exits 0 on a match.
+ */
+public class JournalReplayScenario {
+    private static final int CUSTOMERS = 40;
+    private static final int THREADS = 8;
+    private static final int OPERATIONS = 1_500;
+
+    public static void main(String[] args) throws Exception {
+        CustomerRegistry registry = new CustomerRegistry(DataManager.loadCustomers());
+        BankService service = new BankService(registry, new HashMap<>(), new AtomicInteger());
+        List<String> accounts = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            Result<Customer> registered = service.register(new BankRequest.Register("Customer " + i, LocalDate.of(1990, 1, 1),
+                    "Street " + i, Money.ofRupees(50_000), "Personal", 0, "pass-" + i, null, null));
+            if (!registered.isOk()) {
+                throw new IllegalStateException("Registration failed: " + registered.getMessage());
+            }
+            accounts.add(registered.getValue().getAccount().getAccountId());
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread snapshotter = new Thread(() -> {
+            while (running.get()) {
+                DataManager.saveCustomers(registry.customers());
+            }
+        });
+        snapshotter.start();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < OPERATIONS; i++) {
+                    String from = accounts.get(random.nextInt(accounts.size()));
+                    if (random.nextInt(3) == 0) {
+                        String to = accounts.get(random.nextInt(accounts.size()));
+                        if (!to.equals(from)) {
+                            service.transfer(new BankRequest.Transfer(from, to, 1 + random.nextInt(100)));
+                        }
+                    } else {
+                        service.deposit(new BankRequest.Deposit(from, 1 + random.nextInt(1_000)));
+                    }
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        running.set(false);
+        snapshotter.join();
+        DataManager.flushPending();
+
+        Map<String, long[]> expected = new HashMap<>();
+        for (Customer customer : registry.customers()) {
+            expected.put(customer.getAccount().getAccountId(),
+                    new long[]{customer.getAccount().getBalance(), customer.getTransactionHistory().size()});
+        }
+        int mismatches = 0;
+        List<Customer> reloaded = DataManager.loadCustomers();
+        if (reloaded.size() != expected.size()) {
+            System.out.println("Reloaded " + reloaded.size() + " customers, expected " + expected.size());
+            mismatches++;
+        }
+        for (Customer customer : reloaded) {
+            long[] want = expected.get(customer.getAccount().getAccountId());
+            if (want == null) {
+                System.out.println("Unexpected account " + customer.getAccount().getAccountId());
+                mismatches++;
+            } else if (want[0] != customer.getAccount().getBalance() || want[1] != customer.getTransactionHistory().size()) {
+                System.out.println("Account " + customer.getAccount().getAccountId() + ": balance " + customer.getAccount().getBalance()
+                        + " expected " + want[0] + ", history " + customer.getTransactionHistory().size() + " expected " + want[1]);
+                mismatches++;
+            }
+        }
+        System.out.println(mismatches == 0 ? "Replay matched" : mismatches + " account(s) differ after replay");
+        System.exit(mismatches == 0 ? 0 : 1);
+    }
+}
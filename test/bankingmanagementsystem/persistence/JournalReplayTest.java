@@ -0,0 +1,26 @@
+package bankingmanagementsystem.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import bankingmanagementsystem.ChildJvm;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class JournalReplayTest {
+
+    // Snapshots race with changes still waiting for their journal append; a restart must apply
+    // each entry exactly once.
+    @ParameterizedTest
+    @ValueSource(strings = {"sync", "group"})
+    void concurrentChangesReplayExactlyOnceAcrossSnapshots(String durability, @TempDir Path dataDir) throws Exception {
+        ChildJvm child = ChildJvm.run(JournalReplayScenario.class, Arrays.asList(
+                "-Dbank.dataDir=" + dataDir,
+                "-Dbank.persistence=journal",
+                "-Dbank.durability=" + durability,
+                "-Dbank.journal.compactEvery=50"));
+        assertEquals(0, child.getExitCode(), child.getOutput());
+    }
+}
@@ -0,0 +1,161 @@
+package bankingmanagementsystem.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import bankingmanagementsystem.Customer;
+import bankingmanagementsystem.Money;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JournalTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void replayRebuildsBalancesAndHistory() throws Exception {
+        Customer alice = customer("Alice");
+        Customer bob = customer("Bob");
+        try (Journal journal = new Journal(dir, 0)) {
+            journal.append(JournalEntry.register(alice));
+            journal.append(JournalEntry.register(bob));
+            journal.append(JournalEntry.deposit(id(alice), Money.ofRupees(500)));
+            journal.append(JournalEntry.transfer(id(alice), id(bob), Money.parse("120.25")));
+            journal.append(JournalEntry.withdrawal(id(bob), Money.ofRupees(20)));
+            journal.sync();
+        }
+
+        Map<String, Customer> byAccount = replay(new Journal(dir, 0), 0);
+        assertEquals(2, byAccount.size());
+        assertEquals(Money.parse("379.75"), byAccount.get(id(alice)).getAccount().getBalance());
+        assertEquals(Money.parse("100.25"), byAccount.get(id(bob)).getAccount().getBalance());
+        assertEquals(2, byAccount.get(id(alice)).getTransactionHistory().size());
+        assertEquals(2, byAccount.get(id(bob)).getTransactionHistory().size());
+    }
+
+    @Test
+    void entriesAppendedOutOfOrderReplayInLsnOrder() throws Exception {
+        Customer alice = customer("Alice");
+        JournalEntry register = JournalEntry.register(alice);
+        JournalEntry deposit = JournalEntry.deposit(id(alice), Money.ofRupees(10));
+        try (Journal journal = new Journal(dir, 0)) {
+            journal.sequence(register);
+            journal.sequence(deposit);
+            // The deposit reaches the log first; replay must still register the account before it.
+            journal.append(deposit);
+            journal.append(register);
+        }
+
+        List<JournalEntry> entries = new Journal(dir, 0).readAfter(0);
+        assertEquals(List.of(JournalEntry.Op.REGISTER, JournalEntry.Op.DEPOSIT),
+                List.of(entries.get(0).getOp(), entries.get(1).getOp()));
+        assertEquals(Money.ofRupees(10), replay(new Journal(dir, 0), 0).get(id(alice)).getAccount().getBalance());
+    }
+
+    @Test
+    void tornTailIsIgnored() throws Exception {
+        Customer alice = customer("Alice");
+        try (Journal journal = new Journal(dir, 0)) {
+            journal.append(JournalEntry.register(alice));
+            journal.append(JournalEntry.deposit(id(alice), Money.ofRupees(70)));
+            journal.append(JournalEntry.deposit(id(alice), Money.ofRupees(30)));
+        }
+        // Crash part-way through writing the last record.
+        Path segment = onlySegment();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        Journal reopened = new Journal(dir, 0);
+        assertEquals(Money.ofRupees(70), replay(reopened, 0).get(id(alice)).getAccount().getBalance());
+        assertEquals(2, reopened.getLastLsn());
+    }
+
+    @Test
+    void closedAccountsAreDroppedAfterReplay() throws Exception {
+        List<Customer> registered = new ArrayList<>();
+        try (Journal journal = new Journal(dir, 0)) {
+            for (int i = 0; i < 6; i++) {
+                Customer customer = customer("Customer " + i);
+                registered.add(customer);
+                journal.append(JournalEntry.register(customer));
+            }
+            // A batch closure: every other account, then a deposit to a survivor.
+            for (int i = 0; i < 6; i += 2) {
+                journal.append(JournalEntry.close(id(registered.get(i))));
+            }
+            journal.append(JournalEntry.deposit(id(registered.get(1)), Money.ofRupees(3)));
+        }
+
+        List<Customer> customers = new ArrayList<>();
+        Map<String, Customer> byAccount = replay(new Journal(dir, 0), 0, customers);
+        List<String> remaining = new ArrayList<>();
+        for (Customer customer : customers) {
+            remaining.add(id(customer));
+        }
+        assertEquals(List.of(id(registered.get(1)), id(registered.get(3)), id(registered.get(5))), remaining);
+        assertEquals(remaining.size(), byAccount.size());
+        assertEquals(Money.ofRupees(3), byAccount.get(id(registered.get(1))).getAccount().getBalance());
+    }
+
+    @Test
+    void entriesCoveredBySnapshotAreNotAppendedAgain() throws Exception {
+        Customer alice = customer("Alice");
+        try (Journal journal = new Journal(dir, 0)) {
+            journal.append(JournalEntry.register(alice));
+            JournalEntry early = JournalEntry.deposit(id(alice), Money.ofRupees(5));
+            journal.sequence(early);
+            journal.truncate(journal.getLastLsn());
+            // Numbered before the snapshot, so the snapshot already holds it.
+            journal.append(early);
+            journal.append(JournalEntry.deposit(id(alice), Money.ofRupees(8)));
+        }
+
+        List<JournalEntry> entries = new Journal(dir, 2).readAfter(2);
+        assertEquals(1, entries.size());
+        assertEquals(Money.ofRupees(8), entries.get(0).getAmount());
+    }
+
+    private Map<String, Customer> replay(Journal journal, long afterLsn) throws Exception {
+        return replay(journal, afterLsn, new ArrayList<>());
+    }
+
+    private Map<String, Customer> replay(Journal journal, long afterLsn, List<Customer> customers) throws Exception {
+        Map<String, Customer> byAccount = new HashMap<>();
+        Set<Customer> closed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (JournalEntry entry : journal.readAfter(afterLsn)) {
+            entry.applyTo(customers, byAccount, closed);
+        }
+        customers.removeIf(closed::contains);
+        return byAccount;
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> segments = files.toList();
+            assertEquals(1, segments.size());
+            return segments.get(0);
+        }
+    }
+
+    private static Customer customer(String name) {
+        return new Customer(name, LocalDate.of(1990, 1, 1), "Pune", Money.ofRupees(50000), "Savings", 0, "secret");
+    }
+
+    private static String id(Customer customer) {
+        return customer.getAccount().getAccountId();
+    }
+}
@@ -0,0 +1,114 @@
+package bankingmanagementsystem.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bankingmanagementsystem.Customer;
+import bankingmanagementsystem.Money;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ShardedStoreTest {
+    private static final int SHARDS = 8;
+
+    @TempDir
+    Path dir;
+
+    private ShardedStore store;
+    private Customer from;
+    private Customer to;
+
+    // Two customers on different shards, saved with a balance of 1,000 each.
+    @BeforeEach
+    void saveTwoCustomersOnDifferentShards() throws Exception {
+        store = new ShardedStore(dir, SHARDS, false);
+        List<Customer> customers = new ArrayList<>();
+        while (to == null) {
+            Customer customer = new Customer("Customer " + customers.size(), LocalDate.of(1990, 1, 1), "Pune",
+                    Money.ofRupees(50000), "Savings", 0, "secret");
+            customer.getAccount().deposit(Money.ofRupees(1000));
+            customers.add(customer);
+            if (from == null) {
+                from = customer;
+            } else if (store.shardOf(accountId(customer)) != store.shardOf(accountId(from))) {
+                to = customer;
+            }
+        }
+        store.writeAll(customers, false);
+    }
+
+    @Test
+    void crossShardTransferIsCompletedWhenCrashHitsBetweenShardMoves() throws Exception {
+        BitSet staged = stageTransfer(Money.ofRupees(250));
+        // Crash after the intent was written and the first shard moved, before the second.
+        Path first = dir.resolve(String.format("shard-%05d.dat", staged.nextSetBit(0)));
+        Files.move(first.resolveSibling(first.getFileName() + ".tmp"), first, StandardCopyOption.REPLACE_EXISTING);
+
+        Map<String, Long> balances = reload();
+        assertEquals(Money.ofRupees(750), balances.get(accountId(from)));
+        assertEquals(Money.ofRupees(1250), balances.get(accountId(to)));
+        assertFalse(Files.exists(dir.resolve("commit.intent")));
+    }
+
+    @Test
+    void crossShardTransferIsDiscardedWhenCrashHitsBeforeItsIntent() throws Exception {
+        stageTransfer(Money.ofRupees(250));
+        // Crash after the new shards were written but before the intent naming them.
+        Files.delete(dir.resolve("commit.intent"));
+
+        Map<String, Long> balances = reload();
+        assertEquals(Money.ofRupees(1000), balances.get(accountId(from)));
+        assertEquals(Money.ofRupees(1000), balances.get(accountId(to)));
+        try (var files = Files.list(dir)) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void crossShardTransferIsVisibleOnBothShardsAfterWrite() throws Exception {
+        applyTransfer(Money.ofRupees(100));
+        store.write(Collections.singletonList(JournalEntry.transfer(accountId(from), accountId(to), Money.ofRupees(100))),
+                Collections.emptyList(), false);
+
+        Map<String, Long> balances = reload();
+        assertEquals(Money.ofRupees(900), balances.get(accountId(from)));
+        assertEquals(Money.ofRupees(1100), balances.get(accountId(to)));
+    }
+
+    private BitSet stageTransfer(long amount) throws Exception {
+        applyTransfer(amount);
+        BitSet staged = store.stage(Collections.singletonList(JournalEntry.transfer(accountId(from), accountId(to), amount)),
+                Collections.emptyList(), false);
+        assertEquals(2, staged.cardinality());
+        return staged;
+    }
+
+    private void applyTransfer(long amount) throws Exception {
+        from.getAccount().withdraw(amount);
+        to.getAccount().deposit(amount);
+    }
+
+    private Map<String, Long> reload() throws Exception {
+        Map<String, Long> balances = new HashMap<>();
+        for (Customer customer : new ShardedStore(dir, SHARDS, false).loadAll()) {
+            balances.put(accountId(customer), customer.getAccount().getBalance());
+        }
+        return balances;
+    }
+
+    private static String accountId(Customer customer) {
+        return customer.getAccount().getAccountId();
+    }
+}
@@ -0,0 +1,288 @@
+package bankingmanagementsystem.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bankingmanagementsystem.Customer;
+import bankingmanagementsystem.CustomerRegistry;
+import bankingmanagementsystem.Money;
+import bankingmanagementsystem.service.BankRequest;
+import bankingmanagementsystem.service.BankService;
+import bankingmanagementsystem.service.Result;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class BinaryServerTest {
+    // Deposits to this account wait until the test releases them.
+    private static final String HOLD = "HOLD";
+
+    private final ScriptedService service = new ScriptedService();
+    private BinaryServer server;
+    private Socket socket;
+
+    @AfterEach
+    void stop() throws IOException {
+        service.release.countDown();
+        if (socket != null) {
+            socket.close();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void answersEveryOpcode() throws Exception {
+        connect(8);
+        ByteBuffer requests = ByteBuffer.allocate(512);
+        BinaryProtocol.putDeposit(requests, 1, "1000000001", 250);
+        BinaryProtocol.putWithdraw(requests, 2, "1000000001", 99);
+        BinaryProtocol.putTransfer(requests, 3, "1000000001", "1000000002", 70);
+        BinaryProtocol.putBalance(requests, 4, "1000000001");
+        BinaryProtocol.putBalance(requests, 5, "9999999999");
+        send(requests);
+
+        Response[] responses = byId(read(5));
+        assertResponse(responses[1], BinaryProtocol.OK, 1, 250, "");
+        assertResponse(responses[2], BinaryProtocol.INSUFFICIENT_FUNDS, 2, 0, "Not enough money.");
+        // The scripted transfer answers with the lengths of both account numbers it decoded.
+        assertResponse(responses[3], BinaryProtocol.OK, 3, 1010, "");
+        assertResponse(responses[4], BinaryProtocol.OK, 4, Money.ofRupees(100), "");
+        assertEquals(BinaryProtocol.NOT_FOUND, responses[5].status);
+    }
+
+    @Test
+    void framesSplitAcrossWritesAreReassembled() throws Exception {
+        connect(8);
+        ByteBuffer requests = ByteBuffer.allocate(256);
+        BinaryProtocol.putDeposit(requests, 7, "1000000001", 300);
+        BinaryProtocol.putDeposit(requests, 8, "1000000001", 400);
+        requests.flip();
+        byte[] bytes = Arrays.copyOf(requests.array(), requests.limit());
+        OutputStream out = socket.getOutputStream();
+        // Cut inside the first length prefix and again inside the second frame.
+        for (int[] part : new int[][] {{0, 2}, {2, 30}, {30, bytes.length}}) {
+            out.write(bytes, part[0], part[1] - part[0]);
+            out.flush();
+            Thread.sleep(50);
+        }
+        Response[] responses = byId(read(2));
+        assertEquals(300, responses[7].balance);
+        assertEquals(400, responses[8].balance);
+    }
+
+    @Test
+    void unknownOpcodeOrBadFieldsGetBadFrameAndTheConnectionStaysUsable() throws Exception {
+        connect(8);
+        ByteBuffer requests = ByteBuffer.allocate(256);
+        // Opcode 9 with the shape of a deposit.
+        requests.putInt(1 + 8 + 1 + 1 + 8).put((byte) 9).putLong(11).put((byte) 1).put((byte) '1').putLong(5);
+        // A balance request with a trailing amount it should not have.
+        requests.putInt(1 + 8 + 1 + 1 + 8).put(BinaryProtocol.BALANCE).putLong(12).put((byte) 1).put((byte) '1').putLong(5);
+        // An account length running past the end of the frame.
+        requests.putInt(1 + 8 + 1 + 1).put(BinaryProtocol.BALANCE).putLong(13).put((byte) 20).put((byte) '1');
+        BinaryProtocol.putDeposit(requests, 14, "1000000001", 5);
+        send(requests);
+
+        Response[] responses = byId(read(4));
+        assertEquals(BinaryProtocol.BAD_FRAME, responses[11].status);
+        assertTrue(responses[11].message.contains("opcode 9"), responses[11].message);
+        assertEquals(BinaryProtocol.BAD_FRAME, responses[12].status);
+        assertEquals(BinaryProtocol.BAD_FRAME, responses[13].status);
+        assertResponse(responses[14], BinaryProtocol.OK, 14, 5, "");
+    }
+
+    @Test
+    void impossibleFrameLengthClosesTheConnection() throws Exception {
+        connect(8);
+        ByteBuffer requests = ByteBuffer.allocate(16);
+        requests.putInt(3).put(new byte[3]);
+        send(requests);
+        try {
+            Response unexpected = readResponse(new DataInputStream(socket.getInputStream()));
+            throw new AssertionError("Expected the connection to close, got " + unexpected);
+        } catch (EOFException expected) {
+            // closed by the server
+        }
+    }
+
+    @Test
+    void pipelinedResponsesComeBackAsTheyComplete() throws Exception {
+        connect(8);
+        ByteBuffer requests = ByteBuffer.allocate(256);
+        BinaryProtocol.putDeposit(requests, 21, HOLD, 100);
+        BinaryProtocol.putDeposit(requests, 22, "1000000001", 200);
+        send(requests);
+
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        assertEquals(22, readResponse(in).requestId);
+        service.release.countDown();
+        assertResponse(readResponse(in), BinaryProtocol.OK, 21, 100, "");
+    }
+
+    @Test
+    void readingPausesAtMaxInFlightAndResumesAsResponsesGoOut() throws Exception {
+        connect(2);
+        ByteBuffer requests = ByteBuffer.allocate(256);
+        for (int id = 31; id <= 34; id++) {
+            BinaryProtocol.putDeposit(requests, id, HOLD, id);
+        }
+        send(requests);
+
+        assertTrue(service.awaitCalls(2));
+        Thread.sleep(200);
+        // The other two frames are in the server's buffer but not dispatched.
+        assertEquals(2, service.calls.get());
+
+        service.release.countDown();
+        Response[] responses = byId(read(4));
+        for (int id = 31; id <= 34; id++) {
+            assertResponse(responses[id], BinaryProtocol.OK, id, id, "");
+        }
+        assertEquals(4, service.calls.get());
+    }
+
+    @Test
+    void serviceExceptionIsReportedAsFailed() throws Exception {
+        connect(8);
+        ByteBuffer requests = ByteBuffer.allocate(64);
+        BinaryProtocol.putDeposit(requests, 41, "BOOM", 1);
+        send(requests);
+        assertResponse(read(1)[0], BinaryProtocol.FAILED, 41, 0, "Internal error.");
+    }
+
+    private void connect(int maxInFlight) throws IOException {
+        server = BinaryServer.start(service, new InetSocketAddress("127.0.0.1", 0), maxInFlight);
+        socket = new Socket("127.0.0.1", server.getPort());
+        socket.setSoTimeout(5000);
+    }
+
+    private void send(ByteBuffer requests) throws IOException {
+        requests.flip();
+        OutputStream out = socket.getOutputStream();
+        out.write(requests.array(), 0, requests.limit());
+        out.flush();
+    }
+
+    private Response[] read(int count) throws IOException {
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        Response[] responses = new Response[count];
+        for (int i = 0; i < count; i++) {
+            responses[i] = readResponse(in);
+        }
+        return responses;
+    }
+
+    private static Response readResponse(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        byte status = in.readByte();
+        long requestId = in.readLong();
+        long balance = in.readLong();
+        byte[] message = new byte[in.readShort()];
+        in.readFully(message);
+        assertEquals(1 + 8 + 8 + 2 + message.length, length);
+        return new Response(status, requestId, balance, new String(message, StandardCharsets.US_ASCII));
+    }
+
+    // Indexed by request id, whatever order the responses arrived in.
+    private static Response[] byId(Response[] responses) {
+        Response[] byId = new Response[64];
+        for (Response response : responses) {
+            byId[(int) response.requestId] = response;
+        }
+        return byId;
+    }
+
+    private static void assertResponse(Response actual, byte status, long requestId, long balance, String message) {
+        assertEquals(status, actual.status, "status of " + requestId);
+        assertEquals(requestId, actual.requestId);
+        assertEquals(balance, actual.balance, "balance of " + requestId);
+        assertEquals(message, actual.message);
+    }
+
+    private static final class Response {
+        final byte status;
+        final long requestId;
+        final long balance;
+        final String message;
+
+        Response(byte status, long requestId, long balance, String message) {
+            this.status = status;
+            this.requestId = requestId;
+            this.balance = balance;
+            this.message = message;
+        }
+
+        @Override
+        public String toString() {
+            return "status " + status + " for request " + requestId + ": " + message;
+        }
+    }
+
+    // Answers without touching accounts or persistence, so the test sees only what the endpoint does.
+    private static final class ScriptedService extends BankService {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        private final Customer customer = new Customer("Asha", LocalDate.of(1990, 1, 1), "Pune",
+                Money.ofRupees(50000), "Savings", Money.ofRupees(100), "secret");
+
+        ScriptedService() {
+            super(new CustomerRegistry(new ArrayList<>()), new HashMap<>(), new AtomicInteger());
+        }
+
+        @Override
+        public Result<Long> deposit(BankRequest.Deposit request) {
+            calls.incrementAndGet();
+            if (request.getAccountId().equals("BOOM")) {
+                throw new IllegalStateException("scripted failure");
+            }
+            if (request.getAccountId().equals(HOLD)) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return Result.ok(request.getAmount());
+        }
+
+        @Override
+        public Result<Long> withdraw(BankRequest.Withdraw request) {
+            return Result.error(Result.Status.INSUFFICIENT_FUNDS, "Not enough money.");
+        }
+
+        @Override
+        public Result<Long> transfer(BankRequest.Transfer request) {
+            return Result.ok(100L * request.getFromAccountId().length() + request.getToAccountId().length());
+        }
+
+        @Override
+        public Result<Customer> find(String accountId) {
+            return accountId.equals("1000000001") ? Result.ok(customer)
+                    : Result.error(Result.Status.NOT_FOUND, "No customer found with account number: " + accountId);
+        }
+
+        boolean awaitCalls(int expected) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (calls.get() < expected && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            return calls.get() >= expected;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package bankingmanagementsystem.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import bankingmanagementsystem.Money;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+class JsonBodyTest {
+
+    @Test
+    void readsFlatObjectFields() throws Exception {
+        JsonBody body = parse(" {\"from\": \"1001\", \"amount\": 250.75, \"count\":3,\n"
+                + " \"date\": \"2024-02-29\", \"urgent\": true, \"note\": null } ");
+        assertEquals("1001", body.text("from"));
+        assertEquals(Money.parse("250.75"), body.amount("amount"));
+        assertEquals(3, body.integer("count"));
+        assertEquals(LocalDate.of(2024, 2, 29), body.date("date"));
+        assertEquals("true", body.text("urgent"));
+        assertNull(body.text("note"));
+        assertNull(body.text("absent"));
+    }
+
+    @Test
+    void amountsKeepTheirExactDigits() throws Exception {
+        // 0.1 + 0.2 style rounding would show up here if amounts went through a double.
+        assertEquals(Money.parse("0.29"), parse("{\"amount\": 0.29}").amount("amount"));
+        assertEquals(Money.parse("0.29"), parse("{\"amount\": \"0.29\"}").amount("amount"));
+        assertThrows(NumberFormatException.class, () -> parse("{\"amount\": 1.005}").amount("amount"));
+    }
+
+    @Test
+    void decodesStringEscapes() throws Exception {
+        JsonBody body = parse("{\"s\": \"a\\\"b\\\\c\\/d\\n\\t\\u20B9\", \"\\u006Eame\": \"x\"}");
+        assertEquals("a\"b\\c/d\n\t\u20B9", body.text("s"));
+        assertEquals("x", body.text("name"));
+        assertEquals("नमस्ते", parse("{\"s\": \"नमस्ते\"}").text("s"));
+    }
+
+    @Test
+    void emptyBodyHasNoFields() throws Exception {
+        assertNull(parse("").text("amount"));
+        assertNull(parse("{ }").text("amount"));
+        assertThrows(IllegalArgumentException.class, () -> parse("{}").requireText("amount"));
+    }
+
+    @Test
+    void rejectsMalformedInput() {
+        String[] inputs = {
+            "[1, 2]",
+            "{\"a\": {\"b\": 1}}",
+            "{\"a\": [1]}",
+            "{\"a\": 1} trailing",
+            "{\"a\" 1}",
+            "{\"a\": 1,}",
+            "{\"a\": \"unterminated}",
+            "{\"a\": \"\\x\"}",
+            "{\"a\": \"\\u12\"}",
+            "{\"a\": nope}",
+            "{a: 1}",
+            "{\"a\": 1",
+        };
+        for (String input : inputs) {
+            assertThrows(IllegalArgumentException.class, () -> parse(input), input);
+        }
+    }
+
+    @Test
+    void rejectsBodiesOverTheLimit() {
+        String big = "{\"pad\": \"" + "x".repeat(JsonBody.MAX_BYTES) + "\"}";
+        assertThrows(IllegalArgumentException.class, () -> parse(big));
+    }
+
+    private static JsonBody parse(String json) throws IOException {
+        return JsonBody.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}